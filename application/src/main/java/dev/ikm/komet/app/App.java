@@ -17,6 +17,7 @@
 
 import com.jpro.webapi.WebAPI;
 import dev.ikm.komet.framework.ScreenInfo;
+import dev.ikm.komet.framework.concurrent.TaskSession;
 import dev.ikm.komet.framework.graphics.LoadFonts;
 import dev.ikm.komet.framework.preferences.PrefX;
 import dev.ikm.komet.kview.events.CreateJournalEvent;
@@ -108,6 +109,10 @@ public class App extends Application  {
     static Stage primaryStage;
 
     WebAPI webAPI;
+    /**
+     * Tags the work this session submits to the shared thread pools, which every browser session shares.
+     */
+    final TaskSession taskSession = TaskSession.create(System.getProperty("user.name"));
     static final boolean IS_BROWSER = WebAPI.isBrowser();
     static final boolean IS_DESKTOP = !IS_BROWSER && PlatformUtils.isDesktop();
     static final boolean IS_MAC = !IS_BROWSER && PlatformUtils.isMac();
@@ -231,6 +236,7 @@ public void init() throws Exception {
         Subscriber<SignInUserEvent> signInUserEventSubscriber = evt -> {
             final ConceptFacade loggedInUser = (ConceptFacade) evt.getLoggedInUser();
             userProperty.set(loggedInUser);
+            taskSession.setUserName(loggedInUser.description());
 
             if (state.get() == RUNNING) {
                 appPages.launchLandingPage(primaryStage, loggedInUser);
@@ -282,6 +288,7 @@ public void start(Stage stage) {
 
             // This is called only when the user clicks the close button on the window
             stage.setOnCloseRequest(windowEvent -> state.set(SHUTDOWN));
+            stage.setOnHidden(windowEvent -> taskSession.end());
 
             // Show stage and set initial state
             stage.show();
@@ -382,6 +389,7 @@ private static boolean isTestFXTest() {
 
 
     private void addEventFilters(Stage stage) {
+        taskSession.bindTo(stage);
         stage.addEventFilter(MouseEvent.MOUSE_PRESSED, event -> {
             ScreenInfo.mouseIsPressed(true);
             ScreenInfo.mouseWasDragged(false);
@@ -259,6 +259,7 @@ void launchJournalViewPage(PrefX journalWindowSettings, ConceptFacade loggedInUs
         Stage journalStage = new Stage();
         journalStage.getIcons().setAll(app.appIcon);
         journalStage.setScene(sourceScene);
+        app.taskSession.bindTo(journalStage);
 
         if (!IS_MAC) {
             app.appMenu.generateMsWindowsMenu(journalBorderPane, journalStage);
@@ -20,9 +20,9 @@
 import javafx.scene.control.TreeView;
 import org.eclipse.collections.api.list.primitive.ImmutableIntList;
 import org.eclipse.collections.api.set.ImmutableSet;
+import dev.ikm.komet.framework.sort.NaturalOrderSort;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.tinkar.common.service.TrackingCallable;
-import dev.ikm.tinkar.common.util.text.NaturalOrder;
 import dev.ikm.tinkar.terms.EntityProxy;
 
 public class PrepareClassifierEquivalenciesTask extends TrackingCallable<Void> {
@@ -58,12 +58,11 @@ protected Void compute() throws Exception {
                                 EntityProxy.Concept.make(nid)));
                 setItem.getChildren().add(equivalentItem);
             });
-            setItem.getChildren().sort((o1, o2) -> NaturalOrder.compareStrings(o1.getValue().label, o2.getValue().label));
+            NaturalOrderSort.sortInPlace(setItem.getChildren(), item -> item.getValue().label);
         }
 
-        root.getChildren().sort((o1, o2) -> NaturalOrder.compareStrings(
-                viewProperties.calculator().getFullyQualifiedDescriptionTextWithFallbackOrNid(o1.getValue().conceptFacade),
-                viewProperties.calculator().getFullyQualifiedDescriptionTextWithFallbackOrNid(o2.getValue().conceptFacade)));
+        NaturalOrderSort.sortInPlace(root.getChildren(), item ->
+                viewProperties.calculator().getFullyQualifiedDescriptionTextWithFallbackOrNid(item.getValue().conceptFacade));
         Platform.runLater(() -> {
             equivalenciesTree.setRoot(root);
             equivalenciesTree.setShowRoot(false);
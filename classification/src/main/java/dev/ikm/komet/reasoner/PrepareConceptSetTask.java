@@ -20,13 +20,13 @@
 import org.eclipse.collections.api.list.primitive.ImmutableIntList;
 import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
 import org.eclipse.collections.impl.factory.primitive.IntLists;
+import dev.ikm.komet.framework.concurrent.PrioritizedTask;
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import dev.ikm.komet.framework.sort.NaturalOrderSort;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.tinkar.common.service.TrackingCallable;
-import dev.ikm.tinkar.common.util.text.NaturalOrder;
 
-import java.util.concurrent.ConcurrentSkipListSet;
-
-public class PrepareConceptSetTask extends TrackingCallable<Void> {
+public class PrepareConceptSetTask extends TrackingCallable<Void> implements PrioritizedTask {
 
 
     private final ImmutableIntList affectedConceptList;
@@ -52,24 +52,18 @@ public PrepareConceptSetTask(String title, ImmutableIntList affectedConcepts,
     }
 
     @Override
-    protected Void compute() throws Exception {
-
-            ConcurrentSkipListSet<Integer> concurrentSortedSet = new ConcurrentSkipListSet<>(this::compare);
+    public TaskPriority taskPriority() {
+        return TaskPriority.BULK;
+    }
 
-            this.affectedConceptList.primitiveParallelStream().forEach(nid -> {
-                concurrentSortedSet.add(nid);
-                this.completedUnitOfWork();
-            });
+    @Override
+    protected Void compute() throws Exception {
+            int[] sortedNids = NaturalOrderSort.sortNids(this.affectedConceptList.toArray(),
+                    this.viewProperties.calculator()::getFullyQualifiedDescriptionTextWithFallbackOrNid,
+                    nid -> this.completedUnitOfWork());
             Platform.runLater(() -> {
-                this.affectedConceptsForDisplay.setAll(concurrentSortedSet);
+                this.affectedConceptsForDisplay.setAll(IntLists.immutable.of(sortedNids).collect(i -> Integer.valueOf(i)).castToList());
             });
             return null;
     }
-
-    private int compare(Integer o1, Integer o2) {
-
-        return NaturalOrder.compareStrings(
-                this.viewProperties.calculator().getFullyQualifiedDescriptionTextWithFallbackOrNid(o1),
-                this.viewProperties.calculator().getFullyQualifiedDescriptionTextWithFallbackOrNid(o2));
-    }
 }
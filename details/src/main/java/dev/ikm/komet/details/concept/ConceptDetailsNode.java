@@ -60,6 +60,7 @@
 import org.eclipse.collections.api.list.primitive.IntList;
 import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
 import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.eclipse.collections.impl.factory.primitive.IntIntMaps;
 import org.eclipse.collections.impl.factory.primitive.IntLists;
 import org.eclipse.collections.impl.factory.primitive.IntSets;
@@ -68,7 +69,6 @@
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import static dev.ikm.komet.framework.KometNodeFactory.THE_CURRENT_OPERATION_IS_NOT_SUPPORTED;
 
@@ -117,7 +117,15 @@ public class ConceptDetailsNode extends ExplorationNodeAbstract {
     private final MutableIntIntMap stampOrderHashMap = IntIntMaps.mutable.empty();
     private final Button addDescriptionButton = new Button("+ Add");
     private final ToggleButton versionGraphToggle = new ToggleButton("", Icon.SOURCE_BRANCH_1.makeIcon());
-    private final ArrayList<Integer> sortedStampNids = new ArrayList<>();
+    /**
+     * The stamps of the focused concept and its semantics, newest first, as last computed in the background.
+     */
+    private StampOrder stampOrder = StampOrder.EMPTY;
+    /**
+     * Incremented on the JavaFX thread for each concept set, so a stamp order computed for an earlier concept
+     * is dropped.
+     */
+    private long conceptGeneration = 0;
     private final List<ComponentPaneModel> componentPaneModels = new ArrayList<>();
     private final ScrollPane scrollPane;
     private final ObservableList<ObservableCompoundVersion> newDescriptions = FXCollections.observableArrayList();
@@ -703,14 +711,13 @@ private void populateVersionBranchGrid() {
         versionBranchGrid.add(versionGraphToggle, 0, 0);
 
         if (versionGraphToggle.isSelected()) {
-            for (int stampOrder = 0; stampOrder < sortedStampNids.size(); stampOrder++) {
+            int[] stampNids = stampOrder.stampNids();
+            for (int stampIndex = 0; stampIndex < stampNids.length; stampIndex++) {
                 StampControl stampControl = new StampControl();
-                int stampNid = sortedStampNids.get(stampOrder);
-                StampEntity stampEntity = Entity.getStamp(stampNid);
-                stampControl.pseudoClassStateChanged(PseudoClasses.INACTIVE_PSEUDO_CLASS, stampEntity.state() != State.ACTIVE);
+                stampControl.pseudoClassStateChanged(PseudoClasses.INACTIVE_PSEUDO_CLASS, stampOrder.inactive()[stampIndex]);
 
-                stampControl.setStampedVersion(stampNid, this.viewProperties, stampOrder + 1);
-                versionBranchGrid.add(stampControl, 0, stampOrder + 2);
+                stampControl.setStampedVersion(stampNids[stampIndex], this.viewProperties, stampIndex + 1);
+                versionBranchGrid.add(stampControl, 0, stampIndex + 2);
             }
         }
     }
@@ -777,16 +784,51 @@ private void resetConceptFromFocus() {
 
     }
 
-    private void updateStampControls(Entity entity) {
-        if (entity == null) {
-            return;
+    /**
+     * The stamps of a concept and of every semantic nested on it, newest first, with the state of each.
+     *
+     * @param stampNids the stamp nids, newest first
+     * @param inactive  whether the stamp at the same index has a state other than active
+     */
+    private record StampOrder(int[] stampNids, boolean[] inactive) {
+        private static final StampOrder EMPTY = new StampOrder(new int[0], new boolean[0]);
+
+        /**
+         * Reads the stamps of the concept and its nested semantics, then orders them by time keys read once
+         * per stamp, rather than by reading both stamps on every comparison; call it off the JavaFX thread.
+         */
+        private static StampOrder of(ConceptEntity<ConceptEntityVersion> concept) {
+            MutableIntSet stampNidSet = IntSets.mutable.empty();
+            collectStampNids(concept, stampNidSet);
+            int[] unordered = stampNidSet.toArray();
+            long[] times = new long[unordered.length];
+            boolean[] unorderedInactive = new boolean[unordered.length];
+            for (int i = 0; i < unordered.length; i++) {
+                StampEntity stampEntity = Entity.getStamp(unordered[i]);
+                times[i] = stampEntity.time();
+                unorderedInactive[i] = stampEntity.state() != State.ACTIVE;
+            }
+            Integer[] order = new Integer[unordered.length];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, (i1, i2) -> Long.compare(times[i2], times[i1]));
+            int[] stampNids = new int[unordered.length];
+            boolean[] inactive = new boolean[unordered.length];
+            for (int i = 0; i < order.length; i++) {
+                stampNids[i] = unordered[order[i]];
+                inactive[i] = unorderedInactive[order[i]];
+            }
+            return new StampOrder(stampNids, inactive);
         }
-        for (int stampNid : entity.stampNids().toArray()) {
-            stampOrderHashMap.put(stampNid, 0);
+
+        private static void collectStampNids(Entity entity, MutableIntSet stampNids) {
+            if (entity == null) {
+                return;
+            }
+            stampNids.addAll(entity.stampNids().toArray());
+            PrimitiveData.get().forEachSemanticNidForComponent(
+                    entity.nid(),
+                    semanticNid -> collectStampNids(Entity.provider().getEntityFast(semanticNid), stampNids));
         }
-        PrimitiveData.get().forEachSemanticNidForComponent(
-                entity.nid(),
-                semanticNid -> updateStampControls(Entity.provider().getEntityFast(semanticNid)));
     }
 
     public void updateFocusedObject(EntityFacade component) {
@@ -817,21 +859,29 @@ public void updateFocusedObject(EntityFacade component) {
     private void setConcept(ConceptEntity<ConceptEntityVersion> component) {
         clearComponents();
 
+        long generation = ++conceptGeneration;
+        TinkExecutor.threadPool().execute(() -> {
+            StampOrder newStampOrder = component == null ? StampOrder.EMPTY : StampOrder.of(component);
+            Platform.runLater(() -> {
+                if (generation == conceptGeneration) {
+                    applyStampOrder(newStampOrder);
+                }
+            });
+        });
+    }
+
+    /**
+     * Numbers the stamps for the component panes, then lays out the version branch grid and the panes in one
+     * update.
+     */
+    private void applyStampOrder(StampOrder newStampOrder) {
+        this.stampOrder = newStampOrder;
         this.stampOrderHashMap.clear();
         this.componentPaneModels.clear();
-        updateStampControls(component);
-
-        this.sortedStampNids.clear();
-        this.stampOrderHashMap.forEachKey(stampNid -> sortedStampNids.add(stampNid));
-
-        this.sortedStampNids.sort(
-                (stampNid1, stampNid2) -> Entity.getStamp(stampNid2).instant().compareTo(Entity.getStamp(stampNid1).instant()));
-
-        final AtomicInteger stampOrder = new AtomicInteger();
-
-        this.sortedStampNids.forEach((stampSequence) -> {
-            this.stampOrderHashMap.put(stampSequence, stampOrder.incrementAndGet());
-        });
+        int[] stampNids = newStampOrder.stampNids();
+        for (int stampIndex = 0; stampIndex < stampNids.length; stampIndex++) {
+            this.stampOrderHashMap.put(stampNids[stampIndex], stampIndex + 1);
+        }
         populateVersionBranchGrid();
         animateLayout();
     }
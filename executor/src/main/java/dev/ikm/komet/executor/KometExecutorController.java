@@ -15,6 +15,7 @@
  */
 package dev.ikm.komet.executor;
 
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
@@ -51,6 +52,13 @@ public KometExecutorProvider create() {
 		return providerReference.get();
 	}
 
+	/**
+	 * @return the running executor provider, if the executors have been created.
+	 */
+	public static Optional<KometExecutorProvider> runningProvider() {
+		return Optional.ofNullable(providerReference.get());
+	}
+
 	@Override
 	public void stop() {
 		providerReference.updateAndGet(executorProvider -> {
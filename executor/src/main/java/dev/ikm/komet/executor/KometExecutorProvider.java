@@ -15,8 +15,14 @@
  */
 package dev.ikm.komet.executor;
 
+import dev.ikm.komet.framework.concurrent.ExecutorPoolMetrics;
+import dev.ikm.komet.framework.concurrent.LaneLatency;
+import dev.ikm.komet.framework.concurrent.TaskPriority;
 import dev.ikm.tinkar.common.service.ExecutorService;
 import dev.ikm.tinkar.common.util.thread.NamedThreadFactory;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,10 +44,15 @@
  * <p>
  * The {@link #threadPool()} that this provides is a standard thread pool with (up to) the same number of threads
  * as there are cores present on the computer - with a minimum of 6 threads.  This executor has an unbounded queue
- * depth, and FIFO behavior.
+ * depth, ordered by {@link TaskPriority} lane with aging, and FIFO behavior within a lane.
  * <p>
  * The {@link #ioThreadPool()} that this provides is a standard thread pool with 6 threads.  This executor has an unbounded queue
- * depth, and FIFO behavior.  This executor is good for jobs that tend to block on disk IO, where you don't want many running in parallel.
+ * depth, ordered by {@link TaskPriority} lane like {@link #threadPool()}.  This executor is good for jobs that tend to block on disk IO, where you don't want many running in parallel.
+ * When the {@value #IO_MODE_PROPERTY} system property is set to {@code virtual}, the IO executor instead runs each task on
+ * a virtual thread, with up to {@value #VIRTUAL_IO_MAX_THREADS} tasks in flight, so that IO heavy work such as git sync,
+ * changeset loading and search indexing can overlap without tying up platform threads.
+ * <p>
+ * Every pool records queue depth, active threads, and wait/run times, available through {@link #poolMetrics()}.
  *
  * @author <a href="mailto:daniel.armbrust.list@gmail.com">Dan Armbrust</a>
  */
@@ -49,6 +60,31 @@
 public class KometExecutorProvider implements ExecutorService {
 
     private static final Logger LOG = LoggerFactory.getLogger(KometExecutorProvider.class);
+
+    /**
+     * System property selecting the IO executor mode: {@code platform} (the default) or {@code virtual}.
+     */
+    public static final String IO_MODE_PROPERTY = "dev.ikm.komet.executor.ioMode";
+
+    /**
+     * Maximum number of concurrently running tasks on the IO executor when it is backed by virtual threads.
+     */
+    public static final int VIRTUAL_IO_MAX_THREADS = 256;
+
+    public enum IoMode {
+        PLATFORM, VIRTUAL;
+
+        static IoMode fromSystemProperty() {
+            String mode = System.getProperty(IO_MODE_PROPERTY, PLATFORM.name());
+            try {
+                return IoMode.valueOf(mode.strip().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Unknown {} value: {}. Using {}", IO_MODE_PROPERTY, mode, PLATFORM);
+                return PLATFORM;
+            }
+        }
+    }
+
     /**
      * The fork join executor.
      */
@@ -69,6 +105,10 @@ public class KometExecutorProvider implements ExecutorService {
      * The scheduled executor.
      */
     private KometScheduledExecutor scheduledExecutor;
+    /**
+     * The mode the io thread pool executor was started with.
+     */
+    private IoMode ioMode;
 
 
     /**
@@ -92,7 +132,8 @@ protected void start() {
             final TimeUnit timeUnit = TimeUnit.SECONDS;
 
             // The blocking executor
-            this.blockingThreadPoolExecutor = new KometThreadPoolExecutor(corePoolSize,
+            this.blockingThreadPoolExecutor = new KometThreadPoolExecutor("blocking",
+                    corePoolSize,
                     maximumPoolSize,
                     keepAliveTime,
                     timeUnit,
@@ -110,23 +151,36 @@ protected void start() {
 
             // The non-blocking executor - set core threads equal to max - otherwise, it will never increase the thread count
             // with an unbounded queue.
-            this.threadPoolExecutor = new KometThreadPoolExecutor(maximumPoolSize,
+            this.threadPoolExecutor = new KometThreadPoolExecutor("queue",
+                    maximumPoolSize,
                     maximumPoolSize,
                     keepAliveTime,
                     timeUnit,
-                    new LinkedBlockingQueue<>(),
+                    new PriorityLaneQueue("queue"),
                     new NamedThreadFactory("Tinkar-Q-work-thread", true));
             this.threadPoolExecutor.allowCoreThreadTimeOut(true);
 
 
             // The IO non-blocking executor - set core threads equal to max - otherwise, it will never increase the thread count
             // with an unbounded queue.
-            this.ioThreadPoolExecutor = new KometThreadPoolExecutor(6,
-                    6,
-                    keepAliveTime,
-                    timeUnit,
-                    new LinkedBlockingQueue<>(),
-                    new NamedThreadFactory("Tinkar-IO-work-thread", true));
+            this.ioMode = IoMode.fromSystemProperty();
+            if (this.ioMode == IoMode.VIRTUAL) {
+                this.ioThreadPoolExecutor = new KometThreadPoolExecutor("io-virtual",
+                        VIRTUAL_IO_MAX_THREADS,
+                        VIRTUAL_IO_MAX_THREADS,
+                        keepAliveTime,
+                        timeUnit,
+                        new PriorityLaneQueue("io-virtual"),
+                        Thread.ofVirtual().name("Tinkar-IO-virtual-thread-", 0).factory());
+            } else {
+                this.ioThreadPoolExecutor = new KometThreadPoolExecutor("io",
+                        6,
+                        6,
+                        keepAliveTime,
+                        timeUnit,
+                        new PriorityLaneQueue("io"),
+                        new NamedThreadFactory("Tinkar-IO-work-thread", true));
+            }
             this.ioThreadPoolExecutor.allowCoreThreadTimeOut(true);
 
             // Execute this once, early on, in a background thread - as randomUUID uses secure random - and the initial
@@ -136,7 +190,7 @@ protected void start() {
 
             this.scheduledExecutor = new KometScheduledExecutor(1,
                     new NamedThreadFactory("Tinkar-Scheduled-Thread", true));
-            LOG.info("WorkExecutors thread pools ready");
+            LOG.info("WorkExecutors thread pools ready, IO executor mode: {}", this.ioMode);
         }
     }
 
@@ -234,5 +288,44 @@ public ScheduledExecutorService scheduled() {
         return this.scheduledExecutor;
     }
 
-}
+    /**
+     * Gets the mode the IO executor was started with.
+     *
+     * @return the {@link IoMode} of {@link #ioThreadPool()}, or null if the pools are not started.
+     */
+    public IoMode ioMode() {
+        return this.ioMode;
+    }
 
+    /**
+     * Gets a snapshot of the load on each of the thread pools.
+     *
+     * @return metrics for the fork join, blocking, queue, IO, and scheduled pools that are currently running.
+     */
+    public ImmutableList<ExecutorPoolMetrics> poolMetrics() {
+        MutableList<ExecutorPoolMetrics> metrics = Lists.mutable.empty();
+        for (MeteredExecutor executor : new MeteredExecutor[]{this.forkJoinExecutor, this.blockingThreadPoolExecutor,
+                this.threadPoolExecutor, this.ioThreadPoolExecutor, this.scheduledExecutor}) {
+            if (executor != null) {
+                metrics.add(executor.metrics());
+            }
+        }
+        return metrics.toImmutable();
+    }
+
+    /**
+     * Gets the queue latency percentiles of each priority lane.
+     *
+     * @return latencies for the lanes of the queue and IO pools that have run at least one task.
+     */
+    public ImmutableList<LaneLatency> laneLatencies() {
+        MutableList<LaneLatency> latencies = Lists.mutable.empty();
+        for (KometThreadPoolExecutor executor : new KometThreadPoolExecutor[]{this.threadPoolExecutor, this.ioThreadPoolExecutor}) {
+            if (executor != null) {
+                latencies.addAllIterable(executor.laneLatencies());
+            }
+        }
+        return latencies.toImmutable();
+    }
+
+}
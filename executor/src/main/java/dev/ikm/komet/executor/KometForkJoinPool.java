@@ -15,11 +15,22 @@
  */
 package dev.ikm.komet.executor;
 
+import dev.ikm.komet.framework.concurrent.ExecutorPoolMetrics;
+
+import java.util.concurrent.Callable;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
-public class KometForkJoinPool extends ForkJoinPool {
+/**
+ * Tinkar fork join pool. Runnables and Callables submitted from outside the pool are timed for
+ * {@link #metrics()}; {@link ForkJoinTask}s are not wrapped, since their forked subtasks run
+ * inside the time of the task that forked them.
+ */
+public class KometForkJoinPool extends ForkJoinPool implements MeteredExecutor {
+
+    private final PoolMetricsRecorder metricsRecorder = new PoolMetricsRecorder("fork-join");
 
     public KometForkJoinPool() {
     }
@@ -36,4 +47,63 @@ public KometForkJoinPool(int parallelism, ForkJoinWorkerThreadFactory factory, T
         super(parallelism, factory, handler, asyncMode, corePoolSize, maximumPoolSize, minimumRunnable, saturate, keepAliveTime, unit);
     }
 
+    @Override
+    public void execute(Runnable task) {
+        super.execute(timed(task));
+    }
+
+    @Override
+    public ForkJoinTask<?> submit(Runnable task) {
+        return super.submit(timed(task));
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(Runnable task, T result) {
+        return super.submit(timed(task), result);
+    }
+
+    @Override
+    public <T> ForkJoinTask<T> submit(Callable<T> task) {
+        return super.submit(timed(task));
+    }
+
+    private Runnable timed(Runnable task) {
+        if (task == null || task instanceof ForkJoinTask<?>) {
+            return task;
+        }
+        metricsRecorder.recordSubmitted();
+        long submitted = System.nanoTime();
+        return () -> {
+            long started = System.nanoTime();
+            metricsRecorder.recordWait(started - submitted);
+            try {
+                task.run();
+            } finally {
+                metricsRecorder.recordRun(System.nanoTime() - started);
+            }
+        };
+    }
+
+    private <T> Callable<T> timed(Callable<T> task) {
+        if (task == null) {
+            return null;
+        }
+        metricsRecorder.recordSubmitted();
+        long submitted = System.nanoTime();
+        return () -> {
+            long started = System.nanoTime();
+            metricsRecorder.recordWait(started - submitted);
+            try {
+                return task.call();
+            } finally {
+                metricsRecorder.recordRun(System.nanoTime() - started);
+            }
+        };
+    }
+
+    @Override
+    public ExecutorPoolMetrics metrics() {
+        long queued = getQueuedSubmissionCount() + getQueuedTaskCount();
+        return metricsRecorder.snapshot((int) Math.min(Integer.MAX_VALUE, queued), getActiveThreadCount(), getPoolSize());
+    }
 }
@@ -15,6 +15,7 @@
  */
 package dev.ikm.komet.executor;
 
+import dev.ikm.komet.framework.concurrent.ExecutorPoolMetrics;
 import dev.ikm.tinkar.common.alert.AlertObject;
 import dev.ikm.tinkar.common.alert.AlertStreams;
 import dev.ikm.tinkar.common.service.TrackingCallable;
@@ -23,8 +24,11 @@
 
 import java.util.concurrent.*;
 
-public class KometScheduledExecutor extends ScheduledThreadPoolExecutor {
+public class KometScheduledExecutor extends ScheduledThreadPoolExecutor implements MeteredExecutor {
     private static final Logger LOG = LoggerFactory.getLogger(KometScheduledExecutor.class);
+    private static final ThreadLocal<Long> TASK_START_NANOS = new ThreadLocal<>();
+
+    private final PoolMetricsRecorder metricsRecorder = new PoolMetricsRecorder("scheduled");
 
     public KometScheduledExecutor(int corePoolSize) {
         super(corePoolSize);
@@ -47,6 +51,7 @@ protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, Runnabl
         if (runnable instanceof TrackingCallable) {
 
         }
+        metricsRecorder.recordSubmitted();
         return super.decorateTask(runnable, task);
     }
 
@@ -55,14 +60,35 @@ protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, Runn
         if (callable instanceof TrackingCallable) {
 
         }
+        metricsRecorder.recordSubmitted();
         return super.decorateTask(callable, task);
     }
 
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        if (r instanceof RunnableScheduledFuture<?> scheduledFuture) {
+            // A negative delay is how late the task started relative to when it became due.
+            metricsRecorder.recordWait(-scheduledFuture.getDelay(TimeUnit.NANOSECONDS));
+        }
+        TASK_START_NANOS.set(System.nanoTime());
+    }
+
     @Override
     protected void afterExecute(Runnable r, Throwable t) {
         super.afterExecute(r, t);
+        Long started = TASK_START_NANOS.get();
+        if (started != null) {
+            TASK_START_NANOS.remove();
+            metricsRecorder.recordRun(System.nanoTime() - started);
+        }
         if (t != null) {
             AlertStreams.getRoot().dispatch(AlertObject.makeError(t));
         }
     }
+
+    @Override
+    public ExecutorPoolMetrics metrics() {
+        return metricsRecorder.snapshot(getQueue().size(), getActiveCount(), getPoolSize());
+    }
 }
@@ -15,34 +15,189 @@
  */
 package dev.ikm.komet.executor;
 
-import javafx.application.Platform;
+import dev.ikm.komet.framework.concurrent.ExecutorPoolMetrics;
+import dev.ikm.komet.framework.concurrent.LaneLatency;
+import dev.ikm.komet.framework.concurrent.PrioritizedTask;
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import dev.ikm.komet.framework.concurrent.TaskRegistry;
+import dev.ikm.komet.framework.concurrent.TaskSession;
 import dev.ikm.komet.framework.concurrent.TaskWrapper;
 import dev.ikm.tinkar.common.alert.AlertObject;
 import dev.ikm.tinkar.common.alert.AlertStreams;
 import dev.ikm.tinkar.common.service.TrackingCallable;
 import dev.ikm.tinkar.common.util.thread.PausableThreadPoolExecutor;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.concurrent.*;
 
-public class KometThreadPoolExecutor extends PausableThreadPoolExecutor {
+public class KometThreadPoolExecutor extends PausableThreadPoolExecutor implements MeteredExecutor {
     private static final Logger LOG = LoggerFactory.getLogger(KometThreadPoolExecutor.class);
+    private static final ThreadLocal<Long> TASK_START_NANOS = new ThreadLocal<>();
+    private static final ThreadLocal<RunningTask> RUNNING_TASK = new ThreadLocal<>();
+
+    private final PoolMetricsRecorder metricsRecorder;
+    private final SessionAccountant accountant = SessionAccountant.get();
+
+    /**
+     * A submitted task, queued in place of the caller's runnable so each submission carries its own enqueue time
+     * and session, and nothing outlives the task once it leaves the queue, however it leaves.
+     */
+    private static final class Submission implements Runnable, PrioritizedTask {
+        private final Runnable command;
+        private final long enqueueNanos;
+        private final SessionAccountant.Account account;
+
+        private Submission(Runnable command, long enqueueNanos, SessionAccountant.Account account) {
+            this.command = command;
+            this.enqueueNanos = enqueueNanos;
+            this.account = account;
+        }
+
+        @Override
+        public void run() {
+            command.run();
+        }
+
+        @Override
+        public TaskPriority taskPriority() {
+            return TaskPriority.of(command);
+        }
+    }
+
+    /**
+     * The session of the task running on a thread, and the thread's CPU time when it started.
+     */
+    private record RunningTask(SessionAccountant.Account account, long startThreadNanos) {
+    }
 
     public KometThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue) {
-        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue);
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, discardingRejected(new AbortPolicy()));
+        this.metricsRecorder = new PoolMetricsRecorder(KometThreadPoolExecutor.class.getSimpleName());
     }
 
     public KometThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue, RejectedExecutionHandler handler) {
-        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, handler);
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, discardingRejected(handler));
+        this.metricsRecorder = new PoolMetricsRecorder(KometThreadPoolExecutor.class.getSimpleName());
     }
 
     public KometThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
-        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, discardingRejected(new AbortPolicy()));
+        this.metricsRecorder = new PoolMetricsRecorder(KometThreadPoolExecutor.class.getSimpleName());
     }
 
     public KometThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory, RejectedExecutionHandler handler) {
-        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, discardingRejected(handler));
+        this.metricsRecorder = new PoolMetricsRecorder(KometThreadPoolExecutor.class.getSimpleName());
+    }
+
+    public KometThreadPoolExecutor(String poolName, int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, discardingRejected(new AbortPolicy()));
+        this.metricsRecorder = new PoolMetricsRecorder(poolName);
+    }
+
+    /**
+     * Forgets a rejected {@link TaskWrapper} in the {@link TaskRegistry} before the handler is called, so it is not
+     * left among the queued tasks whether the handler throws, drops or runs it.
+     */
+    private static RejectedExecutionHandler discardingRejected(RejectedExecutionHandler handler) {
+        return (rejected, executor) -> {
+            discarded(rejected);
+            handler.rejectedExecution(rejected, executor);
+        };
+    }
+
+    private static void discarded(Runnable queued) {
+        Runnable command = queued instanceof Submission submission ? submission.command : queued;
+        if (command instanceof TaskWrapper<?> taskWrapper) {
+            TaskRegistry.get().discarded(taskWrapper);
+        }
+    }
+
+    @Override
+    public void setRejectedExecutionHandler(RejectedExecutionHandler handler) {
+        super.setRejectedExecutionHandler(discardingRejected(handler));
+    }
+
+    /**
+     * Queues a task, noting a {@link TaskWrapper} in the {@link TaskRegistry} as waiting for a thread.
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (command instanceof TaskWrapper<?> taskWrapper) {
+            TaskRegistry.get().queued(taskWrapper);
+        }
+        metricsRecorder.recordSubmitted();
+        SessionAccountant.Account account = accountant.account(TaskSession.current());
+        accountant.submitted(account);
+        super.execute(new Submission(command, System.nanoTime(), account));
+    }
+
+    /**
+     * Removes a task submitted by {@link #execute(Runnable)}, which is queued in a {@link Submission}.
+     */
+    @Override
+    public boolean remove(Runnable task) {
+        for (Runnable queued : getQueue()) {
+            if (queued instanceof Submission submission && submission.command == task) {
+                return removed(super.remove(submission), task);
+            }
+        }
+        return removed(super.remove(task), task);
+    }
+
+    private static boolean removed(boolean removed, Runnable task) {
+        if (removed) {
+            discarded(task);
+        }
+        return removed;
+    }
+
+    /**
+     * Also removes cancelled futures queued in a {@link Submission}, which the inherited purge does not see.
+     */
+    @Override
+    public void purge() {
+        getQueue().removeIf(queued -> queued instanceof Submission submission &&
+                submission.command instanceof Future<?> future && future.isCancelled());
+        super.purge();
+    }
+
+    /**
+     * @return the tasks that never ran, as the runnables they were submitted as
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> neverRun = super.shutdownNow().stream()
+                .map(queued -> queued instanceof Submission submission ? submission.command : queued)
+                .toList();
+        neverRun.forEach(KometThreadPoolExecutor::discarded);
+        return neverRun;
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        long now = System.nanoTime();
+        if (r instanceof Submission submission) {
+            metricsRecorder.recordWait(now - submission.enqueueNanos);
+            accountant.started(submission.account, now - submission.enqueueNanos);
+            // Work the task submits belongs to the same session
+            TaskSession.bind(submission.account.session());
+            RUNNING_TASK.set(new RunningTask(submission.account, SessionAccountant.threadTimeNanos()));
+        }
+        TASK_START_NANOS.set(now);
+    }
+
+    @Override
+    public ExecutorPoolMetrics metrics() {
+        return metricsRecorder.snapshot(getQueue().size(), getActiveCount(), getPoolSize());
     }
 
     @Override
@@ -50,22 +205,71 @@ protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
         if (runnable instanceof TrackingCallable trackingCallable) {
             return TaskWrapper.make(trackingCallable);
         }
+        if (runnable instanceof PrioritizedTask prioritizedTask) {
+            return new PrioritizedFutureTask<>(prioritizedTask.taskPriority(), runnable, value);
+        }
         return super.newTaskFor(runnable, value);
     }
 
     @Override
     protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
         if (callable instanceof TrackingCallable trackingCallable) {
-            TaskWrapper<T> taskWrapper = TaskWrapper.make(trackingCallable);
-            Platform.runLater(() -> TaskListsProvider.pendingTasks.add(taskWrapper));
-            return taskWrapper;
+            return TaskWrapper.make(trackingCallable);
+        }
+        if (callable instanceof PrioritizedTask prioritizedTask) {
+            return new PrioritizedFutureTask<>(prioritizedTask.taskPriority(), callable);
         }
         return super.newTaskFor(callable);
     }
 
+    /**
+     * @return queue latency percentiles per priority lane, or an empty list if this executor
+     * does not use a {@link PriorityLaneQueue}.
+     */
+    public ImmutableList<LaneLatency> laneLatencies() {
+        if (getQueue() instanceof PriorityLaneQueue priorityLaneQueue) {
+            return priorityLaneQueue.laneLatencies();
+        }
+        return Lists.immutable.empty();
+    }
+
+    /**
+     * Keeps the priority of a submitted non-tracking task visible to the work queue.
+     */
+    private static class PrioritizedFutureTask<T> extends FutureTask<T> implements PrioritizedTask {
+        private final TaskPriority taskPriority;
+
+        PrioritizedFutureTask(TaskPriority taskPriority, Callable<T> callable) {
+            super(callable);
+            this.taskPriority = taskPriority;
+        }
+
+        PrioritizedFutureTask(TaskPriority taskPriority, Runnable runnable, T result) {
+            super(runnable, result);
+            this.taskPriority = taskPriority;
+        }
+
+        @Override
+        public TaskPriority taskPriority() {
+            return taskPriority;
+        }
+    }
+
     @Override
     protected void afterExecute(Runnable r, Throwable t) {
         super.afterExecute(r, t);
+        Long started = TASK_START_NANOS.get();
+        if (started != null) {
+            TASK_START_NANOS.remove();
+            metricsRecorder.recordRun(System.nanoTime() - started);
+        }
+        RunningTask runningTask = RUNNING_TASK.get();
+        if (runningTask != null) {
+            RUNNING_TASK.remove();
+            TaskSession.bind(null);
+            accountant.finished(runningTask.account(),
+                    SessionAccountant.threadTimeNanos() - runningTask.startThreadNanos());
+        }
         if (t != null) {
             try {
                 AlertStreams.getRoot().dispatch(AlertObject.makeError(t));
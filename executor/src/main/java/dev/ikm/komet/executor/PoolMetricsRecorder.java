@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.executor;
+
+import dev.ikm.komet.framework.concurrent.ExecutorPoolMetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free accumulator for the wait and run times of tasks passing through one executor pool.
+ */
+final class PoolMetricsRecorder {
+    private final String poolName;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+
+    PoolMetricsRecorder(String poolName) {
+        this.poolName = poolName;
+    }
+
+    String poolName() {
+        return poolName;
+    }
+
+    void recordSubmitted() {
+        submitted.increment();
+    }
+
+    void recordWait(long waitNanos) {
+        if (waitNanos < 0) {
+            waitNanos = 0;
+        }
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    void recordRun(long runNanos) {
+        completed.increment();
+        totalRunNanos.add(runNanos);
+        maxRunNanos.accumulateAndGet(runNanos, Math::max);
+    }
+
+    ExecutorPoolMetrics snapshot(int queueDepth, int activeThreads, int poolSize) {
+        return new ExecutorPoolMetrics(poolName, queueDepth, activeThreads, poolSize,
+                submitted.sum(), completed.sum(),
+                totalWaitNanos.sum(), maxWaitNanos.get(),
+                totalRunNanos.sum(), maxRunNanos.get());
+    }
+}
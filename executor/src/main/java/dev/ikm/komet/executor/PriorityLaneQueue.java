@@ -0,0 +1,233 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.executor;
+
+import dev.ikm.komet.framework.concurrent.LaneLatency;
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import dev.ikm.komet.framework.concurrent.TaskSession;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unbounded work queue that orders tasks by {@link TaskPriority} lane with aging.
+ * <p>
+ * Each task is keyed by a virtual deadline, its enqueue time plus the {@link TaskPriority#agingNanos()}
+ * of its lane, so ordering is stable inside the heap while still letting long-waiting bulk work reach the
+ * front. Ties are broken by enqueue sequence, keeping each lane FIFO. The time each task spends queued is
+ * recorded per lane when it is taken.
+ * <p>
+ * The deadline also includes the fair share delay of the {@link TaskSession} submitting the task, so one
+ * session queueing many tasks in a lane does not hold up the tasks other sessions queue in that lane.
+ */
+public class PriorityLaneQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private final String poolName;
+    private final SessionAccountant accountant;
+    private final PriorityBlockingQueue<Entry> queue = new PriorityBlockingQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LatencyWindow[] laneLatencies = new LatencyWindow[TaskPriority.values().length];
+
+    public PriorityLaneQueue(String poolName) {
+        this(poolName, SessionAccountant.get());
+    }
+
+    PriorityLaneQueue(String poolName, SessionAccountant accountant) {
+        this.poolName = poolName;
+        this.accountant = accountant;
+        for (int i = 0; i < laneLatencies.length; i++) {
+            laneLatencies[i] = new LatencyWindow();
+        }
+    }
+
+    private record Entry(Runnable task, TaskPriority priority, SessionAccountant.Account account,
+                         long enqueueNanos, long deadlineNanos, long sequence) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            // Deadlines are System.nanoTime() based, so compare the difference to tolerate overflow.
+            long diff = this.deadlineNanos - other.deadlineNanos;
+            if (diff != 0) {
+                return diff < 0 ? -1 : 1;
+            }
+            return Long.compare(this.sequence, other.sequence);
+        }
+    }
+
+    private Entry entryFor(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        TaskPriority priority = TaskPriority.of(task);
+        SessionAccountant.Account account = accountant.account(TaskSession.current());
+        long now = System.nanoTime();
+        long fairShareDelay = accountant.enqueued(account, priority);
+        return new Entry(task, priority, account, now, now + priority.agingNanos() + fairShareDelay,
+                sequence.getAndIncrement());
+    }
+
+    private Runnable taken(Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        accountant.dequeued(entry.account, entry.priority);
+        laneLatencies[entry.priority.ordinal()].record(System.nanoTime() - entry.enqueueNanos);
+        return entry.task;
+    }
+
+    /**
+     * @return queue latency percentiles for each lane that has recorded at least one task.
+     */
+    public ImmutableList<LaneLatency> laneLatencies() {
+        MutableList<LaneLatency> latencies = Lists.mutable.empty();
+        for (TaskPriority priority : TaskPriority.values()) {
+            long[] samples = laneLatencies[priority.ordinal()].sortedSamples();
+            if (samples.length > 0) {
+                latencies.add(new LaneLatency(poolName, priority, samples.length,
+                        percentile(samples, 0.50), percentile(samples, 0.90), percentile(samples, 0.99)));
+            }
+        }
+        return latencies.toImmutable();
+    }
+
+    private static long percentile(long[] sortedSamples, double fraction) {
+        int index = (int) Math.ceil(fraction * sortedSamples.length) - 1;
+        return sortedSamples[Math.max(0, Math.min(index, sortedSamples.length - 1))];
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        return queue.offer(entryFor(runnable));
+    }
+
+    @Override
+    public void put(Runnable runnable) {
+        queue.put(entryFor(runnable));
+    }
+
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) {
+        return queue.offer(entryFor(runnable), timeout, unit);
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        return taken(queue.take());
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return taken(queue.poll(timeout, unit));
+    }
+
+    @Override
+    public Runnable poll() {
+        return taken(queue.poll());
+    }
+
+    @Override
+    public Runnable peek() {
+        Entry entry = queue.peek();
+        return entry == null ? null : entry.task;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection, int maxElements) {
+        if (collection == this) {
+            throw new IllegalArgumentException();
+        }
+        int drained = 0;
+        Entry entry;
+        while (drained < maxElements && (entry = queue.poll()) != null) {
+            accountant.dequeued(entry.account, entry.priority);
+            collection.add(entry.task);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Weakly consistent iterator over the queued tasks, in no particular order. Supports
+     * {@link Iterator#remove()}, which {@link java.util.concurrent.ThreadPoolExecutor#remove(Runnable)} relies on.
+     */
+    @Override
+    public Iterator<Runnable> iterator() {
+        Iterator<Entry> entries = queue.iterator();
+        return new Iterator<>() {
+            private Entry current;
+
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                current = entries.next();
+                return current.task;
+            }
+
+            @Override
+            public void remove() {
+                entries.remove();
+                accountant.dequeued(current.account, current.priority);
+            }
+        };
+    }
+
+    /**
+     * Fixed size ring of the most recent latency samples for one lane.
+     */
+    private static final class LatencyWindow {
+        private static final int WINDOW_SIZE = 1024;
+        private final long[] samples = new long[WINDOW_SIZE];
+        private long count;
+
+        synchronized void record(long latencyNanos) {
+            samples[(int) (count++ % WINDOW_SIZE)] = Math.max(0, latencyNanos);
+        }
+
+        synchronized long[] sortedSamples() {
+            long[] copy = new long[(int) Math.min(count, WINDOW_SIZE)];
+            System.arraycopy(samples, 0, copy, 0, copy.length);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.executor;
+
+import dev.ikm.komet.framework.concurrent.SessionUsage;
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import dev.ikm.komet.framework.concurrent.TaskSession;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accounts for the work each {@link TaskSession} submits to the shared pools, and computes the delay that
+ * shares the lane-ordered pools fairly between sessions.
+ * <p>
+ * Each task a session queues in a lane is ordered {@link #FAIR_SHARE_QUANTUM_NANOS} behind the previous one,
+ * divided by the session's weight, on top of the lane's aging. A session that queues hundreds of tasks at once
+ * therefore spreads them out, while the occasional task of another session goes in near the front of its
+ * lane. Spacing is per lane, so a session's bulk work does not delay its own interactive work.
+ * <p>
+ * A weight only orders a session's queued tasks against those of other sessions; it is not a limit. A session
+ * with a low weight still gets every idle thread when no other session has work queued.
+ */
+final class SessionAccountant {
+    /**
+     * How far behind its previous queued task in the same lane a session's next task is ordered.
+     */
+    static final long FAIR_SHARE_QUANTUM_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    /**
+     * The weight of a session whose weight has not been set.
+     */
+    static final double DEFAULT_WEIGHT = 1;
+
+    private static final SessionAccountant INSTANCE = new SessionAccountant();
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    static SessionAccountant get() {
+        return INSTANCE;
+    }
+
+    private SessionAccountant() {
+        TaskSession.addEndListener(this::ended);
+    }
+
+    /**
+     * The running totals of one session.
+     */
+    static final class Account {
+        private final TaskSession session;
+        private final AtomicInteger[] queuedByLane = new AtomicInteger[TaskPriority.values().length];
+        private final AtomicInteger running = new AtomicInteger();
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private volatile double weight = DEFAULT_WEIGHT;
+
+        private Account(TaskSession session) {
+            this.session = session;
+            for (int i = 0; i < queuedByLane.length; i++) {
+                queuedByLane[i] = new AtomicInteger();
+            }
+        }
+
+        TaskSession session() {
+            return session;
+        }
+
+        private int queued() {
+            int queued = 0;
+            for (AtomicInteger lane : queuedByLane) {
+                queued += lane.get();
+            }
+            return queued;
+        }
+
+        private SessionUsage usage() {
+            return new SessionUsage(session.sessionId(), session.userName(), queued(), running.get(),
+                    submitted.sum(), completed.sum(), cpuNanos.sum(), totalWaitNanos.sum(), maxWaitNanos.get(),
+                    weight);
+        }
+    }
+
+    private final ConcurrentHashMap<String, Account> accounts = new ConcurrentHashMap<>();
+
+    Account account(TaskSession session) {
+        return accounts.computeIfAbsent(session.sessionId(), _ -> new Account(session));
+    }
+
+    void submitted(Account account) {
+        account.submitted.increment();
+    }
+
+    /**
+     * Counts a task queued in a lane.
+     *
+     * @return how much later than the lane alone dictates the task should be ordered
+     */
+    long enqueued(Account account, TaskPriority priority) {
+        int queuedAhead = account.queuedByLane[priority.ordinal()].getAndIncrement();
+        return (long) (queuedAhead * FAIR_SHARE_QUANTUM_NANOS / account.weight);
+    }
+
+    void dequeued(Account account, TaskPriority priority) {
+        account.queuedByLane[priority.ordinal()].decrementAndGet();
+    }
+
+    void started(Account account, long waitNanos) {
+        account.running.incrementAndGet();
+        waitNanos = Math.max(0, waitNanos);
+        account.totalWaitNanos.add(waitNanos);
+        account.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    void finished(Account account, long cpuNanos) {
+        account.running.decrementAndGet();
+        account.completed.increment();
+        account.cpuNanos.add(Math.max(0, cpuNanos));
+        if (account.session.isEnded()) {
+            removeIfIdle(account);
+        }
+    }
+
+    /**
+     * Discards the account of a session that has ended, unless it still has tasks queued or running, in which
+     * case it is discarded when the last of them finishes.
+     */
+    private void ended(TaskSession session) {
+        Account account = accounts.get(session.sessionId());
+        if (account != null) {
+            removeIfIdle(account);
+        }
+    }
+
+    private void removeIfIdle(Account account) {
+        if (account.running.get() == 0 && account.queued() == 0) {
+            accounts.remove(account.session.sessionId(), account);
+        }
+    }
+
+    /**
+     * @return the CPU time the calling thread has used, or its wall clock time where CPU time is not
+     * measurable, as on virtual threads
+     */
+    static long threadTimeNanos() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && !Thread.currentThread().isVirtual()) {
+            long cpuTime = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            if (cpuTime >= 0) {
+                return cpuTime;
+            }
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * @return the usage of each session, heaviest CPU user first
+     */
+    ImmutableList<SessionUsage> usage() {
+        return Lists.immutable.fromStream(accounts.values().stream()
+                .map(Account::usage)
+                .sorted(Comparator.comparingLong(SessionUsage::cpuNanos).reversed()));
+    }
+
+    /**
+     * @return true if the weight was set, false if the session has no account, as when it has ended
+     */
+    boolean setWeight(String sessionId, double weight) {
+        if (!(weight > 0 && Double.isFinite(weight))) {
+            throw new IllegalArgumentException("Weight must be positive: " + weight);
+        }
+        Account account = accounts.get(sessionId);
+        if (account == null) {
+            return false;
+        }
+        account.weight = weight;
+        return true;
+    }
+}
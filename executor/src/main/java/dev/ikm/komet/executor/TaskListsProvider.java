@@ -15,17 +15,50 @@
  */
 package dev.ikm.komet.executor;
 
+import dev.ikm.komet.framework.concurrent.CompletedTask;
+import dev.ikm.komet.framework.concurrent.ExecutorPoolMetrics;
+import dev.ikm.komet.framework.concurrent.LaneLatency;
+import dev.ikm.komet.framework.concurrent.SessionUsage;
 import dev.ikm.komet.framework.concurrent.TaskListsService;
+import dev.ikm.komet.framework.concurrent.TaskRegistry;
+import dev.ikm.komet.framework.concurrent.TaskTiming;
+import dev.ikm.tinkar.common.util.time.DateTimeUtil;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
+import javafx.util.Duration;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Provides the task lists of the progress views, sampled from the {@link TaskRegistry} on the JavaFX thread
+ * every {@link #SAMPLE_INTERVAL} once a view first asks for them. A task is listed as pending or executing once
+ * it has waited or run for {@link #VISIBLE_AFTER_NANOS}, so the many tasks that finish sooner never change the
+ * lists, and each sample changes a list with at most one removal and one addition.
+ */
 public class TaskListsProvider implements TaskListsService {
 
+	static final Duration SAMPLE_INTERVAL = Duration.millis(250);
+	static final long VISIBLE_AFTER_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+	static final int MAX_COMPLETED_TASKS = 200;
+
 	public static final ObservableList<Task<?>> pendingTasks = FXCollections.observableArrayList();
 	public static final ObservableList<Task<?>> executingTasks = FXCollections.observableArrayList();
 	public static final ObservableList<Task<?>> completedTasks = FXCollections.observableArrayList();
 
+	private static final AtomicBoolean sampling = new AtomicBoolean();
+
 	public static TaskListsProvider provider() {
 		return new TaskListsProvider();
 	}
@@ -35,14 +68,93 @@ private TaskListsProvider() {
 	}
 
 	public ObservableList<Task<?>> pendingTasks() {
+		startSampling();
 		return pendingTasks;
 	}
 
 	public ObservableList<Task<?>> executingTasks() {
+		startSampling();
 		return executingTasks;
 	}
 
 	public ObservableList<Task<?>> completedTasks() {
+		startSampling();
 		return completedTasks;
 	}
+
+	private static void startSampling() {
+		if (sampling.compareAndSet(false, true)) {
+			Platform.runLater(() -> {
+				Timeline sampler = new Timeline(new KeyFrame(SAMPLE_INTERVAL, _ -> sample()));
+				sampler.setCycleCount(Animation.INDEFINITE);
+				sampler.play();
+			});
+		}
+	}
+
+	private static void sample() {
+		TaskRegistry registry = TaskRegistry.get();
+		update(pendingTasks, registry.queuedLongerThan(VISIBLE_AFTER_NANOS));
+		update(executingTasks, registry.runningLongerThan(VISIBLE_AFTER_NANOS));
+		ImmutableList<TaskTiming> completions = registry.collectCompletions();
+		if (completions.notEmpty()) {
+			MutableList<Task<?>> newestFirst = Lists.mutable.withInitialCapacity(completions.size());
+			for (TaskTiming timing : completions.asReversed()) {
+				newestFirst.add(new CompletedTask(timing.title(), timing.message(), DateTimeUtil.format(timing.finishedAt())));
+			}
+			completedTasks.addAll(0, newestFirst);
+			if (completedTasks.size() > MAX_COMPLETED_TASKS) {
+				completedTasks.remove(MAX_COMPLETED_TASKS, completedTasks.size());
+			}
+		}
+	}
+
+	/**
+	 * Makes a list hold the sampled tasks, keeping the position of those it already holds.
+	 */
+	private static void update(ObservableList<Task<?>> list, ImmutableList<Task<?>> sampled) {
+		MutableSet<Task<?>> sampledSet = sampled.toSet();
+		if (list.size() == sampledSet.size() && sampledSet.containsAll(list)) {
+			return;
+		}
+		// removeAll and addAll each fire one change, where removeIf would fire one per task
+		MutableList<Task<?>> removed = Lists.mutable.empty();
+		for (Task<?> task : list) {
+			if (!sampledSet.contains(task)) {
+				removed.add(task);
+			}
+		}
+		if (removed.notEmpty()) {
+			list.removeAll(removed);
+		}
+		Set<Task<?>> listed = new HashSet<>(list);
+		ImmutableList<Task<?>> added = sampled.reject(listed::contains);
+		if (added.notEmpty()) {
+			list.addAll(added.castToList());
+		}
+	}
+
+	@Override
+	public ImmutableList<ExecutorPoolMetrics> executorPoolMetrics() {
+		return KometExecutorController.runningProvider()
+				.map(KometExecutorProvider::poolMetrics)
+				.orElse(Lists.immutable.empty());
+	}
+
+	@Override
+	public ImmutableList<LaneLatency> laneLatencies() {
+		return KometExecutorController.runningProvider()
+				.map(KometExecutorProvider::laneLatencies)
+				.orElse(Lists.immutable.empty());
+	}
+
+	@Override
+	public ImmutableList<SessionUsage> sessionUsage() {
+		return SessionAccountant.get().usage();
+	}
+
+	@Override
+	public boolean setSessionWeight(String sessionId, double weight) {
+		return SessionAccountant.get().setWeight(sessionId, weight);
+	}
 }
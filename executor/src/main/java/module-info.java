@@ -33,5 +33,6 @@
     requires transitive javafx.graphics;
     requires transitive dev.ikm.komet.framework;
     requires transitive dev.ikm.tinkar.common;
+    requires java.management;
     uses TaskListsService;
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.executor;
+
+import dev.ikm.komet.framework.concurrent.ExecutorPoolMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KometThreadPoolExecutorMetricsTest {
+
+    @Test
+    public void recordsSubmittedCompletedAndRunTimes() throws InterruptedException {
+        KometThreadPoolExecutor executor = new KometThreadPoolExecutor("test", 1, 1, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), Thread.ofVirtual().factory());
+        try {
+            for (int i = 0; i < 3; i++) {
+                executor.execute(() -> {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        ExecutorPoolMetrics metrics = executor.metrics();
+        assertEquals("test", metrics.poolName());
+        assertEquals(3, metrics.submittedCount());
+        assertEquals(3, metrics.completedCount());
+        assertEquals(0, metrics.queueDepth());
+        assertTrue(metrics.totalRunNanos() >= TimeUnit.MILLISECONDS.toNanos(15));
+        // With a single thread the later tasks must have waited for the earlier ones.
+        assertTrue(metrics.maxWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    public void removesAndReturnsQueuedTasksAsSubmitted() throws InterruptedException {
+        KometThreadPoolExecutor executor = new KometThreadPoolExecutor("test", 1, 1, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), Thread.ofVirtual().factory());
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Runnable queued = () -> {
+        };
+        Runnable dropped = () -> {
+        };
+        executor.execute(blocker);
+        // The same runnable submitted twice is queued twice
+        executor.execute(queued);
+        executor.execute(queued);
+        executor.execute(dropped);
+
+        assertEquals(3, executor.getQueue().size());
+        assertTrue(executor.remove(queued));
+        assertEquals(2, executor.getQueue().size());
+        List<Runnable> neverRan = executor.shutdownNow();
+        release.countDown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(List.of(queued, dropped), neverRan);
+        assertEquals(4, executor.metrics().submittedCount());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.executor;
+
+import dev.ikm.komet.framework.concurrent.LaneLatency;
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import dev.ikm.komet.framework.concurrent.TaskSession;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriorityLaneQueueTest {
+
+    @Test
+    public void interactiveOvertakesQueuedBulkAndNormalWork() {
+        PriorityLaneQueue queue = new PriorityLaneQueue("test");
+        Runnable bulk = TaskPriority.BULK.wrap(() -> {});
+        Runnable normal = () -> {};
+        Runnable interactive = TaskPriority.INTERACTIVE.wrap(() -> {});
+        queue.offer(bulk);
+        queue.offer(normal);
+        queue.offer(interactive);
+
+        assertSame(interactive, queue.poll());
+        assertSame(normal, queue.poll());
+        assertSame(bulk, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void lanesStayFifoAndRecordLatency() {
+        PriorityLaneQueue queue = new PriorityLaneQueue("test");
+        Runnable first = TaskPriority.INTERACTIVE.wrap(() -> {});
+        Runnable second = TaskPriority.INTERACTIVE.wrap(() -> {});
+        queue.offer(first);
+        queue.offer(second);
+
+        assertSame(first, queue.poll());
+        assertSame(second, queue.poll());
+
+        LaneLatency latency = queue.laneLatencies().getOnly();
+        assertEquals(TaskPriority.INTERACTIVE, latency.priority());
+        assertEquals(2, latency.sampleCount());
+    }
+
+    @Test
+    public void sessionsShareALane() {
+        PriorityLaneQueue queue = new PriorityLaneQueue("test", new SessionAccountant());
+        TaskSession heavy = TaskSession.create("heavy");
+        TaskSession light = TaskSession.create("light");
+        Runnable[] heavyTasks = new Runnable[3];
+        Runnable lightTask = () -> {};
+        try {
+            TaskSession.bind(heavy);
+            for (int i = 0; i < heavyTasks.length; i++) {
+                heavyTasks[i] = () -> {};
+                queue.offer(heavyTasks[i]);
+            }
+            TaskSession.bind(light);
+            queue.offer(lightTask);
+        } finally {
+            TaskSession.bind(null);
+        }
+
+        // the light session's only task is ordered behind the heavy session's first task, not its last
+        assertSame(heavyTasks[0], queue.poll());
+        assertSame(lightTask, queue.poll());
+        assertSame(heavyTasks[1], queue.poll());
+        assertSame(heavyTasks[2], queue.poll());
+    }
+
+    @Test
+    public void iteratorRemoveRemovesQueuedTask() {
+        PriorityLaneQueue queue = new PriorityLaneQueue("test");
+        Runnable task = () -> {};
+        queue.offer(task);
+        assertTrue(queue.remove(task));
+        assertEquals(0, queue.size());
+    }
+}
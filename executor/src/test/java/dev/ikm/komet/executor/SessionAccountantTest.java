@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.executor;
+
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import dev.ikm.komet.framework.concurrent.TaskSession;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SessionAccountantTest {
+
+    private static boolean accounted(SessionAccountant accountant, TaskSession session) {
+        return accountant.usage().anySatisfy(usage -> usage.sessionId().equals(session.sessionId()));
+    }
+
+    @Test
+    public void endingAnIdleSessionDiscardsItsAccount() {
+        SessionAccountant accountant = SessionAccountant.get();
+        TaskSession session = TaskSession.create("idle");
+        accountant.account(session);
+        assertTrue(accounted(accountant, session));
+
+        session.end();
+        assertFalse(accounted(accountant, session));
+    }
+
+    @Test
+    public void endingABusySessionDiscardsItsAccountWhenItsLastTaskFinishes() {
+        SessionAccountant accountant = SessionAccountant.get();
+        TaskSession session = TaskSession.create("busy");
+        SessionAccountant.Account account = accountant.account(session);
+        accountant.started(account, 0);
+
+        session.end();
+        assertTrue(accounted(accountant, session));
+
+        accountant.finished(account, 0);
+        assertFalse(accounted(accountant, session));
+    }
+
+    @Test
+    public void weightSpacesOutQueuedTasks() {
+        SessionAccountant accountant = SessionAccountant.get();
+        TaskSession low = TaskSession.create("low");
+        TaskSession high = TaskSession.create("high");
+        SessionAccountant.Account lowAccount = accountant.account(low);
+        SessionAccountant.Account highAccount = accountant.account(high);
+        assertTrue(accountant.setWeight(low.sessionId(), 0.5));
+        assertTrue(accountant.setWeight(high.sessionId(), 2));
+
+        for (SessionAccountant.Account account : new SessionAccountant.Account[]{lowAccount, highAccount}) {
+            assertEquals(0, accountant.enqueued(account, TaskPriority.BULK));
+        }
+        assertEquals(2 * SessionAccountant.FAIR_SHARE_QUANTUM_NANOS,
+                accountant.enqueued(lowAccount, TaskPriority.BULK));
+        assertEquals(SessionAccountant.FAIR_SHARE_QUANTUM_NANOS / 2,
+                accountant.enqueued(highAccount, TaskPriority.BULK));
+
+        for (SessionAccountant.Account account : new SessionAccountant.Account[]{lowAccount, highAccount}) {
+            accountant.dequeued(account, TaskPriority.BULK);
+            accountant.dequeued(account, TaskPriority.BULK);
+        }
+        low.end();
+        high.end();
+        assertFalse(accountant.setWeight(low.sessionId(), 1));
+    }
+}
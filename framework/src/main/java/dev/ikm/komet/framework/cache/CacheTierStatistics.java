@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.cache;
+
+/**
+ * Point-in-time snapshot of the size and effectiveness of one cache tier.
+ *
+ * @param tierName       the name of the tier
+ * @param entries        the number of cached values
+ * @param estimatedBytes the estimated memory held by the cached values
+ * @param hits           the number of lookups answered from the tier
+ * @param misses         the number of lookups that had to compute their value
+ * @param evictions      the number of values evicted to stay within the tier's capacity
+ */
+public record CacheTierStatistics(String tierName,
+                                  int entries,
+                                  long estimatedBytes,
+                                  long hits,
+                                  long misses,
+                                  long evictions) {
+
+    /**
+     * @return the fraction of lookups answered from the tier, from 0 to 1
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return tierName + "{entries=" + entries +
+                ", ~" + (estimatedBytes / 1024) + "KiB" +
+                ", hitRate=" + Math.round(hitRate() * 100) + "%" +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions + "}";
+    }
+}
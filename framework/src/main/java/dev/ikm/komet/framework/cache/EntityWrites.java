@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.cache;
+
+import dev.ikm.tinkar.common.util.broadcast.Subscriber;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tells the caches and indexes that derive data from entities about every entity written to the data store.
+ * <p>
+ * A single subscriber is registered with the entity service on behalf of every listener, and held here, since
+ * the entity service only keeps a weak reference to its subscribers. Each write is passed to the listeners as
+ * a {@link Write}, which reads the written entity the first time a listener asks for it, so a write is read
+ * at most once however many listeners look at it, and not at all if none does.
+ */
+public final class EntityWrites {
+    private static final Logger LOG = LoggerFactory.getLogger(EntityWrites.class);
+
+    /**
+     * Receives the entity writes. Called on the thread that wrote the entity, so it should be quick.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void written(Write write);
+    }
+
+    /**
+     * A write to one entity.
+     */
+    public static final class Write {
+        private final int nid;
+        private Entity<?> entity;
+        private boolean read = false;
+
+        Write(int nid) {
+            this.nid = nid;
+        }
+
+        /**
+         * @return the nid of the written entity
+         */
+        public int nid() {
+            return nid;
+        }
+
+        /**
+         * @return the written entity, read on the first call, or null if it cannot be read
+         */
+        public Entity<?> entity() {
+            if (!read) {
+                entity = Entity.getFast(nid);
+                read = true;
+            }
+            return entity;
+        }
+    }
+
+    private static final CopyOnWriteArrayList<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static final Subscriber<Integer> SUBSCRIBER = EntityWrites::dispatch;
+    private static EntityService subscribedTo;
+
+    private EntityWrites() {
+    }
+
+    /**
+     * Adds a listener, which is held strongly until it is removed. Adding a listener already added does
+     * nothing, so a cache may add its listener whenever it starts holding data rather than keep track of it.
+     *
+     * @param listener the listener
+     */
+    public static void addListener(Listener listener) {
+        LISTENERS.addIfAbsent(listener);
+        synchronized (EntityWrites.class) {
+            if (subscribedTo != Entity.provider()) {
+                subscribedTo = Entity.provider();
+                subscribedTo.addSubscriberWithWeakReference(SUBSCRIBER);
+            }
+        }
+    }
+
+    /**
+     * @param listener a listener added by {@link #addListener(Listener)}
+     */
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    private static void dispatch(Integer nid) {
+        Write write = new Write(nid);
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.written(write);
+            } catch (RuntimeException ex) {
+                LOG.error("Entity write listener failed for nid: {}", nid, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.cache;
+
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+
+/**
+ * One page of the semantics of a pattern, read from the {@link PatternInstanceIndex}.
+ * <p>
+ * A page is also the cursor to the page after it: semantics are only ever added to a pattern, and are added
+ * after those already indexed, so {@link #next()} continues where this page ended however many semantics were
+ * written in between. The page holds on to the index of its pattern, so the index is not read again, in a
+ * different order, while the page is in use.
+ */
+public final class InstancePage {
+    private final PatternInstanceIndex.Instances instances;
+    private final int offset;
+    private final ImmutableIntList nids;
+    private final int pageSize;
+    private final int totalCount;
+
+    /**
+     * @param instances  the index of the pattern
+     * @param offset     the position of the page's first semantic among the pattern's semantics
+     * @param nids       the nids of the page's semantics
+     * @param pageSize   the number of semantics asked for, and asked for again by {@link #next()}
+     * @param totalCount the number of semantics of the pattern when the page was read
+     */
+    InstancePage(PatternInstanceIndex.Instances instances, int offset, ImmutableIntList nids, int pageSize,
+                 int totalCount) {
+        this.instances = instances;
+        this.offset = offset;
+        this.nids = nids;
+        this.pageSize = pageSize;
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * @return the nid of the pattern
+     */
+    public int patternNid() {
+        return instances.patternNid();
+    }
+
+    /**
+     * @return the position of the page's first semantic among the pattern's semantics
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * @return the nids of the page's semantics
+     */
+    public ImmutableIntList nids() {
+        return nids;
+    }
+
+    /**
+     * @return the number of semantics asked for, and asked for again by {@link #next()}
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return the number of semantics of the pattern when the page was read
+     */
+    public int totalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the number of the pattern's semantics after this page, when the page was read
+     */
+    public int remaining() {
+        return Math.max(0, totalCount - offset - nids.size());
+    }
+
+    public boolean hasMore() {
+        return remaining() > 0;
+    }
+
+    /**
+     * Reads the page after this one; call it off the JavaFX thread.
+     *
+     * @return the next page, which is empty if no semantics follow this page
+     */
+    public InstancePage next() {
+        return PatternInstanceIndex.page(instances, offset + nids.size(), pageSize);
+    }
+
+    @Override
+    public String toString() {
+        return "InstancePage{patternNid=" + patternNid() + ", offset=" + offset + ", size=" + nids.size() +
+                ", totalCount=" + totalCount + "}";
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.cache;
+
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.OptionalInt;
+
+/**
+ * The semantics of each pattern, indexed for counting and paging, shared by every pattern view in the JVM.
+ * <p>
+ * Visiting the semantics of a pattern takes time proportional to their number, which for the description
+ * pattern of a full terminology is in the millions, while the views show at most a page of them at a time.
+ * A pattern's semantics are read once, on the first request for its count or a page, and from then on the
+ * index is kept current by adding each new semantic of the pattern as it is written. Reading a count or a
+ * page of an indexed pattern takes constant time.
+ * <p>
+ * Once the index holds more than {@link #MAX_INDEXED_SEMANTICS} semantics, the patterns least recently read
+ * are evicted, as {@code ObservableEntityCache} evicts observables: an evicted pattern is still
+ * weakly referenced, and while a page of it is in use its index is moved back and kept current, so paging
+ * continues in the same order. A pattern evicted and collected is read again on its next request.
+ */
+public final class PatternInstanceIndex {
+
+    public static class CacheProvider implements CachingService {
+        @Override
+        public void reset() {
+            synchronized (PATTERNS) {
+                PATTERNS.clear();
+                EVICTED.clear();
+            }
+        }
+    }
+
+    /**
+     * The greatest number of semantics indexed, about 16 MB of nids, before patterns are evicted.
+     */
+    static final int MAX_INDEXED_SEMANTICS = 4_000_000;
+
+    /**
+     * The indexed patterns, least recently read first. Guards itself and {@link #EVICTED}.
+     */
+    private static final LinkedHashMap<Integer, Instances> PATTERNS = new LinkedHashMap<>(16, 0.75f, true);
+    private static final HashMap<Integer, WeakReference<Instances>> EVICTED = new HashMap<>();
+    private static final EntityWrites.Listener WRITE_LISTENER = PatternInstanceIndex::entityWritten;
+
+    private PatternInstanceIndex() {
+    }
+
+    /**
+     * @param patternNid the nid of a pattern
+     * @return the number of semantics of the pattern if it is indexed, otherwise empty
+     */
+    public static OptionalInt countIfIndexed(int patternNid) {
+        Instances instances = lookup(patternNid);
+        return instances == null ? OptionalInt.empty() : instances.countIfIndexed();
+    }
+
+    /**
+     * Counts the semantics of a pattern, indexing the pattern if it is not yet indexed; call it off the JavaFX
+     * thread.
+     *
+     * @param patternNid the nid of a pattern
+     * @return the number of semantics of the pattern
+     */
+    public static int count(int patternNid) {
+        return instances(patternNid).count();
+    }
+
+    /**
+     * Reads the first page of the semantics of a pattern, indexing the pattern if it is not yet indexed; call
+     * it off the JavaFX thread.
+     *
+     * @param patternNid the nid of a pattern
+     * @param pageSize   the greatest number of semantics in the page
+     * @return the page, whose {@link InstancePage#next()} reads the page after it
+     */
+    public static InstancePage firstPage(int patternNid, int pageSize) {
+        return page(patternNid, 0, pageSize);
+    }
+
+    /**
+     * Reads the nids of every semantic of a pattern, indexing the pattern if it is not yet indexed; call it off
+     * the JavaFX thread.
+     *
+     * @param patternNid the nid of a pattern
+     * @return a copy of the nids, in the order they are paged
+     */
+    public static int[] nids(int patternNid) {
+        return instances(patternNid).toArray();
+    }
+
+    static InstancePage page(int patternNid, int offset, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1: " + pageSize);
+        }
+        return instances(patternNid).page(offset, pageSize);
+    }
+
+    /**
+     * Reads a page of the index a page was read from, which is moved back into the index if it was evicted.
+     */
+    static InstancePage page(Instances instances, int offset, int pageSize) {
+        synchronized (PATTERNS) {
+            if (PATTERNS.get(instances.patternNid) == null) {
+                EVICTED.remove(instances.patternNid);
+                PATTERNS.put(instances.patternNid, instances);
+            }
+        }
+        return instances.page(offset, pageSize);
+    }
+
+    private static Instances instances(int patternNid) {
+        Instances instances;
+        synchronized (PATTERNS) {
+            instances = lookup(patternNid);
+            if (instances == null) {
+                EntityWrites.addListener(WRITE_LISTENER);
+                instances = new Instances(patternNid);
+                PATTERNS.put(patternNid, instances);
+            }
+        }
+        if (instances.indexIfNeeded()) {
+            evictIfFull();
+        }
+        return instances;
+    }
+
+    /**
+     * @return the index of the pattern, moved back from the evicted patterns if it has not been collected,
+     * and marked as most recently read, or null
+     */
+    private static Instances lookup(int patternNid) {
+        synchronized (PATTERNS) {
+            Instances instances = PATTERNS.get(patternNid);
+            if (instances == null) {
+                WeakReference<Instances> reference = EVICTED.remove(patternNid);
+                instances = reference == null ? null : reference.get();
+                if (instances != null) {
+                    PATTERNS.put(patternNid, instances);
+                }
+            }
+            return instances;
+        }
+    }
+
+    /**
+     * Evicts the patterns least recently read until the index holds at most {@link #MAX_INDEXED_SEMANTICS}
+     * semantics, keeping the most recently read pattern however many semantics it has.
+     */
+    private static void evictIfFull() {
+        synchronized (PATTERNS) {
+            long total = 0;
+            for (Instances instances : PATTERNS.values()) {
+                total += instances.countIfIndexed().orElse(0);
+            }
+            Iterator<Instances> eldest = PATTERNS.values().iterator();
+            while (total > MAX_INDEXED_SEMANTICS && PATTERNS.size() > 1) {
+                Instances evicted = eldest.next();
+                eldest.remove();
+                total -= evicted.countIfIndexed().orElse(0);
+                EVICTED.values().removeIf(reference -> reference.refersTo(null));
+                EVICTED.put(evicted.patternNid, new WeakReference<>(evicted));
+            }
+        }
+    }
+
+    /**
+     * The semantics of one pattern: those read when the pattern was indexed, sorted so membership is a binary
+     * search, then those written since, in the order they were written.
+     */
+    static final class Instances {
+        private final int patternNid;
+        /**
+         * Held while the pattern is indexed, so the semantics are read once.
+         */
+        private final Object indexLock = new Object();
+        private int[] indexed;
+        private final MutableIntList added = IntLists.mutable.empty();
+        private final MutableIntSet addedSet = IntSets.mutable.empty();
+        /**
+         * The semantics written while the pattern was being indexed, which the read may or may not include.
+         */
+        private final MutableIntSet pending = IntSets.mutable.empty();
+
+        private Instances(int patternNid) {
+            this.patternNid = patternNid;
+        }
+
+        int patternNid() {
+            return patternNid;
+        }
+
+        /**
+         * Reads the pattern's semantics, once; concurrent callers wait for the first.
+         *
+         * @return true if this call read them
+         */
+        private boolean indexIfNeeded() {
+            synchronized (indexLock) {
+                synchronized (this) {
+                    if (indexed != null) {
+                        return false;
+                    }
+                }
+                int[] nids = EntityService.get().semanticNidsOfPattern(patternNid);
+                Arrays.sort(nids);
+                synchronized (this) {
+                    indexed = nids;
+                    pending.forEach(this::addIfAbsent);
+                    pending.clear();
+                }
+                return true;
+            }
+        }
+
+        private synchronized void semanticWritten(int nid) {
+            if (indexed == null) {
+                pending.add(nid);
+            } else {
+                addIfAbsent(nid);
+            }
+        }
+
+        private void addIfAbsent(int nid) {
+            if (Arrays.binarySearch(indexed, nid) < 0 && addedSet.add(nid)) {
+                added.add(nid);
+            }
+        }
+
+        private synchronized OptionalInt countIfIndexed() {
+            return indexed == null ? OptionalInt.empty() : OptionalInt.of(count());
+        }
+
+        private synchronized int count() {
+            return indexed.length + added.size();
+        }
+
+        private synchronized int[] toArray() {
+            int[] nids = Arrays.copyOf(indexed, count());
+            for (int i = 0; i < added.size(); i++) {
+                nids[indexed.length + i] = added.get(i);
+            }
+            return nids;
+        }
+
+        private synchronized InstancePage page(int offset, int pageSize) {
+            int total = count();
+            int start = Math.min(Math.max(0, offset), total);
+            int end = (int) Math.min((long) start + pageSize, total);
+            MutableIntList nids = IntLists.mutable.empty();
+            for (int position = start; position < end; position++) {
+                nids.add(position < indexed.length ? indexed[position] : added.get(position - indexed.length));
+            }
+            return new InstancePage(this, start, nids.toImmutable(), pageSize, total);
+        }
+    }
+
+    private static void entityWritten(EntityWrites.Write write) {
+        synchronized (PATTERNS) {
+            if (PATTERNS.isEmpty() && EVICTED.isEmpty()) {
+                return;
+            }
+        }
+        if (write.entity() instanceof SemanticEntity<?> semantic) {
+            Instances instances;
+            synchronized (PATTERNS) {
+                instances = PATTERNS.get(semantic.patternNid());
+                if (instances == null) {
+                    WeakReference<Instances> reference = EVICTED.get(semantic.patternNid());
+                    instances = reference == null ? null : reference.get();
+                }
+            }
+            if (instances != null) {
+                instances.semanticWritten(write.nid());
+            }
+        }
+    }
+}
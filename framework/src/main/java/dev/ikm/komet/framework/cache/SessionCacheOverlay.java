@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.cache;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.set.primitive.IntSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The cache of one session for the values a {@link SharedCache} does not share, because the entity they are
+ * derived from has uncommitted changes.
+ * <p>
+ * An overlay holds few values, and only while the changes are pending: a value is discarded when its entity
+ * is written again, and when the stamp of the changes is committed or cancelled, after which lookups return
+ * to the shared tier. The owner of the overlay closes it when the session's view of the data goes away.
+ */
+public final class SessionCacheOverlay implements AutoCloseable {
+
+    /**
+     * The overlays not yet closed; weak, so an overlay whose owner was never closed does not leak.
+     */
+    private static final Set<SessionCacheOverlay> OPEN = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private record Key(SharedCache<?, ?> tier, Object key) {
+    }
+
+    private record Entry(Object value, int dependencyNid, long bytes) {
+    }
+
+    private final String sessionName;
+    private final HashMap<Key, Entry> entries = new HashMap<>();
+    /**
+     * Incremented whenever values are discarded, so a value computed across a discard is not cached.
+     */
+    private long generation = 0;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param sessionName the name the overlay's statistics are reported under
+     */
+    public SessionCacheOverlay(String sessionName) {
+        this.sessionName = sessionName;
+        OPEN.add(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    <K, V> V get(SharedCache<K, V> tier, K key, int dependencyNid, Supplier<V> loader) {
+        Key overlayKey = new Key(tier, key);
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(overlayKey);
+            if (entry != null) {
+                hits.increment();
+                return (V) entry.value();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        V value = loader.get();
+        if (value != null) {
+            long bytes = SharedCache.ENTRY_OVERHEAD_BYTES + tier.weigh(value);
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(overlayKey, new Entry(value, dependencyNid, bytes));
+                }
+            }
+        }
+        return value;
+    }
+
+    private synchronized void invalidate(IntSet nids) {
+        generation++;
+        entries.values().removeIf(entry -> nids.contains(entry.dependencyNid()));
+    }
+
+    /**
+     * Discards the values of every open overlay that are derived from the entities.
+     */
+    static void entitiesChanged(IntSet nids) {
+        if (nids.isEmpty()) {
+            return;
+        }
+        List<SessionCacheOverlay> overlays;
+        synchronized (OPEN) {
+            overlays = new ArrayList<>(OPEN);
+        }
+        overlays.forEach(overlay -> overlay.invalidate(nids));
+    }
+
+    /**
+     * @return the statistics of every open overlay
+     */
+    public static ImmutableList<CacheTierStatistics> openStatistics() {
+        List<SessionCacheOverlay> overlays;
+        synchronized (OPEN) {
+            overlays = new ArrayList<>(OPEN);
+        }
+        return Lists.immutable.fromStream(overlays.stream().map(SessionCacheOverlay::statistics));
+    }
+
+    public synchronized CacheTierStatistics statistics() {
+        long estimatedBytes = entries.values().stream().mapToLong(Entry::bytes).sum();
+        return new CacheTierStatistics(sessionName, entries.size(), estimatedBytes, hits.sum(), misses.sum(), 0);
+    }
+
+    @Override
+    public void close() {
+        OPEN.remove(this);
+        synchronized (this) {
+            generation++;
+            entries.clear();
+        }
+    }
+}
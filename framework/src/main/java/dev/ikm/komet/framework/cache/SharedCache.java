@@ -0,0 +1,397 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.cache;
+
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityVersion;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.StampEntity;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntObjectMaps;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A least recently used cache of immutable data derived from the database, shared by every session in the JVM.
+ * <p>
+ * When Komet is served to browsers, every session runs in the same JVM, and without a shared tier each session
+ * derives the same description text, child orderings and option lists for itself. Each value is cached
+ * against the nid of the entity it is derived from, and is discarded when that entity, or a semantic on it, is
+ * written. A tier may also name the writes, such as a stamp on a new module, that discard all of its values.
+ * <p>
+ * Values derived from an entity with uncommitted changes are never shared, since the changes are visible only
+ * to the session making them until they are committed. Those values are kept in the calling session's
+ * {@link SessionCacheOverlay}, or computed on every lookup when the caller has none.
+ *
+ * @param <K> the type of the keys, which must include the coordinates the values are derived under
+ * @param <V> the type of the values, which must be immutable
+ */
+public final class SharedCache<K, V> {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedCache.class);
+
+    /**
+     * The estimated memory of a cached entry apart from its value: the map node, the key and the bookkeeping.
+     */
+    static final long ENTRY_OVERHEAD_BYTES = 96;
+    /**
+     * The number of semantics on semantics followed to find the component a written semantic describes.
+     */
+    private static final int MAX_SEMANTIC_DEPTH = 8;
+
+    public static class CacheProvider implements CachingService {
+        @Override
+        public void reset() {
+            TIERS.forEach(SharedCache::invalidateAll);
+            synchronized (UNCOMMITTED_NIDS) {
+                UNCOMMITTED_NIDS.clear();
+                NIDS_BY_UNCOMMITTED_STAMP.clear();
+            }
+        }
+    }
+
+    private static final CopyOnWriteArrayList<SharedCache<?, ?>> TIERS = new CopyOnWriteArrayList<>();
+    /**
+     * The nids of the entities with a version on an uncommitted stamp, and of the components those entities
+     * describe. Guards itself and {@link #NIDS_BY_UNCOMMITTED_STAMP}.
+     */
+    private static final MutableIntSet UNCOMMITTED_NIDS = IntSets.mutable.empty();
+    private static final MutableIntObjectMap<MutableIntSet> NIDS_BY_UNCOMMITTED_STAMP = IntObjectMaps.mutable.empty();
+    private static final EntityWrites.Listener WRITE_LISTENER = SharedCache::entityWritten;
+
+    /**
+     * Creates a tier whose values are discarded only when the entity they are derived from is written.
+     *
+     * @param name     the name the tier's statistics are reported under
+     * @param capacity the maximum number of values
+     * @param weigher  estimates the memory held by a value, in bytes
+     * @return the tier, registered for entity changes and statistics
+     */
+    public static <K, V> SharedCache<K, V> create(String name, int capacity, ToLongFunction<? super V> weigher) {
+        return create(name, capacity, weigher, _ -> false);
+    }
+
+    /**
+     * Creates a tier.
+     *
+     * @param name           the name the tier's statistics are reported under
+     * @param capacity       the maximum number of values
+     * @param weigher        estimates the memory held by a value, in bytes
+     * @param invalidatesAll tests whether writing an entity discards every value in the tier
+     * @return the tier, registered for entity changes and statistics
+     */
+    public static <K, V> SharedCache<K, V> create(String name, int capacity, ToLongFunction<? super V> weigher,
+                                                 Predicate<Entity<?>> invalidatesAll) {
+        SharedCache<K, V> tier = new SharedCache<>(name, capacity, weigher, invalidatesAll);
+        EntityWrites.addListener(WRITE_LISTENER);
+        TIERS.add(tier);
+        return tier;
+    }
+
+    /**
+     * @return the statistics of every shared tier
+     */
+    public static ImmutableList<CacheTierStatistics> statistics() {
+        return Lists.immutable.fromStream(TIERS.stream().map(SharedCache::tierStatistics));
+    }
+
+    /**
+     * Estimates the memory held by a string.
+     */
+    public static long estimateBytes(String text) {
+        return text == null ? 0 : 40 + 2L * text.length();
+    }
+
+    /**
+     * @return true if the entity, or a semantic on it, has a version on a stamp that is not yet committed
+     */
+    static boolean hasUncommittedChanges(int nid) {
+        synchronized (UNCOMMITTED_NIDS) {
+            return UNCOMMITTED_NIDS.contains(nid);
+        }
+    }
+
+    private record Entry<V>(V value, int dependencyNid, long bytes) {
+    }
+
+    /**
+     * The values being computed for one entity, and how often the entity has been written since the oldest of
+     * them started, so a value computed across a write is not cached.
+     */
+    private static final class Loads {
+        int count;
+        long writes;
+    }
+
+    private final String name;
+    private final int capacity;
+    private final ToLongFunction<? super V> weigher;
+    private final Predicate<Entity<?>> invalidatesAll;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final MutableIntObjectMap<MutableSet<K>> keysByNid = IntObjectMaps.mutable.empty();
+    private final MutableIntObjectMap<Loads> loadsByNid = IntObjectMaps.mutable.empty();
+    private long estimatedBytes = 0;
+    /**
+     * Incremented whenever every value is discarded, so a value computed across the discard is not cached.
+     */
+    private long generation = 0;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private SharedCache(String name, int capacity, ToLongFunction<? super V> weigher,
+                        Predicate<Entity<?>> invalidatesAll) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.weigher = weigher;
+        this.invalidatesAll = invalidatesAll;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the value for the key, computing and sharing it on a miss.
+     *
+     * @param key           the key, including the coordinates the value is derived under
+     * @param dependencyNid the nid of the entity the value is derived from, or 0 for a value derived from the
+     *                      database as a whole, which only {@code invalidatesAll} discards
+     * @param loader        computes the value
+     * @return the value
+     */
+    public V get(K key, int dependencyNid, Supplier<V> loader) {
+        return get(null, key, dependencyNid, loader);
+    }
+
+    /**
+     * Returns the value for the key, computing and sharing it on a miss. If the entity the value is derived
+     * from has uncommitted changes, the value is looked up in the session's overlay instead.
+     *
+     * @param overlay       the cache of the calling session, or null to compute values derived from uncommitted
+     *                      changes on every lookup
+     * @param key           the key, including the coordinates the value is derived under
+     * @param dependencyNid the nid of the entity the value is derived from, or 0 for a value derived from the
+     *                      database as a whole, which only {@code invalidatesAll} discards
+     * @param loader        computes the value
+     * @return the value
+     */
+    public V get(SessionCacheOverlay overlay, K key, int dependencyNid, Supplier<V> loader) {
+        if (dependencyNid != 0 && hasUncommittedChanges(dependencyNid)) {
+            return overlay == null ? loader.get() : overlay.get(this, key, dependencyNid, loader);
+        }
+        long loadGeneration;
+        long loadWrites = 0;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                return entry.value();
+            }
+            loadGeneration = generation;
+            if (dependencyNid != 0) {
+                Loads loads = loadsByNid.getIfAbsentPut(dependencyNid, Loads::new);
+                loads.count++;
+                loadWrites = loads.writes;
+            }
+        }
+        misses.increment();
+        V value = null;
+        try {
+            value = loader.get();
+        } finally {
+            long bytes = value == null ? 0 : ENTRY_OVERHEAD_BYTES + weigh(value);
+            synchronized (this) {
+                boolean written = dependencyNid != 0 && loadFinished(dependencyNid) != loadWrites;
+                if (value != null && !written && generation == loadGeneration) {
+                    put(key, dependencyNid, value, bytes);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return the number of writes to the entity since the oldest value being computed for it started
+     */
+    private long loadFinished(int dependencyNid) {
+        Loads loads = loadsByNid.get(dependencyNid);
+        if (--loads.count == 0) {
+            loadsByNid.remove(dependencyNid);
+        }
+        return loads.writes;
+    }
+
+    /**
+     * @return the cached value for the key, or null; does not count as a lookup or affect the order of eviction
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? null : entry.value();
+    }
+
+    private void put(K key, int dependencyNid, V value, long bytes) {
+        Entry<V> previous = entries.put(key, new Entry<>(value, dependencyNid, bytes));
+        if (previous != null) {
+            removed(key, previous);
+        }
+        estimatedBytes += bytes;
+        if (dependencyNid != 0) {
+            keysByNid.getIfAbsentPut(dependencyNid, Sets.mutable::empty).add(key);
+        }
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > capacity) {
+            Map.Entry<K, Entry<V>> evicted = eldest.next();
+            eldest.remove();
+            removed(evicted.getKey(), evicted.getValue());
+            evictions.increment();
+        }
+    }
+
+    long weigh(V value) {
+        return weigher.applyAsLong(value);
+    }
+
+    private void removed(K key, Entry<V> entry) {
+        estimatedBytes -= entry.bytes();
+        if (entry.dependencyNid() != 0) {
+            MutableSet<K> keys = keysByNid.get(entry.dependencyNid());
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByNid.remove(entry.dependencyNid());
+            }
+        }
+    }
+
+    /**
+     * Discards the values derived from the entity, and keeps the values being computed for it from being
+     * cached. Values derived from other entities are unaffected.
+     */
+    public synchronized void invalidate(int nid) {
+        Loads loads = loadsByNid.get(nid);
+        if (loads != null) {
+            loads.writes++;
+        }
+        MutableSet<K> keys = keysByNid.remove(nid);
+        if (keys != null) {
+            keys.forEach(key -> estimatedBytes -= entries.remove(key).bytes());
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        if (!entries.isEmpty()) {
+            LOG.debug("Invalidating {} values in shared cache '{}'", entries.size(), name);
+            entries.clear();
+            keysByNid.clear();
+            estimatedBytes = 0;
+        }
+    }
+
+    public synchronized CacheTierStatistics tierStatistics() {
+        return new CacheTierStatistics(name, entries.size(), estimatedBytes,
+                hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private void entityChanged(Entity<?> entity, IntSet affectedNids) {
+        if (invalidatesAll.test(entity)) {
+            invalidateAll();
+        } else {
+            affectedNids.forEach(this::invalidate);
+        }
+    }
+
+    /**
+     * @return the nid of the entity, and if it is a semantic, the nids of the components it describes
+     */
+    private static MutableIntSet describedNids(Entity<?> entity) {
+        MutableIntSet nids = IntSets.mutable.of(entity.nid());
+        Entity<?> described = entity;
+        for (int depth = 0; depth < MAX_SEMANTIC_DEPTH && described instanceof SemanticEntity<?> semantic; depth++) {
+            if (!nids.add(semantic.referencedComponentNid())) {
+                break;
+            }
+            described = Entity.getFast(semantic.referencedComponentNid());
+        }
+        return nids;
+    }
+
+    private static void recordUncommitted(Entity<?> entity, IntSet affectedNids) {
+        synchronized (UNCOMMITTED_NIDS) {
+            for (EntityVersion version : entity.versions()) {
+                if (version.uncommitted()) {
+                    NIDS_BY_UNCOMMITTED_STAMP.getIfAbsentPut(version.stampNid(), IntSets.mutable::empty)
+                            .addAll(affectedNids);
+                    UNCOMMITTED_NIDS.addAll(affectedNids);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets the entities changed on a stamp that has been committed or cancelled.
+     *
+     * @return the nids no longer uncommitted on account of the stamp
+     */
+    private static IntSet releaseStamp(int stampNid) {
+        synchronized (UNCOMMITTED_NIDS) {
+            MutableIntSet released = NIDS_BY_UNCOMMITTED_STAMP.remove(stampNid);
+            if (released == null) {
+                return IntSets.immutable.empty();
+            }
+            UNCOMMITTED_NIDS.clear();
+            NIDS_BY_UNCOMMITTED_STAMP.forEachValue(UNCOMMITTED_NIDS::addAll);
+            return released;
+        }
+    }
+
+    private static void entityWritten(EntityWrites.Write write) {
+        Entity<?> entity = write.entity();
+        if (entity == null) {
+            return;
+        }
+        IntSet affectedNids;
+        if (entity instanceof StampEntity<?> stamp) {
+            affectedNids = stamp.time() == Long.MAX_VALUE ? IntSets.immutable.empty() : releaseStamp(stamp.nid());
+        } else {
+            MutableIntSet nids = describedNids(entity);
+            recordUncommitted(entity, nids);
+            affectedNids = nids;
+        }
+        for (SharedCache<?, ?> tier : TIERS) {
+            tier.entityChanged(entity, affectedNids);
+        }
+        SessionCacheOverlay.entitiesChanged(affectedNids);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.cache;
+
+import dev.ikm.tinkar.coordinate.language.LanguageCoordinateRecord;
+import dev.ikm.tinkar.coordinate.stamp.StampCoordinateRecord;
+import dev.ikm.tinkar.coordinate.view.ViewCoordinateRecord;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.StampEntity;
+import dev.ikm.tinkar.entity.StampService;
+import dev.ikm.tinkar.terms.ConceptFacade;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.set.ImmutableSet;
+
+/**
+ * Lookups repeated by every session, answered from {@link SharedCache} tiers.
+ */
+public final class SharedLookups {
+
+    private enum SingletonKey {
+        MODULES_IN_USE
+    }
+
+    private record DescriptionKey(int nid, StampCoordinateRecord stampCoordinate,
+                                  ImmutableList<LanguageCoordinateRecord> languageCoordinates) {
+    }
+
+    private static final SharedCache<SingletonKey, ImmutableSet<ConceptFacade>> MODULES_IN_USE =
+            SharedCache.create("modules in use", 1, modules -> 32L * modules.size(), SharedLookups::isStampOnNewModule);
+
+    private static final SharedCache<DescriptionKey, String> DESCRIPTIONS =
+            SharedCache.create("description text", 65_536, SharedCache::estimateBytes);
+
+    private SharedLookups() {
+    }
+
+    /**
+     * Reading the modules in use scans every stamp, so the set is read once and shared until a stamp on a
+     * module not in the set is written.
+     *
+     * @return the modules of the stamps in use
+     */
+    public static ImmutableSet<ConceptFacade> modulesInUse() {
+        return MODULES_IN_USE.get(SingletonKey.MODULES_IN_USE, 0, () -> StampService.get().getModulesInUse());
+    }
+
+    private static boolean isStampOnNewModule(Entity<?> entity) {
+        if (entity instanceof StampEntity<?> stamp) {
+            ImmutableSet<ConceptFacade> modules = MODULES_IN_USE.getIfPresent(SingletonKey.MODULES_IN_USE);
+            return modules != null && modules.noneSatisfy(module -> module.nid() == stamp.moduleNid());
+        }
+        return false;
+    }
+
+    /**
+     * @param viewCalculator the calculator whose stamp and language coordinates choose the description
+     * @param nid            the nid of a component
+     * @return the component's description text under the calculator's coordinates, or its nid
+     * @see ViewCalculator#getDescriptionTextOrNid(int)
+     */
+    public static String descriptionTextOrNid(ViewCalculator viewCalculator, int nid) {
+        return descriptionTextOrNid(null, viewCalculator, nid);
+    }
+
+    /**
+     * @param overlay        the cache of the calling session, for components with uncommitted changes
+     * @param viewCalculator the calculator whose stamp and language coordinates choose the description
+     * @param nid            the nid of a component
+     * @return the component's description text under the calculator's coordinates, or its nid
+     * @see ViewCalculator#getDescriptionTextOrNid(int)
+     */
+    public static String descriptionTextOrNid(SessionCacheOverlay overlay, ViewCalculator viewCalculator, int nid) {
+        ViewCoordinateRecord viewCoordinate = viewCalculator.viewCoordinateRecord();
+        DescriptionKey key = new DescriptionKey(nid, viewCoordinate.stampCoordinate(),
+                viewCoordinate.languageCoordinateList());
+        return DESCRIPTIONS.get(overlay, key, nid, () -> viewCalculator.getDescriptionTextOrNid(nid));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time snapshot of the load on one of the shared executor pools.
+ * <p>
+ * Wait time is measured from submission (or, for scheduled tasks, from the time the task became due)
+ * until a worker thread starts the task. Run time is measured from start until completion.
+ *
+ * @param poolName       the name of the pool (e.g. "fork-join", "io")
+ * @param queueDepth     the number of tasks waiting for a thread
+ * @param activeThreads  the approximate number of threads actively running tasks
+ * @param poolSize       the current number of threads in the pool
+ * @param submittedCount the number of tasks submitted since the pool started
+ * @param completedCount the number of tasks completed since the pool started
+ * @param totalWaitNanos the sum of the wait times of all started tasks
+ * @param maxWaitNanos   the longest wait time observed
+ * @param totalRunNanos  the sum of the run times of all completed tasks
+ * @param maxRunNanos    the longest run time observed
+ */
+public record ExecutorPoolMetrics(String poolName,
+                                  int queueDepth,
+                                  int activeThreads,
+                                  int poolSize,
+                                  long submittedCount,
+                                  long completedCount,
+                                  long totalWaitNanos,
+                                  long maxWaitNanos,
+                                  long totalRunNanos,
+                                  long maxRunNanos) {
+
+    public long averageWaitMillis() {
+        return completedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / completedCount);
+    }
+
+    public long averageRunMillis() {
+        return completedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunNanos / completedCount);
+    }
+
+    public long maxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+    }
+
+    public long maxRunMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxRunNanos);
+    }
+
+    @Override
+    public String toString() {
+        return poolName + "{queue=" + queueDepth +
+                ", active=" + activeThreads + "/" + poolSize +
+                ", submitted=" + submittedCount +
+                ", completed=" + completedCount +
+                ", avgWait=" + averageWaitMillis() + "ms" +
+                ", maxWait=" + maxWaitMillis() + "ms" +
+                ", avgRun=" + averageRunMillis() + "ms" +
+                ", maxRun=" + maxRunMillis() + "ms}";
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue latency percentiles for one {@link TaskPriority} lane of one executor pool, computed
+ * over a window of the most recently dequeued tasks.
+ *
+ * @param poolName    the name of the pool
+ * @param priority    the lane
+ * @param sampleCount the number of samples the percentiles were computed from
+ * @param p50Nanos    median time spent queued
+ * @param p90Nanos    90th percentile time spent queued
+ * @param p99Nanos    99th percentile time spent queued
+ */
+public record LaneLatency(String poolName, TaskPriority priority, int sampleCount,
+                          long p50Nanos, long p90Nanos, long p99Nanos) {
+
+    @Override
+    public String toString() {
+        return poolName + "/" + priority.name().toLowerCase() +
+                " p50=" + TimeUnit.NANOSECONDS.toMillis(p50Nanos) + "ms" +
+                " p90=" + TimeUnit.NANOSECONDS.toMillis(p90Nanos) + "ms" +
+                " p99=" + TimeUnit.NANOSECONDS.toMillis(p99Nanos) + "ms" +
+                " (n=" + sampleCount + ")";
+    }
+}
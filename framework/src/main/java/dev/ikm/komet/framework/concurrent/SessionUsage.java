@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time snapshot of the work one {@link TaskSession} has submitted to the lane-ordered pools.
+ *
+ * @param sessionId      the id of the session
+ * @param userName       the name of the session's user
+ * @param queuedTasks    the number of the session's tasks waiting for a thread
+ * @param runningTasks   the number of the session's tasks running
+ * @param submittedCount the number of tasks the session has submitted
+ * @param completedCount the number of the session's tasks that have finished
+ * @param cpuNanos       the CPU time used by the session's finished tasks
+ * @param totalWaitNanos the sum of the times the session's started tasks waited for a thread
+ * @param maxWaitNanos   the longest time one of the session's tasks waited for a thread
+ * @param weight         the session's scheduling weight relative to other sessions, 1 unless set
+ */
+public record SessionUsage(String sessionId,
+                           String userName,
+                           int queuedTasks,
+                           int runningTasks,
+                           long submittedCount,
+                           long completedCount,
+                           long cpuNanos,
+                           long totalWaitNanos,
+                           long maxWaitNanos,
+                           double weight) {
+
+    public long cpuMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(cpuNanos);
+    }
+
+    public long averageWaitMillis() {
+        long started = completedCount + runningTasks;
+        return started == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / started);
+    }
+
+    public long maxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+    }
+
+    @Override
+    public String toString() {
+        return userName + "{queued=" + queuedTasks +
+                ", running=" + runningTasks +
+                ", completed=" + completedCount + "/" + submittedCount +
+                ", cpu=" + cpuMillis() + "ms" +
+                ", avgWait=" + averageWaitMillis() + "ms" +
+                ", maxWait=" + maxWaitMillis() + "ms" +
+                (weight != 1 ? ", weight=" + weight : "") + "}";
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The run of one task wrapped by a {@link TaskWrapper}, recorded by Java Flight Recorder. The event's duration
+ * is the time the task ran; the time it waited for a thread before that is a field.
+ */
+@Name("dev.ikm.komet.TaskExecution")
+@Label("Task Execution")
+@Category({"Komet", "Tasks"})
+@Description("A task run by the shared executor pools")
+@StackTrace(false)
+final class TaskExecutionEvent extends Event {
+
+    @Label("Task Type")
+    String taskType;
+
+    @Label("Title")
+    String title;
+
+    @Label("Queue Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueTime;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
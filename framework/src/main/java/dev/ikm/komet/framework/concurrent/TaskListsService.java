@@ -17,6 +17,7 @@
 
 import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
+import org.eclipse.collections.api.list.ImmutableList;
 
 public interface TaskListsService {
     static TaskListsService get() {
@@ -28,4 +29,33 @@ static TaskListsService get() {
     ObservableList<Task<?>> executingTasks();
 
     ObservableList<Task<?>> completedTasks();
+
+    /**
+     * @return a snapshot of queue depth, thread activity, and wait/run times for each of the shared executor pools.
+     */
+    ImmutableList<ExecutorPoolMetrics> executorPoolMetrics();
+
+    /**
+     * @return queue latency percentiles for each priority lane of the pools that schedule by {@link TaskPriority}.
+     */
+    ImmutableList<LaneLatency> laneLatencies();
+
+    /**
+     * @return the CPU and queue time of the work each {@link TaskSession} has submitted to the pools that
+     * schedule by {@link TaskPriority}, heaviest first.
+     */
+    ImmutableList<SessionUsage> sessionUsage();
+
+    /**
+     * Sets a session's scheduling weight in the pools that schedule by {@link TaskPriority}. Queued tasks of a
+     * session are spaced out in proportion to how many of them it has queued, divided by its weight, so a
+     * session with a weight of 0.25 waits four times as long as others for each task it already has waiting,
+     * and one with a weight of 2 half as long. The weight is a priority hint, not a limit: it orders the queued
+     * tasks of competing sessions, and a session alone in the pools gets every thread whatever its weight.
+     *
+     * @param sessionId the id of the session
+     * @param weight    the session's weight, 1 by default
+     * @return true if the weight was set, false if the session has no work accounted for, as when it has ended
+     */
+    boolean setSessionWeight(String sessionId, double weight);
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling lane for work submitted to the shared thread pools.
+ * <p>
+ * Queued tasks are ordered by a virtual deadline: the time they were queued plus the
+ * {@link #agingNanos()} of their lane. A newly queued {@link #INTERACTIVE} task therefore overtakes
+ * every {@link #NORMAL} task queued less than half a second earlier, and every {@link #BULK} task
+ * queued less than ten seconds earlier, while older bulk work still ages its way to the front
+ * rather than starving.
+ */
+public enum TaskPriority {
+    /**
+     * Work a user is actively waiting on, such as expanding a navigator node.
+     */
+    INTERACTIVE(0),
+    /**
+     * The default for work that declares no priority.
+     */
+    NORMAL(TimeUnit.MILLISECONDS.toNanos(500)),
+    /**
+     * Long-running background work, such as sorting large concept sets or loading changesets.
+     */
+    BULK(TimeUnit.SECONDS.toNanos(10));
+
+    private final long agingNanos;
+
+    TaskPriority(long agingNanos) {
+        this.agingNanos = agingNanos;
+    }
+
+    /**
+     * @return how long a task in this lane must wait before it is ordered ahead of a newly queued interactive task.
+     */
+    public long agingNanos() {
+        return agingNanos;
+    }
+
+    /**
+     * Determines the lane of a submitted task.
+     *
+     * @param task a Runnable, Callable, or {@link TaskWrapper}
+     * @return the priority the task declares through {@link PrioritizedTask}, or {@link #NORMAL}
+     */
+    public static TaskPriority of(Object task) {
+        if (task instanceof PrioritizedTask prioritizedTask) {
+            return prioritizedTask.taskPriority();
+        }
+        return NORMAL;
+    }
+
+    /**
+     * @param runnable the work to run
+     * @return a Runnable that runs in this lane when submitted to a Komet thread pool
+     */
+    public Runnable wrap(Runnable runnable) {
+        return new PrioritizedRunnable(this, runnable);
+    }
+
+    /**
+     * @param callable the work to run
+     * @return a Callable that runs in this lane when submitted to a Komet thread pool
+     */
+    public <V> Callable<V> wrap(Callable<V> callable) {
+        return new PrioritizedCallable<>(this, callable);
+    }
+
+    private record PrioritizedRunnable(TaskPriority taskPriority, Runnable runnable)
+            implements Runnable, PrioritizedTask {
+        @Override
+        public void run() {
+            runnable.run();
+        }
+    }
+
+    private record PrioritizedCallable<V>(TaskPriority taskPriority, Callable<V> callable)
+            implements Callable<V>, PrioritizedTask {
+        @Override
+        public V call() throws Exception {
+            return callable.call();
+        }
+    }
+}
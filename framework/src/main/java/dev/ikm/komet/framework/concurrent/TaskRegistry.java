@@ -0,0 +1,282 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import javafx.concurrent.Task;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the tasks wrapped by {@link TaskWrapper} from the worker threads that run them, without touching the
+ * JavaFX thread.
+ * <p>
+ * Most tasks, such as fetching the children of one navigator node, finish in well under a millisecond, and
+ * putting each of them in and taking it out of the observable task lists costs more than the task. The
+ * registry instead notes each task in concurrent maps while it waits and runs, adds its timings to the totals
+ * of its type when it finishes, and keeps the timings of the last {@link #HISTORY_CAPACITY} tasks, in the order
+ * they finished, for {@link #exportHistory(Path)}. Each run is also recorded as a {@code dev.ikm.komet.TaskExecution} Java Flight
+ * Recorder event. The task lists shown in the progress views are sampled from the registry periodically, and
+ * only show the tasks that have waited or run long enough to be seen.
+ */
+public final class TaskRegistry {
+    /**
+     * The number of finished tasks whose timings are kept for export.
+     */
+    public static final int HISTORY_CAPACITY = 4096;
+    /**
+     * The number of retained completions kept until the next sample collects them.
+     */
+    static final int MAX_UNCOLLECTED_COMPLETIONS = 200;
+
+    private static final TaskRegistry INSTANCE = new TaskRegistry(HISTORY_CAPACITY);
+
+    public static TaskRegistry get() {
+        return INSTANCE;
+    }
+
+    private final ConcurrentHashMap<Task<?>, Long> queued = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Task<?>, Long> running = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TypeTotals> typeTotals = new ConcurrentHashMap<>();
+    /**
+     * The latest timings, appended in turn under the lock of the array so they are kept in the order the tasks
+     * finished.
+     */
+    private final TaskTiming[] history;
+    private long finishedCount = 0;
+    private final ConcurrentLinkedQueue<TaskTiming> completions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger completionCount = new AtomicInteger();
+
+    TaskRegistry(int historyCapacity) {
+        this.history = new TaskTiming[historyCapacity];
+    }
+
+    /**
+     * Notes a task that has been handed to an executor and is waiting for a thread.
+     */
+    public void queued(Task<?> task) {
+        queued.put(task, System.nanoTime());
+    }
+
+    /**
+     * Forgets a task that will not run, such as one cancelled while it waited.
+     */
+    public void discarded(Task<?> task) {
+        queued.remove(task);
+    }
+
+    /**
+     * Notes a task starting on the calling thread.
+     *
+     * @param task     the task
+     * @param taskType the class of the work the task runs, which its timings are aggregated by
+     * @return the run, to finish on the same thread when the task returns or throws
+     */
+    public Execution started(Task<?> task, Class<?> taskType) {
+        long now = System.nanoTime();
+        Long queuedAt = queued.remove(task);
+        running.put(task, now);
+        return new Execution(task, taskType.getName(), queuedAt == null ? 0 : now - queuedAt, now);
+    }
+
+    /**
+     * One run of a task, from {@link TaskRegistry#started(Task, Class)} to {@link #finished(boolean, String, String, boolean)}.
+     */
+    public final class Execution {
+        private final Task<?> task;
+        private final String taskType;
+        private final long queueNanos;
+        private final long startNanos;
+        private final TaskExecutionEvent event = new TaskExecutionEvent();
+
+        private Execution(Task<?> task, String taskType, long queueNanos, long startNanos) {
+            this.task = task;
+            this.taskType = taskType;
+            this.queueNanos = queueNanos;
+            this.startNanos = startNanos;
+            event.begin();
+        }
+
+        /**
+         * @param succeeded whether the task returned a result
+         * @param title     the task's title
+         * @param message   the task's message
+         * @param retain    whether the task is shown among the completed tasks
+         */
+        public void finished(boolean succeeded, String title, String message, boolean retain) {
+            long runNanos = System.nanoTime() - startNanos;
+            running.remove(task);
+            event.end();
+            if (event.shouldCommit()) {
+                event.taskType = taskType;
+                event.title = title;
+                event.queueTime = queueNanos;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+            typeTotals.computeIfAbsent(taskType, TypeTotals::new).add(queueNanos, runNanos, succeeded);
+            TaskTiming timing;
+            synchronized (history) {
+                timing = new TaskTiming(taskType, title, message, Instant.now(), queueNanos, runNanos, succeeded);
+                history[(int) (finishedCount++ % history.length)] = timing;
+            }
+            if (retain) {
+                completions.offer(timing);
+                if (completionCount.incrementAndGet() > MAX_UNCOLLECTED_COMPLETIONS && completions.poll() != null) {
+                    completionCount.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param minimumNanos how long a task must have waited to be included
+     * @return the tasks that have waited for a thread at least as long as given, longest waiting first
+     */
+    public ImmutableList<Task<?>> queuedLongerThan(long minimumNanos) {
+        return since(queued, minimumNanos);
+    }
+
+    /**
+     * @param minimumNanos how long a task must have run to be included
+     * @return the tasks that have run at least as long as given, longest running first
+     */
+    public ImmutableList<Task<?>> runningLongerThan(long minimumNanos) {
+        return since(running, minimumNanos);
+    }
+
+    private static ImmutableList<Task<?>> since(ConcurrentHashMap<Task<?>, Long> tasks, long minimumNanos) {
+        long latest = System.nanoTime() - minimumNanos;
+        MutableList<Map.Entry<Task<?>, Long>> entries = Lists.mutable.empty();
+        tasks.forEach((task, nanos) -> {
+            if (nanos - latest <= 0) {
+                entries.add(Map.entry(task, nanos));
+            }
+        });
+        entries.sortThis(Comparator.comparingLong(entry -> entry.getValue()));
+        return entries.collect(Map.Entry::getKey).toImmutable();
+    }
+
+    /**
+     * @return the number of tasks waiting for a thread
+     */
+    public int queuedCount() {
+        return queued.size();
+    }
+
+    /**
+     * @return the number of tasks running
+     */
+    public int runningCount() {
+        return running.size();
+    }
+
+    /**
+     * Takes the retained tasks that finished since the last call.
+     *
+     * @return their timings, oldest first
+     */
+    public ImmutableList<TaskTiming> collectCompletions() {
+        MutableList<TaskTiming> collected = Lists.mutable.empty();
+        for (TaskTiming timing = completions.poll(); timing != null; timing = completions.poll()) {
+            completionCount.decrementAndGet();
+            collected.add(timing);
+        }
+        return collected.toImmutable();
+    }
+
+    /**
+     * @return the totals of each type of task that has finished, longest total run time first
+     */
+    public ImmutableList<TaskTypeStatistics> typeStatistics() {
+        return Lists.immutable.fromStream(typeTotals.values().stream()
+                .map(TypeTotals::statistics)
+                .sorted(Comparator.comparingLong(TaskTypeStatistics::totalRunNanos).reversed()));
+    }
+
+    /**
+     * @return the timings of the last {@link #HISTORY_CAPACITY} finished tasks, oldest first
+     */
+    public ImmutableList<TaskTiming> history() {
+        synchronized (history) {
+            long start = Math.max(0, finishedCount - history.length);
+            MutableList<TaskTiming> timings = Lists.mutable.withInitialCapacity((int) (finishedCount - start));
+            for (long i = start; i < finishedCount; i++) {
+                timings.add(history[(int) (i % history.length)]);
+            }
+            return timings.toImmutable();
+        }
+    }
+
+    /**
+     * Writes the {@link #history()} as comma separated values, one task per line after a header line.
+     *
+     * @param file the file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void exportHistory(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(TaskTiming.CSV_HEADER);
+            writer.newLine();
+            for (TaskTiming timing : history()) {
+                writer.write(timing.toCsvRow());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static final class TypeTotals {
+        private final String taskType;
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder queueNanos = new LongAdder();
+        private final LongAdder runNanos = new LongAdder();
+        private final AtomicLong maxRunNanos = new AtomicLong();
+
+        private TypeTotals(String taskType) {
+            this.taskType = taskType;
+        }
+
+        private void add(long queueNanos, long runNanos, boolean succeeded) {
+            completed.increment();
+            if (!succeeded) {
+                failed.increment();
+            }
+            this.queueNanos.add(queueNanos);
+            this.runNanos.add(runNanos);
+            maxRunNanos.accumulateAndGet(runNanos, Math::max);
+        }
+
+        private TaskTypeStatistics statistics() {
+            return new TaskTypeStatistics(taskType, completed.sum(), failed.sum(), queueNanos.sum(),
+                    runNanos.sum(), maxRunNanos.get());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import javafx.event.EventDispatcher;
+import javafx.stage.Window;
+
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The user session on whose behalf work is submitted to the shared thread pools.
+ * <p>
+ * When Komet is served to browsers, the sessions of all users share one JVM and one set of pools. Each task
+ * is tagged with the session bound to the thread that submits it, so the pools can account for the CPU and
+ * queue time of each session and share the threads fairly between them. A session is bound to the JavaFX
+ * thread while an event on one of its windows is dispatched (see {@link #bindTo(Window)}), and to a pool
+ * thread while one of its tasks runs, so work submitted by a task belongs to the session that submitted the
+ * task. Work submitted from any other thread belongs to {@link #SYSTEM}.
+ */
+public final class TaskSession {
+
+    /**
+     * The session of work not submitted on behalf of a user, such as startup and scheduled tasks.
+     */
+    public static final TaskSession SYSTEM = new TaskSession("system", "system");
+
+    private static final ThreadLocal<TaskSession> CURRENT = new ThreadLocal<>();
+    private static final CopyOnWriteArrayList<Consumer<TaskSession>> END_LISTENERS = new CopyOnWriteArrayList<>();
+
+    private final String sessionId;
+    private volatile String userName;
+    private volatile boolean ended = false;
+
+    private TaskSession(String sessionId, String userName) {
+        this.sessionId = sessionId;
+        this.userName = userName;
+    }
+
+    /**
+     * @param userName the name of the user, which may be set once the user signs in
+     * @return a new session with a unique id
+     */
+    public static TaskSession create(String userName) {
+        return new TaskSession(UUID.randomUUID().toString(), userName);
+    }
+
+    /**
+     * @return the session bound to the calling thread, or {@link #SYSTEM}
+     */
+    public static TaskSession current() {
+        TaskSession session = CURRENT.get();
+        return session == null ? SYSTEM : session;
+    }
+
+    /**
+     * Binds a session to the calling thread, replacing any session bound to it.
+     *
+     * @param session the session, or null to unbind the thread
+     */
+    public static void bind(TaskSession session) {
+        if (session == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(session);
+        }
+    }
+
+    /**
+     * Binds this session to the JavaFX thread while an event on the window is dispatched, so tasks started
+     * from the window's handlers belong to this session. The window's event dispatcher is wrapped, so the
+     * session bound before the event is bound again once the event has been dispatched.
+     *
+     * @param window a window of this session
+     */
+    public void bindTo(Window window) {
+        EventDispatcher dispatcher = window.getEventDispatcher();
+        window.setEventDispatcher((event, tail) -> {
+            TaskSession previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return dispatcher.dispatchEvent(event, tail);
+            } finally {
+                bind(previous);
+            }
+        });
+    }
+
+    /**
+     * Adds a listener told of each session as it ends, such as the accounting of the thread pools.
+     *
+     * @param listener called on the thread that ends the session
+     */
+    public static void addEndListener(Consumer<TaskSession> listener) {
+        END_LISTENERS.add(listener);
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    public String userName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    /**
+     * Marks the session as ended and tells the end listeners; its accounting is discarded right away if it
+     * has no tasks, or else once its last task finishes.
+     */
+    public void end() {
+        ended = true;
+        END_LISTENERS.forEach(listener -> listener.accept(this));
+    }
+
+    public boolean isEnded() {
+        return ended;
+    }
+
+    @Override
+    public String toString() {
+        return userName + "@" + sessionId;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timings of one finished task, as kept in the rolling history of the {@link TaskRegistry}.
+ *
+ * @param taskType   the class name of the work the task ran
+ * @param title      the task's title when it finished
+ * @param message    the task's message when it finished
+ * @param finishedAt when the task finished
+ * @param queueNanos how long the task waited for a thread
+ * @param runNanos   how long the task ran
+ * @param succeeded  whether the task returned a result rather than failing or being cancelled
+ */
+public record TaskTiming(String taskType,
+                         String title,
+                         String message,
+                         Instant finishedAt,
+                         long queueNanos,
+                         long runNanos,
+                         boolean succeeded) {
+
+    static final String CSV_HEADER = "finishedAt,taskType,title,queueNanos,runNanos,succeeded";
+
+    public long queueMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(queueNanos);
+    }
+
+    public long runMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(runNanos);
+    }
+
+    String toCsvRow() {
+        return finishedAt + "," + csvField(taskType) + "," + csvField(title) + "," +
+                queueNanos + "," + runNanos + "," + succeeded;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    @Override
+    public String toString() {
+        return title + "{" + taskType +
+                ", queue=" + queueMillis() + "ms" +
+                ", run=" + runMillis() + "ms" +
+                (succeeded ? "" : ", failed") + "}";
+    }
+}
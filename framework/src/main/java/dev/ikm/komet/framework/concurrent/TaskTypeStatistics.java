@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time totals of the finished tasks of one type, as aggregated by the {@link TaskRegistry}.
+ *
+ * @param taskType        the class name of the work the tasks ran
+ * @param completedCount  the number of tasks of the type that have finished, including failed ones
+ * @param failedCount     the number of tasks of the type that failed or were cancelled
+ * @param totalQueueNanos the sum of the times the tasks waited for a thread
+ * @param totalRunNanos   the sum of the times the tasks ran
+ * @param maxRunNanos     the longest time one of the tasks ran
+ */
+public record TaskTypeStatistics(String taskType,
+                                 long completedCount,
+                                 long failedCount,
+                                 long totalQueueNanos,
+                                 long totalRunNanos,
+                                 long maxRunNanos) {
+
+    public long averageQueueMillis() {
+        return completedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalQueueNanos / completedCount);
+    }
+
+    public long averageRunMillis() {
+        return completedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunNanos / completedCount);
+    }
+
+    public long maxRunMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxRunNanos);
+    }
+
+    @Override
+    public String toString() {
+        return taskType.substring(taskType.lastIndexOf('.') + 1) +
+                "{n=" + completedCount +
+                (failedCount > 0 ? ", failed=" + failedCount : "") +
+                ", avgQueue=" + averageQueueMillis() + "ms" +
+                ", avgRun=" + averageRunMillis() + "ms" +
+                ", maxRun=" + maxRunMillis() + "ms}";
+    }
+}
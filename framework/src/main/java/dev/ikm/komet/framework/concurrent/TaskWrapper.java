@@ -19,14 +19,23 @@
 import javafx.concurrent.Task;
 import dev.ikm.tinkar.common.service.TrackingCallable;
 import dev.ikm.tinkar.common.service.TrackingListener;
-import dev.ikm.tinkar.common.util.time.DateTimeUtil;
 
 import java.util.function.Consumer;
 
-public class TaskWrapper<V> extends Task<V> implements TrackingListener<V> {
-    private static int maxCompletedTaskListSize = 200;
+/**
+ * Runs a {@link TrackingCallable} as a JavaFX {@link Task}. The wrapper is noted in the {@link TaskRegistry}
+ * by the executor it is submitted to, and when it starts and finishes; the progress views sample their task
+ * lists from the registry instead of each task adding and removing itself.
+ */
+public class TaskWrapper<V> extends Task<V> implements TrackingListener<V>, PrioritizedTask {
     private final TrackingCallable<V> trackingCallable;
     private final Consumer<V> appThreadConsumer;
+    /**
+     * The title and message as last set from the worker thread, which the registry records without reading
+     * the JavaFX properties off the JavaFX thread.
+     */
+    private volatile String title = "";
+    private volatile String message = "";
 
     private TaskWrapper(TrackingCallable<V> trackingCallable) {
         this.trackingCallable = trackingCallable;
@@ -50,51 +59,38 @@ public static <V> TaskWrapper<V> make(TrackingCallable<V> trackingCallable, Cons
         return new TaskWrapper<>(trackingCallable, appThreadConsumer);
     }
 
+    /**
+     * @return the priority declared by the wrapped callable, or {@link TaskPriority#NORMAL}
+     */
     @Override
-    protected V call() throws Exception {
-        V result = trackingCallable.call();
-        if (appThreadConsumer != null) {
-            Platform.runLater(() -> appThreadConsumer.accept(result));
-        }
-        return result;
-    }
-
-    @Override
-    protected void scheduled() {
-        TaskListsService.get().pendingTasks().add(this);
+    public TaskPriority taskPriority() {
+        return TaskPriority.of(trackingCallable);
     }
 
     @Override
-    protected void running() {
-        TaskListsService.get().pendingTasks().remove(this);
-        TaskListsService.get().executingTasks().add(this);
-    }
-
-    @Override
-    protected void succeeded() {
-        TaskListsService.get().executingTasks().remove(this);
-        handleRetention();
-    }
-
-    private void handleRetention() {
-        if (this.trackingCallable.retainWhenComplete()) {
-            CompletedTask completedTask = new CompletedTask(this.getTitle(), this.getMessage(), DateTimeUtil.nowWithZone());
-            TaskListsService.get().completedTasks().add(0, completedTask);
-            if (TaskListsService.get().completedTasks().size() > maxCompletedTaskListSize) {
-                TaskListsService.get().completedTasks().remove(maxCompletedTaskListSize, TaskListsService.get().completedTasks().size());
+    protected V call() throws Exception {
+        TaskRegistry.Execution execution = TaskRegistry.get().started(this, trackingCallable.getClass());
+        boolean succeeded = false;
+        try {
+            V result = trackingCallable.call();
+            if (appThreadConsumer != null) {
+                Platform.runLater(() -> appThreadConsumer.accept(result));
             }
+            succeeded = true;
+            return result;
+        } finally {
+            execution.finished(succeeded, title, message, trackingCallable.retainWhenComplete());
         }
     }
 
     @Override
     protected void cancelled() {
+        TaskRegistry.get().discarded(this);
         this.trackingCallable.cancel();
     }
 
     @Override
     protected void failed() {
-        TaskListsService.get().executingTasks().remove(this);
-        handleRetention();
         //Failure notification handled by afterExecute(Runnable r, Throwable t) on KometThreadPoolExecutor and KometScheduledExecutor
         //Platform.runLater(() -> showExceptionDialog());
     }
@@ -107,11 +103,13 @@ public void updateProgress(double workDone, double max) {
 
     @Override
     public void updateMessage(String message) {
+        this.message = message;
         super.updateMessage(message);
     }
 
     @Override
     public void updateTitle(String title) {
+        this.title = title;
         super.updateTitle(title);
     }
 
@@ -17,6 +17,8 @@
 
 import dev.ikm.tinkar.events.Evt;
 import dev.ikm.tinkar.events.EvtType;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
 
 /**
  * Event representing refreshing view calculator cache.
@@ -28,6 +30,12 @@ public class RefreshCalculatorCacheEvent extends Evt {
 
     public static final EvtType<RefreshCalculatorCacheEvent> REFRESH_CACHE = new EvtType<>(Evt.ANY, "REFRESH_CACHE");
     public static final EvtType<RefreshCalculatorCacheEvent> GLOBAL_REFRESH = new EvtType<>(REFRESH_CACHE, "GLOBAL_REFRESH");
+    /**
+     * Only the components in {@link #getAffectedNids()} have changed.
+     */
+    public static final EvtType<RefreshCalculatorCacheEvent> NIDS_REFRESH = new EvtType<>(REFRESH_CACHE, "NIDS_REFRESH");
+
+    private final ImmutableIntSet affectedNids;
 
     /**
      * Constructs a new {@code RefreshCalculatorCacheEvent}.
@@ -36,7 +44,34 @@ public class RefreshCalculatorCacheEvent extends Evt {
      * @param evtType The type of the event, typically {@link #GLOBAL_REFRESH}.
      */
     public RefreshCalculatorCacheEvent(Object source, EvtType<? extends Evt> evtType) {
+        this(source, evtType, IntSets.immutable.empty());
+    }
+
+    /**
+     * Constructs a new {@code RefreshCalculatorCacheEvent} limited to the given components.
+     *
+     * @param source       The source object that generated the event.
+     * @param evtType      The type of the event, typically {@link #NIDS_REFRESH}.
+     * @param affectedNids The nids of the changed components.
+     */
+    public RefreshCalculatorCacheEvent(Object source, EvtType<? extends Evt> evtType, ImmutableIntSet affectedNids) {
         super(source, evtType);
+        this.affectedNids = affectedNids;
+    }
+
+    /**
+     * @return the nids of the changed components, empty unless the event type is {@link #NIDS_REFRESH}
+     */
+    public ImmutableIntSet getAffectedNids() {
+        return affectedNids;
+    }
+
+    /**
+     * @param nid the nid of a component
+     * @return true if the component may have changed: always, unless the event is limited to other components
+     */
+    public boolean affects(int nid) {
+        return getEventType() != NIDS_REFRESH || affectedNids.contains(nid);
     }
 
 }
\ No newline at end of file
@@ -19,8 +19,6 @@
 import static dev.ikm.tinkar.events.FrameworkTopics.VERSION_CHANGED_TOPIC;
 import dev.ikm.tinkar.events.EntityVersionChangeEvent;
 import dev.ikm.tinkar.events.EvtBusFactory;
-import dev.ikm.tinkar.collection.ConcurrentReferenceHashMap;
-import dev.ikm.tinkar.common.util.broadcast.Subscriber;
 import dev.ikm.tinkar.component.FieldDataType;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
 import dev.ikm.tinkar.entity.ConceptEntity;
@@ -37,8 +35,11 @@
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.primitive.ImmutableIntObjectMap;
 import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
 
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -53,19 +54,28 @@
         permits ObservableConcept, ObservablePattern, ObservableSemantic, ObservableStamp {
 
     /**
-     * The concurrent reference map whose reference type is SOFT.
-     * TODO revisit reference type (WEAK vs SOFT)
+     * The number of observable entities kept, least recently used first out. Evicted observables that are
+     * still in use are found again, and refreshed, until they are collected.
      */
-    protected static final ConcurrentReferenceHashMap<Integer, ObservableEntity> SINGLETONS =
-            new ConcurrentReferenceHashMap<>(ConcurrentReferenceHashMap.ReferenceType.SOFT,
-                    ConcurrentReferenceHashMap.ReferenceType.SOFT);
-    private final EntityChangeSubscriber ENTITY_CHANGE_SUBSCRIBER = new EntityChangeSubscriber();
+    private static final int MAX_SINGLETONS = 16_384;
 
-    {
-        Entity.provider().addSubscriberWithWeakReference(ENTITY_CHANGE_SUBSCRIBER);
+    private static final ObservableEntityCache<ObservableEntity> SINGLETONS = new ObservableEntityCache<>(MAX_SINGLETONS);
+
+    /**
+     * Routes entity changes to the observable of the changed nid. Held strongly, as the entity service only
+     * keeps a weak reference.
+     */
+    private static final ObservableEntityChangeDispatcher CHANGE_DISPATCHER = new ObservableEntityChangeDispatcher(
+            SINGLETONS::containsKey, ObservableEntity::refresh, Platform::runLater, Platform::isFxApplicationThread);
+
+    static {
+        Entity.provider().addSubscriberWithWeakReference(CHANGE_DISPATCHER);
     }
 
-    private MutableIntObjectMap<O> versionPropertyMap = new IntObjectHashMap<>();
+    /**
+     * The observable versions keyed by stamp nid. Replaced rather than modified, so it can be read on any thread.
+     */
+    private volatile ImmutableIntObjectMap<O> versionPropertyMap;
 
     final private AtomicReference<Entity<V>> entityReference;
 
@@ -77,7 +87,9 @@
      */
     public void saveToDB(Entity<?> analogue, EntityVersion newVersionRecord , EntityVersion oldVersionRecord) {
         Entity.provider().putEntity(analogue);
-        versionPropertyMap.put(newVersionRecord.stamp().nid(), wrap((V)newVersionRecord));
+        synchronized (this) {
+            versionPropertyMap = versionPropertyMap.newWithKeyValue(newVersionRecord.stamp().nid(), wrap((V) newVersionRecord));
+        }
         EvtBusFactory.getDefaultEvtBus()
                 .publish(VERSION_CHANGED_TOPIC, new EntityVersionChangeEvent(this, VERSION_UPDATED, newVersionRecord));
     }
@@ -96,9 +108,11 @@ public void saveToDB(Entity<?> analogue, EntityVersion newVersionRecord , Entity
         };
 
         this.entityReference = new AtomicReference<>(entityClone);
+        MutableIntObjectMap<O> versions = new IntObjectHashMap<>(entity.versions().size());
         for (V version : entity.versions()) {
-            versionPropertyMap.put(version.stamp().nid(), wrap(version));
+            versions.put(version.stamp().nid(), wrap(version));
         }
+        this.versionPropertyMap = versions.toImmutable();
     }
 
     protected abstract O wrap(V version);
@@ -112,53 +126,63 @@ ObservableEntitySnapshot<OE, OV, EV> getSnapshot(int nid, ViewCalculator calcula
 
     public abstract ObservableEntitySnapshot<?,?,?> getSnapshot(ViewCalculator calculator);
 
+    /**
+     * Returns the observable of an entity, brought up to date with the entity. May be called on any thread.
+     *
+     * @param entity the entity
+     * @return the shared observable of the entity
+     */
     public static <OE extends ObservableEntity> OE get(Entity<? extends EntityVersion> entity) {
-
-        ObservableEntity observableEntity = null;
-        if (!(entity instanceof ObservableEntity)) {
-            observableEntity = SINGLETONS.computeIfAbsent(entity.nid(), publicId ->
-                    switch (entity) {
-                        case ConceptEntity conceptEntity -> new ObservableConcept(conceptEntity);
-                        case PatternEntity patternEntity -> new ObservablePattern(patternEntity);
-                        case SemanticEntity semanticEntity -> new ObservableSemantic(semanticEntity);
-                        case StampEntity stampEntity -> new ObservableStamp(stampEntity);
-                        default -> throw new UnsupportedOperationException("Can't handle: " + entity);
-                    });
-        } else {
-            observableEntity = (ObservableEntity) entity;
-        }
-
-        if (!Platform.isFxApplicationThread()) {
-            //Throw exception since we need to get the version using JavaFx thread.
-            throw new RuntimeException( "Invalid called thread.");
+        ObservableEntity observableEntity;
+        if (entity instanceof ObservableEntity observable) {
+            observableEntity = observable;
         } else {
-            observableEntity.updateVersions(entity);
+            observableEntity = SINGLETONS.get(entity.nid());
+            if (observableEntity == null) {
+                // Built outside the cache lock; if another thread caches one first, that one is used.
+                ObservableEntity created = switch (entity) {
+                    case ConceptEntity conceptEntity -> new ObservableConcept(conceptEntity);
+                    case PatternEntity patternEntity -> new ObservablePattern(patternEntity);
+                    case SemanticEntity semanticEntity -> new ObservableSemantic(semanticEntity);
+                    case StampEntity stampEntity -> new ObservableStamp(stampEntity);
+                    default -> throw new UnsupportedOperationException("Can't handle: " + entity);
+                };
+                observableEntity = SINGLETONS.putIfAbsent(entity.nid(), created);
+                if (observableEntity == created) {
+                    return (OE) created;
+                }
+            }
         }
+        observableEntity.updateVersions(entity);
         return (OE) observableEntity;
     }
 
     /**
-     * updates the versions in the versionProperty list.
+     * Adds observables for the versions of the entity that are not yet observed, identified by stamp nid,
+     * and publishes them by replacing the version map.
      * @param entity
      */
     private void updateVersions(Entity<? extends EntityVersion> entity) {
-        boolean updateEntityReference = false;
-        for (EntityVersion version : entity.versions().stream().sorted((v1, v2) ->
-                Long.compare(v1.stamp().time(), v2.stamp().time())).toList()) {
-            boolean versionPresent = versionPropertyMap().values().stream().anyMatch(obj -> {
-              if (obj instanceof ObservableVersion<?> observableVersion){
-                  return observableVersion.stamp().nid() == version.stamp().nid();
-              }
-              return false;
-            });
-
-            if(!versionPresent){
-                versionPropertyMap().put(version.stamp().nid(), wrap((V) version));
-                updateEntityReference = true;
+        synchronized (this) {
+            ImmutableIntObjectMap<O> current = versionPropertyMap;
+            MutableIntSet observedStampNids = new IntHashSet(current.size());
+            for (O observableVersion : current.values()) {
+                observedStampNids.add(observableVersion.stampNid());
+            }
+            MutableIntObjectMap<O> updated = null;
+            for (EntityVersion version : entity.versions()) {
+                if (observedStampNids.add(version.stampNid())) {
+                    if (updated == null) {
+                        updated = new IntObjectHashMap<>(current.size() + 1);
+                        updated.putAll(current);
+                    }
+                    updated.put(version.stampNid(), wrap((V) version));
+                }
+            }
+            if (updated != null) {
+                versionPropertyMap = updated.toImmutable();
+                entityReference.set((Entity<V>) entity);
             }
-        }
-        if (updateEntityReference) {
-            entityReference.set((Entity<V>) entity);
         }
     }
 
@@ -166,11 +190,26 @@ public static <OE extends ObservableEntity> OE get(int nid) {
         return get(Entity.getFast(nid));
     }
 
+    /**
+     * Brings the observable of a nid up to date with the entity service, if there is one.
+     *
+     * @param nid the nid of the changed entity
+     */
+    private static void refresh(int nid) {
+        ObservableEntity observableEntity = SINGLETONS.get(nid);
+        if (observableEntity != null) {
+            observableEntity.updateVersions(Entity.getFast(nid));
+        }
+    }
+
     protected Entity<V> entity() {
         return entityReference.get();
     }
 
-    public MutableIntObjectMap<O> versionPropertyMap() {
+    /**
+     * @return the observable versions keyed by stamp nid, as of the call
+     */
+    public ImmutableIntObjectMap<O> versionPropertyMap() {
         return versionPropertyMap;
     }
 
@@ -217,19 +256,4 @@ public long[] additionalUuidLongs() {
     public Iterable<ObservableSemantic> getObservableSemanticList() {
         throw new UnsupportedOperationException();
     }
-
-    private static class EntityChangeSubscriber implements Subscriber<Integer> {
-
-        @Override
-        public void onNext(Integer nid) {
-            // Do nothing with item, but request another...
-            if (SINGLETONS.containsKey(nid)) {
-                if (!Platform.isFxApplicationThread()) {
-                    Platform.runLater(() -> get(nid));
-                } else {
-                    get(nid);
-                }
-            }
-        }
-    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.observable;
+
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * A least recently used cache of observable entities, keyed by nid without boxing.
+ * <p>
+ * Once the cache holds {@code capacity} entries, adding an entry evicts the entry that was least recently
+ * added or read, rather than leaving eviction to the garbage collector as a soft reference map does.
+ * An evicted entry is still weakly referenced until it is collected. If it is looked up while it is still in
+ * use elsewhere, such as by a view, it is moved back into the cache, so a nid never has two values at once.
+ *
+ * @param <E> the type of the cached values
+ */
+final class ObservableEntityCache<E> {
+
+    private static final class Node<E> {
+        final int nid;
+        final E value;
+        Node<E> previous;
+        Node<E> next;
+
+        Node(int nid, E value) {
+            this.nid = nid;
+            this.value = value;
+        }
+    }
+
+    private static final class EvictedReference<E> extends WeakReference<E> {
+        final int nid;
+
+        EvictedReference(int nid, E value, ReferenceQueue<? super E> queue) {
+            super(value, queue);
+            this.nid = nid;
+        }
+    }
+
+    private final int capacity;
+    private final IntObjectHashMap<Node<E>> nodes = new IntObjectHashMap<>();
+    private final IntObjectHashMap<EvictedReference<E>> evicted = new IntObjectHashMap<>();
+    private final ReferenceQueue<E> collected = new ReferenceQueue<>();
+    /**
+     * The sentinel of a circular list: {@code head.next} is the most recently used entry, and
+     * {@code head.previous} the least recently used.
+     */
+    private final Node<E> head = new Node<>(0, null);
+
+    ObservableEntityCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        head.previous = head;
+        head.next = head;
+    }
+
+    /**
+     * @param nid the nid of an entity
+     * @return the cached value, or the evicted value if it has not been collected, marked as most recently
+     * used, or null
+     */
+    synchronized E get(int nid) {
+        Node<E> node = nodes.get(nid);
+        if (node == null) {
+            return restoreEvicted(nid);
+        }
+        unlink(node);
+        linkFirst(node);
+        return node.value;
+    }
+
+    /**
+     * @param nid the nid of an entity
+     * @return true if a value is cached for the nid, or was evicted and has not been collected; does not affect
+     * the order of eviction
+     */
+    synchronized boolean containsKey(int nid) {
+        if (nodes.containsKey(nid)) {
+            return true;
+        }
+        Reference<E> reference = evicted.get(nid);
+        return reference != null && !reference.refersTo(null);
+    }
+
+    /**
+     * Caches a value unless one is already cached for the nid, evicting the least recently used entry if the
+     * cache is full.
+     *
+     * @param nid   the nid of an entity
+     * @param value the value to cache
+     * @return the value already cached for the nid, or {@code value} if there was none
+     */
+    synchronized E putIfAbsent(int nid, E value) {
+        Node<E> existing = nodes.get(nid);
+        if (existing != null) {
+            unlink(existing);
+            linkFirst(existing);
+            return existing.value;
+        }
+        E restored = restoreEvicted(nid);
+        if (restored != null) {
+            return restored;
+        }
+        add(nid, value);
+        return value;
+    }
+
+    /**
+     * @return the number of values held by the cache, not counting evicted values
+     */
+    synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Moves an evicted value that has not been collected back into the cache.
+     *
+     * @return the value, or null if none was evicted for the nid or it has been collected
+     */
+    private E restoreEvicted(int nid) {
+        EvictedReference<E> reference = evicted.remove(nid);
+        if (reference == null) {
+            return null;
+        }
+        E value = reference.get();
+        if (value != null) {
+            add(nid, value);
+        }
+        return value;
+    }
+
+    private void add(int nid, E value) {
+        expungeCollected();
+        Node<E> node = new Node<>(nid, value);
+        nodes.put(nid, node);
+        linkFirst(node);
+        if (nodes.size() > capacity) {
+            Node<E> eldest = head.previous;
+            unlink(eldest);
+            nodes.remove(eldest.nid);
+            evicted.put(eldest.nid, new EvictedReference<>(eldest.nid, eldest.value, collected));
+        }
+    }
+
+    private void expungeCollected() {
+        for (Reference<? extends E> reference = collected.poll(); reference != null; reference = collected.poll()) {
+            int nid = ((EvictedReference<? extends E>) reference).nid;
+            if (evicted.get(nid) == reference) {
+                evicted.remove(nid);
+            }
+        }
+    }
+
+    private void linkFirst(Node<E> node) {
+        node.previous = head;
+        node.next = head.next;
+        head.next.previous = node;
+        head.next = node;
+    }
+
+    private static <E> void unlink(Node<E> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+    }
+}
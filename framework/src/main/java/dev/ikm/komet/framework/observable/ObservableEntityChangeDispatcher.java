@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.observable;
+
+import dev.ikm.tinkar.common.util.broadcast.Subscriber;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Routes entity changes to the observable entity of the changed nid.
+ * <p>
+ * A single dispatcher subscribes to entity changes on behalf of all observable entities, and looks up the
+ * observable of each changed nid, so a change costs one lookup however many observables are live. Changes
+ * made off the JavaFX thread are collected and applied by one runnable on the JavaFX thread, so repeated
+ * changes to a nid before that runnable runs refresh its observable once.
+ */
+final class ObservableEntityChangeDispatcher implements Subscriber<Integer> {
+    private static final Logger LOG = LoggerFactory.getLogger(ObservableEntityChangeDispatcher.class);
+
+    private final IntPredicate registered;
+    private final IntConsumer refresher;
+    private final Executor fxExecutor;
+    private final BooleanSupplier onFxThread;
+
+    private MutableIntSet pendingNids = IntSets.mutable.empty();
+    private boolean drainScheduled = false;
+
+    /**
+     * @param registered tests whether a nid has an observable entity
+     * @param refresher  refreshes the observable entity of a nid, on the JavaFX thread
+     * @param fxExecutor runs work on the JavaFX thread
+     * @param onFxThread tests whether the caller is on the JavaFX thread
+     */
+    ObservableEntityChangeDispatcher(IntPredicate registered, IntConsumer refresher,
+                                     Executor fxExecutor, BooleanSupplier onFxThread) {
+        this.registered = registered;
+        this.refresher = refresher;
+        this.fxExecutor = fxExecutor;
+        this.onFxThread = onFxThread;
+    }
+
+    @Override
+    public void onNext(Integer nid) {
+        if (!registered.test(nid)) {
+            return;
+        }
+        if (onFxThread.getAsBoolean()) {
+            synchronized (this) {
+                pendingNids.remove(nid);
+            }
+            refresh(nid);
+            return;
+        }
+        boolean schedule;
+        synchronized (this) {
+            pendingNids.add(nid);
+            schedule = !drainScheduled;
+            drainScheduled = true;
+        }
+        if (schedule) {
+            fxExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        MutableIntSet nids;
+        synchronized (this) {
+            nids = pendingNids;
+            pendingNids = IntSets.mutable.empty();
+            drainScheduled = false;
+        }
+        nids.forEach(this::refresh);
+    }
+
+    private void refresh(int nid) {
+        try {
+            refresher.accept(nid);
+        } catch (RuntimeException ex) {
+            LOG.error("Unable to refresh observable entity: " + nid, ex);
+        }
+    }
+}
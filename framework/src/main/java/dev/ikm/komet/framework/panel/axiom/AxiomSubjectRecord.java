@@ -15,8 +15,8 @@
  */
 package dev.ikm.komet.framework.panel.axiom;
 
-import dev.ikm.komet.framework.observable.ObservableSemanticVersion;
 import dev.ikm.tinkar.coordinate.logic.PremiseType;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
 import dev.ikm.tinkar.entity.graph.DiTreeEntity;
 import dev.ikm.tinkar.entity.graph.EntityVertex;
 import dev.ikm.tinkar.terms.ConceptFacade;
@@ -26,7 +26,7 @@
 import java.util.Optional;
 
 public record AxiomSubjectRecord(int axiomIndex, DiTreeEntity axiomTree,
-                                 ObservableSemanticVersion semanticContainingAxiom,
+                                 SemanticEntityVersion semanticContainingAxiom,
                                  PremiseType premiseType,
                                  Node nodeForPopover) {
 
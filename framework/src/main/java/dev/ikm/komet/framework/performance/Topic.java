@@ -25,5 +25,7 @@ public enum Topic {
 
     NEW_PATTERN_REQUEST,
 
-    AXIOM_FOCUSED
+    AXIOM_FOCUSED,
+
+    RULE_SERVICE_PERFORMANCE
 }
@@ -18,16 +18,17 @@
 import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.control.MultipleSelectionModel;
-import org.eclipse.collections.api.list.primitive.MutableIntList;
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
-import org.eclipse.collections.impl.factory.primitive.IntLists;
 import org.eclipse.collections.impl.factory.primitive.IntSets;
+import dev.ikm.komet.framework.sort.NaturalOrderSort;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.tinkar.common.id.IntIdSet;
 import dev.ikm.tinkar.common.id.IntIds;
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
 
+import java.util.Arrays;
+
 public class IntIdSetEditor extends IntIdCollectionEditor<IntIdSet> {
 
     public IntIdSetEditor(ViewProperties viewProperties, SimpleObjectProperty<IntIdSet> intIdSetProperty) {
@@ -37,20 +38,12 @@ public IntIdSetEditor(ViewProperties viewProperties, SimpleObjectProperty<IntIdS
 
     void updateListView(IntIdSet newValue) {
         TinkExecutor.threadPool().execute(() -> {
-            MutableIntList nidList;
-            if (newValue == null) {
-                nidList = IntLists.mutable.empty();
-            } else {
-                nidList = IntLists.mutable.ofAll(newValue.intStream());
-            }
+            int[] nids = newValue == null ? new int[0] : newValue.intStream().toArray();
 
             ViewCalculator calculator = viewProperties.calculator();
-            nidList.sortThis((nid1, nid2) -> calculator.getDescriptionTextOrNid(nid1)
-                    .compareTo(calculator.getDescriptionTextOrNid(nid2)));
+            int[] sortedNids = NaturalOrderSort.sortNids(nids, calculator::getDescriptionTextOrNid);
             Platform.runLater(() -> {
-                listView.getItems().clear();
-                listView.getItems().addAll(nidList.toList().primitiveStream().mapToObj(nid -> nid).toList());
-
+                listView.getItems().setAll(Arrays.stream(sortedNids).boxed().toList());
             });
         });
     }
@@ -0,0 +1,273 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+import dev.ikm.komet.framework.concurrent.PrioritizedTask;
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import dev.ikm.komet.framework.panel.axiom.AxiomSubjectRecord;
+import dev.ikm.komet.framework.performance.Measures;
+import dev.ikm.komet.framework.performance.Observation;
+import dev.ikm.komet.framework.performance.Statement;
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.komet.framework.performance.impl.ObservationRecord;
+import dev.ikm.komet.framework.view.ViewProperties;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.TrackingCallable;
+import dev.ikm.tinkar.coordinate.edit.EditCoordinate;
+import dev.ikm.tinkar.coordinate.logic.PremiseType;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityVersion;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import dev.ikm.tinkar.entity.StampEntity;
+import dev.ikm.tinkar.entity.graph.DiTreeEntity;
+import dev.ikm.tinkar.terms.TinkarTerm;
+import org.controlsfx.control.action.Action;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates the rules for every component of a pattern or module, or for a given set of components, without
+ * a user focusing each one, and reports the suggested actions the rules generate. This allows rule based quality checks over a whole
+ * release.
+ * <p>
+ * Components are evaluated in parallel on the common fork join pool. Each is observed as the rules observe a
+ * focused component: its latest version as {@link Topic#COMPONENT_FOCUSED}, and for an axiom semantic each
+ * vertex of its axiom tree as {@link Topic#AXIOM_FOCUSED}. Versions are read from the entity service directly,
+ * so a bulk run does not fill the observable entity cache used by the views.
+ */
+public class BulkRuleEvaluationTask extends TrackingCallable<RuleEvaluationReport> implements PrioritizedTask {
+    private static final Logger LOG = LoggerFactory.getLogger(BulkRuleEvaluationTask.class);
+    private static final String KNOWLEDGE_BASE_NAME = "Bulk evaluation";
+    private static final int PROGRESS_INTERVAL = 1024;
+
+    private enum Scope {PATTERN, MODULE, COMPONENTS}
+
+    private final Scope scope;
+    private final int scopeNid;
+    private final int[] componentNids;
+    private final ViewProperties viewProperties;
+    private final ViewCalculator viewCalculator;
+    private final EditCoordinate editCoordinate;
+    private final RuleService ruleService;
+
+    private BulkRuleEvaluationTask(Scope scope, int scopeNid, int[] componentNids, ViewProperties viewProperties,
+                                   RuleService ruleService) {
+        super(true, true);
+        this.scope = scope;
+        this.scopeNid = scopeNid;
+        this.componentNids = componentNids;
+        this.viewProperties = viewProperties;
+        this.viewCalculator = viewProperties.calculator();
+        this.editCoordinate = viewProperties.nodeView().editCoordinate().toEditCoordinateRecord();
+        this.ruleService = ruleService;
+        if (scope == Scope.COMPONENTS) {
+            updateTitle("Evaluating rules for " + componentNids.length + " components");
+        } else {
+            updateTitle("Evaluating rules for " + scope.name().toLowerCase() + ": " +
+                    viewCalculator.getPreferredDescriptionTextWithFallbackOrNid(scopeNid));
+        }
+    }
+
+    /**
+     * @param patternNid     the pattern whose semantics are evaluated
+     * @param viewProperties the view the rules are evaluated in
+     */
+    public static BulkRuleEvaluationTask forPattern(int patternNid, ViewProperties viewProperties) {
+        return new BulkRuleEvaluationTask(Scope.PATTERN, patternNid, null, viewProperties, RuleService.get());
+    }
+
+    /**
+     * @param moduleNid      the module whose concepts and semantics, by their latest version, are evaluated
+     * @param viewProperties the view the rules are evaluated in
+     */
+    public static BulkRuleEvaluationTask forModule(int moduleNid, ViewProperties viewProperties) {
+        return new BulkRuleEvaluationTask(Scope.MODULE, moduleNid, null, viewProperties, RuleService.get());
+    }
+
+    /**
+     * @param componentNids  the components evaluated, by their latest version
+     * @param viewProperties the view the rules are evaluated in
+     */
+    public static BulkRuleEvaluationTask forComponents(int[] componentNids, ViewProperties viewProperties) {
+        return forComponents(componentNids, viewProperties, RuleService.get());
+    }
+
+    static BulkRuleEvaluationTask forComponents(int[] componentNids, ViewProperties viewProperties,
+                                                RuleService ruleService) {
+        return new BulkRuleEvaluationTask(Scope.COMPONENTS, 0, componentNids.clone(), viewProperties, ruleService);
+    }
+
+    @Override
+    public TaskPriority taskPriority() {
+        return TaskPriority.BULK;
+    }
+
+    @Override
+    public RuleEvaluationReport compute() throws Exception {
+        long start = System.nanoTime();
+        updateMessage("Gathering components...");
+        int[] nids = switch (scope) {
+            case PATTERN -> {
+                MutableIntList patternNids = IntLists.mutable.empty();
+                PrimitiveData.get().forEachSemanticNidOfPattern(scopeNid, patternNids::add);
+                yield patternNids.toArray();
+            }
+            case MODULE -> moduleMemberNids();
+            case COMPONENTS -> componentNids;
+        };
+        int total = nids.length;
+        updateProgress(0, total);
+        updateMessage("Evaluating " + total + " components...");
+
+        ConcurrentLinkedQueue<RuleEvaluationReport.Suggestion> suggestions = new ConcurrentLinkedQueue<>();
+        AtomicInteger evaluatedCount = new AtomicInteger();
+        AtomicInteger doneCount = new AtomicInteger();
+        IntStream.of(nids).parallel().forEach(nid -> {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                if (evaluate(nid, suggestions)) {
+                    evaluatedCount.incrementAndGet();
+                }
+            } catch (RuntimeException ex) {
+                LOG.error("Unable to evaluate rules for: " + nid, ex);
+            }
+            int done = doneCount.incrementAndGet();
+            if (done % PROGRESS_INTERVAL == 0) {
+                updateProgress(done, total);
+            }
+        });
+
+        MutableList<RuleEvaluationReport.Suggestion> sortedSuggestions = Lists.mutable.ofAll(suggestions);
+        sortedSuggestions.sort(Comparator.comparingInt(RuleEvaluationReport.Suggestion::componentNid)
+                .thenComparing(RuleEvaluationReport.Suggestion::text));
+        RuleEvaluationReport report = new RuleEvaluationReport(evaluatedCount.get(),
+                sortedSuggestions.toImmutable(), Duration.ofNanos(System.nanoTime() - start));
+        updateProgress(total, total);
+        ImmutableList<Observation> performance = ruleService.performance();
+        updateMessage("Evaluated " + report.componentsEvaluated() + " components with " +
+                report.suggestions().size() + " suggestions in " + report.duration().toSeconds() + " s" +
+                meanEvaluationText(performance));
+        LOG.info("Rule service performance after evaluating {} components: {}", report.componentsEvaluated(),
+                performance.collect(observation -> observation.subject() + "=" + observation.value().getLowerBound())
+                        .makeString());
+        return report;
+    }
+
+    /**
+     * @return the mean time the rule service takes to evaluate the rules, to follow the summary message, or an
+     * empty string if the rule service does not report it
+     */
+    private static String meanEvaluationText(ImmutableList<Observation> performance) {
+        if (performance.isEmpty()) {
+            return "";
+        }
+        return String.format(" (%.2f ms per rule evaluation)",
+                RuleServiceMetrics.value(performance, RuleServiceMeasure.MEAN_EVALUATION_MILLIS));
+    }
+
+    /**
+     * The data store has no index of components by module, so every concept and semantic is visited, but only
+     * to compare the stamps of its versions with the stamps of the module. The rules, and the view calculator,
+     * then only see the members.
+     *
+     * @return the nids of the concepts and semantics with a version in the module
+     */
+    private int[] moduleMemberNids() {
+        MutableIntSet moduleStampNids = IntSets.mutable.empty();
+        PrimitiveData.get().forEachStampNid(stampNid -> {
+            if (Entity.getFast(stampNid) instanceof StampEntity<?> stamp && stamp.moduleNid() == scopeNid) {
+                moduleStampNids.add(stampNid);
+            }
+        });
+        if (moduleStampNids.isEmpty()) {
+            return new int[0];
+        }
+        MutableIntList candidateNids = IntLists.mutable.empty();
+        PrimitiveData.get().forEachConceptNid(candidateNids::add);
+        PrimitiveData.get().forEachSemanticNid(candidateNids::add);
+        return IntStream.of(candidateNids.toArray()).parallel()
+                .filter(nid -> {
+                    if (isCancelled()) {
+                        return false;
+                    }
+                    Entity<?> entity = Entity.getFast(nid);
+                    return entity != null
+                            && entity.versions().anySatisfy(version -> moduleStampNids.contains(version.stampNid()));
+                })
+                .toArray();
+    }
+
+    /**
+     * @return true if the component is in scope and was evaluated
+     */
+    private boolean evaluate(int nid,
+                             ConcurrentLinkedQueue<RuleEvaluationReport.Suggestion> suggestions) {
+        Latest<EntityVersion> latest = viewCalculator.latest(nid);
+        if (latest.isAbsent()) {
+            return false;
+        }
+        EntityVersion version = latest.get();
+        if (scope == Scope.MODULE && version.moduleNid() != scopeNid) {
+            return false;
+        }
+        collect(nid, Topic.COMPONENT_FOCUSED, ruleService.executeUncached(KNOWLEDGE_BASE_NAME,
+                Lists.immutable.of(new ObservationRecord(Topic.COMPONENT_FOCUSED, version, Measures.present())),
+                viewProperties, editCoordinate), suggestions);
+
+        if (version instanceof SemanticEntityVersion semanticVersion
+                && !semanticVersion.fieldValues().isEmpty()
+                && semanticVersion.fieldValues().get(0) instanceof DiTreeEntity axiomTree) {
+            PremiseType premiseType = semanticVersion.patternNid() == TinkarTerm.EL_PLUS_PLUS_INFERRED_AXIOMS_PATTERN.nid()
+                    ? PremiseType.INFERRED : PremiseType.STATED;
+            // Each vertex is evaluated on its own, as when the user focuses it
+            for (int vertexIndex = 0; vertexIndex < axiomTree.vertexMap().size(); vertexIndex++) {
+                Statement axiomObservation = new ObservationRecord(Topic.AXIOM_FOCUSED,
+                        new AxiomSubjectRecord(vertexIndex, axiomTree, semanticVersion, premiseType, null),
+                        Measures.present());
+                collect(nid, Topic.AXIOM_FOCUSED, ruleService.executeUncached(KNOWLEDGE_BASE_NAME,
+                        Lists.immutable.of(axiomObservation), viewProperties, editCoordinate), suggestions);
+            }
+        }
+        return true;
+    }
+
+    private static void collect(int nid, Topic topic, ImmutableList<Consequence<?>> consequences,
+                                ConcurrentLinkedQueue<RuleEvaluationReport.Suggestion> suggestions) {
+        for (Consequence<?> consequence : consequences) {
+            if (consequence.get() instanceof GeneratedActionSuggested suggested) {
+                String text = suggested instanceof Action action ? action.getText() : suggested.toString();
+                suggestions.add(new RuleEvaluationReport.Suggestion(nid, topic, consequence.ruleMethod(), text));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import org.eclipse.collections.api.list.ImmutableList;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * The suggested actions the rules generated for a set of components evaluated by a
+ * {@link BulkRuleEvaluationTask}.
+ *
+ * @param componentsEvaluated the number of components evaluated
+ * @param suggestions         the suggested actions, ordered by component
+ * @param duration            the time taken by the evaluation
+ */
+public record RuleEvaluationReport(int componentsEvaluated,
+                                   ImmutableList<Suggestion> suggestions,
+                                   Duration duration) {
+
+    /**
+     * @param componentNid the component the rules were evaluated for
+     * @param topic        the topic of the observation that generated the suggestion
+     * @param ruleMethod   the rule that generated the suggestion
+     * @param text         the text of the suggested action
+     */
+    public record Suggestion(int componentNid, Topic topic, String ruleMethod, String text) {
+    }
+
+    /**
+     * Writes the suggestions as tab separated values, one per line, after a header line.
+     *
+     * @param out        the destination
+     * @param calculator the calculator used to describe the components
+     */
+    public void writeTsv(Appendable out, ViewCalculator calculator) throws IOException {
+        out.append("Component\tTopic\tSuggestion\tRule\n");
+        for (Suggestion suggestion : suggestions) {
+            out.append(tsvField(calculator.getPreferredDescriptionTextWithFallbackOrNid(suggestion.componentNid())))
+                    .append('\t').append(suggestion.topic().name())
+                    .append('\t').append(tsvField(suggestion.text()))
+                    .append('\t').append(tsvField(suggestion.ruleMethod()))
+                    .append('\n');
+        }
+    }
+
+    private static String tsvField(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -15,9 +15,11 @@
  */
 package dev.ikm.komet.framework.rulebase;
 
+import dev.ikm.komet.framework.performance.Observation;
 import dev.ikm.komet.framework.performance.Statement;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.tinkar.coordinate.edit.EditCoordinate;
+import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
 
 public interface RuleService {
@@ -28,4 +30,24 @@ ImmutableList<Consequence<?>> execute(String knowledgeBaseName,
                                           ImmutableList<Statement> statements,
                                           ViewProperties viewProperties,
                                           EditCoordinate editCoordinate);
+
+    /**
+     * Executes the rules without consulting or filling any cache of consequences, for bulk evaluation where
+     * each component is seen once.
+     */
+    default ImmutableList<Consequence<?>> executeUncached(String knowledgeBaseName,
+                                                         ImmutableList<Statement> statements,
+                                                         ViewProperties viewProperties,
+                                                         EditCoordinate editCoordinate) {
+        return execute(knowledgeBaseName, statements, viewProperties, editCoordinate);
+    }
+
+    /**
+     * @return observations of the performance of this service, with topic
+     * {@link dev.ikm.komet.framework.performance.Topic#RULE_SERVICE_PERFORMANCE} and a
+     * {@link RuleServiceMeasure} as subject
+     */
+    default ImmutableList<Observation> performance() {
+        return Lists.immutable.empty();
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+/**
+ * The subjects of the observations a {@link RuleService} reports about its own performance.
+ */
+public enum RuleServiceMeasure {
+    /**
+     * The number of calls to {@link RuleService#execute}.
+     */
+    EXECUTIONS,
+    /**
+     * The fraction of executions answered from cached consequences, from 0 to 1.
+     */
+    CACHE_HIT_RATE,
+    /**
+     * The mean time to evaluate the rules for an execution not answered from the cache, in milliseconds.
+     */
+    MEAN_EVALUATION_MILLIS,
+    /**
+     * The longest time to evaluate the rules for an execution, in milliseconds.
+     */
+    MAX_EVALUATION_MILLIS
+}
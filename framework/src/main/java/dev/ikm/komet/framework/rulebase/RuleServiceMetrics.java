@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+import dev.ikm.komet.framework.performance.Measures;
+import dev.ikm.komet.framework.performance.Observation;
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.komet.framework.performance.impl.ObservationRecord;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the executions and rule evaluations of a {@link RuleService}, and reports them as the observations
+ * of {@link RuleService#performance()}. May be updated from any thread.
+ */
+public final class RuleServiceMetrics {
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+    private final LongAccumulator maxEvaluationNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Counts a call to {@link RuleService#execute}.
+     *
+     * @param cacheHit true if the call was answered from cached consequences
+     */
+    public void executed(boolean cacheHit) {
+        executions.increment();
+        if (cacheHit) {
+            cacheHits.increment();
+        }
+    }
+
+    /**
+     * Counts an evaluation of the rules.
+     *
+     * @param nanos the time the evaluation took
+     */
+    public void evaluated(long nanos) {
+        evaluations.increment();
+        evaluationNanos.add(nanos);
+        maxEvaluationNanos.accumulate(nanos);
+    }
+
+    /**
+     * @return an observation for each {@link RuleServiceMeasure}, with topic {@link Topic#RULE_SERVICE_PERFORMANCE}
+     */
+    public ImmutableList<Observation> observations() {
+        long executionCount = executions.sum();
+        long evaluationCount = evaluations.sum();
+        float hitRate = executionCount == 0 ? 0f : (float) cacheHits.sum() / executionCount;
+        float meanMillis = evaluationCount == 0 ? 0f : evaluationNanos.sum() / 1_000_000f / evaluationCount;
+        return Lists.immutable.of(
+                observation(RuleServiceMeasure.EXECUTIONS, executionCount),
+                observation(RuleServiceMeasure.CACHE_HIT_RATE, hitRate),
+                observation(RuleServiceMeasure.MEAN_EVALUATION_MILLIS, meanMillis),
+                observation(RuleServiceMeasure.MAX_EVALUATION_MILLIS, maxEvaluationNanos.get() / 1_000_000f));
+    }
+
+    /**
+     * @param observations observations from {@link RuleService#performance()}
+     * @param measure      the measure to find
+     * @return the value observed for the measure, or 0 if it was not observed
+     */
+    public static float value(ImmutableList<Observation> observations, RuleServiceMeasure measure) {
+        Observation observation = observations.detect(candidate -> candidate.subject() == measure);
+        return observation == null ? 0f : observation.value().getLowerBound();
+    }
+
+    private static Observation observation(RuleServiceMeasure measure, float value) {
+        return new ObservationRecord(Topic.RULE_SERVICE_PERFORMANCE, measure, Measures.ofInclusive(value));
+    }
+}
@@ -18,16 +18,13 @@
 import dev.ikm.komet.framework.activity.ActivityStream;
 import dev.ikm.komet.framework.activity.ActivityStreams;
 import dev.ikm.komet.framework.graphics.Icon;
+import dev.ikm.komet.framework.sort.NaturalOrderSort;
 import dev.ikm.komet.framework.view.ViewMenuModel;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.preferences.KometPreferences;
-import dev.ikm.tinkar.common.alert.AlertObject;
-import dev.ikm.tinkar.common.alert.AlertStreams;
 import dev.ikm.tinkar.common.id.PublicIdStringKey;
 import dev.ikm.tinkar.common.id.PublicIds;
 import dev.ikm.tinkar.common.service.PrimitiveData;
-import dev.ikm.tinkar.common.service.TinkExecutor;
-import dev.ikm.tinkar.common.util.text.NaturalOrder;
 import dev.ikm.tinkar.common.util.uuid.UuidUtil;
 import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
 import dev.ikm.tinkar.coordinate.stamp.calculator.LatestVersionSearchResult;
@@ -54,6 +51,7 @@
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalInt;
 import java.util.ResourceBundle;
@@ -85,6 +83,7 @@ public class SearchPanelController implements ListChangeListener<TreeItem<Object
     private KometPreferences nodePreferences;
     private ViewMenuModel viewMenuModel;
     private TreeItem<Object> resultsRoot = new TreeItem<>("root");
+    private final SearchPipeline<TreeItem<Object>> searchPipeline = new SearchPipeline<>(page -> resultsRoot.getChildren().addAll(page));
 
     @FXML
     void initialize() {
@@ -102,6 +101,7 @@ void initialize() {
         searchTreeView.setMaxWidth(350);
 
         searchTreeView.setCellFactory(param -> new SearchResultCell());
+        searchPipeline.installPaging(searchTreeView);
 
         resultsLayoutCombo.getItems().addAll(RESULT_LAYOUT_OPTIONS.values());
         resultsLayoutCombo.getSelectionModel().select(RESULT_LAYOUT_OPTIONS.TOP_COMPONENT_SEMANTIC_SCORE);
@@ -114,6 +114,7 @@ void initialize() {
 
     @FXML
     void doSearch(ActionEvent event) {
+        searchPipeline.cancel();
         searchTreeView.getSelectionModel().clearSelection();
         resultsRoot.getChildren().clear();
         if (queryString.getText() == null || queryString.getText().isEmpty()) {
@@ -135,70 +136,65 @@ void doSearch(ActionEvent event) {
                 addComponentFromNid(PrimitiveData.nid(PublicIds.of(uuid)));
             });
         } else {
-            TinkExecutor.threadPool().execute(() -> {
-                try {
-                    TreeItem<Object> tempRoot = new TreeItem<>("Temp root");
-                    ImmutableList<LatestVersionSearchResult> results = viewProperties.calculator().search(queryString.getText().strip(), 1000);
-                    LOG.info("Finished search. Hits: " + results.size());
-                    switch (resultsLayoutCombo.getSelectionModel().getSelectedItem()) {
-                        case MATCHED_SEMANTIC_SCORE -> {
-                            ImmutableList<LatestVersionSearchResult> resultsSortedOnScore = results
-                                    .toSortedList((o1, o2) -> Float.compare(o2.score(), o1.score()))
-                                    .toImmutable();
-
-                            for (LatestVersionSearchResult result : resultsSortedOnScore) {
-                                tempRoot.getChildren().add(new TreeItem<>(result));
-                            }
-                        }
-                        case MATCHED_SEMANTIC_NATURAL_ORDER -> {
-                            ImmutableList<LatestVersionSearchResult> resultsSortedOnNaturalOrder = results
-                                    .toSortedList((o1, o2) -> {
-                                        String string1 = (String) o1.latestVersion().get().fieldValues().get(o1.fieldIndex());
-                                        String string2 = (String) o2.latestVersion().get().fieldValues().get(o2.fieldIndex());
-                                        return NaturalOrder.compareStrings(string1, string2);
-                                    }).toImmutable();
-                            for (LatestVersionSearchResult result : resultsSortedOnNaturalOrder) {
-                                tempRoot.getChildren().add(new TreeItem<>(result));
-                            }
-                        }
-                        case TOP_COMPONENT_NATURAL_ORDER -> {
-                            ImmutableList<LatestVersionSearchResult> resultsTopComponentNaturalOrder = results
-                                    .toSortedList((o1, o2) -> {
-                                        String string1 = (String) o1.latestVersion().get().fieldValues().get(o1.fieldIndex());
-                                        String string2 = (String) o2.latestVersion().get().fieldValues().get(o2.fieldIndex());
-                                        return NaturalOrder.compareStrings(string1, string2);
-                                    }).toImmutableList();
-                            populateTempRoot(tempRoot, resultsTopComponentNaturalOrder);
-                            tempRoot.getChildren().sort((o1, o2) ->
-                                    NaturalOrder.compareStrings(o1.getValue().toString(),
-                                            o2.getValue().toString()));
-                            for (TreeItem child : tempRoot.getChildren()) {
-                                child.getChildren().sort((o1, o2) -> NaturalOrder.compareStrings(o1.toString(), o2.toString()));
-                            }
-                        }
-
-                        case TOP_COMPONENT_SEMANTIC_SCORE -> {
-                            ImmutableList<LatestVersionSearchResult> resultsTopComponentScoreOrder = results
-                                    .toSortedList((o1, o2) -> Float.compare(o2.score(), o1.score()))
-                                    .toImmutableList();
-                            populateTempRoot(tempRoot, resultsTopComponentScoreOrder);
-                            for (TreeItem<Object> topItem : tempRoot.getChildren()) {
-                                topItem.getChildren().sort((o1, o2) ->
-                                        Float.compare(((LatestVersionSearchResult) o1.getValue()).score(),
-                                                ((LatestVersionSearchResult) o2.getValue()).score()));
-                            }
-                            tempRoot.getChildren().sort((o1, o2) -> Float.compare(((LatestVersionSearchResult) o2.getChildren().get(0).getValue()).score(),
-                                    ((LatestVersionSearchResult) o1.getChildren().get(0).getValue()).score()));
-                        }
-                    }
-                    Platform.runLater(() -> {
-                        resultsRoot.getChildren().setAll(tempRoot.getChildren());
-                    });
-                } catch (Throwable e) {
-                    AlertStreams.getRoot().dispatch(AlertObject.makeError(e.getClass().getSimpleName() + " during search", queryString.getText().strip(), e));
+            final RESULT_LAYOUT_OPTIONS layout = resultsLayoutCombo.getSelectionModel().getSelectedItem();
+            searchPipeline.search(queryText,
+                    text -> SearchResultCache.get().search(viewProperties.calculator(), text, 1000),
+                    results -> layoutResults(layout, results));
+        }
+    }
+
+    /**
+     * Sorts the search results and arranges them into the top level tree items for the given layout.
+     * Runs on a background thread.
+     */
+    private List<TreeItem<Object>> layoutResults(RESULT_LAYOUT_OPTIONS layout, ImmutableList<LatestVersionSearchResult> results) {
+        TreeItem<Object> tempRoot = new TreeItem<>("Temp root");
+        switch (layout) {
+            case MATCHED_SEMANTIC_SCORE -> {
+                ImmutableList<LatestVersionSearchResult> resultsSortedOnScore = results
+                        .toSortedList((o1, o2) -> Float.compare(o2.score(), o1.score()))
+                        .toImmutable();
+
+                for (LatestVersionSearchResult result : resultsSortedOnScore) {
+                    tempRoot.getChildren().add(new TreeItem<>(result));
                 }
-            });
+            }
+            case MATCHED_SEMANTIC_NATURAL_ORDER -> {
+                List<LatestVersionSearchResult> resultsSortedOnNaturalOrder =
+                        NaturalOrderSort.sorted(results.castToList(), SearchPanelController::matchedText);
+                for (LatestVersionSearchResult result : resultsSortedOnNaturalOrder) {
+                    tempRoot.getChildren().add(new TreeItem<>(result));
+                }
+            }
+            case TOP_COMPONENT_NATURAL_ORDER -> {
+                ImmutableList<LatestVersionSearchResult> resultsTopComponentNaturalOrder = Lists.immutable.ofAll(
+                        NaturalOrderSort.sorted(results.castToList(), SearchPanelController::matchedText));
+                populateTempRoot(tempRoot, resultsTopComponentNaturalOrder);
+                NaturalOrderSort.sortInPlace(tempRoot.getChildren(), treeItem -> treeItem.getValue().toString());
+                for (TreeItem<Object> child : tempRoot.getChildren()) {
+                    NaturalOrderSort.sortInPlace(child.getChildren(), TreeItem::toString);
+                }
+            }
+
+            case TOP_COMPONENT_SEMANTIC_SCORE -> {
+                ImmutableList<LatestVersionSearchResult> resultsTopComponentScoreOrder = results
+                        .toSortedList((o1, o2) -> Float.compare(o2.score(), o1.score()))
+                        .toImmutableList();
+                populateTempRoot(tempRoot, resultsTopComponentScoreOrder);
+                for (TreeItem<Object> topItem : tempRoot.getChildren()) {
+                    topItem.getChildren().sort((o1, o2) ->
+                            Float.compare(((LatestVersionSearchResult) o1.getValue()).score(),
+                                    ((LatestVersionSearchResult) o2.getValue()).score()));
+                }
+                tempRoot.getChildren().sort((o1, o2) -> Float.compare(((LatestVersionSearchResult) o2.getChildren().get(0).getValue()).score(),
+                        ((LatestVersionSearchResult) o1.getChildren().get(0).getValue()).score()));
+            }
         }
+        return new ArrayList<>(tempRoot.getChildren());
+    }
+
+    private static String matchedText(LatestVersionSearchResult result) {
+        return (String) result.latestVersion().get().fieldValues().get(result.fieldIndex());
     }
 
     private void clearDropDown() {
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.search;
+
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import dev.ikm.tinkar.common.alert.AlertObject;
+import dev.ikm.tinkar.common.alert.AlertStreams;
+import dev.ikm.tinkar.common.service.TinkExecutor;
+import dev.ikm.tinkar.coordinate.stamp.calculator.LatestVersionSearchResult;
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.Control;
+import javafx.scene.control.ScrollBar;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs full text searches off the FX thread and publishes the ranked results to the UI a page at a time.
+ * <p>
+ * Each call to {@link #search(String, Searcher, Function)} supersedes the previous one: a superseded query
+ * that has not started is skipped, and one that is running is abandoned between the search and ranking
+ * stages, so its results never reach the UI. Queued futures are cancelled without interrupting, since
+ * interrupts close the NIO channels used by the index.
+ * <p>
+ * Only the first page of ranked results is published when a search completes. Further pages are published
+ * by {@link #publishNextPage()}, which {@link #installPaging(Control)} calls as the user scrolls toward the end
+ * of the list.
+ * <p>
+ * All methods other than the search and rank functions themselves must be called on the FX application thread.
+ *
+ * @param <T> the type of item displayed for each ranked result
+ */
+public class SearchPipeline<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(SearchPipeline.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Fraction of the scroll range after which the next page is published.
+     */
+    private static final double PAGING_THRESHOLD = 0.9;
+
+    /**
+     * Performs the search for a query, returning the raw, unranked results.
+     */
+    @FunctionalInterface
+    public interface Searcher {
+        ImmutableList<LatestVersionSearchResult> search(String queryText) throws Exception;
+    }
+
+    private final int pageSize;
+    private final Consumer<List<T>> pageConsumer;
+    private final AtomicLong generation = new AtomicLong();
+    private Future<?> inFlight;
+    private List<T> rankedResults = List.of();
+    private int publishedCount = 0;
+
+    /**
+     * @param pageConsumer appends a page of ranked results to the UI; called on the FX application thread
+     */
+    public SearchPipeline(Consumer<List<T>> pageConsumer) {
+        this(DEFAULT_PAGE_SIZE, pageConsumer);
+    }
+
+    /**
+     * @param pageSize     the number of results published per page
+     * @param pageConsumer appends a page of ranked results to the UI; called on the FX application thread
+     */
+    public SearchPipeline(int pageSize, Consumer<List<T>> pageConsumer) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.pageConsumer = pageConsumer;
+    }
+
+    /**
+     * Starts a search, superseding any search in progress. The caller is responsible for clearing
+     * the previously published results.
+     *
+     * @param queryText the text to search for
+     * @param searcher  performs the search, returning the raw results; runs on a background thread
+     * @param ranker    sorts and lays out the raw results for display; runs on a background thread
+     */
+    public void search(String queryText,
+                       Searcher searcher,
+                       Function<ImmutableList<LatestVersionSearchResult>, List<T>> ranker) {
+        final long searchGeneration = supersede();
+        this.inFlight = TinkExecutor.threadPool().submit(TaskPriority.INTERACTIVE.wrap(() -> {
+            try {
+                if (isSuperseded(searchGeneration)) {
+                    return;
+                }
+                ImmutableList<LatestVersionSearchResult> results = searcher.search(queryText);
+                LOG.info("Finished search. Hits: " + results.size());
+                if (isSuperseded(searchGeneration)) {
+                    return;
+                }
+                List<T> ranked = ranker.apply(results);
+                if (isSuperseded(searchGeneration)) {
+                    return;
+                }
+                Platform.runLater(() -> {
+                    if (!isSuperseded(searchGeneration)) {
+                        this.rankedResults = ranked;
+                        this.publishedCount = 0;
+                        publishNextPage();
+                    }
+                });
+            } catch (Throwable e) {
+                AlertStreams.getRoot().dispatch(AlertObject.makeError(e.getClass().getSimpleName() + " during search", queryText, e));
+            }
+        }));
+    }
+
+    /**
+     * Abandons any search in progress, and discards unpublished results of the previous search.
+     */
+    public void cancel() {
+        supersede();
+    }
+
+    private long supersede() {
+        long searchGeneration = generation.incrementAndGet();
+        if (inFlight != null) {
+            inFlight.cancel(false);
+            inFlight = null;
+        }
+        this.rankedResults = List.of();
+        this.publishedCount = 0;
+        return searchGeneration;
+    }
+
+    private boolean isSuperseded(long searchGeneration) {
+        return generation.get() != searchGeneration;
+    }
+
+    /**
+     * @return true if the current search has ranked results that have not been published yet.
+     */
+    public boolean hasMorePages() {
+        return publishedCount < rankedResults.size();
+    }
+
+    /**
+     * @return the total number of ranked results of the current search, published or not.
+     */
+    public int resultCount() {
+        return rankedResults.size();
+    }
+
+    /**
+     * Publishes the next page of ranked results of the current search, if any remain.
+     */
+    public void publishNextPage() {
+        if (hasMorePages()) {
+            int end = Math.min(publishedCount + pageSize, rankedResults.size());
+            List<T> page = rankedResults.subList(publishedCount, end);
+            publishedCount = end;
+            pageConsumer.accept(page);
+        }
+    }
+
+    /**
+     * Publishes the next page whenever the vertical scroll bar of the given control is scrolled close to its end.
+     *
+     * @param scrollable a control, such as a ListView or TreeView, whose skin provides a vertical scroll bar
+     */
+    public void installPaging(Control scrollable) {
+        scrollable.skinProperty().subscribe(skin -> {
+            if (skin != null) {
+                // The scroll bars are created during the first layout pass of the skin.
+                Platform.runLater(() -> attachToScrollBar(scrollable));
+            }
+        });
+    }
+
+    private void attachToScrollBar(Control scrollable) {
+        for (Node node : scrollable.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar scrollBar && scrollBar.getOrientation() == Orientation.VERTICAL) {
+                scrollBar.valueProperty().subscribe(value -> {
+                    double range = scrollBar.getMax() - scrollBar.getMin();
+                    if (range > 0 && value.doubleValue() - scrollBar.getMin() >= range * PAGING_THRESHOLD) {
+                        publishNextPage();
+                    }
+                });
+                return;
+            }
+        }
+    }
+}
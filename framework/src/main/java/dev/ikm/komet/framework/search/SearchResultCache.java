@@ -0,0 +1,159 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.search;
+
+import dev.ikm.komet.framework.cache.EntityWrites;
+import dev.ikm.komet.framework.events.appevents.RefreshCalculatorCacheEvent;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.coordinate.language.LanguageCoordinateRecord;
+import dev.ikm.tinkar.coordinate.stamp.StampCoordinateRecord;
+import dev.ikm.tinkar.coordinate.stamp.calculator.LatestVersionSearchResult;
+import dev.ikm.tinkar.coordinate.view.ViewCoordinateRecord;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.events.EvtBusFactory;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static dev.ikm.tinkar.events.FrameworkTopics.CALCULATOR_CACHE_TOPIC;
+
+/**
+ * Least recently used cache of raw full text search results, keyed by the query and the stamp and
+ * language coordinates the search was run with.
+ * <p>
+ * With the raw results cached, changing the layout or sort order of a result list, or resizing the panel
+ * showing it, only re-ranks results in memory rather than re-running the index query. The whole cache is
+ * invalidated whenever an entity is written, and on a {@link RefreshCalculatorCacheEvent}, since either
+ * can change which versions a search should return.
+ */
+public class SearchResultCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SearchResultCache.class);
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    public static class CacheProvider implements CachingService {
+        @Override
+        public void reset() {
+            synchronized (SearchResultCache.class) {
+                if (singleton != null) {
+                    singleton.close();
+                    singleton = null;
+                }
+            }
+        }
+    }
+
+    private static SearchResultCache singleton;
+
+    public static synchronized SearchResultCache get() {
+        if (singleton == null) {
+            singleton = new SearchResultCache(DEFAULT_CAPACITY);
+        }
+        return singleton;
+    }
+
+    private record Key(String queryText, int maxResultSize, StampCoordinateRecord stampCoordinate,
+                       ImmutableList<LanguageCoordinateRecord> languageCoordinates) {
+    }
+
+    private final Map<Key, ImmutableList<LatestVersionSearchResult>> results;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    /**
+     * Advanced by every invalidation, so a search that was running when the cache was invalidated does not
+     * cache its, possibly stale, results.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final EntityWrites.Listener entityWriteListener = _ -> invalidateAll();
+    private final dev.ikm.tinkar.events.Subscriber<RefreshCalculatorCacheEvent> refreshSubscriber = evt -> invalidateAll();
+
+    private SearchResultCache(int capacity) {
+        this.results = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ImmutableList<LatestVersionSearchResult>> eldest) {
+                return size() > capacity;
+            }
+        };
+        EntityWrites.addListener(entityWriteListener);
+        EvtBusFactory.getDefaultEvtBus().subscribe(CALCULATOR_CACHE_TOPIC, RefreshCalculatorCacheEvent.class, refreshSubscriber);
+    }
+
+    /**
+     * Returns the cached results for the query under the calculator's stamp and language coordinates,
+     * running the search and caching its results on a miss.
+     *
+     * @param calculator    the view calculator to search with
+     * @param queryText     the text to search for
+     * @param maxResultSize the maximum number of results
+     * @return the raw, unranked search results
+     * @throws Exception if the search fails
+     */
+    public ImmutableList<LatestVersionSearchResult> search(ViewCalculator calculator, String queryText, int maxResultSize) throws Exception {
+        ViewCoordinateRecord viewCoordinate = calculator.viewCoordinateRecord();
+        Key key = new Key(queryText, maxResultSize, viewCoordinate.stampCoordinate(), viewCoordinate.languageCoordinateList());
+        ImmutableList<LatestVersionSearchResult> cached;
+        long searchGeneration;
+        synchronized (results) {
+            cached = results.get(key);
+            searchGeneration = generation.get();
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        ImmutableList<LatestVersionSearchResult> searchResults = calculator.search(queryText, maxResultSize);
+        synchronized (results) {
+            if (generation.get() == searchGeneration) {
+                results.put(key, searchResults);
+            }
+        }
+        return searchResults;
+    }
+
+    public void invalidateAll() {
+        synchronized (results) {
+            generation.incrementAndGet();
+            if (!results.isEmpty()) {
+                LOG.debug("Invalidating {} cached searches", results.size());
+                results.clear();
+            }
+        }
+    }
+
+    /**
+     * Stops listening for entity writes and refresh events, which would otherwise keep this cache reachable,
+     * and drops the cached results.
+     */
+    private void close() {
+        EntityWrites.removeListener(entityWriteListener);
+        EvtBusFactory.getDefaultEvtBus().unsubscribe(CALCULATOR_CACHE_TOPIC, RefreshCalculatorCacheEvent.class, refreshSubscriber);
+        invalidateAll();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+}
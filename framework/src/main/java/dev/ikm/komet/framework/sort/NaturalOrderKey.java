@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.sort;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * A precomputed natural-order collation key for a string.
+ * <p>
+ * The string is parsed once into runs of digits and runs of other characters, and encoded so that
+ * an unsigned byte comparison of two keys orders the strings naturally: digit runs compare by numeric value
+ * ("Item 2" before "Item 10"), other runs compare case-insensitively, and digit runs sort before text runs.
+ * Strings whose keys are equal, such as "Item 02" and "item 2", are ordered by {@link String#compareTo(String)},
+ * so the ordering is total and consistent with equals.
+ * <p>
+ * Building a key costs about as much as a single {@link dev.ikm.tinkar.common.util.text.NaturalOrder}
+ * comparison, so sorting on keys replaces O(n log n) string parses with n parses and cheap array comparisons.
+ */
+public final class NaturalOrderKey implements Comparable<NaturalOrderKey> {
+    private static final byte DIGIT_RUN = 0x01;
+    private static final byte TEXT_RUN = 0x02;
+    /**
+     * Digit runs longer than this have their length written as a marker followed by an int.
+     */
+    private static final int MAX_SHORT_LENGTH = 0xFE;
+    private static final int LONG_LENGTH = 0xFF;
+
+    private final byte[] key;
+    private final String text;
+
+    private NaturalOrderKey(byte[] key, String text) {
+        this.key = key;
+        this.text = text;
+    }
+
+    /**
+     * @param text the string to build a key for; null is treated as the empty string
+     * @return the natural-order key of the string
+     */
+    public static NaturalOrderKey of(String text) {
+        if (text == null) {
+            text = "";
+        }
+        return new NaturalOrderKey(encode(text), text);
+    }
+
+    /**
+     * @return the string this key was built for
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Encodes a string as natural-order key bytes, to be compared with {@link Arrays#compareUnsigned(byte[], byte[])}.
+     * <p>
+     * A digit run is written as a marker, the number of significant digits, and the significant digits, so shorter
+     * numbers sort first and equal-length numbers compare digit by digit. A text run is written as a marker, its
+     * lower-cased UTF-16 code units in big-endian order, and a two byte terminator, so a run sorts before any longer
+     * run it is a prefix of.
+     */
+    static byte[] encode(String text) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(text.length() * 2 + 8);
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int start = i;
+            if (isDigit(text.charAt(i))) {
+                while (i < length && isDigit(text.charAt(i))) {
+                    i++;
+                }
+                while (start < i - 1 && text.charAt(start) == '0') {
+                    start++;
+                }
+                int digitCount = (i - start == 1 && text.charAt(start) == '0') ? 0 : i - start;
+                out.write(DIGIT_RUN);
+                if (digitCount <= MAX_SHORT_LENGTH) {
+                    out.write(digitCount);
+                } else {
+                    out.write(LONG_LENGTH);
+                    out.write(digitCount >>> 24);
+                    out.write(digitCount >>> 16);
+                    out.write(digitCount >>> 8);
+                    out.write(digitCount);
+                }
+                for (int d = i - digitCount; d < i; d++) {
+                    out.write(text.charAt(d));
+                }
+            } else {
+                out.write(TEXT_RUN);
+                while (i < length && !isDigit(text.charAt(i))) {
+                    char c = Character.toLowerCase(text.charAt(i));
+                    out.write(c >>> 8);
+                    out.write(c);
+                    i++;
+                }
+                out.write(0);
+                out.write(0);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    @Override
+    public int compareTo(NaturalOrderKey o) {
+        int comparison = Arrays.compareUnsigned(this.key, o.key);
+        if (comparison != 0) {
+            return comparison;
+        }
+        return this.text.compareTo(o.text);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof NaturalOrderKey other && text.equals(other.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NaturalOrderKey{" + text + "}";
+    }
+}
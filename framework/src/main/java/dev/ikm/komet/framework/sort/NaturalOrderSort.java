@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.sort;
+
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Natural-order sorts that resolve each element's display text once.
+ * <p>
+ * Comparators that call {@code calculator.getDescriptionTextOrNid(nid)} or {@code toString()} on both arguments
+ * repeat the lookup and the natural-order parse O(n log n) times. These methods look up the text of each element
+ * once, build a {@link NaturalOrderKey} from it, and sort on the keys.
+ */
+public final class NaturalOrderSort {
+
+    private NaturalOrderSort() {
+    }
+
+    private record Keyed<T>(NaturalOrderKey key, T item) implements Comparable<Keyed<T>> {
+        @Override
+        public int compareTo(Keyed<T> o) {
+            return key.compareTo(o.key);
+        }
+    }
+
+    private record KeyedNid(NaturalOrderKey key, int nid) implements Comparable<KeyedNid> {
+        @Override
+        public int compareTo(KeyedNid o) {
+            return key.compareTo(o.key);
+        }
+    }
+
+    /**
+     * @param items        the items to sort
+     * @param textFunction provides the text each item is sorted on; called once per item
+     * @return a new list of the items in natural order of their text
+     */
+    public static <T> List<T> sorted(Collection<? extends T> items, Function<? super T, String> textFunction) {
+        @SuppressWarnings("unchecked")
+        Keyed<T>[] keyed = new Keyed[items.size()];
+        int i = 0;
+        for (T item : items) {
+            keyed[i++] = new Keyed<>(NaturalOrderKey.of(textFunction.apply(item)), item);
+        }
+        Arrays.sort(keyed);
+        List<T> result = new ArrayList<>(keyed.length);
+        for (Keyed<T> k : keyed) {
+            result.add(k.item());
+        }
+        return result;
+    }
+
+    /**
+     * Sorts a list in place. Use this for lists that cannot be replaced, such as the children of a TreeItem,
+     * which are then updated with a single change.
+     *
+     * @param list         the list to sort
+     * @param textFunction provides the text each item is sorted on; called once per item
+     */
+    public static <T> void sortInPlace(List<T> list, Function<? super T, String> textFunction) {
+        if (list.size() > 1) {
+            List<T> sorted = sorted(list, textFunction);
+            if (list instanceof ObservableList<T> observableList) {
+                observableList.setAll(sorted);
+            } else {
+                for (int i = 0; i < sorted.size(); i++) {
+                    list.set(i, sorted.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param nids         the nids to sort
+     * @param textFunction provides the text each nid is sorted on, typically its description; called once per nid
+     * @return a new array of the nids in natural order of their text
+     */
+    public static int[] sortNids(int[] nids, IntFunction<String> textFunction) {
+        return sortNids(nids, textFunction, nid -> {});
+    }
+
+    /**
+     * Nid arrays at least this long have their text resolved, and are sorted, in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * @param nids         the nids to sort
+     * @param textFunction provides the text each nid is sorted on, typically its description; called once per nid,
+     *                     possibly concurrently
+     * @param onResolved   called after the text of each nid is resolved, for progress reporting; possibly concurrently
+     * @return a new array of the nids in natural order of their text
+     */
+    public static int[] sortNids(int[] nids, IntFunction<String> textFunction, IntConsumer onResolved) {
+        KeyedNid[] keyed = new KeyedNid[nids.length];
+        IntFunction<KeyedNid> keyFunction = i -> {
+            KeyedNid keyedNid = new KeyedNid(NaturalOrderKey.of(textFunction.apply(nids[i])), nids[i]);
+            onResolved.accept(nids[i]);
+            return keyedNid;
+        };
+        if (nids.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(keyed, keyFunction);
+            Arrays.parallelSort(keyed);
+        } else {
+            Arrays.setAll(keyed, keyFunction);
+            Arrays.sort(keyed);
+        }
+        int[] sorted = new int[keyed.length];
+        for (int i = 0; i < keyed.length; i++) {
+            sorted[i] = keyed[i].nid();
+        }
+        return sorted;
+    }
+}
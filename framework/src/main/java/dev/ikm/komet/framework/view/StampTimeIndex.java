@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.view;
+
+import dev.ikm.komet.framework.cache.EntityWrites;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.common.util.time.DateTimeUtil;
+import dev.ikm.tinkar.entity.StampEntity;
+import dev.ikm.tinkar.entity.StampService;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * The times of the stamps in use, grouped by year and month, newest first.
+ * <p>
+ * Reading the stamp times and grouping them takes time proportional to the number of distinct stamp times,
+ * which on a database with years of releases is in the tens of thousands, so the index is built once and
+ * shared by every view menu. It is discarded only when a stamp with a time not in the index is written.
+ */
+public final class StampTimeIndex {
+
+    public static class CacheProvider implements CachingService {
+        @Override
+        public void reset() {
+            invalidate();
+        }
+    }
+
+    private static volatile StampTimeIndex current;
+    private static final EntityWrites.Listener WRITE_LISTENER = StampTimeIndex::entityWritten;
+
+    /**
+     * @return the index of the stamp times now in use, built if a new stamp time has appeared since it was
+     * last built
+     */
+    public static StampTimeIndex get() {
+        StampTimeIndex index = current;
+        if (index != null) {
+            return index;
+        }
+        synchronized (StampTimeIndex.class) {
+            if (current == null) {
+                EntityWrites.addListener(WRITE_LISTENER);
+                current = new StampTimeIndex(StampService.get().getTimesInUse().toSortedArray());
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Discards the shared index, so the next {@link #get()} reads the stamp times again.
+     */
+    public static void invalidate() {
+        current = null;
+    }
+
+    /**
+     * The stamp times, newest first.
+     */
+    private final long[] times;
+    /**
+     * The distinct months of the stamp times, as {@code year * 12 + month - 1}, newest first.
+     */
+    private final int[] monthKeys;
+    /**
+     * The index in {@link #times} of the first time of each month in {@link #monthKeys}, followed by the
+     * number of times.
+     */
+    private final int[] monthStarts;
+
+    /**
+     * @param ascendingTimes the stamp times in ascending order
+     */
+    StampTimeIndex(long[] ascendingTimes) {
+        int count = ascendingTimes.length;
+        this.times = new long[count];
+        int[] keys = new int[count];
+        int[] starts = new int[count + 1];
+        int months = 0;
+        for (int i = 0; i < count; i++) {
+            long time = ascendingTimes[count - 1 - i];
+            times[i] = time;
+            int monthKey = monthKey(time);
+            if (months == 0 || keys[months - 1] != monthKey) {
+                keys[months] = monthKey;
+                starts[months] = i;
+                months++;
+            }
+        }
+        starts[months] = count;
+        this.monthKeys = Arrays.copyOf(keys, months);
+        this.monthStarts = Arrays.copyOf(starts, months + 1);
+    }
+
+    private static int monthKey(long time) {
+        LocalDateTime localTime = DateTimeUtil.epochToZonedDateTime(time).toLocalDateTime();
+        return localTime.getYear() * 12 + localTime.getMonthValue() - 1;
+    }
+
+    /**
+     * @return the years with stamp times, newest first
+     */
+    public int[] years() {
+        return Arrays.stream(monthKeys).map(monthKey -> Math.floorDiv(monthKey, 12)).distinct().toArray();
+    }
+
+    /**
+     * @param year a year
+     * @return the months of the year with stamp times, 1 for January, in calendar order
+     */
+    public int[] months(int year) {
+        int[] months = Arrays.stream(monthKeys)
+                .filter(monthKey -> Math.floorDiv(monthKey, 12) == year)
+                .map(monthKey -> Math.floorMod(monthKey, 12) + 1)
+                .toArray();
+        Arrays.sort(months);
+        return months;
+    }
+
+    /**
+     * @param year  a year
+     * @param month a month, 1 for January
+     * @return the stamp times in the month, newest first
+     */
+    public long[] times(int year, int month) {
+        int position = monthPosition(year * 12 + month - 1);
+        if (position < 0) {
+            return new long[0];
+        }
+        return Arrays.copyOfRange(times, monthStarts[position], monthStarts[position + 1]);
+    }
+
+    /**
+     * @return the position of the month in {@link #monthKeys}, which is in descending order, or -1
+     */
+    private int monthPosition(int monthKey) {
+        int low = 0;
+        int high = monthKeys.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (monthKeys[middle] > monthKey) {
+                low = middle + 1;
+            } else if (monthKeys[middle] < monthKey) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param year a year with stamp times
+     * @return the newest stamp time of the year
+     */
+    public long newestTime(int year) {
+        for (int i = 0; i < monthKeys.length; i++) {
+            if (Math.floorDiv(monthKeys[i], 12) == year) {
+                return times[monthStarts[i]];
+            }
+        }
+        throw new IllegalArgumentException("No stamp times in: " + year);
+    }
+
+    /**
+     * @param time a stamp time
+     * @return true if the time is in the index
+     */
+    public boolean contains(long time) {
+        int low = 0;
+        int high = times.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (times[middle] > time) {
+                low = middle + 1;
+            } else if (times[middle] < time) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of stamp times in the index
+     */
+    public int size() {
+        return times.length;
+    }
+
+    private static void entityWritten(EntityWrites.Write write) {
+        StampTimeIndex index = current;
+        if (index != null && write.entity() instanceof StampEntity<?> stamp
+                && stamp.time() != Long.MAX_VALUE && !index.contains(stamp.time())) {
+            invalidate();
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package dev.ikm.komet.framework.view;
 
+import dev.ikm.komet.framework.cache.SharedLookups;
 import dev.ikm.komet.framework.concurrent.TaskWrapper;
 import dev.ikm.komet.framework.temp.FxGet;
 import dev.ikm.tinkar.common.id.IntIdSet;
@@ -32,7 +33,6 @@
 import dev.ikm.tinkar.coordinate.view.VertexSortNone;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
 import dev.ikm.tinkar.entity.Entity;
-import dev.ikm.tinkar.entity.StampService;
 import dev.ikm.tinkar.terms.*;
 import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
@@ -45,15 +45,13 @@
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.SeparatorMenuItem;
 import org.eclipse.collections.api.list.ImmutableList;
-import org.eclipse.collections.api.list.primitive.ImmutableLongList;
-import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
-import org.eclipse.collections.impl.factory.primitive.IntObjectMaps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 
 import static dev.ikm.tinkar.common.service.PrimitiveData.PREMUNDANE_TIME;
 import static dev.ikm.tinkar.common.util.time.DateTimeUtil.PREMUNDANE;
@@ -190,51 +188,55 @@ private static void addChangePositionMenu(List<MenuItem> menuItems, LongConsumer
             event.consume();
         });
 
-        ImmutableLongList times = StampService.get().getTimesInUse().toReversed();
-        MutableIntObjectMap<Menu> yearMenuMap = IntObjectMaps.mutable.empty();
-        for (long time : times.toArray()) {
-            LocalDateTime localTime = DateTimeUtil.epochToZonedDateTime(time).toLocalDateTime();
-            Menu aYearMenu = yearMenuMap.getIfAbsentPutWithKey(localTime.getYear(), (int year) -> {
-                String yearString = Integer.toString(year);
-                if (time == PREMUNDANE_TIME){
-                    yearString = PREMUNDANE;
+        StampTimeIndex timeIndex = StampTimeIndex.get();
+        for (int year : timeIndex.years()) {
+            String yearString = timeIndex.newestTime(year) == PREMUNDANE_TIME ? PREMUNDANE : Integer.toString(year);
+            changePositionMenu.getItems().add(lazyMenu(yearString, () -> {
+                List<MenuItem> monthMenus = new ArrayList<>();
+                for (int month : timeIndex.months(year)) {
+                    monthMenus.add(lazyMenu(MONTH_NAMES[month - 1],
+                            () -> positionMenuItems(timeIndex.times(year, month), setPosition)));
                 }
-                Menu yearMenu = new Menu(yearString);
-                changePositionMenu.getItems().add(yearMenu);
-                yearMenu.getItems().add(new Menu("Jan"));
-                yearMenu.getItems().add(new Menu("Feb"));
-                yearMenu.getItems().add(new Menu("Mar"));
-                yearMenu.getItems().add(new Menu("Apr"));
-                yearMenu.getItems().add(new Menu("May"));
-                yearMenu.getItems().add(new Menu("Jun"));
-                yearMenu.getItems().add(new Menu("Jul"));
-                yearMenu.getItems().add(new Menu("Aug"));
-                yearMenu.getItems().add(new Menu("Sep"));
-                yearMenu.getItems().add(new Menu("Oct"));
-                yearMenu.getItems().add(new Menu("Nov"));
-                yearMenu.getItems().add(new Menu("Dec"));
-                return yearMenu;
-            });
-            Menu monthMenu = (Menu) aYearMenu.getItems().get(localTime.getMonthValue() - 1);
+                return monthMenus;
+            }));
+        }
+    }
+
+    private static final String[] MONTH_NAMES =
+            {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    /**
+     * Creates a menu whose items are only created when it is first shown, since a menu of every stamp time
+     * in a database with years of releases would hold tens of thousands of items.
+     */
+    private static Menu lazyMenu(String text, Supplier<List<MenuItem>> itemSupplier) {
+        Menu menu = new Menu(text);
+        // A menu without items does not open, so a placeholder stands in until it is first shown
+        MenuItem placeholder = new MenuItem("...");
+        placeholder.setDisable(true);
+        menu.getItems().add(placeholder);
+        menu.setOnShowing(event -> {
+            if (menu.getItems().size() == 1 && menu.getItems().getFirst() == placeholder) {
+                menu.getItems().setAll(itemSupplier.get());
+            }
+        });
+        return menu;
+    }
+
+    private static List<MenuItem> positionMenuItems(long[] times, LongConsumer setPosition) {
+        List<MenuItem> positionMenus = new ArrayList<>(times.length);
+        for (long time : times) {
+            LocalDateTime localTime = DateTimeUtil.epochToZonedDateTime(time).toLocalDateTime();
             MenuItem positionMenu = new MenuItem(
                     localTime.getDayOfMonth() + DateTimeUtil.getDayOfMonthSuffix(localTime.getDayOfMonth()) +
                             " " + DateTimeUtil.EASY_TO_READ_TIME_FORMAT.format(DateTimeUtil.epochToZonedDateTime(time)));
-            monthMenu.getItems().add(positionMenu);
             positionMenu.setOnAction(event -> {
                 Platform.runLater(() -> setPosition.accept(time));
                 event.consume();
             });
+            positionMenus.add(positionMenu);
         }
-
-        yearMenuMap.values().forEach(yearMenu -> {
-            ArrayList<MenuItem> toRemove = new ArrayList<>();
-            for (MenuItem monthMenu : yearMenu.getItems()) {
-                if (((Menu) monthMenu).getItems().isEmpty()) {
-                    toRemove.add(monthMenu);
-                }
-            }
-            yearMenu.getItems().removeAll(toRemove);
-        });
+        return positionMenus;
     }
 
     private static final String DEFAULT_DESCRIPTION_STRING = Integer.toString(Integer.MAX_VALUE);
@@ -315,18 +317,18 @@ private static void addIncludedModulesMenu(List<MenuItem> menuItems,
         CheckMenuItem allIndividualModulesItem = new CheckMenuItem("all individual modules");
 
         allIndividualModulesItem.setSelected(observableCoordinate.moduleSpecificationsProperty().containsAll(
-                StampService.get().getModulesInUse().castToSet()));
+                SharedLookups.modulesInUse().castToSet()));
         addIncludedModulesMenu.getItems().add(allIndividualModulesItem);
         allIndividualModulesItem.setOnAction(event -> {
             Platform.runLater(() -> {
                 ObservableSet<ConceptFacade> newSet = FXCollections.observableSet();
-                newSet.addAll(StampService.get().getModulesInUse().castToSet());
+                newSet.addAll(SharedLookups.modulesInUse().castToSet());
                 observableCoordinate.moduleSpecificationsProperty().setValue(newSet);
             });
             event.consume();
         });
 
-        StampService.get().getModulesInUse().forEach(moduleConcept -> {
+        SharedLookups.modulesInUse().forEach(moduleConcept -> {
             CheckMenuItem item = new CheckMenuItem(getPreferredDescriptionStringOrNid(viewCalculator, moduleConcept));
             item.setSelected(observableCoordinate.moduleSpecificationsProperty().contains(moduleConcept));
             if (item.isSelected()) {
@@ -371,7 +373,7 @@ private static void addExcludedModulesMenu(List<MenuItem> menuItems,
         CheckMenuItem excludeAllIndividualModulesItem = new CheckMenuItem("exclude all individual modules");
 
         excludeAllIndividualModulesItem.setSelected(observableCoordinate.excludedModuleSpecificationsProperty().containsAll(
-                StampService.get().getModulesInUse().castToSet()));
+                SharedLookups.modulesInUse().castToSet()));
         excludedModulesMenu.getItems().add(excludeAllIndividualModulesItem);
         if (excludeAllIndividualModulesItem.isSelected()) {
             excludeAllIndividualModulesItem.setOnAction(event -> {
@@ -384,13 +386,13 @@ private static void addExcludedModulesMenu(List<MenuItem> menuItems,
             excludeAllIndividualModulesItem.setOnAction(event -> {
                 Platform.runLater(() -> {
                     ObservableSet<ConceptFacade> newSet = FXCollections.observableSet();
-                    newSet.addAll(StampService.get().getModulesInUse().castToSet());
+                    newSet.addAll(SharedLookups.modulesInUse().castToSet());
                     observableCoordinate.excludedModuleSpecificationsProperty().setValue(newSet);
                 });
                 event.consume();
             });
         }
-        StampService.get().getModulesInUse().forEach(moduleConcept -> {
+        SharedLookups.modulesInUse().forEach(moduleConcept -> {
             CheckMenuItem item = new CheckMenuItem(getPreferredDescriptionStringOrNid(viewCalculator, moduleConcept));
             item.setSelected(observableCoordinate.excludedModuleSpecificationsProperty().contains(moduleConcept));
             if (item.isSelected()) {
@@ -708,7 +710,7 @@ private static String getNameAndValueString(ViewCalculator viewCalculator, Prope
             if (collection.isEmpty()) {
                 if (propertyName.toLowerCase().startsWith("modules")) {
                     StringBuilder collectionBuilder = new StringBuilder("\u2004\u2004\u2004\u2004\u2004");
-                    viewCalculator.toEntityString(StampService.get().getModulesInUse(),
+                    viewCalculator.toEntityString(SharedLookups.modulesInUse(),
                             entityFacade -> toEntityStringOrPublicIdAndNid(viewCalculator, entityFacade),
                             collectionBuilder);
                     sb.append(" (*)\n").append(collectionBuilder);
@@ -27,6 +27,7 @@
     exports dev.ikm.komet.framework.alerts;
     exports dev.ikm.komet.framework.annotations;
     exports dev.ikm.komet.framework.builder;
+    exports dev.ikm.komet.framework.cache;
     exports dev.ikm.komet.framework.concurrent;
     exports dev.ikm.komet.framework.context;
     exports dev.ikm.komet.framework.controls;
@@ -43,6 +44,7 @@
     exports dev.ikm.komet.framework.propsheet;
     exports dev.ikm.komet.framework.rulebase;
     exports dev.ikm.komet.framework.search;
+    exports dev.ikm.komet.framework.sort;
     exports dev.ikm.komet.framework.temp;
     exports dev.ikm.komet.framework.uncertain;
     exports dev.ikm.komet.framework.view;
@@ -52,7 +54,11 @@
     exports dev.ikm.komet.framework.panel.axiom;
     exports dev.ikm.komet.framework.events.appevents;
 
-    provides CachingService with dev.ikm.komet.framework.dnd.DragRegistry.CacheProvider;
+    provides CachingService with dev.ikm.komet.framework.cache.PatternInstanceIndex.CacheProvider,
+            dev.ikm.komet.framework.cache.SharedCache.CacheProvider,
+            dev.ikm.komet.framework.dnd.DragRegistry.CacheProvider,
+            dev.ikm.komet.framework.search.SearchResultCache.CacheProvider,
+            dev.ikm.komet.framework.view.StampTimeIndex.CacheProvider;
     requires io.github.classgraph;
     requires dev.ikm.tinkar.collection;
     requires org.kordamp.ikonli.fontawesome5;
@@ -68,6 +74,7 @@
     requires org.kordamp.ikonli.runestroicons;
     requires org.kordamp.ikonli.unicons;
     requires org.carlfx.cognitive;
+    requires jdk.jfr;
     requires static java.compiler;
     requires static dev.ikm.jpms.recordbuilder.core;
     requires transitive javafx.base;
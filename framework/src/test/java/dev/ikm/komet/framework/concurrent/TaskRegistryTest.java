@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.concurrent;
+
+import javafx.concurrent.Task;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TaskRegistryTest {
+
+    private static Task<Void> task() {
+        return new Task<>() {
+            @Override
+            protected Void call() {
+                return null;
+            }
+        };
+    }
+
+    @Test
+    public void tracksTasksFromQueuedToFinished() {
+        TaskRegistry registry = new TaskRegistry(8);
+        Task<Void> task = task();
+        registry.queued(task);
+        assertEquals(1, registry.queuedCount());
+        assertEquals(List.of(task), registry.queuedLongerThan(0).castToList());
+
+        TaskRegistry.Execution execution = registry.started(task, String.class);
+        assertEquals(0, registry.queuedCount());
+        assertEquals(1, registry.runningCount());
+        assertTrue(registry.runningLongerThan(Long.MAX_VALUE / 2).isEmpty());
+
+        execution.finished(true, "title", "message", true);
+        assertEquals(0, registry.runningCount());
+        ImmutableList<TaskTiming> completions = registry.collectCompletions();
+        assertEquals(1, completions.size());
+        assertEquals("title", completions.getFirst().title());
+        assertTrue(registry.collectCompletions().isEmpty());
+    }
+
+    @Test
+    public void aggregatesByTypeAndKeepsTheLatestHistory() {
+        TaskRegistry registry = new TaskRegistry(4);
+        for (int i = 0; i < 6; i++) {
+            Task<Void> task = task();
+            registry.queued(task);
+            registry.started(task, i % 2 == 0 ? String.class : Integer.class)
+                    .finished(i != 5, "task " + i, "", false);
+        }
+
+        ImmutableList<TaskTiming> history = registry.history();
+        assertEquals(4, history.size());
+        assertEquals("task 2", history.getFirst().title());
+        assertEquals("task 5", history.getLast().title());
+        assertFalse(history.getLast().succeeded());
+        assertTrue(registry.collectCompletions().isEmpty());
+
+        ImmutableList<TaskTypeStatistics> statistics = registry.typeStatistics();
+        assertEquals(2, statistics.size());
+        TaskTypeStatistics integers = statistics.detect(s -> s.taskType().equals(Integer.class.getName()));
+        assertEquals(3, integers.completedCount());
+        assertEquals(1, integers.failedCount());
+    }
+
+    @Test
+    public void keepsTheHistoryInTheOrderTasksFinished() throws InterruptedException {
+        TaskRegistry registry = new TaskRegistry(64);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 100; i++) {
+                    registry.started(task(), String.class).finished(true, "task", "", false);
+                }
+            });
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        ImmutableList<TaskTiming> history = registry.history();
+        assertEquals(64, history.size());
+        for (int i = 1; i < history.size(); i++) {
+            assertFalse(history.get(i).finishedAt().isBefore(history.get(i - 1).finishedAt()));
+        }
+    }
+
+    @Test
+    public void exportsHistoryAsCsv(@TempDir Path directory) throws IOException {
+        TaskRegistry registry = new TaskRegistry(4);
+        Task<Void> task = task();
+        registry.queued(task);
+        registry.started(task, String.class).finished(true, "say \"hi\"", "", false);
+
+        Path file = directory.resolve("history.csv");
+        registry.exportHistory(file);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals(TaskTiming.CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(1).contains(",\"java.lang.String\",\"say \"\"hi\"\"\","));
+    }
+}
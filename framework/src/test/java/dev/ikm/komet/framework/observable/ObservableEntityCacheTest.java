@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.observable;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObservableEntityCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        ObservableEntityCache<String> cache = new ObservableEntityCache<>(3);
+        cache.putIfAbsent(1, "one");
+        cache.putIfAbsent(2, "two");
+        cache.putIfAbsent(3, "three");
+
+        // reading 1 makes 2 the least recently used
+        assertEquals("one", cache.get(1));
+        cache.putIfAbsent(4, "four");
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.containsKey(1));
+        assertTrue(cache.containsKey(3));
+        assertTrue(cache.containsKey(4));
+        assertFalse(cache.containsKey(5));
+        assertNull(cache.get(5));
+    }
+
+    @Test
+    public void restoresEvictedValueStillInUse() {
+        ObservableEntityCache<Object> cache = new ObservableEntityCache<>(2);
+        Object inUse = new Object();
+        cache.putIfAbsent(1, inUse);
+        cache.putIfAbsent(2, new Object());
+        cache.putIfAbsent(3, new Object());
+
+        // 1 was evicted, but is still referenced here, so it is still the value of its nid
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsKey(1));
+        assertSame(inUse, cache.putIfAbsent(1, new Object()));
+        assertSame(inUse, cache.get(1));
+        // moving 1 back evicted 2, the least recently used
+        assertEquals(2, cache.size());
+        assertSame(inUse, cache.get(1));
+    }
+
+    @Test
+    public void putIfAbsentKeepsExistingValue() {
+        ObservableEntityCache<String> cache = new ObservableEntityCache<>(2);
+        String first = "first";
+        assertSame(first, cache.putIfAbsent(7, first));
+        assertSame(first, cache.putIfAbsent(7, "second"));
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.observable;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ObservableEntityChangeDispatcherTest {
+
+    @Test
+    public void changesOffFxThreadAreCoalescedIntoOneRunnable() {
+        Queue<Runnable> fxQueue = new ArrayDeque<>();
+        List<Integer> refreshed = new ArrayList<>();
+        Set<Integer> registered = Set.of(1, 2);
+        ObservableEntityChangeDispatcher dispatcher = new ObservableEntityChangeDispatcher(
+                registered::contains, refreshed::add, fxQueue::add, () -> false);
+
+        dispatcher.onNext(1);
+        dispatcher.onNext(3);
+        dispatcher.onNext(1);
+        dispatcher.onNext(2);
+        dispatcher.onNext(1);
+
+        assertEquals(1, fxQueue.size());
+        fxQueue.remove().run();
+        refreshed.sort(Integer::compare);
+        assertEquals(List.of(1, 2), refreshed);
+
+        // a change after the runnable has run schedules another
+        dispatcher.onNext(2);
+        assertEquals(1, fxQueue.size());
+    }
+
+    @Test
+    public void changesOnFxThreadRefreshImmediately() {
+        Queue<Runnable> fxQueue = new ArrayDeque<>();
+        List<Integer> refreshed = new ArrayList<>();
+        ObservableEntityChangeDispatcher dispatcher = new ObservableEntityChangeDispatcher(
+                nid -> nid == 1, refreshed::add, fxQueue::add, () -> true);
+
+        dispatcher.onNext(1);
+        dispatcher.onNext(2);
+
+        assertEquals(List.of(1), refreshed);
+        assertEquals(0, fxQueue.size());
+    }
+}
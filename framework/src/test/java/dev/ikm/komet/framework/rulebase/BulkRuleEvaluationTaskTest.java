@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+import dev.ikm.komet.framework.performance.Statement;
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.komet.framework.view.ViewProperties;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.entity.EntityVersion;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkRuleEvaluationTaskTest {
+
+    @SuppressWarnings("unchecked")
+    private static Consequence<GeneratedActionSuggested> suggestion(String text) {
+        GeneratedActionSuggested suggested = new GeneratedActionSuggested() {
+            @Override
+            public String toString() {
+                return text;
+            }
+        };
+        Consequence<GeneratedActionSuggested> consequence = mock(Consequence.class);
+        when(consequence.get()).thenReturn(suggested);
+        when(consequence.ruleMethod()).thenReturn("Rules.review");
+        when(consequence.consequenceUUID()).thenReturn(UUID.randomUUID());
+        return consequence;
+    }
+
+    @Test
+    public void reportsTheSuggestionsForTheComponentsWithAVersionInTheView() throws Exception {
+        EntityVersion heart = mock(EntityVersion.class);
+        EntityVersion lung = mock(EntityVersion.class);
+        ViewCalculator calculator = mock(ViewCalculator.class);
+        doReturn(Latest.empty()).when(calculator).latest(anyInt());
+        doReturn(Latest.of(heart)).when(calculator).latest(3);
+        doReturn(Latest.of(lung)).when(calculator).latest(1);
+        ViewProperties viewProperties = mock(ViewProperties.class, RETURNS_DEEP_STUBS);
+        when(viewProperties.calculator()).thenReturn(calculator);
+
+        RuleService ruleService = mock(RuleService.class);
+        when(ruleService.performance()).thenReturn(Lists.immutable.empty());
+        when(ruleService.executeUncached(eq("Bulk evaluation"), any(), any(), any())).thenAnswer(invocation -> {
+            ImmutableList<Statement> statements = invocation.getArgument(1);
+            Object focused = statements.getFirst().subject();
+            if (focused == heart) {
+                return Lists.immutable.of(suggestion("Retire heart"), suggestion("Add heart synonym"));
+            }
+            return Lists.immutable.empty();
+        });
+
+        RuleEvaluationReport report = BulkRuleEvaluationTask.forComponents(new int[]{3, 2, 1}, viewProperties,
+                ruleService).compute();
+
+        // Component 2 has no version in the view, so it is not evaluated
+        assertEquals(2, report.componentsEvaluated());
+        assertEquals(2, report.suggestions().size());
+        // Suggestions are ordered by component, then by text
+        RuleEvaluationReport.Suggestion first = report.suggestions().get(0);
+        assertEquals(new RuleEvaluationReport.Suggestion(3, Topic.COMPONENT_FOCUSED, "Rules.review",
+                "Add heart synonym"), first);
+        assertEquals("Retire heart", report.suggestions().get(1).text());
+    }
+
+    @Test
+    public void reportsNothingForNoComponents() throws Exception {
+        ViewProperties viewProperties = mock(ViewProperties.class, RETURNS_DEEP_STUBS);
+        RuleService ruleService = mock(RuleService.class);
+        when(ruleService.performance()).thenReturn(Lists.immutable.empty());
+
+        RuleEvaluationReport report = BulkRuleEvaluationTask.forComponents(new int[0], viewProperties,
+                ruleService).compute();
+
+        assertEquals(0, report.componentsEvaluated());
+        assertEquals(0, report.suggestions().size());
+    }
+}
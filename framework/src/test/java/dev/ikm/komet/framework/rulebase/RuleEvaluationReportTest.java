@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import org.eclipse.collections.api.factory.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RuleEvaluationReportTest {
+
+    @Test
+    public void writesOneLinePerSuggestionAfterAHeader() throws Exception {
+        ViewCalculator calculator = mock(ViewCalculator.class);
+        when(calculator.getPreferredDescriptionTextWithFallbackOrNid(1)).thenReturn("Heart");
+        when(calculator.getPreferredDescriptionTextWithFallbackOrNid(2)).thenReturn("Lung\tstructure");
+        RuleEvaluationReport report = new RuleEvaluationReport(2, Lists.immutable.of(
+                new RuleEvaluationReport.Suggestion(1, Topic.COMPONENT_FOCUSED, "retire", "Retire concept"),
+                new RuleEvaluationReport.Suggestion(2, Topic.AXIOM_FOCUSED, "Rules.role",
+                        "Add role\ngroup")), Duration.ofSeconds(1));
+
+        StringBuilder tsv = new StringBuilder();
+        report.writeTsv(tsv, calculator);
+
+        assertEquals("""
+                Component\tTopic\tSuggestion\tRule
+                Heart\tCOMPONENT_FOCUSED\tRetire concept\tretire
+                Lung structure\tAXIOM_FOCUSED\tAdd role group\tRules.role
+                """, tsv.toString());
+    }
+
+    @Test
+    public void writesEmptyFieldsForMissingText() throws Exception {
+        ViewCalculator calculator = mock(ViewCalculator.class);
+        when(calculator.getPreferredDescriptionTextWithFallbackOrNid(3)).thenReturn("Kidney");
+        RuleEvaluationReport report = new RuleEvaluationReport(1, Lists.immutable.of(
+                new RuleEvaluationReport.Suggestion(3, Topic.COMPONENT_FOCUSED, null, null)), Duration.ZERO);
+
+        StringBuilder tsv = new StringBuilder();
+        report.writeTsv(tsv, calculator);
+
+        assertEquals("Component\tTopic\tSuggestion\tRule\nKidney\tCOMPONENT_FOCUSED\t\t\n", tsv.toString());
+    }
+}
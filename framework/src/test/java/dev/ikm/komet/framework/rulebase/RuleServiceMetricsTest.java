@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.rulebase;
+
+import dev.ikm.komet.framework.performance.Observation;
+import dev.ikm.komet.framework.performance.Topic;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RuleServiceMetricsTest {
+
+    @Test
+    public void reportsEveryMeasure() {
+        ImmutableList<Observation> observations = new RuleServiceMetrics().observations();
+
+        assertEquals(RuleServiceMeasure.values().length, observations.size());
+        assertTrue(observations.allSatisfy(observation -> observation.topic() == Topic.RULE_SERVICE_PERFORMANCE));
+        for (RuleServiceMeasure measure : RuleServiceMeasure.values()) {
+            assertEquals(0f, RuleServiceMetrics.value(observations, measure));
+        }
+    }
+
+    @Test
+    public void countsExecutionsHitsAndEvaluationTimes() {
+        RuleServiceMetrics metrics = new RuleServiceMetrics();
+        metrics.executed(true);
+        metrics.executed(false);
+        metrics.executed(false);
+        metrics.executed(true);
+        metrics.evaluated(2_000_000);
+        metrics.evaluated(6_000_000);
+
+        ImmutableList<Observation> observations = metrics.observations();
+        assertEquals(4f, RuleServiceMetrics.value(observations, RuleServiceMeasure.EXECUTIONS));
+        assertEquals(0.5f, RuleServiceMetrics.value(observations, RuleServiceMeasure.CACHE_HIT_RATE));
+        assertEquals(4f, RuleServiceMetrics.value(observations, RuleServiceMeasure.MEAN_EVALUATION_MILLIS), 0.001f);
+        assertEquals(6f, RuleServiceMetrics.value(observations, RuleServiceMeasure.MAX_EVALUATION_MILLIS), 0.001f);
+    }
+}
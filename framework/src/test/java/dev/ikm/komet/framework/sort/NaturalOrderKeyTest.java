@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NaturalOrderKeyTest {
+
+    @Test
+    public void numbersCompareByValue() {
+        assertEquals(List.of("Item 2", "item 3", "Item 10", "Item 100"),
+                NaturalOrderSort.sorted(List.of("Item 100", "Item 10", "Item 2", "item 3"), s -> s));
+        assertTrue(NaturalOrderKey.of("0").compareTo(NaturalOrderKey.of("1")) < 0);
+        assertTrue(NaturalOrderKey.of("99999999999999999999").compareTo(NaturalOrderKey.of("100000000000000000000")) < 0);
+    }
+
+    @Test
+    public void equalKeysFallBackToStringOrder() {
+        assertTrue(NaturalOrderKey.of("Item 02").compareTo(NaturalOrderKey.of("Item 2")) < 0);
+        assertTrue(NaturalOrderKey.of("Abc").compareTo(NaturalOrderKey.of("abc")) < 0);
+        assertEquals(0, NaturalOrderKey.of("abc").compareTo(NaturalOrderKey.of("abc")));
+    }
+
+    @Test
+    public void sortNidsResolvesEachTextOnce() {
+        String[] texts = {"Finding 10", "finding 9", "Disorder", "Finding 9"};
+        int[] lookups = new int[texts.length];
+        int[] sorted = NaturalOrderSort.sortNids(new int[]{0, 1, 2, 3}, nid -> {
+            lookups[nid]++;
+            return texts[nid];
+        });
+        assertArrayEquals(new int[]{2, 3, 1, 0}, sorted);
+        assertArrayEquals(new int[]{1, 1, 1, 1}, lookups);
+    }
+}
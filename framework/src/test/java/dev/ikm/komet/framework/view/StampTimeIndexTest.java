@@ -0,0 +1,52 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.framework.view;
+
+import dev.ikm.tinkar.common.util.time.DateTimeUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StampTimeIndexTest {
+
+    private static long time(int year, int month, int day) {
+        return LocalDateTime.of(year, month, day, 12, 0)
+                .atZone(DateTimeUtil.epochToZonedDateTime(0).getZone()).toInstant().toEpochMilli();
+    }
+
+    @Test
+    public void groupsTimesByYearAndMonthNewestFirst() {
+        long march1 = time(2023, 3, 1);
+        long march15 = time(2023, 3, 15);
+        long november = time(2023, 11, 2);
+        long january = time(2024, 1, 9);
+        StampTimeIndex index = new StampTimeIndex(new long[]{march1, march15, november, january});
+
+        assertEquals(4, index.size());
+        assertArrayEquals(new int[]{2024, 2023}, index.years());
+        assertArrayEquals(new int[]{3, 11}, index.months(2023));
+        assertArrayEquals(new long[]{march15, march1}, index.times(2023, 3));
+        assertArrayEquals(new long[0], index.times(2023, 4));
+        assertEquals(november, index.newestTime(2023));
+        assertTrue(index.contains(march15));
+        assertFalse(index.contains(march15 + 1));
+    }
+}
@@ -1,5 +1,6 @@
 package dev.ikm.komet.kview.controls;
 
+import dev.ikm.komet.navigator.graph.AncestorDag;
 import dev.ikm.komet.navigator.graph.Navigator;
 import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
@@ -14,6 +15,7 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -105,12 +107,19 @@ public static WritableImage getTileSnapshot(ConceptTile tile) {
      * each parent nid, repeats the process, until all ancestors are discovered. As
      * a result, the starting {@link InvertedTree} gets completed.
      * </p>
+     * <p>Parents come from the memoized {@link AncestorDag}, and descriptions from the given cache, so each
+     * ancestor is looked up once, however many paths lead to it.
+     * </p>
      * @param nid the nid of the concept
      * @param tree the {@link InvertedTree}
-     * @param navigator the {@link Navigator} that holds the dataset
+     * @param dag the {@link AncestorDag} of the {@link Navigator} that holds the dataset
+     * @param descriptions descriptions of the ancestors that have been looked up so far
      */
-    private static void addAllAncestors(int nid, InvertedTree tree, Navigator navigator) {
-        getAllParents(nid, navigator).forEach(i -> addAllAncestors(i.nid(), tree.addChild(i), navigator));
+    private static void addAllAncestors(int nid, InvertedTree tree, AncestorDag dag, Map<Integer, String> descriptions) {
+        for (int parentNid : dag.parentNids(nid)) {
+            String description = descriptions.computeIfAbsent(parentNid, _ -> Entity.getFast(parentNid).description());
+            addAllAncestors(parentNid, tree.addChild(new InvertedTree.ConceptItem(parentNid, nid, description)), dag, descriptions);
+        }
     }
 
     /**
@@ -135,23 +144,23 @@ static List<InvertedTree.ConceptItem> getAllParents(int childNid, Navigator navi
      * @return a list of {@link dev.ikm.komet.kview.controls.InvertedTree.ConceptItem}
      */
     static List<InvertedTree.ConceptItem> getSecondaryParents(int childNid, int primaryNid, Navigator navigator) {
-        return new ArrayList<>(Arrays.stream(getParentNids(navigator, childNid)).boxed()
+        return new ArrayList<>(Arrays.stream(AncestorDag.of(navigator).parentNids(childNid)).boxed()
                 .filter(nid -> nid != primaryNid)
                 .map(nid -> new InvertedTree.ConceptItem(nid, childNid, Entity.getFast(nid).description()))
                 .toList());
     }
 
     /**
-     * <p>Utility method that builds and {@link InvertedTree} starting from
-     * a given nid and a given {@link Navigator}, and finds its maximum depth.
+     * <p>Utility method that finds the maximum depth of the {@link InvertedTree} of
+     * a given nid and a given {@link Navigator}, from the memoized {@link AncestorDag},
+     * without building the tree.
      * </p>
      * @param nid the nid of the concept
      * @param navigator the {@link Navigator} that holds the dataset
      * @return the depth of the {@link InvertedTree}
      */
     static int getFartherLevel(int nid, Navigator navigator) {
-        InvertedTree tree = buildInvertedTree(nid, navigator);
-        return tree.getTreeDepth();
+        return AncestorDag.of(navigator).longestDepth(nid);
     }
 
     /**
@@ -166,7 +175,7 @@ public static InvertedTree buildInvertedTree(int nid, Navigator navigator) {
         ConceptFacade facade = Entity.getFast(nid);
         InvertedTree.ConceptItem item = new InvertedTree.ConceptItem(facade.nid(), facade.nid(), facade.description());
         InvertedTree tree = new InvertedTree(item);
-        addAllAncestors(facade.nid(), tree, navigator);
+        addAllAncestors(facade.nid(), tree, AncestorDag.of(navigator), new HashMap<>());
         return tree;
     }
 
@@ -268,9 +277,10 @@ public static void printTree(KLConceptNavigatorControl treeView, ConceptNavigato
     }
 
     /**
-     * <p>Builds the {@link InvertedTree} for a given {@link dev.ikm.komet.kview.controls.InvertedTree.ConceptItem},
-     * finds the sorted map of lineages, and takes the shorter lineage that matches the nid and child nid of
-     * such item, unless the nid is -1, in which case, it takes the first route.
+     * <p>Finds the shorter lineage that matches the nid and child nid of a given
+     * {@link dev.ikm.komet.kview.controls.InvertedTree.ConceptItem}, unless the nid is -1, in which case,
+     * it takes the shorter lineage of the child nid. The lineage is read from the memoized {@link AncestorDag},
+     * rather than from the sorted map of lineages of a fully built {@link InvertedTree}.
      * </p>
      * @param conceptItem a given {@link dev.ikm.komet.kview.controls.InvertedTree.ConceptItem}
      * @param navigator the {@link Navigator} that holds the dataset
@@ -278,13 +288,23 @@ public static void printTree(KLConceptNavigatorControl treeView, ConceptNavigato
      * such item.
      */
     public static List<InvertedTree.ConceptItem> findShorterLineage(InvertedTree.ConceptItem conceptItem, Navigator navigator) {
-        InvertedTree tree = buildInvertedTree(conceptItem.childNid(), navigator);
-        Map<Integer, List<InvertedTree.ConceptItem>> lineageMap = tree.getLineageMap();
-
-        return lineageMap.values().stream()
-                .filter(list -> conceptItem.nid() == -1 || conceptItem.equals(list.getLast()))
-                .findFirst()
-                .orElse(List.of());
+        AncestorDag dag = AncestorDag.of(navigator);
+        int[] lineage;
+        if (conceptItem.nid() == -1) {
+            lineage = dag.shortestLineage(conceptItem.childNid());
+        } else if (Arrays.stream(dag.parentNids(conceptItem.childNid())).anyMatch(nid -> nid == conceptItem.nid())) {
+            int[] parentLineage = dag.shortestLineage(conceptItem.nid());
+            lineage = Arrays.copyOf(parentLineage, parentLineage.length + 1);
+            lineage[parentLineage.length] = conceptItem.childNid();
+        } else {
+            return List.of();
+        }
+        // the items of the lineage, from the root down to the parent of the child nid
+        List<InvertedTree.ConceptItem> items = new ArrayList<>(lineage.length - 1);
+        for (int i = 0; i < lineage.length - 1; i++) {
+            items.add(new InvertedTree.ConceptItem(lineage[i], lineage[i + 1], Entity.getFast(lineage[i]).description()));
+        }
+        return items;
     }
 
     /**
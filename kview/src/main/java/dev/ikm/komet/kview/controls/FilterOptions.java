@@ -1,12 +1,12 @@
 package dev.ikm.komet.kview.controls;
 
+import dev.ikm.komet.framework.cache.SharedLookups;
 import dev.ikm.komet.framework.temp.FxGet;
 import dev.ikm.komet.framework.view.ObservableView;
 import dev.ikm.komet.framework.view.ObservableViewNoOverride;
 import dev.ikm.komet.framework.view.ObservableViewWithOverride;
 import dev.ikm.tinkar.coordinate.Coordinates;
 import dev.ikm.tinkar.coordinate.stamp.StateSet;
-import dev.ikm.tinkar.entity.StampService;
 import dev.ikm.tinkar.terms.ConceptFacade;
 import dev.ikm.tinkar.terms.EntityFacade;
 import dev.ikm.tinkar.terms.EntityProxy;
@@ -274,7 +274,7 @@ public class MainFilterCoordinates implements FilterCoordinates {
         private Option<ConceptFacade> module;
 
         {
-            List<ConceptFacade> modules = StampService.get().getModulesInUse().stream().toList();
+            List<ConceptFacade> modules = SharedLookups.modulesInUse().stream().toList();
             module = new Option<>(OPTION_ITEM.MODULE, "module.title",
                     new ArrayList<>(modules), FXCollections.observableArrayList(), FXCollections.observableArrayList(), true, false, allAnyExcludingSet, false);
         }
@@ -77,7 +77,8 @@ public KLComponentControl() {
         });
 
         sceneProperty().subscribe(newScene -> {
-            if (newScene != null) {
+            // The control is added to a scene again each time its window is reattached to the workspace
+            if (newScene != null && !newScene.getStylesheets().contains(getUserAgentStylesheet())) {
                 newScene.getStylesheets().add(getUserAgentStylesheet());
             }
         });
@@ -23,6 +23,7 @@
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.css.*;
+import javafx.geometry.Bounds;
 import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
 import javafx.scene.layout.Pane;
@@ -292,6 +293,15 @@ public ObjectProperty<ObservableList<ChapterKlWindow<Pane>>> windowsProperty() {
         return windows;
     }
 
+    /**
+     * Returns the region of the workspace currently visible in its scroll pane, in workspace coordinates.
+     *
+     * @return the visible region, or {@code null} if the workspace has no skin or has not been laid out yet
+     */
+    public Bounds getVisibleBounds() {
+        return (getSkin() instanceof KLWorkspaceSkin workspaceSkin) ? workspaceSkin.visibleBounds() : null;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -33,7 +33,7 @@ public PublicIDListControl() {
         sceneProperty().addListener(new InvalidationListener() {
             @Override
             public void invalidated(Observable observable) {
-                if (getScene() != null) {
+                if (getScene() != null && !getScene().getStylesheets().contains(getUserAgentStylesheet())) {
                     getScene().getStylesheets().add(getUserAgentStylesheet());
                 }
                 sceneProperty().removeListener(this);
@@ -18,7 +18,7 @@ public StampViewControl() {
         sceneProperty().addListener(new InvalidationListener() {
             @Override
             public void invalidated(Observable observable) {
-                if (getScene() != null) {
+                if (getScene() != null && !getScene().getStylesheets().contains(getUserAgentStylesheet())) {
                     getScene().getStylesheets().add(getUserAgentStylesheet());
                 }
                 sceneProperty().removeListener(this);
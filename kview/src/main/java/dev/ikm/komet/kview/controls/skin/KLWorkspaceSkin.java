@@ -24,6 +24,7 @@
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -51,6 +52,9 @@
 import org.slf4j.LoggerFactory;
 
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static dev.ikm.komet.framework.dnd.KometClipboard.MULTI_PARENT_GRAPH_DRAG_FORMAT;
@@ -90,6 +94,11 @@
  *       {@code ChapterKlWindow} resizable and draggable within the desktop pane.</li>
  *   <li><strong>Smooth Window Shifting:</strong> When dropping windows in LINE regions, existing windows
  *       smoothly animate to new positions rather than being removed and re-added.</li>
+ *   <li><strong>Spatial Index:</strong> The bounds of the windows are kept in a {@link WorkspaceSpatialIndex},
+ *       so placement, drop region and shifting queries only visit the windows near the region of interest.</li>
+ *   <li><strong>Viewport Virtualization:</strong> Windows more than a viewport away from the visible area are
+ *       detached from the desktop pane, so they cost nothing in CSS, layout and rendering passes, and are
+ *       attached again before they scroll into view.</li>
  * </ul>
  *
  * <p>The skin also implements advanced behaviors for drop-region placement.
@@ -135,6 +144,11 @@ public class KLWorkspaceSkin extends SkinBase<KLWorkspace> {
      */
     private static final String PANNING_SUBSCRIPTION_KEY = "panningSubscription";
 
+    /**
+     * Internal property key for storing the viewport subscription in the window's properties map.
+     */
+    private static final String VIEWPORT_SUBSCRIPTION_KEY = "viewportSubscription";
+
 
     /**
      * Internal property key for storing the target position of a window during animation.
@@ -147,6 +161,23 @@ public class KLWorkspaceSkin extends SkinBase<KLWorkspace> {
      */
     private final DesktopPane desktopPane;
 
+    /**
+     * The bounds of the windows placed on the desktop, including those detached because they are far from
+     * the viewport. The drop region is never indexed.
+     */
+    private final WorkspaceSpatialIndex spatialIndex = new WorkspaceSpatialIndex(DEFAULT_WINDOW_WIDTH / 2.0);
+
+    /**
+     * The window that was directly below each detached window when it was detached, or {@code null} if it was
+     * the lowest window, so it is attached again at the same place in the stacking order.
+     */
+    private final Map<Node, Node> windowBelowDetached = new IdentityHashMap<>();
+
+    /**
+     * Whether an update of which windows are attached to the desktop pane is already scheduled.
+     */
+    private boolean viewportUpdateScheduled = false;
+
     /**
      * The {@link ScrollPane} that allows panning around the {@code desktopPane}.
      */
@@ -252,6 +283,10 @@ public KLWorkspaceSkin(KLWorkspace workspace) {
         // Setup desktop resize subscription for window constraints
         Subscription desktopResizeSubscription = createDesktopResizeSubscription();
         workspace.getProperties().put(DESKTOP_RESIZE_SUBSCRIPTION_KEY, desktopResizeSubscription);
+
+        // Detach and attach windows as the viewport moves
+        Subscription viewportSubscription = createViewportSubscription();
+        workspace.getProperties().put(VIEWPORT_SUBSCRIPTION_KEY, viewportSubscription);
     }
 
     /**
@@ -543,10 +578,7 @@ private DropResult findHorizontalGapForDrag(double mouseX, double mouseY,
 
         // Get windows in the current row only
         final MutableList<Bounds> rowWindows = Lists.mutable.empty();
-        for (Node node : desktopPane.getChildrenUnmodifiable()) {
-            if (node == desktopPane.getDropRegion() || !node.isVisible()) {
-                continue;
-            }
+        for (Node node : occupants(Double.NEGATIVE_INFINITY, rowTop, Double.POSITIVE_INFINITY, rowBottom)) {
             final Bounds windowBounds = getWindowBounds(node);
             // Check if window is in the current row
             if (windowBounds.getMinY() < rowBottom && windowBounds.getMaxY() > rowTop) {
@@ -691,6 +723,9 @@ private void addWindow(ChapterKlWindow<Pane> window) {
 
             // Add position constraints with state saving callback
             windowSubscriptions.add(windowSupport.setupPositionConstraints(obs -> window.save()));
+
+            // Keep the spatial index in step with the window's bounds
+            windowSubscriptions.add(trackWindowBounds(windowPanel));
         } catch (Exception ex) {
             // Clean up WindowSupport if it was created
             cleanupWindowSupport(windowPanel);
@@ -739,7 +774,7 @@ private void addWindow(ChapterKlWindow<Pane> window) {
                         windowPanel.setLayoutX(dropX);
                         windowPanel.setLayoutY(dropY);
                         windowPanel.setPrefWidth(dropW);
-                        desktopPane.getChildren().add(windowPanel);
+                        attachPlacedWindow(windowPanel);
 
                         // Auto-scroll the workspace to reveal the newly dropped window
                         autoScrollToTopEdge(windowPanel, desktopWidth, desktopHeight);
@@ -789,7 +824,7 @@ private void addWindow(ChapterKlWindow<Pane> window) {
                     windowPanel.setLayoutX(newX);
                     windowPanel.setLayoutY(newY);
                     windowPanel.setPrefWidth(windowWidth);
-                    desktopPane.getChildren().add(windowPanel);
+                    attachPlacedWindow(windowPanel);
 
                     // Auto-scroll the workspace to reveal the newly dropped window
                     autoScrollToTopEdge(windowPanel, desktopWidth, desktopHeight);
@@ -806,7 +841,7 @@ private void addWindow(ChapterKlWindow<Pane> window) {
         final boolean hasSavedPos = (savedX != 0 || savedY != 0);
 
         if (hasSavedPos) {
-            desktopPane.getChildren().add(windowPanel);
+            attachPlacedWindow(windowPanel);
             desktopPane.layout();
             // No auto-scrolling for returning windows
             return;
@@ -823,7 +858,7 @@ private void addWindow(ChapterKlWindow<Pane> window) {
             windowPanel.setLayoutX(placement.getX());
             windowPanel.setLayoutY(placement.getY());
             windowPanel.setPrefWidth(windowWidth);
-            desktopPane.getChildren().add(windowPanel);
+            attachPlacedWindow(windowPanel);
 
             if (firstTime) {
                 // Skip auto-scrolling during the initial setup
@@ -838,6 +873,39 @@ private void addWindow(ChapterKlWindow<Pane> window) {
         window.save();
     }
 
+    /**
+     * Adds a window whose position has been decided to the desktop pane and the spatial index, below the
+     * attached windows that follow it in the workspace's window list.
+     *
+     * @param windowPanel the window's panel
+     */
+    private void attachPlacedWindow(Pane windowPanel) {
+        desktopPane.getChildren().add(attachIndex(windowPanel), windowPanel);
+        spatialIndex.put(windowPanel, getWindowBounds(windowPanel));
+        scheduleViewportUpdate();
+    }
+
+    /**
+     * Finds where to attach a newly placed window so the stacking order follows the workspace's window list: a
+     * window inserted into the list goes directly below the nearest attached window after it, and a window added
+     * at the end of the list goes on top.
+     *
+     * @param windowPanel the panel of a window in the workspace's window list
+     * @return the index in the desktop pane's children to insert the window at
+     */
+    private int attachIndex(Pane windowPanel) {
+        final ObservableList<Node> children = desktopPane.getChildren();
+        final List<ChapterKlWindow<Pane>> windows = getSkinnable().getWindows();
+        boolean found = false;
+        for (ChapterKlWindow<Pane> window : windows) {
+            if (found && window.fxGadget().getParent() == desktopPane) {
+                return children.indexOf(window.fxGadget());
+            }
+            found |= window.fxGadget() == windowPanel;
+        }
+        return children.size();
+    }
+
     /**
      * Removes a {@link ChapterKlWindow} from the desktop pane and detaches any
      * associated subscriptions.
@@ -847,6 +915,8 @@ private void addWindow(ChapterKlWindow<Pane> window) {
     private void removeWindow(ChapterKlWindow<Pane> window) {
         final Pane windowPanel = window.fxGadget();
         desktopPane.getChildren().remove(windowPanel);
+        spatialIndex.remove(windowPanel);
+        windowBelowDetached.remove(windowPanel);
 
         // Clean up WindowSupport and its subscriptions
         cleanupWindowSupport(windowPanel);
@@ -872,6 +942,7 @@ private void removeWindow(ChapterKlWindow<Pane> window) {
      */
     private void setWindowTargetPosition(Node window, double targetX, double targetY) {
         window.getProperties().put(WINDOW_TARGET_POSITION_KEY, new Point2D(targetX, targetY));
+        spatialIndex.updateIfPresent(window, getWindowBounds(window));
     }
 
     /**
@@ -881,6 +952,7 @@ private void setWindowTargetPosition(Node window, double targetX, double targetY
      */
     private void clearWindowTargetPosition(Node window) {
         window.getProperties().remove(WINDOW_TARGET_POSITION_KEY);
+        spatialIndex.updateIfPresent(window, getWindowBounds(window));
     }
 
     /**
@@ -924,10 +996,8 @@ private Bounds getWindowBounds(Node node) {
      */
     private double findRightmostOccupantBefore(double dropX) {
         double occupantRight = 0;
-        for (Node child : desktopPane.getChildrenUnmodifiable()) {
-            if (child == desktopPane.getDropRegion() || !child.isVisible()) {
-                continue;
-            }
+        for (Node child : occupants(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                dropX, Double.POSITIVE_INFINITY)) {
             Bounds bounds = getWindowBounds(child);
             if (bounds.getMaxX() < dropX && bounds.getMaxX() > occupantRight) {
                 occupantRight = bounds.getMaxX();
@@ -1000,8 +1070,10 @@ private ImmutableList<WindowShiftInfo> identifyWindowsToShift(double lineX, doub
         final double lineMiddleY = lineY + (dropRegion.getHeight() / 2.0);
         final int lineRowIndex = (int) Math.floor(lineMiddleY / rowHeight);
 
-        for (Node child : desktopPane.getChildrenUnmodifiable()) {
-            if (child == dropRegion || !child.isVisible() || !(child instanceof Pane)) {
+        // Windows in the line's row or below; the row of each is decided by its middle below
+        for (Node child : occupants(Double.NEGATIVE_INFINITY, lineRowIndex * rowHeight,
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY)) {
+            if (!(child instanceof Pane)) {
                 continue;
             }
 
@@ -1114,7 +1186,7 @@ private void animateWindowShifts(ImmutableList<WindowShiftInfo> windowsToShift)
             // Jump to end values to complete the previous animation instantly
             shiftTimeline.jumpTo(shiftTimeline.getTotalDuration());
             // Clear target positions from previous animation
-            desktopPane.getChildren().forEach(this::clearWindowTargetPosition);
+            Lists.immutable.ofAll(spatialIndex.nodes()).forEach(this::clearWindowTargetPosition);
         }
 
         // Create a single timeline for all window shifts
@@ -1140,9 +1212,11 @@ private void animateWindowShifts(ImmutableList<WindowShiftInfo> windowsToShift)
             }
         }
 
-        // Clear target positions when animation completes
-        shiftTimeline.setOnFinished(e ->
-                windowsToShift.forEach(info -> clearWindowTargetPosition(info.window())));
+        // Clear target positions when animation completes, then detach any window shifted far from the viewport
+        shiftTimeline.setOnFinished(e -> {
+            windowsToShift.forEach(info -> clearWindowTargetPosition(info.window()));
+            scheduleViewportUpdate();
+        });
 
         shiftTimeline.play();
     }
@@ -1186,13 +1260,7 @@ private Point2D findThreeRowPlacement(double width, double height,
         // Force layout to obtain accurate bounds
         desktopPane.layout();
 
-        // Collect occupant bounds once, excluding the drop region
-        final ImmutableList<Bounds> occupantBounds = Lists.immutable.fromStream(desktopPane.getChildrenUnmodifiable().stream()
-                .filter(n -> n != desktopPane.getDropRegion() && n.isVisible())
-                .map(this::getWindowBounds));
-
-        return doThreeRowPlacement(width, height, startX, startY, desktopWidth, desktopHeight,
-                hgap, vgap, occupantBounds);
+        return doThreeRowPlacement(width, height, startX, startY, desktopWidth, desktopHeight, hgap, vgap);
     }
 
     /**
@@ -1212,15 +1280,13 @@ private Point2D findThreeRowPlacement(double width, double height,
      * @param desktopHeight The total height of the desktop
      * @param hgap The horizontal gap between windows
      * @param vgap The vertical gap between windows
-     * @param occupantBounds the bounding boxes of windows to be considered for overlap checks
      * @return a {@link Point2D} representing the top-left corner for the new window,
      *         or {@code null} if no valid placement is found
      */
     private Point2D doThreeRowPlacement(double width, double height,
                                         double startX, double startY,
                                         double desktopWidth, double desktopHeight,
-                                        double hgap, double vgap,
-                                        ImmutableList<Bounds> occupantBounds) {
+                                        double hgap, double vgap) {
 
         final double rowHeight = desktopHeight / ROWS;
 
@@ -1244,7 +1310,9 @@ private Point2D doThreeRowPlacement(double width, double height,
             }
 
             // Identify occupant bounding boxes in this row
-            final ImmutableList<Bounds> rowOccupants = Lists.immutable.fromStream(occupantBounds.stream()
+            final ImmutableList<Bounds> rowOccupants = Lists.immutable.fromStream(
+                    occupants(Double.NEGATIVE_INFINITY, rowTop, Double.POSITIVE_INFINITY, rowBottom).stream()
+                    .map(this::getWindowBounds)
                     .filter(b -> b.getMaxY() > rowTop && b.getMinY() < rowBottom)
                     .sorted(Comparator.comparingDouble(Bounds::getMinX)));
 
@@ -1353,9 +1421,170 @@ private void autoScrollToTopEdge(Node nodeToView, double desktopWidth, double de
                         new KeyValue(desktopScrollPane.hvalueProperty(), newH, Interpolator.EASE_OUT),
                         new KeyValue(desktopScrollPane.vvalueProperty(), newV, Interpolator.EASE_OUT))
         );
+        // Attach the windows around the destination once the scroll settles
+        autoScrollTimeline.setOnFinished(e -> scheduleViewportUpdate());
         autoScrollTimeline.play();
     }
 
+    // =========================================================================
+    //                          VIEWPORT VIRTUALIZATION
+    // =========================================================================
+
+    /**
+     * Creates a subscription that updates which windows are attached to the desktop pane whenever the
+     * viewport is scrolled or resized.
+     *
+     * @return A {@link Subscription} that, when unsubscribed, detaches the viewport listeners
+     */
+    private Subscription createViewportSubscription() {
+        final InvalidationListener viewportListener = obs -> scheduleViewportUpdate();
+        desktopScrollPane.hvalueProperty().addListener(viewportListener);
+        desktopScrollPane.vvalueProperty().addListener(viewportListener);
+        desktopScrollPane.viewportBoundsProperty().addListener(viewportListener);
+
+        return () -> {
+            desktopScrollPane.hvalueProperty().removeListener(viewportListener);
+            desktopScrollPane.vvalueProperty().removeListener(viewportListener);
+            desktopScrollPane.viewportBoundsProperty().removeListener(viewportListener);
+        };
+    }
+
+    /**
+     * Schedules one update of which windows are attached, however many scroll events arrive before it runs.
+     */
+    private void scheduleViewportUpdate() {
+        if (viewportUpdateScheduled) {
+            return;
+        }
+        viewportUpdateScheduled = true;
+        Platform.runLater(() -> {
+            viewportUpdateScheduled = false;
+            updateWindowAttachment();
+        });
+    }
+
+    /**
+     * Attaches the windows within a viewport's distance of the visible area to the desktop pane and detaches
+     * the rest.
+     * <p>
+     * Detached windows keep their position, size and place in the {@link #spatialIndex}, so placement and
+     * shifting treat them exactly as attached windows. A window is not detached while it holds the focus,
+     * or while windows are being shifted or the workspace is scrolling to a new window, since either moves
+     * windows toward the viewport.
+     */
+    private void updateWindowAttachment() {
+        if (getSkinnable() == null) {
+            return;
+        }
+        final Bounds liveRegion = liveRegion();
+        if (liveRegion == null) {
+            return;
+        }
+        final boolean moving = (shiftTimeline != null && shiftTimeline.getStatus() == Timeline.Status.RUNNING)
+                || (autoScrollTimeline != null && autoScrollTimeline.getStatus() == Timeline.Status.RUNNING);
+
+        for (Node window : Lists.immutable.ofAll(spatialIndex.nodes())) {
+            final boolean near = getWindowBounds(window).intersects(liveRegion);
+            if (near && window.getParent() == null) {
+                desktopPane.getChildren().add(reattachIndex(window), window);
+            } else if (!near && !moving && window.getParent() == desktopPane && !containsFocus(window)) {
+                windowBelowDetached.put(window, windowBelow(window));
+                desktopPane.getChildren().remove(window);
+            }
+        }
+    }
+
+    /**
+     * @param window an attached window
+     * @return the window directly below it in the stacking order, or {@code null} if it is the lowest window
+     */
+    private Node windowBelow(Node window) {
+        final ObservableList<Node> children = desktopPane.getChildren();
+        for (int i = children.indexOf(window) - 1; i >= 0; i--) {
+            if (spatialIndex.contains(children.get(i))) {
+                return children.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds where to attach a detached window so it takes its place in the stacking order again: directly above
+     * the window that was below it when it was detached, or, if that one is detached as well, above the window
+     * that was below that one, and so on.
+     *
+     * @param window a detached window
+     * @return the index in the desktop pane's children to insert the window at
+     */
+    private int reattachIndex(Node window) {
+        final ObservableList<Node> children = desktopPane.getChildren();
+        Node below = windowBelowDetached.remove(window);
+        while (below != null && below.getParent() != desktopPane) {
+            below = windowBelowDetached.get(below);
+        }
+        if (below != null) {
+            return children.indexOf(below) + 1;
+        }
+        // The window was the lowest, so it goes below every attached window
+        for (int i = 0; i < children.size(); i++) {
+            if (spatialIndex.contains(children.get(i))) {
+                return i;
+            }
+        }
+        // Keep the drop region above the windows
+        final int dropRegionIndex = children.indexOf(desktopPane.getDropRegion());
+        return dropRegionIndex >= 0 ? dropRegionIndex : children.size();
+    }
+
+    /**
+     * @return the visible area of the desktop pane, grown by the viewport's size on every side, or
+     * {@code null} if the viewport has not been laid out yet
+     */
+    private Bounds liveRegion() {
+        final Bounds visible = visibleBounds();
+        if (visible == null) {
+            return null;
+        }
+        return new BoundingBox(visible.getMinX() - visible.getWidth(), visible.getMinY() - visible.getHeight(),
+                3 * visible.getWidth(), 3 * visible.getHeight());
+    }
+
+    /**
+     * Computes the area of the desktop pane shown in the scroll pane's viewport at its current scroll position.
+     *
+     * @return the visible area of the desktop pane, or {@code null} if the viewport has not been laid out yet
+     * @see KLWorkspace#getVisibleBounds()
+     */
+    public Bounds visibleBounds() {
+        final Bounds viewportBounds = desktopScrollPane.getViewportBounds();
+        final double viewportWidth = viewportBounds.getWidth();
+        final double viewportHeight = viewportBounds.getHeight();
+        if (viewportWidth <= 0 || viewportHeight <= 0) {
+            return null;
+        }
+        final double desktopWidth = (desktopPane.getWidth() > 0) ? desktopPane.getWidth() : desktopPane.getPrefWidth();
+        final double desktopHeight = (desktopPane.getHeight() > 0) ? desktopPane.getHeight() : desktopPane.getPrefHeight();
+        final double left = Math.max(0, desktopWidth - viewportWidth) * desktopScrollPane.getHvalue();
+        final double top = Math.max(0, desktopHeight - viewportHeight) * desktopScrollPane.getVvalue();
+        return new BoundingBox(left, top, viewportWidth, viewportHeight);
+    }
+
+    /**
+     * @param window a window
+     * @return {@code true} if the focus owner of the window's scene is the window or one of its descendants
+     */
+    private boolean containsFocus(Node window) {
+        if (window.getScene() == null) {
+            return false;
+        }
+        for (Node node = window.getScene().getFocusOwner(); node != null; node = node.getParent()) {
+            if (node == window) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // =========================================================================
     //                              HELPER METHODS
     // =========================================================================
@@ -1410,12 +1639,47 @@ private boolean fitsInDesktop(double x, double y, double width, double height,
      */
     private boolean overlapsWithExistingWindows(double x, double y, double width, double height) {
         final Bounds newWindowBounds = new BoundingBox(x, y, width, height);
-        return desktopPane.getChildrenUnmodifiable().stream()
-                .filter(n -> n != desktopPane.getDropRegion() && n.isVisible())
+        return occupants(x, y, x + width, y + height).stream()
                 .map(this::getWindowBounds)
                 .anyMatch(newWindowBounds::intersects);
     }
 
+    /**
+     * Finds the visible windows whose bounds may intersect a region, attached to the desktop pane or not.
+     * Callers apply their own test to the bounds of the returned windows.
+     *
+     * @param minX the left edge of the region
+     * @param minY the top edge of the region
+     * @param maxX the right edge of the region
+     * @param maxY the bottom edge of the region
+     * @return the windows, in the order they were placed
+     */
+    private ImmutableList<Node> occupants(double minX, double minY, double maxX, double maxY) {
+        return spatialIndex.query(minX, minY, maxX, maxY).select(Node::isVisible);
+    }
+
+    /**
+     * Re-indexes a window whenever its position or size changes, once it has been placed.
+     *
+     * @param windowPanel the window's panel
+     * @return A {@link Subscription} that, when unsubscribed, detaches the listeners
+     */
+    private Subscription trackWindowBounds(Pane windowPanel) {
+        final InvalidationListener boundsListener =
+                obs -> spatialIndex.updateIfPresent(windowPanel, getWindowBounds(windowPanel));
+        windowPanel.layoutXProperty().addListener(boundsListener);
+        windowPanel.layoutYProperty().addListener(boundsListener);
+        windowPanel.widthProperty().addListener(boundsListener);
+        windowPanel.heightProperty().addListener(boundsListener);
+
+        return () -> {
+            windowPanel.layoutXProperty().removeListener(boundsListener);
+            windowPanel.layoutYProperty().removeListener(boundsListener);
+            windowPanel.widthProperty().removeListener(boundsListener);
+            windowPanel.heightProperty().removeListener(boundsListener);
+        };
+    }
+
     /**
      * Sets the specified cursor on the {@code ScrollPane}'s internal viewport, if available.
      * <p>
@@ -1486,7 +1750,7 @@ public void dispose() {
         if (shiftTimeline != null) {
             shiftTimeline.stop();
             // Clear any target positions
-            desktopPane.getChildren().forEach(this::clearWindowTargetPosition);
+            Lists.immutable.ofAll(spatialIndex.nodes()).forEach(this::clearWindowTargetPosition);
             shiftTimeline = null;
         }
 
@@ -1500,6 +1764,7 @@ public void dispose() {
             // Clean up size change subscription
             cleanupSubscription(DESKTOP_RESIZE_SUBSCRIPTION_KEY);
             cleanupSubscription(PANNING_SUBSCRIPTION_KEY);
+            cleanupSubscription(VIEWPORT_SUBSCRIPTION_KEY);
 
             getSkinnable().setOnDragOver(null);
             getSkinnable().setOnDragExited(null);
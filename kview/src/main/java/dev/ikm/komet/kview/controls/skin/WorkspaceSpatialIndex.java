@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.ikm.komet.kview.controls.skin;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A uniform grid over the desktop pane that records which cells the bounds of each window cover, so that finding
+ * the windows in a row, or those overlapping a proposed placement, visits only the windows near that region
+ * rather than every window in the workspace.
+ * <p>
+ * The index holds the windows placed on the desktop whether or not they are currently attached to the desktop
+ * pane, since windows far outside the viewport are detached but still occupy their place.
+ */
+public final class WorkspaceSpatialIndex {
+
+    /**
+     * A window and the bounds it was indexed with.
+     *
+     * @param node     the window
+     * @param bounds   the bounds of the window when it was last indexed
+     * @param sequence the order in which the window was first indexed
+     */
+    private record Entry(Node node, Bounds bounds, long sequence) {
+    }
+
+    private final double cellSize;
+    private final Map<Node, Entry> entries = new IdentityHashMap<>();
+    private final LongObjectHashMap<MutableList<Entry>> cells = new LongObjectHashMap<>();
+    private long nextSequence = 0;
+    /**
+     * The range of cells any window has covered, which bounds the cells a query visits, however large the
+     * queried region.
+     */
+    private long minColumn = Long.MAX_VALUE;
+    private long maxColumn = Long.MIN_VALUE;
+    private long minRow = Long.MAX_VALUE;
+    private long maxRow = Long.MIN_VALUE;
+
+    /**
+     * @param cellSize the width and height of a grid cell, in desktop pane coordinates
+     */
+    public WorkspaceSpatialIndex(double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds a window to the index, or moves it if it is already indexed.
+     *
+     * @param node   the window
+     * @param bounds the bounds of the window
+     */
+    public void put(Node node, Bounds bounds) {
+        Entry existing = entries.get(node);
+        if (existing != null) {
+            if (existing.bounds().equals(bounds)) {
+                return;
+            }
+            removeFromCells(existing);
+        }
+        Entry entry = new Entry(node, bounds, existing != null ? existing.sequence() : nextSequence++);
+        entries.put(node, entry);
+        minColumn = Math.min(minColumn, cellIndex(bounds.getMinX()));
+        maxColumn = Math.max(maxColumn, cellIndex(bounds.getMaxX()));
+        minRow = Math.min(minRow, cellIndex(bounds.getMinY()));
+        maxRow = Math.max(maxRow, cellIndex(bounds.getMaxY()));
+        forEachCell(bounds, key -> cells.getIfAbsentPut(key, Lists.mutable::empty).add(entry));
+    }
+
+    /**
+     * Moves a window that is already indexed; does nothing for a window that is not.
+     *
+     * @param node   the window
+     * @param bounds the new bounds of the window
+     */
+    public void updateIfPresent(Node node, Bounds bounds) {
+        if (entries.containsKey(node)) {
+            put(node, bounds);
+        }
+    }
+
+    /**
+     * @param node the window to remove from the index
+     */
+    public void remove(Node node) {
+        Entry entry = entries.remove(node);
+        if (entry != null) {
+            removeFromCells(entry);
+        }
+    }
+
+    public boolean contains(Node node) {
+        return entries.containsKey(node);
+    }
+
+    /**
+     * @return the indexed windows
+     */
+    public Set<Node> nodes() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Finds the windows whose indexed bounds intersect a region, edges included. Callers that need a strict
+     * test apply it to the returned windows.
+     *
+     * @return the windows, in the order they were first indexed
+     */
+    public ImmutableList<Node> query(double minX, double minY, double maxX, double maxY) {
+        if (entries.isEmpty()) {
+            return Lists.immutable.empty();
+        }
+        Map<Node, Entry> found = new IdentityHashMap<>();
+        CellProcedure collect = key -> {
+            MutableList<Entry> cellEntries = cells.get(key);
+            if (cellEntries != null) {
+                for (Entry entry : cellEntries) {
+                    Bounds b = entry.bounds();
+                    if (b.getMaxX() >= minX && b.getMinX() <= maxX && b.getMaxY() >= minY && b.getMinY() <= maxY) {
+                        found.put(entry.node(), entry);
+                    }
+                }
+            }
+        };
+        forEachCell(Math.max(minColumn, cellIndex(minX)), Math.min(maxColumn, cellIndex(maxX)),
+                Math.max(minRow, cellIndex(minY)), Math.min(maxRow, cellIndex(maxY)), collect);
+        MutableList<Entry> sorted = Lists.mutable.ofAll(found.values());
+        sorted.sort(Comparator.comparingLong(Entry::sequence));
+        return sorted.collect(Entry::node).toImmutable();
+    }
+
+    private void removeFromCells(Entry entry) {
+        forEachCell(entry.bounds(), key -> {
+            MutableList<Entry> cellEntries = cells.get(key);
+            if (cellEntries != null) {
+                cellEntries.remove(entry);
+                if (cellEntries.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        });
+    }
+
+    private void forEachCell(Bounds bounds, CellProcedure procedure) {
+        forEachCell(cellIndex(bounds.getMinX()), cellIndex(bounds.getMaxX()),
+                cellIndex(bounds.getMinY()), cellIndex(bounds.getMaxY()), procedure);
+    }
+
+    private static void forEachCell(long firstColumn, long lastColumn, long firstRow, long lastRow,
+                                    CellProcedure procedure) {
+        for (long row = firstRow; row <= lastRow; row++) {
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                procedure.accept((row << 32) ^ (column & 0xFFFFFFFFL));
+            }
+        }
+    }
+
+    private long cellIndex(double coordinate) {
+        return (long) Math.floor(coordinate / cellSize);
+    }
+
+    @FunctionalInterface
+    private interface CellProcedure {
+        void accept(long key);
+    }
+}
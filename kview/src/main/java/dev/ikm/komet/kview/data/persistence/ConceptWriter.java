@@ -23,9 +23,19 @@
 public class ConceptWriter implements Writer {
 
     private final PublicId stamp;
+    private final WriteBatch batch;
 
     public ConceptWriter(PublicId stamp) {
+        this(stamp, WriteBatch.immediate());
+    }
+
+    /**
+     * @param stamp the stamp of the concepts written
+     * @param batch the batch the concepts are written to, put in the store when the batch is committed
+     */
+    public ConceptWriter(PublicId stamp, WriteBatch batch) {
         this.stamp = stamp;
+        this.batch = batch;
     }
 
     public void write(PublicId concept){
@@ -39,8 +49,8 @@ public void write(PublicId concept){
         long[] additionalLongs = createAdditionalLongs(concept);
 
         //Assign nid for Concept
-        int conceptNid = EntityService.get().nidForPublicId(concept);
-        int stampNid = EntityService.get().nidForPublicId(stamp);
+        int conceptNid = batch.nid(concept);
+        int stampNid = batch.nid(stamp);
 
         //Create Concept Chronology
         ConceptRecord conceptRecord = ConceptRecordBuilder.builder()
@@ -59,6 +69,6 @@ public void write(PublicId concept){
 
         //Rebuild the ConceptRecord with the now populated version data
         ConceptEntity<? extends ConceptEntityVersion> conceptEntity = ConceptRecordBuilder.builder(conceptRecord).versions(versions.toImmutable()).build();
-        EntityService.get().putEntity(conceptEntity);
+        batch.put(conceptEntity);
     }
 }
@@ -29,9 +29,19 @@
 public class PatternWriter implements Writer {
 
     public final PublicId stamp;
+    private final WriteBatch batch;
 
     public PatternWriter(PublicId stamp) {
+        this(stamp, WriteBatch.immediate());
+    }
+
+    /**
+     * @param stamp the stamp of the patterns written
+     * @param batch the batch the patterns are written to, put in the store when the batch is committed
+     */
+    public PatternWriter(PublicId stamp, WriteBatch batch) {
         this.stamp = stamp;
+        this.batch = batch;
     }
 
     public void write(PublicId pattern,
@@ -47,10 +57,10 @@ public void write(PublicId pattern,
         long[] additionalLongs = createAdditionalLongs(pattern);
 
         //Assign nids for Pattern component Concepts
-        int patternNid = EntityService.get().nidForPublicId(pattern);
-        int meaningConceptNid = EntityService.get().nidForPublicId(patternDetail.meaning());
-        int purposeConceptNid = EntityService.get().nidForPublicId(patternDetail.purpose());
-        int stampNid = EntityService.get().nidForPublicId(stamp);
+        int patternNid = batch.nid(pattern);
+        int meaningConceptNid = batch.nid(patternDetail.meaning());
+        int purposeConceptNid = batch.nid(patternDetail.purpose());
+        int stampNid = batch.nid(stamp);
 
         //Create Pattern Chronology
         PatternRecord patternRecord = PatternRecordBuilder.builder()
@@ -65,9 +75,9 @@ public void write(PublicId pattern,
         final AtomicInteger patternIndex = new AtomicInteger(0);
         MutableList<FieldDefinitionRecord> fieldDefinitions = Lists.mutable.empty();
         patternFieldDetails.forEach(patternFieldDetail -> {
-            int meaningNid = EntityService.get().nidForPublicId(patternFieldDetail.meaning());
-            int purposeNid = EntityService.get().nidForPublicId(patternFieldDetail.purpose());
-            int dataTypeNid = EntityService.get().nidForPublicId(patternFieldDetail.dataType());
+            int meaningNid = batch.nid(patternFieldDetail.meaning());
+            int purposeNid = batch.nid(patternFieldDetail.purpose());
+            int dataTypeNid = batch.nid(patternFieldDetail.dataType());
 
             FieldDefinitionRecord fieldDefinitionRecord = FieldDefinitionRecordBuilder.builder()
                     .patternNid(patternNid)
@@ -91,6 +101,6 @@ public void write(PublicId pattern,
 
         //Rebuild the Pattern with the now populated version data
         PatternEntity<? extends PatternEntityVersion> patternEntity = PatternRecordBuilder.builder(patternRecord).versions(versions.toImmutable()).build();
-        EntityService.get().putEntity(patternEntity);
+        batch.put(patternEntity);
     }
 }
@@ -24,9 +24,19 @@
 public class STAMPWriter implements Writer {
 
     public final PublicId stamp;
+    private final WriteBatch batch;
 
     public STAMPWriter(PublicId stamp) {
+        this(stamp, WriteBatch.immediate());
+    }
+
+    /**
+     * @param stamp the stamp written
+     * @param batch the batch the stamp is written to, put in the store when the batch is committed
+     */
+    public STAMPWriter(PublicId stamp, WriteBatch batch) {
         this.stamp = stamp;
+        this.batch = batch;
     }
 
     public void write(STAMPDetail stampDetail){
@@ -40,11 +50,11 @@ public void write(STAMPDetail stampDetail){
         long[] additionalLongs = createAdditionalLongs(stamp);
 
         //Assign nids for STAMP component Concepts
-        int stampNid = EntityService.get().nidForUuids(primordialUUID);
-        int statusNid = EntityService.get().nidForPublicId(stampDetail.status());
-        int authorNid = EntityService.get().nidForPublicId(stampDetail.author());
-        int moduleNid = EntityService.get().nidForPublicId(stampDetail.module());
-        int pathNid = EntityService.get().nidForPublicId(stampDetail.path());
+        int stampNid = batch.nid(stamp);
+        int statusNid = batch.nid(stampDetail.status());
+        int authorNid = batch.nid(stampDetail.author());
+        int moduleNid = batch.nid(stampDetail.module());
+        int pathNid = batch.nid(stampDetail.path());
 
         //Create STAMP Chronology
         StampRecord stampRecord = StampRecordBuilder.builder()
@@ -67,6 +77,6 @@ public void write(STAMPDetail stampDetail){
 
         //Rebuild the StampRecord with the now populated version data
         StampEntity<? extends StampEntityVersion> stampEntity = StampRecordBuilder.builder(stampRecord).versions(versions.toImmutable()).build();
-        EntityService.get().putEntity(stampEntity);
+        batch.put(stampEntity);
     }
 }
@@ -29,9 +29,19 @@
 public class SemanticWriter implements Writer {
 
     private final PublicId stamp;
+    private final WriteBatch batch;
 
     public SemanticWriter(PublicId stamp) {
+        this(stamp, WriteBatch.immediate());
+    }
+
+    /**
+     * @param stamp the stamp of the semantics written
+     * @param batch the batch the semantics are written to, put in the store when the batch is committed
+     */
+    public SemanticWriter(PublicId stamp, WriteBatch batch) {
         this.stamp = stamp;
+        this.batch = batch;
     }
 
     public void semantic(PublicId semantic, SemanticDetail semanticDetail){
@@ -40,7 +50,7 @@ public void semantic(PublicId semantic, SemanticDetail semanticDetail){
 
     public void description(PublicId semantic, PublicId referencedComponent, PublicId descriptionType, String text){
         //Assign nids to description components
-        final int descriptionTypeNid = EntityService.get().nidForPublicId(descriptionType);
+        final int descriptionTypeNid = batch.nid(descriptionType);
         final ConceptFacade descriptionTypeFacade = ConceptFacade.make(descriptionTypeNid);
 
         //Create Semantic Detail
@@ -63,7 +73,7 @@ public void identifier(PublicId semantic, PublicId referencedComponent, PublicId
         PublicId identifierPattern = PublicIds.of(UUID.fromString("5d60e14b-c410-5172-9559-3c4253278ae2"));
 
         //Assign nids to description components
-        final int sourceNid = EntityService.get().nidForPublicId(source);
+        final int sourceNid = batch.nid(source);
         final ConceptFacade sourceFacade = ConceptFacade.make(sourceNid);
 
         //Create Semantic Detail
@@ -81,7 +91,7 @@ public void identifier(PublicId semantic, PublicId referencedComponent, PublicId
 
     public void usDialect(PublicId semantic, PublicId referencedComponent, PublicId dialectAcceptability){
         //Assign nids to description components
-        final int dialectNid = EntityService.get().nidForPublicId(dialectAcceptability);
+        final int dialectNid = batch.nid(dialectAcceptability);
         final ConceptFacade dialectFacade = ConceptFacade.make(dialectNid);
 
         //Create Semantic Detail
@@ -142,7 +152,7 @@ public void versionControl(PublicId semantic, PublicId referencedComponent, Publ
         PublicId versionControlPattern = PublicIds.of(UUID.fromString("70f89dd5-2cdb-59bb-bbaa-98527513547c"));
 
         //Assign nids to description components
-        final int conceptNid = EntityService.get().nidForPublicId(concept);
+        final int conceptNid = batch.nid(concept);
         final ConceptFacade conceptFacade = ConceptFacade.make(conceptNid);
 
         //Create Semantic Detail
@@ -251,10 +261,10 @@ private void write(PublicId semantic, SemanticDetail semanticDetail){
         UUID primordialUUID = semantic.asUuidArray()[0];
 
         //Assign nids for PublicIds
-        int semanticNid = EntityService.get().nidForPublicId(semantic);
-        int patternNid = EntityService.get().nidForPublicId(semanticDetail.pattern());
-        int referencedComponentNid = EntityService.get().nidForPublicId(semanticDetail.referencedComponent());
-        int stampNid = EntityService.get().nidForPublicId(stamp);
+        int semanticNid = batch.nid(semantic);
+        int patternNid = batch.nid(semanticDetail.pattern());
+        int referencedComponentNid = batch.nid(semanticDetail.referencedComponent());
+        int stampNid = batch.nid(stamp);
 
         //Process additional UUID longs from PublicId
         long[] additionalLongs = createAdditionalLongs(semantic);
@@ -284,6 +294,6 @@ private void write(PublicId semantic, SemanticDetail semanticDetail){
         SemanticEntity<? extends SemanticEntityVersion> semanticEntity = SemanticRecordBuilder
                 .builder(semanticRecord)
                 .versions(versions.toImmutable()).build();
-        EntityService.get().putEntity(semanticEntity);
+        batch.put(semanticEntity);
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.kview.data.persistence;
+
+import dev.ikm.tinkar.common.id.PublicId;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.StampEntity;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+
+import java.util.UUID;
+
+/**
+ * Collects the records built by the writers of one save, and puts them in the entity store together when the
+ * save is committed.
+ * <p>
+ * A save usually writes a stamp and several concepts and semantics that reference one another and the same
+ * stamp, pattern and type concepts. The batch resolves the nid of each public id once, however many records
+ * use it, and holds the records until {@link #commit()}, which puts the stamps first, then the components in
+ * the order they were written. If building a record fails, nothing of the save has been put, so a failed save
+ * leaves no partial record behind; discard the batch instead of committing it.
+ * <p>
+ * A batch is used by one thread at a time.
+ */
+public final class WriteBatch {
+
+    private final boolean immediate;
+    private final MutableMap<ImmutableList<UUID>, Integer> nids = Maps.mutable.empty();
+    private final MutableList<StampEntity<?>> stamps = Lists.mutable.empty();
+    private final MutableList<Entity<?>> components = Lists.mutable.empty();
+
+    public WriteBatch() {
+        this(false);
+    }
+
+    private WriteBatch(boolean immediate) {
+        this.immediate = immediate;
+    }
+
+    /**
+     * @return a batch that puts each record as soon as it is written, for writers used outside a batch
+     */
+    static WriteBatch immediate() {
+        return new WriteBatch(true);
+    }
+
+    /**
+     * @param publicId the public id of a component, whether or not it is in the store yet
+     * @return the component's nid, resolved once per batch
+     */
+    public int nid(PublicId publicId) {
+        return nids.getIfAbsentPut(publicId.asUuidList(), () -> EntityService.get().nidForPublicId(publicId));
+    }
+
+    void put(Entity<?> entity) {
+        if (immediate) {
+            EntityService.get().putEntity(entity);
+        } else if (entity instanceof StampEntity<?> stamp) {
+            stamps.add(stamp);
+        } else {
+            components.add(entity);
+        }
+    }
+
+    /**
+     * @return the number of records written and not yet committed
+     */
+    public int size() {
+        return stamps.size() + components.size();
+    }
+
+    /**
+     * Puts the records written since the last commit in the entity store, stamps first.
+     */
+    public void commit() {
+        stamps.forEach(EntityService.get()::putEntity);
+        components.forEach(EntityService.get()::putEntity);
+        stamps.clear();
+        components.clear();
+    }
+}
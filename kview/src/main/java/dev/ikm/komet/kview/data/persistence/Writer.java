@@ -22,10 +22,11 @@
 public interface Writer {
 
     default long[] createAdditionalLongs(PublicId publicId) {
-        long[] additionalLongs = new long[(publicId.uuidCount() * 2) - 2];
+        UUID[] uuids = publicId.asUuidArray();
+        long[] additionalLongs = new long[(uuids.length * 2) - 2];
         int index = 0;
-        for (int i = 1; i < publicId.uuidCount(); i++) {
-            UUID uuid = publicId.asUuidArray()[i];
+        for (int i = 1; i < uuids.length; i++) {
+            UUID uuid = uuids[i];
             additionalLongs[index++] = uuid.getMostSignificantBits();
             additionalLongs[index++] = uuid.getLeastSignificantBits();
         }
@@ -21,6 +21,7 @@
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.framework.window.WindowSettings;
 import dev.ikm.komet.kview.data.persistence.SemanticWriter;
+import dev.ikm.komet.kview.data.persistence.WriteBatch;
 import dev.ikm.komet.kview.data.schema.SemanticDetail;
 import dev.ikm.komet.preferences.KometPreferences;
 import dev.ikm.komet.preferences.KometPreferencesImpl;
@@ -366,6 +367,22 @@ public static boolean isSubtype(NavigationCalculator navCalc, PublicId pubId, Pu
     }
 
     public static PublicId write(LidrRecord lidrRecord, PublicId referencedComponentPublicId, PublicId stampEntity){
+        WriteBatch batch = new WriteBatch();
+        PublicId lidrPublicId = write(lidrRecord, referencedComponentPublicId, stampEntity, batch);
+        batch.commit();
+        return lidrPublicId;
+    }
+
+    /**
+     * Writes a LIDR record semantic to a batch, which the caller commits with the rest of the save.
+     *
+     * @param lidrRecord the LIDR record
+     * @param referencedComponentPublicId the device concept the record's diagnostic device semantic references
+     * @param stampEntity the stamp of the record
+     * @param batch the batch the record is written to
+     * @return the public id of the LIDR record semantic
+     */
+    public static PublicId write(LidrRecord lidrRecord, PublicId referencedComponentPublicId, PublicId stampEntity, WriteBatch batch){
         // LIDR Record must be a Semantic referencing (pointing to) a Diagnostic Device Semantic
         // Diagnostic Device Semantics are expected to have 2 "child" semantics and therefore the structure will be like below:
         //
@@ -393,30 +410,30 @@ public static PublicId write(LidrRecord lidrRecord, PublicId referencedComponent
 
         // Create a semantic record representing a LIDR Record pattern
         // LIDR Record Semantic references (points to) the Diagnostic Device Semantic
-        SemanticWriter writer = new SemanticWriter(stampEntity);
+        SemanticWriter writer = new SemanticWriter(stampEntity, batch);
         Supplier<MutableList<Object>> fieldsSupplier = () -> {
             // Targets into IntLists
             IntIdSet targetIds = lidrRecord.targets() == null ? IntIds.set.empty() : IntIds.set.of(lidrRecord.targets(),
-                    (dto) -> PrimitiveData.get().nidForPublicId(dto.targetId()));
+                    (dto) -> batch.nid(dto.targetId()));
 
             // Specimens into IntLists
             IntIdSet specimenIds = lidrRecord.specimens() == null ? IntIds.set.empty() : IntIds.set.of(lidrRecord.specimens(),
-                    (dto) -> PrimitiveData.get().nidForPublicId(dto.specimenId()));
+                    (dto) -> batch.nid(dto.specimenId()));
 
             // Results conformance into IntLists for
             IntIdSet resultConfIds = lidrRecord.resultConformances() == null ? IntIds.set.empty() : IntIds.set.of(lidrRecord.resultConformances(),
-                    (resultConf) -> PrimitiveData.get().nidForPublicId(resultConf.resultConformanceId()));
+                    (resultConf) -> batch.nid(resultConf.resultConformanceId()));
 
             // Create pattern's field definitions
             MutableList<Object> lidrRecordFields = Lists.mutable.empty();
 
-            ConceptFacade testPerformed = ConceptFacade.make(PrimitiveData.get().nidForPublicId(lidrRecord.testPerformedId()));
+            ConceptFacade testPerformed = ConceptFacade.make(batch.nid(lidrRecord.testPerformedId()));
             lidrRecordFields.add(testPerformed);     // Test performed (concept)
 
-            ConceptFacade resultType = ConceptFacade.make(PrimitiveData.get().nidForPublicId(lidrRecord.dataResultsTypeId()));
+            ConceptFacade resultType = ConceptFacade.make(batch.nid(lidrRecord.dataResultsTypeId()));
             lidrRecordFields.add(resultType);   // Result Type (concept)
 
-            ConceptFacade analyte = ConceptFacade.make(PrimitiveData.get().nidForPublicId(lidrRecord.analyte().analyteId()));
+            ConceptFacade analyte = ConceptFacade.make(batch.nid(lidrRecord.analyte().analyteId()));
             lidrRecordFields.add(analyte); // Analyte (concept)
 
             lidrRecordFields.add(targetIds);                        // Target (int set/ IntSet)
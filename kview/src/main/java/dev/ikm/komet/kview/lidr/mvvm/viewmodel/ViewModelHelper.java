@@ -20,6 +20,7 @@
 import dev.ikm.komet.kview.data.persistence.ConceptWriter;
 import dev.ikm.komet.kview.data.persistence.STAMPWriter;
 import dev.ikm.komet.kview.data.persistence.SemanticWriter;
+import dev.ikm.komet.kview.data.persistence.WriteBatch;
 import dev.ikm.komet.kview.lidr.mvvm.model.LidrRecord;
 import dev.ikm.komet.kview.lidr.mvvm.model.DataModelHelper;
 import dev.ikm.tinkar.common.id.IntIdSet;
@@ -96,13 +97,16 @@ public static PublicId addNewLidrRecord(LidrRecord lidrRecord, PublicId device,
         // Generate a new Stamp / with a new time.
         STAMPDetail stampDetail = toStampDetail(stampViewModel).with(System.currentTimeMillis());
 
-        // Create a stamp into the database.
+        // Write a stamp to a batch; the stamp and record are put in the database together when the batch is committed.
+        WriteBatch batch = new WriteBatch();
         PublicId newStampPublicId = PublicIds.newRandom();
-        STAMPWriter stampWriter = new STAMPWriter(newStampPublicId);
+        STAMPWriter stampWriter = new STAMPWriter(newStampPublicId, batch);
         stampWriter.write(stampDetail);
 
-        // Lidr record is written to database. It needs a device and stamp entity.
-        return DataModelHelper.write(lidrRecord, device, newStampPublicId);
+        // Lidr record is written to the batch. It needs a device and stamp entity.
+        PublicId lidrPublicId = DataModelHelper.write(lidrRecord, device, newStampPublicId, batch);
+        batch.commit();
+        return lidrPublicId;
     }
 
     /**
@@ -147,19 +151,20 @@ public static PublicId createQualitativeResultConcept(ResultsViewModel resultsVi
         //   b. quantitative pattern
         // 3. property and scale Axiom section.
 
-        // Create a stamp into the database.
+        // Write a stamp to a batch; the stamp, concept and semantics are put in the database together when the batch is committed.
+        WriteBatch batch = new WriteBatch();
         PublicId newStampPublicId = PublicIds.newRandom();
-        STAMPWriter stampWriter = new STAMPWriter(newStampPublicId);
+        STAMPWriter stampWriter = new STAMPWriter(newStampPublicId, batch);
         stampWriter.write(stampDetail);
 
         // Create Result Concept
         PublicId resultPublicId = PublicIds.newRandom();
-        ConceptWriter conceptWriter = new ConceptWriter(newStampPublicId);
+        ConceptWriter conceptWriter = new ConceptWriter(newStampPublicId, batch);
         conceptWriter.write(resultPublicId);
 
         // Create Fully q name semantic
         PublicId fqnDescrSemantic = PublicIds.newRandom();
-        SemanticWriter descrSemantic = new SemanticWriter(newStampPublicId);
+        SemanticWriter descrSemantic = new SemanticWriter(newStampPublicId, batch);
         descrSemantic.description(fqnDescrSemantic, resultPublicId, FQN_DESCR_CONCEPT.publicId(), resultName);
 
         // Identifier
@@ -167,7 +172,7 @@ public static PublicId createQualitativeResultConcept(ResultsViewModel resultsVi
         descrSemantic.identifier(identifierUUID, resultPublicId, UUID_CONCEPT.publicId(), resultPublicId.asUuidArray()[0].toString());
 
         // Result Conformance Semantic has pattern of
-        SemanticWriter resultConformanceSemantic = new SemanticWriter(newStampPublicId);
+        SemanticWriter resultConformanceSemantic = new SemanticWriter(newStampPublicId, batch);
         PublicId resultConformanceSemanticId = PublicIds.newRandom();
 
 
@@ -184,7 +189,7 @@ public static PublicId createQualitativeResultConcept(ResultsViewModel resultsVi
         resultConformanceSemantic.semantic(resultConformanceSemanticId, new SemanticDetail(ALLOWED_RESULTS_PATTERN.publicId(), resultPublicId, fieldsSupplier));
 
         // Add Axiom Semantic
-        SemanticWriter axiomSemantic = new SemanticWriter(newStampPublicId);
+        SemanticWriter axiomSemantic = new SemanticWriter(newStampPublicId, batch);
         PublicId newAxiomId = PublicIds.newRandom();
         axiomSemantic.semantic(newAxiomId,
                 new SemanticDetail(
@@ -204,6 +209,7 @@ public static PublicId createQualitativeResultConcept(ResultsViewModel resultsVi
                             return semanticFields;
                         })
         );
+        batch.commit();
         return resultPublicId;
     }
     static Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([a-zA-Z\\d\\_]+)\\}");
@@ -0,0 +1,328 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.kview.mvvm.view.changeset.exchange;
+
+import dev.ikm.tinkar.common.util.time.DateTimeUtil;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.map.MutableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Records what is known about each changeset file in the changesets folder of a data store, so a sync reads only
+ * the files that are new or changed since the last sync, rather than every changeset ever written.
+ * <p>
+ * For each changeset the catalog keeps its path relative to the changesets folder, its size and modification time,
+ * which tell whether the file changed since it was cataloged, its SHA-256 checksum, its package date and the main
+ * attributes of its manifest. Whether a changeset has been loaded into the data store is recorded only by the
+ * {@link LoadedChangesetLedger}, by checksum. A zip without a manifest is an unfinished export and is not
+ * cataloged, so it is looked at again on the next update.
+ * <p>
+ * The catalog is a text file next to the {@link LoadedChangesetLedger}, with one line per update of an entry: the
+ * fields of the entry separated by tabs, then one field per manifest attribute, {@code name=value}. A later line
+ * for a path replaces earlier ones, and a line with the path alone removes the entry. Updates are appended, and
+ * the file is rewritten when it is read and holds many more lines than entries. Fields without a '=' after the
+ * fixed fields, such as the loaded flag of earlier versions of the catalog, are ignored.
+ */
+public class ChangesetCatalog {
+    private static final Logger LOG = LoggerFactory.getLogger(ChangesetCatalog.class);
+
+    public static final String CATALOG_FILENAME = "changeset-catalog.txt";
+    public static final String CHANGESET_SUFFIX = "ike-cs.zip";
+    /**
+     * The manifest attribute read as the package date, when present; otherwise the date in the file name is used.
+     */
+    public static final String PACKAGE_DATE_ATTRIBUTE = "Package-Date";
+    private static final String MANIFEST_PATH = "META-INF/MANIFEST.MF";
+    private static final int FIXED_FIELDS = 5;
+
+    private static final ConcurrentHashMap<Path, ChangesetCatalog> CATALOGS = new ConcurrentHashMap<>();
+
+    /**
+     * A cataloged changeset file.
+     *
+     * @param path         the path of the file relative to the changesets folder, separated by '/'
+     * @param size         the size of the file when it was cataloged
+     * @param lastModified the modification time of the file when it was cataloged, in epoch milliseconds
+     * @param checksum     the SHA-256 checksum of the file, in hexadecimal
+     * @param packageDate  when the changeset was packaged, or null if neither its manifest nor its name tell
+     * @param manifest     the main attributes of the file's manifest
+     */
+    public record Entry(String path,
+                        long size,
+                        long lastModified,
+                        String checksum,
+                        Instant packageDate,
+                        ImmutableMap<String, String> manifest) {
+
+        private boolean isCurrent(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis();
+        }
+
+        private String toLine() {
+            StringBuilder sb = new StringBuilder(path).append('\t')
+                    .append(size).append('\t')
+                    .append(lastModified).append('\t')
+                    .append(checksum).append('\t')
+                    .append(packageDate == null ? "" : packageDate.toEpochMilli());
+            manifest.forEachKeyValue((name, value) -> sb.append('\t').append(name).append('=').append(value));
+            return sb.toString();
+        }
+
+        private static Entry parse(String[] fields) {
+            MutableMap<String, String> manifest = Maps.mutable.empty();
+            for (int i = FIXED_FIELDS; i < fields.length; i++) {
+                int equals = fields[i].indexOf('=');
+                if (equals > 0) {
+                    manifest.put(fields[i].substring(0, equals), fields[i].substring(equals + 1));
+                }
+            }
+            return new Entry(fields[0],
+                    Long.parseLong(fields[1]),
+                    Long.parseLong(fields[2]),
+                    fields[3],
+                    fields[4].isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(fields[4])),
+                    manifest.toImmutable());
+        }
+    }
+
+    private final Path changeSetFolder;
+    private final Path catalogFile;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Reads the catalog file, if it exists.
+     *
+     * @param changeSetFolder the changesets folder the catalog describes
+     * @param catalogFile     the catalog file
+     */
+    public ChangesetCatalog(Path changeSetFolder, Path catalogFile) {
+        this.changeSetFolder = changeSetFolder;
+        this.catalogFile = catalogFile;
+        if (Files.exists(catalogFile)) {
+            int lineCount = 0;
+            try {
+                for (String line : Files.readAllLines(catalogFile, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    lineCount++;
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length == 1) {
+                        entries.remove(fields[0]);
+                    } else if (fields.length >= FIXED_FIELDS) {
+                        try {
+                            entries.put(fields[0], Entry.parse(fields));
+                        } catch (RuntimeException ex) {
+                            LOG.warn("Skipping unreadable changeset catalog line: {}", line);
+                        }
+                    }
+                }
+            } catch (IOException ex) {
+                LOG.error("Unable to read changeset catalog: {}", catalogFile, ex);
+            }
+            if (lineCount > 2 * entries.size() + 64) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * @param changeSetFolder the changesets folder of a data store
+     * @return the catalog of the data store, read once and then shared by every sync in this JVM
+     */
+    public static ChangesetCatalog forChangeSetFolder(Path changeSetFolder) {
+        Path folder = changeSetFolder.toAbsolutePath().normalize();
+        return CATALOGS.computeIfAbsent(folder,
+                _ -> new ChangesetCatalog(folder, folder.resolveSibling(CATALOG_FILENAME)));
+    }
+
+    /**
+     * @param path the path of a changeset file relative to the changesets folder
+     * @return the file's entry, if it is cataloged
+     */
+    public synchronized Optional<Entry> get(String path) {
+        return Optional.ofNullable(entries.get(normalize(path)));
+    }
+
+    /**
+     * @return the number of cataloged changesets
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Brings the entries of the given files up to date. Only files that are not cataloged, or whose size or
+     * modification time changed, are opened; entries of files that no longer exist are removed.
+     *
+     * @param relativePaths paths relative to the changesets folder, such as those of a git diff or status;
+     *                      paths that are not changeset files are ignored
+     * @return the entries of the given files that are complete changesets, in the order given
+     */
+    public synchronized ImmutableList<Entry> update(Iterable<String> relativePaths) {
+        MutableList<Entry> current = Lists.mutable.empty();
+        MutableList<String> lines = Lists.mutable.empty();
+        for (String relativePath : relativePaths) {
+            String path = normalize(relativePath);
+            if (!path.endsWith(CHANGESET_SUFFIX)) {
+                continue;
+            }
+            Path file = changeSetFolder.resolve(path);
+            Entry entry = entries.get(path);
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (IOException ex) {
+                attributes = null;
+            }
+            if (attributes == null || !attributes.isRegularFile()) {
+                if (entries.remove(path) != null) {
+                    lines.add(path);
+                }
+                continue;
+            }
+            if (entry == null || !entry.isCurrent(attributes)) {
+                entry = read(path, file, attributes);
+                if (entry == null) {
+                    // Unfinished export or not a changeset; look again next time
+                    if (entries.remove(path) != null) {
+                        lines.add(path);
+                    }
+                    continue;
+                }
+                entries.put(path, entry);
+                lines.add(entry.toLine());
+            }
+            current.add(entry);
+        }
+        append(lines);
+        return current.toImmutable();
+    }
+
+    private static String normalize(String relativePath) {
+        return relativePath.replace('\\', '/');
+    }
+
+    /**
+     * Reads the manifest and checksum of a changeset file.
+     *
+     * @return the file's entry, or null if it has no manifest or cannot be read
+     */
+    private Entry read(String path, Path file, BasicFileAttributes attributes) {
+        Optional<Manifest> manifest = readManifest(file);
+        if (manifest.isEmpty()) {
+            return null;
+        }
+        MutableMap<String, String> mainAttributes = Maps.mutable.empty();
+        manifest.get().getMainAttributes().forEach((name, value) ->
+                mainAttributes.put(name.toString(), value.toString().replace('\t', ' ')));
+        try {
+            return new Entry(path, attributes.size(), attributes.lastModifiedTime().toMillis(),
+                    LoadedChangesetLedger.checksum(file),
+                    packageDate(manifest.get().getMainAttributes(), path), mainAttributes.toImmutable());
+        } catch (IOException ex) {
+            LOG.error("Unable to read changeset: {}", file, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the manifest from the zip's central directory, without opening the zip as a file system.
+     */
+    private static Optional<Manifest> readManifest(Path file) {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry manifestEntry = zip.getEntry(MANIFEST_PATH);
+            if (manifestEntry == null) {
+                return Optional.empty();
+            }
+            try (InputStream in = zip.getInputStream(manifestEntry)) {
+                return Optional.of(new Manifest(in));
+            }
+        } catch (IOException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static Instant packageDate(Attributes mainAttributes, String path) {
+        String packageDate = mainAttributes.getValue(PACKAGE_DATE_ATTRIBUTE);
+        if (packageDate != null) {
+            try {
+                return Instant.parse(packageDate);
+            } catch (RuntimeException ex) {
+                try {
+                    return Instant.from(DateTimeUtil.COMPRESSED_DATE_TIME.parse(packageDate));
+                } catch (RuntimeException ignored) {
+                    // Fall back to the date in the file name
+                }
+            }
+        }
+        Long epochMillis = GitSyncFileSorter.filenameDateTime(path).epochMillis();
+        return epochMillis == null ? null : Instant.ofEpochMilli(epochMillis);
+    }
+
+    private void append(List<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(catalogFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        } catch (IOException ex) {
+            LOG.error("Unable to update changeset catalog: {}", catalogFile, ex);
+        }
+    }
+
+    /**
+     * Rewrites the catalog file with one line per entry.
+     */
+    private void compact() {
+        Path compacted = catalogFile.resolveSibling(catalogFile.getFileName() + ".tmp");
+        try {
+            Files.write(compacted, entries.values().stream().map(Entry::toLine).toList(), StandardCharsets.UTF_8);
+            Files.move(compacted, catalogFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOG.error("Unable to compact changeset catalog: {}", catalogFile, ex);
+        }
+    }
+}
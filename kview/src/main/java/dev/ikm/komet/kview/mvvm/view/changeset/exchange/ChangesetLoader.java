@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.kview.mvvm.view.changeset.exchange;
+
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Loads changeset files as a two stage pipeline.
+ * <p>
+ * The prepare stage reads each file and computes its checksum on a pool, several files ahead of the file being
+ * loaded, so reading overlaps with loading and the loader finds the files in the operating system's file cache.
+ * The apply stage loads the files one at a time, in the order given, which is their timestamp order, skipping
+ * files whose checksum shows they were already loaded into this data store. A file whose checksum is already
+ * known, such as from the {@link ChangesetCatalog}, is not read by the prepare stage.
+ */
+public class ChangesetLoader {
+    private static final Logger LOG = LoggerFactory.getLogger(ChangesetLoader.class);
+
+    public static final int DEFAULT_FILES_IN_FLIGHT = 8;
+
+    /**
+     * Loads the entities of a changeset file into the data store.
+     */
+    @FunctionalInterface
+    public interface Applier {
+        /**
+         * @param file the changeset file
+         * @return the number of entities loaded
+         * @throws Exception if the file cannot be loaded
+         */
+        long apply(File file) throws Exception;
+    }
+
+    /**
+     * Notified as each file is handled by the apply stage, on the loading thread.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param index the zero based position of the file in the load order
+         * @param total the number of files to load
+         * @param file  the file about to be loaded or skipped
+         */
+        void beforeFile(int index, int total, File file);
+    }
+
+    /**
+     * The outcome of a load, with its throughput.
+     *
+     * @param loaded       the number of files loaded
+     * @param skipped      the number of files skipped because they were already loaded
+     * @param failed       the number of files that could not be read or loaded
+     * @param entityCount  the number of entities loaded
+     * @param byteCount    the size of the files loaded
+     * @param elapsedNanos the time taken by the whole pipeline
+     */
+    public record Result(int loaded, int skipped, int failed, long entityCount, long byteCount, long elapsedNanos) {
+        public double entitiesPerSecond() {
+            return elapsedNanos == 0 ? 0 : entityCount * 1e9 / elapsedNanos;
+        }
+
+        public double megabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : byteCount * 1e9 / elapsedNanos / (1024 * 1024);
+        }
+
+        @Override
+        public String toString() {
+            return "loaded %d, skipped %d, failed %d changesets; %d entities in %.1f s (%.0f entities/s, %.1f MB/s)"
+                    .formatted(loaded, skipped, failed, entityCount, elapsedNanos / 1e9,
+                            entitiesPerSecond(), megabytesPerSecond());
+        }
+    }
+
+    private record Prepared(File file, String checksum, long size) {
+    }
+
+    private final LoadedChangesetLedger ledger;
+    private final ExecutorService prepareExecutor;
+    private final Applier applier;
+    private final int filesInFlight;
+
+    public ChangesetLoader(LoadedChangesetLedger ledger, ExecutorService prepareExecutor, Applier applier) {
+        this(ledger, prepareExecutor, applier, DEFAULT_FILES_IN_FLIGHT);
+    }
+
+    public ChangesetLoader(LoadedChangesetLedger ledger, ExecutorService prepareExecutor, Applier applier,
+                           int filesInFlight) {
+        if (filesInFlight < 1) {
+            throw new IllegalArgumentException("Files in flight must be positive: " + filesInFlight);
+        }
+        this.ledger = ledger;
+        this.prepareExecutor = prepareExecutor;
+        this.applier = applier;
+        this.filesInFlight = filesInFlight;
+    }
+
+    /**
+     * @param files     the changeset files, in the order to load them
+     * @param cancelled checked before each file; once true, no further files are loaded
+     * @param listener  notified before each file is loaded or skipped
+     * @return the outcome of the load
+     * @throws InterruptedException if interrupted while waiting for a file to be prepared
+     */
+    public Result load(List<File> files, BooleanSupplier cancelled, Listener listener) throws InterruptedException {
+        return load(files, Map.of(), cancelled, listener);
+    }
+
+    /**
+     * @param files     the changeset files, in the order to load them
+     * @param checksums the SHA-256 checksums already known for some of the files, which are not computed again
+     * @param cancelled checked before each file; once true, no further files are loaded
+     * @param listener  notified before each file is loaded or skipped
+     * @return the outcome of the load
+     * @throws InterruptedException if interrupted while waiting for a file to be prepared
+     */
+    public Result load(List<File> files, Map<File, String> checksums, BooleanSupplier cancelled, Listener listener)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        int loaded = 0;
+        int skipped = 0;
+        int failed = 0;
+        long entityCount = 0;
+        long byteCount = 0;
+
+        Deque<Future<Prepared>> inFlight = new ArrayDeque<>(filesInFlight);
+        int nextToPrepare = 0;
+        try {
+            for (; nextToPrepare < files.size() && nextToPrepare < filesInFlight; nextToPrepare++) {
+                inFlight.add(submitPrepare(files.get(nextToPrepare), checksums));
+            }
+            for (int index = 0; index < files.size(); index++) {
+                if (cancelled.getAsBoolean()) {
+                    break;
+                }
+                File file = files.get(index);
+                listener.beforeFile(index, files.size(), file);
+                Future<Prepared> preparing = inFlight.removeFirst();
+                if (nextToPrepare < files.size()) {
+                    inFlight.add(submitPrepare(files.get(nextToPrepare++), checksums));
+                }
+
+                Prepared prepared;
+                try {
+                    prepared = preparing.get();
+                } catch (ExecutionException ex) {
+                    LOG.error("Failed to read changeset: {}", file.getName(), ex.getCause());
+                    failed++;
+                    continue;
+                }
+                if (ledger.contains(prepared.checksum())) {
+                    LOG.info("Skipped changeset already loaded: {}", file.getName());
+                    skipped++;
+                    continue;
+                }
+                try {
+                    entityCount += applier.apply(file);
+                    byteCount += prepared.size();
+                    ledger.record(prepared.checksum(), file.getName());
+                    loaded++;
+                    LOG.info("Loaded changeset: {}", file.getName());
+                } catch (Exception ex) {
+                    LOG.error("Failed to load changeset: {}", file.getName(), ex);
+                    failed++;
+                }
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(false));
+        }
+        Result result = new Result(loaded, skipped, failed, entityCount, byteCount, System.nanoTime() - start);
+        LOG.info("Changeset load: {}", result);
+        return result;
+    }
+
+    private Future<Prepared> submitPrepare(File file, Map<File, String> checksums) {
+        String checksum = checksums.get(file);
+        if (checksum != null) {
+            return CompletableFuture.completedFuture(new Prepared(file, checksum, file.length()));
+        }
+        return prepareExecutor.submit(TaskPriority.BULK.wrap(() ->
+                new Prepared(file, LoadedChangesetLedger.checksum(file.toPath()), file.length())));
+    }
+}
@@ -4,6 +4,7 @@
 
 import java.time.Instant;
 import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,6 +26,46 @@ public class GitSyncFileSorter implements Comparator<String> {
     static final String FILENAME_DATETIME_REGEX = "(\\d{8}T\\d{6}[A-Z]{3})";
     static final Pattern FILENAME_DATETIME_PATTERN = Pattern.compile(FILENAME_DATETIME_REGEX);
 
+    /**
+     * The datetime in a file path, parsed once per path.
+     *
+     * @param dateTime    the datetime text of the path, or null if it has none
+     * @param epochMillis the datetime as epoch milliseconds, or null if the text cannot be parsed
+     */
+    record FilenameDateTime(String dateTime, Long epochMillis) {
+        static final FilenameDateTime NONE = new FilenameDateTime(null, null);
+
+        boolean found() {
+            return dateTime != null;
+        }
+    }
+
+    /**
+     * Sorting compares each path with several others, so the datetime of each path is kept rather than matched
+     * and parsed again for every comparison.
+     */
+    private final ConcurrentHashMap<String, FilenameDateTime> parsed = new ConcurrentHashMap<>();
+
+    /**
+     * Finds and parses the datetime in a file path.
+     *
+     * @param path a file path
+     * @return the datetime of the path, {@link FilenameDateTime#NONE} if it has none
+     */
+    static FilenameDateTime filenameDateTime(String path) {
+        Matcher matcher = FILENAME_DATETIME_PATTERN.matcher(path);
+        if (!matcher.find()) {
+            return FilenameDateTime.NONE;
+        }
+        String match = matcher.group();
+        try {
+            // Convert datetime String regex match to epochMillis
+            return new FilenameDateTime(match, Instant.from(DateTimeUtil.COMPRESSED_DATE_TIME.parse(match)).toEpochMilli());
+        } catch (Exception ex) {
+            return new FilenameDateTime(match, null);
+        }
+    }
+
     /**
      * Compares two file paths for sorting / ordering.
      *
@@ -34,47 +75,33 @@ public class GitSyncFileSorter implements Comparator<String> {
      */
     @Override
     public int compare(String s1, String s2) {
-        Matcher s1Matcher = FILENAME_DATETIME_PATTERN.matcher(s1);
-        Matcher s2Matcher = FILENAME_DATETIME_PATTERN.matcher(s2);
-
-        boolean s1Found = s1Matcher.find();
-        boolean s2Found = s2Matcher.find();
+        FilenameDateTime s1DateTime = parsed.computeIfAbsent(s1, GitSyncFileSorter::filenameDateTime);
+        FilenameDateTime s2DateTime = parsed.computeIfAbsent(s2, GitSyncFileSorter::filenameDateTime);
 
-        if (s1Found && !s2Found) {
+        if (s1DateTime.found() && !s2DateTime.found()) {
             return -1; // Datetime found in s1 but not s2, so s1 comes first
-        } else if (!s1Found && s2Found) {
+        } else if (!s1DateTime.found() && s2DateTime.found()) {
             return 1; // Datetime found in s2 but not s1, so s2 comes first
-        } else if (!s1Found && !s2Found) {
+        } else if (!s1DateTime.found() && !s2DateTime.found()) {
             return s1.compareTo(s2); // Datetime not found in either, so use default string comparison
-        } else {
-            // Datetime found in both, so compare datetime representations
-            String s1Match = s1Matcher.group();
-            String s2Match = s2Matcher.group();
-
-            try {
-                // Convert datetime String regex matches to epochMillis and compare resulting values
-                Instant s1Instant = Instant.from(DateTimeUtil.COMPRESSED_DATE_TIME.parse(s1Match));
-                Instant s2Instant = Instant.from(DateTimeUtil.COMPRESSED_DATE_TIME.parse(s2Match));
-                long s1EpochMillis = s1Instant.toEpochMilli();
-                long s2EpochMillis = s2Instant.toEpochMilli();
-
-                int dateTimeCompareResult = Long.compare(s1EpochMillis, s2EpochMillis);
+        } else if (s1DateTime.epochMillis() != null && s2DateTime.epochMillis() != null) {
+            // Datetime found in both, so compare epochMillis values
+            int dateTimeCompareResult = Long.compare(s1DateTime.epochMillis(), s2DateTime.epochMillis());
 
-                if (dateTimeCompareResult == 0) {
-                    return s1.compareTo(s2); // Datetime representations are equal, so use default string comparison
-                } else {
-                    return dateTimeCompareResult;
-                }
-            } catch (Exception ex) {
-                // If there is an error converting either datetime to epochMillis, then lexicographically compare
-                // the datetime String regex matches since it is extremely likely the first 8 digits (i.e, yyyyMMdd)
-                // will determine the appropriate sorting order.
-                int matchResult = s1Match.compareTo(s2Match);
-                if (matchResult == 0) {
-                    return s1.compareTo(s2); // String regex matches are still equal, so use default string comparison
-                } else {
-                    return matchResult;
-                }
+            if (dateTimeCompareResult == 0) {
+                return s1.compareTo(s2); // Datetime representations are equal, so use default string comparison
+            } else {
+                return dateTimeCompareResult;
+            }
+        } else {
+            // If either datetime could not be converted to epochMillis, then lexicographically compare
+            // the datetime String regex matches since it is extremely likely the first 8 digits (i.e, yyyyMMdd)
+            // will determine the appropriate sorting order.
+            int matchResult = s1DateTime.dateTime().compareTo(s2DateTime.dateTime());
+            if (matchResult == 0) {
+                return s1.compareTo(s2); // String regex matches are still equal, so use default string comparison
+            } else {
+                return matchResult;
             }
         }
     }
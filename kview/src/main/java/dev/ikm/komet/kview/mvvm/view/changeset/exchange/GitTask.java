@@ -15,17 +15,27 @@
  */
 package dev.ikm.komet.kview.mvvm.view.changeset.exchange;
 
+import dev.ikm.komet.framework.concurrent.PrioritizedTask;
+import dev.ikm.komet.framework.concurrent.TaskPriority;
 import dev.ikm.komet.framework.events.appevents.RefreshCalculatorCacheEvent;
 import dev.ikm.komet.kview.mvvm.model.GitHubPreferences;
 import dev.ikm.komet.kview.mvvm.model.GitHubPreferencesDao;
 import dev.ikm.komet.kview.mvvm.view.changeset.exchange.credentials.GitHubCredentialsProvider;
 import dev.ikm.komet.kview.mvvm.view.changeset.exchange.credentials.GitSslValidationCredentialsProvider;
+import dev.ikm.tinkar.common.service.CachingService;
 import dev.ikm.tinkar.common.service.PluggableService;
+import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.PrimitiveDataService;
 import dev.ikm.tinkar.common.service.SaveState;
+import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.common.service.TrackingCallable;
 import dev.ikm.tinkar.coordinate.Calculators;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
 import dev.ikm.tinkar.entity.ChangeSetWriterService;
-import dev.ikm.tinkar.entity.EntityCountSummary;
+import dev.ikm.tinkar.entity.Entity;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
 import dev.ikm.tinkar.entity.load.LoadEntitiesFromProtobufFile;
 import dev.ikm.tinkar.events.EvtBusFactory;
 import dev.ikm.tinkar.reasoner.service.ClassifierResults;
@@ -34,6 +44,9 @@
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
 import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.CommitCommand;
 import org.eclipse.jgit.api.Git;
@@ -42,6 +55,7 @@
 import org.eclipse.jgit.api.PullCommand;
 import org.eclipse.jgit.api.PullResult;
 import org.eclipse.jgit.api.PushCommand;
+import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.lib.ObjectId;
@@ -61,23 +75,24 @@
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Stream;
 
 import static dev.ikm.komet.framework.events.appevents.RefreshCalculatorCacheEvent.GLOBAL_REFRESH;
+import static dev.ikm.komet.framework.events.appevents.RefreshCalculatorCacheEvent.NIDS_REFRESH;
 import static dev.ikm.tinkar.events.FrameworkTopics.CALCULATOR_CACHE_TOPIC;
 
 /**
@@ -92,7 +107,7 @@
  * <p>
  * Each operation follows a series of phases, with detailed progress tracking throughout.
  */
-public class GitTask extends TrackingCallable<Boolean> {
+public class GitTask extends TrackingCallable<Boolean> implements PrioritizedTask {
 
     private static final Logger LOG = LoggerFactory.getLogger(GitTask.class);
 
@@ -134,6 +149,34 @@ public String toString() {
     public static final String REMOTE_NAME = "origin";
     public static final String README_FILENAME = "README.md";
 
+    /**
+     * When a pull affects more concepts than this, a global refresh is published rather than a targeted one.
+     */
+    private static final int MAX_TARGETED_REFRESH_SIZE = 10_000;
+
+    /**
+     * The reasoners are kept across pulls of the same data store, so once a reasoner has classified it, the
+     * axioms loaded by later pulls can be classified incrementally. They are released when another data store
+     * is opened or the caches are reset as the data store closes. Guarded by {@link #REASONER_LOCK}, which is
+     * also held while a pull classifies, so one pull at a time uses them.
+     */
+    private static ImmutableList<ReasonerService> reasoners;
+    private static PrimitiveDataService reasonersDataService;
+    private static final Object REASONER_LOCK = new Object();
+
+    /**
+     * Releases the reasoners, and the classification state they hold, when the caches are reset.
+     */
+    public static class CacheProvider implements CachingService {
+        @Override
+        public void reset() {
+            synchronized (REASONER_LOCK) {
+                reasoners = null;
+                reasonersDataService = null;
+            }
+        }
+    }
+
     /**
      * Defines the progress phases for each operation mode with their progress boundaries.
      * <p>
@@ -207,6 +250,10 @@ public double getEnd() {
 
     private final ChainingCredentialsProvider chainingCredentialsProvider;
 
+    // PULL/SYNC mode fields, set by loading changesets
+    private ImmutableIntSet writtenNids = IntSets.immutable.empty();
+    private long loadedEntityCount = 0;
+
     /**
      * Creates a new GitTask with the specified operation mode and changeset folder.
      *
@@ -244,6 +291,16 @@ public GitTask(OperationMode operationMode,
         updateProgress(0, TOTAL_WORK);
     }
 
+    /**
+     * Pull and sync load changesets and may run the reasoner, so they are scheduled as bulk work.
+     *
+     * @return {@link TaskPriority#BULK} for PULL and SYNC, {@link TaskPriority#NORMAL} for CONNECT
+     */
+    @Override
+    public TaskPriority taskPriority() {
+        return operationMode == OperationMode.CONNECT ? TaskPriority.NORMAL : TaskPriority.BULK;
+    }
+
     /**
      * Executes the appropriate operation based on the selected mode.
      * For PULL and SYNC modes, first checks if the repository is fully
@@ -657,11 +714,12 @@ private boolean executeSync(boolean pushChanges) throws GitAPIException, IOExcep
 
         // Load changesets phase - pass the list of added files
         loadChangesets(pullPhase.getEnd(), loadPhase.getEnd(), addedFiles);
-        //Refresh UI after changesets are loaded
-        EvtBusFactory.getDefaultEvtBus().publish(CALCULATOR_CACHE_TOPIC, new RefreshCalculatorCacheEvent(this, GLOBAL_REFRESH));
 
         // Run reasoner phase
-        runReasoner(loadPhase.getEnd(), reasonerPhase.getEnd());
+        MutableIntSet affectedNids = runReasoner(loadPhase.getEnd(), reasonerPhase.getEnd());
+
+        //Refresh UI after changesets are loaded and classified
+        publishRefresh(affectedNids);
 
         // Push phase (if enabled)
         if (pushChanges) {
@@ -740,19 +798,17 @@ private ImmutableList<String> pull(double startPercentage, double endPercentage,
                 if (!newHead.equals(oldHead)) {
                     List<DiffEntry> changedFiles = getChangedFiles(git.getRepository(), oldHead, newHead);
 
-                    // Filter for only ADD changes and files ending with ike-cs.zip
-                    MutableList<String> newFiles = Lists.mutable.empty();
+                    // Filter for only ADD changes, and catalog those that are complete changesets
+                    MutableList<String> addedPaths = Lists.mutable.empty();
                     for (DiffEntry diff : changedFiles) {
-                        if (diff.getChangeType() == DiffEntry.ChangeType.ADD &&
-                                diff.getNewPath().endsWith("ike-cs.zip")) {
-
-                            Path filePath = changeSetFolder.resolve(diff.getNewPath());
-                            if (isValidChangeset(filePath)) {
-                                // Add this to our list of files to load
-                                newFiles.add(diff.getNewPath());
-                            }
+                        if (diff.getChangeType() == DiffEntry.ChangeType.ADD) {
+                            addedPaths.add(diff.getNewPath());
                         }
                     }
+                    MutableList<String> newFiles = ChangesetCatalog.forChangeSetFolder(changeSetFolder)
+                            .update(addedPaths)
+                            .collect(ChangesetCatalog.Entry::path)
+                            .toList();
 
                     // Sort the files to ensure consistent loading order
                     newFiles.sort(fileSorter);
@@ -856,7 +912,10 @@ private List<DiffEntry> getChangedFiles(Repository repository,
     }
 
     /**
-     * Loads changesets from the specified list of files.
+     * Loads changesets from the specified list of files. Files are read and checksummed ahead on the IO pool
+     * while earlier files load, then loaded one at a time in the given order; files whose checksum is in the
+     * {@link LoadedChangesetLedger} of this data store are skipped. The checksums of cataloged files are taken
+     * from the {@link ChangesetCatalog} rather than computed again.
      *
      * @param startPercentage   the progress percentage at the start of this phase
      * @param endPercentage     the progress percentage at the end of this phase
@@ -870,7 +929,6 @@ private void loadChangesets(double startPercentage, double endPercentage,
         }
 
         updatePhaseProgress(startPercentage, endPercentage, 0.0);
-        MutableList<EntityCountSummary> loadResults = Lists.mutable.empty();
 
         if (relativeFilePaths.isEmpty()) {
             updateMessage("No changeset files found to load.");
@@ -879,77 +937,178 @@ private void loadChangesets(double startPercentage, double endPercentage,
         }
 
         int total = relativeFilePaths.size();
-        int current = 0;
-
-        for (String relativePath : relativeFilePaths) {
-            current++;
-            File file = changeSetFolder.resolve(relativePath).toFile();
-            updateMessage("Loading changeset " + current + " of " + total + ": " + file.getName());
-            // Update progress based on current file's position in the total
-            double loadProgress = (double) current / total;
-            updatePhaseProgress(startPercentage, endPercentage, loadProgress * 0.9); // Reserve 10% for completion
-
-            try {
-                // isValidChangeset check already done when filtering files
-                EntityCountSummary ecs = new LoadEntitiesFromProtobufFile(file).compute();
-                loadResults.add(ecs);
-                LOG.info("Loaded changeset: {}", file.getName());
-            } catch (Exception ex) {
-                LOG.error("Failed to load changeset: {}", file.getName(), ex);
-            }
+        List<File> files = relativeFilePaths.collect(relativePath -> changeSetFolder.resolve(relativePath).toFile()).castToList();
+
+        // The files were cataloged as complete changesets when they were pulled
+        ChangesetCatalog catalog = ChangesetCatalog.forChangeSetFolder(changeSetFolder);
+        Map<File, String> checksums = new HashMap<>();
+        for (int i = 0; i < total; i++) {
+            File file = files.get(i);
+            catalog.get(relativeFilePaths.get(i)).ifPresent(entry -> checksums.put(file, entry.checksum()));
+        }
+        LoadedChangesetLedger ledger = LoadedChangesetLedger.forChangeSetFolder(changeSetFolder);
+        ChangesetLoader loader = new ChangesetLoader(ledger,
+                TinkExecutor.ioThreadPool(), file -> new LoadEntitiesFromProtobufFile(file).compute().getTotalCount());
+        ChangesetLoader.Result result;
+        WrittenNidCollector.get().start();
+        try {
+            result = loader.load(files, checksums, this::isCancelled, (index, count, file) -> {
+                updateMessage("Loading changeset " + (index + 1) + " of " + count + ": " + file.getName());
+                // Update progress based on current file's position in the total
+                double loadProgress = (double) (index + 1) / count;
+                updatePhaseProgress(startPercentage, endPercentage, loadProgress * 0.9); // Reserve 10% for completion
+            });
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            updateMessage("Loading changesets interrupted.");
+            return;
+        } finally {
+            writtenNids = WrittenNidCollector.get().stop();
         }
+        loadedEntityCount = result.entityCount();
 
-        updateMessage("Successfully loaded " + loadResults.size() + " of " + total + " changesets.");
+        String skippedMessage = result.skipped() == 0 ? "" : " (" + result.skipped() + " already loaded)";
+        updateMessage("Successfully loaded %d of %d changesets%s at %.0f entities/s.".formatted(
+                result.loaded(), total, skippedMessage, result.entitiesPerSecond()));
         updatePhaseProgress(startPercentage, endPercentage, 1.0);
     }
 
     /**
-     * Runs the reasoning process on the loaded data.
+     * Runs the reasoning process on the loaded data. The stated axioms written by the loaded changesets are
+     * classified incrementally by reasoners that have already classified the data store; other reasoners,
+     * and all reasoners when the written axioms are not known or stated axioms were also written outside
+     * the load, such as by a local edit, classify the whole data store.
      *
      * @param startPercentage the progress percentage at the start of this phase
      * @param endPercentage   the progress percentage at the end of this phase
+     * @return the nids of the concepts affected by the loaded changesets and by classification, or null if
+     * they are not known
      */
-    private void runReasoner(double startPercentage, double endPercentage) {
+    private MutableIntSet runReasoner(double startPercentage, double endPercentage) {
+        MutableIntSet affectedNids = affectedConceptNids();
         if (isCancelled()) {
             updateMessage("Operation cancelled by user.");
-            return;
+            return affectedNids;
         }
 
         updateMessage("Starting reasoning process...");
         updatePhaseProgress(startPercentage, endPercentage, 0.0);
 
-        ImmutableList<ReasonerService> reasoners = loadReasonerServices();
-        processWithReasoners(reasoners, startPercentage, endPercentage);
+        ViewCalculator viewCalculator = Calculators.View.Default();
+        ImmutableList<ClassifierResults> results;
+        // The reasoners are shared, so one pull at a time classifies with them
+        synchronized (REASONER_LOCK) {
+            ImmutableList<ReasonerService> reasoners = reasonerServices();
+            boolean editedOutsidePull = WrittenNidCollector.get().takeStatedAxiomsWrittenOutsideLoad();
+            if (editedOutsidePull) {
+                LOG.info("Stated axioms were written outside the pull, classifying the whole data store");
+            }
+            List<SemanticEntityVersion> statedAxiomEdits = affectedNids == null || editedOutsidePull
+                    ? null : statedAxiomEdits(viewCalculator);
+            results = processWithReasoners(reasoners, viewCalculator, statedAxiomEdits, startPercentage, endPercentage);
+        }
+        if (affectedNids != null) {
+            for (ClassifierResults result : results) {
+                affectedNids.addAll(result.getConceptsWithInferredChanges());
+                affectedNids.addAll(result.getConceptsWithNavigationChanges());
+            }
+        }
 
         updateMessage("Reasoning process completed successfully.");
         updatePhaseProgress(startPercentage, endPercentage, 1.0);
+        return affectedNids;
     }
 
     /**
-     * Loads available reasoner services of the specified type.
+     * @return the nids of the concepts written by the loaded changesets, or whose semantics were written,
+     * or null if entities were loaded but the written nids are not known
+     */
+    private MutableIntSet affectedConceptNids() {
+        if (loadedEntityCount > 0 && writtenNids.isEmpty()) {
+            return null;
+        }
+        MutableIntSet affectedNids = IntSets.mutable.empty();
+        writtenNids.forEach(nid -> {
+            affectedNids.add(nid);
+            if (Entity.getFast(nid) instanceof SemanticEntity<?> semantic) {
+                affectedNids.add(semantic.topEnclosingComponentNid());
+            }
+        });
+        return affectedNids;
+    }
+
+    /**
+     * @param viewCalculator the calculator the reasoners classify with
+     * @return the latest versions of the stated axiom semantics written by the loaded changesets
+     */
+    private List<SemanticEntityVersion> statedAxiomEdits(ViewCalculator viewCalculator) {
+        int statedAxiomsPatternNid = TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN.nid();
+        List<SemanticEntityVersion> edits = new ArrayList<>();
+        writtenNids.forEach(nid -> {
+            if (Entity.getFast(nid) instanceof SemanticEntity<?> semantic
+                    && semantic.patternNid() == statedAxiomsPatternNid) {
+                Latest<SemanticEntityVersion> latest = viewCalculator.latest(nid);
+                latest.ifPresent(edits::add);
+            }
+        });
+        return edits;
+    }
+
+    /**
+     * Publishes a refresh of the affected concepts, or a global refresh if they are not known or too many.
+     *
+     * @param affectedNids the nids of the affected concepts, or null if they are not known
+     */
+    private void publishRefresh(MutableIntSet affectedNids) {
+        RefreshCalculatorCacheEvent event;
+        if (affectedNids == null || affectedNids.size() > MAX_TARGETED_REFRESH_SIZE) {
+            event = new RefreshCalculatorCacheEvent(this, GLOBAL_REFRESH);
+        } else if (affectedNids.isEmpty()) {
+            return;
+        } else {
+            event = new RefreshCalculatorCacheEvent(this, NIDS_REFRESH, affectedNids.toImmutable());
+        }
+        EvtBusFactory.getDefaultEvtBus().publish(CALCULATOR_CACHE_TOPIC, event);
+    }
+
+    /**
+     * Gets the available reasoner services of the specified type, loading them on first use with the open
+     * data store. Called holding {@link #REASONER_LOCK}.
      *
      * @return A list of available reasoner services
      */
-    private ImmutableList<ReasonerService> loadReasonerServices() {
-        final String reasonerType = "ElkSnomedReasoner";
-        ImmutableList<ReasonerService> reasoners = Lists.immutable
-                .ofAll(PluggableService.load(ReasonerService.class).stream()
-                        .map(ServiceLoader.Provider::get)
-                        .filter(reasoner -> reasoner.getName().contains(reasonerType))
-                        .sorted(Comparator.comparing(ReasonerService::getName)).toList());
-
-        LOG.info("Number of reasoners {}", reasoners.size());
+    private static ImmutableList<ReasonerService> reasonerServices() {
+        PrimitiveDataService dataService = PrimitiveData.get();
+        if (reasoners == null || reasonersDataService != dataService) {
+            // Let the reasoners of the previous data store be collected before loading new ones
+            reasoners = null;
+            reasonersDataService = dataService;
+            final String reasonerType = "ElkSnomedReasoner";
+            reasoners = Lists.immutable
+                    .ofAll(PluggableService.load(ReasonerService.class).stream()
+                            .map(ServiceLoader.Provider::get)
+                            .filter(reasoner -> reasoner.getName().contains(reasonerType))
+                            .sorted(Comparator.comparing(ReasonerService::getName)).toList());
+
+            LOG.info("Number of reasoners {}", reasoners.size());
+        }
         return reasoners;
     }
 
     /**
      * Processes data with the available reasoners.
      *
-     * @param reasoners       The list of reasoners to use
-     * @param startPercentage The start percentage for this phase
-     * @param endPercentage   The end percentage for this phase
+     * @param reasoners        The list of reasoners to use
+     * @param viewCalculator   The calculator to classify with
+     * @param statedAxiomEdits The stated axioms written by the loaded changesets, or null if they are not known
+     * @param startPercentage  The start percentage for this phase
+     * @param endPercentage    The end percentage for this phase
+     * @return the results of the reasoners that ran
      */
-    private void processWithReasoners(ImmutableList<ReasonerService> reasoners, double startPercentage, double endPercentage) {
+    private ImmutableList<ClassifierResults> processWithReasoners(ImmutableList<ReasonerService> reasoners,
+                                                                  ViewCalculator viewCalculator,
+                                                                  List<SemanticEntityVersion> statedAxiomEdits,
+                                                                  double startPercentage, double endPercentage) {
         MutableList<ClassifierResults> resultList = Lists.mutable.empty();
         int reasonerCount = reasoners.size();
 
@@ -966,21 +1125,36 @@ private void processWithReasoners(ImmutableList<ReasonerService> reasoners, doub
             double reasonerStartPercent = reasoningWorkStart + ((remainingReasoning / reasonerCount) * i);
             double reasonerEndPercent = reasoningWorkStart + ((remainingReasoning / reasonerCount) * (i + 1));
 
-            rs.init(Calculators.View.Default(), TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN, TinkarTerm.EL_PLUS_PLUS_INFERRED_AXIOMS_PATTERN);
+            boolean incremental = statedAxiomEdits != null && rs.isIncrementalReady();
+            if (incremental && statedAxiomEdits.isEmpty()) {
+                LOG.info("No stated axioms loaded, skipping reasoner: {}", rs.getName());
+                updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 1.0);
+                continue;
+            }
+            if (!incremental) {
+                rs.init(viewCalculator, TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN, TinkarTerm.EL_PLUS_PLUS_INFERRED_AXIOMS_PATTERN);
+            }
 
             // Use this task as the progress updater
             rs.setProgressUpdater(this);
 
             try {
-                // Extract
-                updateMessage("Extracting data for reasoning...");
-                rs.extractData();
-                updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.25);
-
-                // Load
-                updateMessage("Loading data for reasoning...");
-                rs.loadData();
-                updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.5);
+                if (incremental) {
+                    // Classify only the stated axioms loaded by this pull
+                    updateMessage("Processing %d changed axioms for reasoning...".formatted(statedAxiomEdits.size()));
+                    rs.processIncremental(List.of(), statedAxiomEdits);
+                    updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.5);
+                } else {
+                    // Extract
+                    updateMessage("Extracting data for reasoning...");
+                    rs.extractData();
+                    updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.25);
+
+                    // Load
+                    updateMessage("Loading data for reasoning...");
+                    rs.loadData();
+                    updatePhaseProgress(reasonerStartPercent, reasonerEndPercent, 0.5);
+                }
 
                 // Compute
                 updateMessage("Computing inferences...");
@@ -1006,6 +1180,7 @@ private void processWithReasoners(ImmutableList<ReasonerService> reasoners, doub
                 LOG.error("Failed to load data for reasoning", ex);
             }
         }
+        return resultList.toImmutable();
     }
 
     /**
@@ -1075,7 +1250,7 @@ private boolean saveCurrentChangeSet() {
     private void pushToRemoteRepository(double startPercentage, double endPercentage)
             throws GitAPIException, IOException {
         try (Git git = Git.open(changeSetFolder.toFile())) {
-            ImmutableList<String> filesToAdd = filesToAdd(changeSetFolder, "ike-cs.zip");
+            ImmutableList<String> filesToAdd = filesToAdd(git);
 
             if (filesToAdd.isEmpty()) {
                 LOG.info("No changeset files found to add");
@@ -1127,40 +1302,23 @@ private void pushToRemoteRepository(double startPercentage, double endPercentage
     }
 
     /**
-     * Identifies files in a directory matching the specified pattern that are valid changesets.
+     * Identifies the changeset files that are new or modified in the working tree. Only those files are
+     * cataloged, so the cost is proportional to the changesets written since the last commit rather than to all
+     * the changesets in the repository.
      *
-     * @param directory The directory to search for files
-     * @param pattern   The file extension pattern to match
-     * @return An immutable list of relative paths to valid changeset files
+     * @param git the repository of the changesets folder
+     * @return an immutable list of relative paths, separated by '/', to complete changeset files
+     * @throws GitAPIException if the status of the working tree cannot be read
      */
-    ImmutableList<String> filesToAdd(Path directory, String pattern) {
-        // TODO: Refactor to return List of Paths and force file separator in JGit commands
-        try (Stream<Path> filesStream = Files.walk(directory)) {
-            return Lists.immutable.ofAll(filesStream
-                    .filter(Files::isRegularFile)
-                    .filter(path -> path.toString().endsWith(pattern))
-                    .filter(this::isValidChangeset)
-                    .map(path -> directory.relativize(path).toString().replace("\\", "/")) // Must enforce '/' file path separator for JGit Add Command
-                    .sorted() // Add natural sorting by file path
-                    .toList());
-        } catch (IOException e) {
-            LOG.error("Error searching for files", e);
-            return Lists.immutable.empty();
-        }
-    }
-
-    /**
-     * Validates whether a file is a valid changeset archive.
-     *
-     * @param file The path to the file to check
-     * @return true if the file is a valid changeset, false otherwise
-     */
-    private boolean isValidChangeset(Path file) {
-        try (FileSystem fs = FileSystems.newFileSystem(file)) {
-            return Files.exists(fs.getPath("META-INF", "MANIFEST.MF"));
-        } catch (IOException ex) {
-            return false;
-        }
+    ImmutableList<String> filesToAdd(Git git) throws GitAPIException {
+        Status status = git.status().call();
+        MutableList<String> changedPaths = Lists.mutable.withAll(status.getUntracked());
+        changedPaths.addAll(status.getModified());
+        return ChangesetCatalog.forChangeSetFolder(changeSetFolder)
+                .update(changedPaths)
+                .collect(ChangesetCatalog.Entry::path)
+                .toSortedList() // Add natural sorting by file path
+                .toImmutable();
     }
 
     // -------------------- Common Helper Methods --------------------
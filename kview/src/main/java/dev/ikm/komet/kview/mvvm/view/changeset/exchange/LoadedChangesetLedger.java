@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.kview.mvvm.view.changeset.exchange;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records the checksums of the changeset files that have been loaded into a data store, so a file that is pulled
+ * again, under the same or a different name, is not loaded twice.
+ * <p>
+ * The ledger is a text file with one line per loaded changeset: the SHA-256 checksum of the file, a tab, and the
+ * file name. It lives in the data store root, next to the changesets folder, rather than in the git repository,
+ * since it describes what the data store holds rather than what the repository holds.
+ */
+public class LoadedChangesetLedger {
+    private static final Logger LOG = LoggerFactory.getLogger(LoadedChangesetLedger.class);
+
+    public static final String LEDGER_FILENAME = "loaded-changesets.txt";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path ledgerFile;
+    private final Set<String> checksums = new HashSet<>();
+
+    /**
+     * Reads the ledger file, if it exists.
+     *
+     * @param ledgerFile the ledger file
+     */
+    public LoadedChangesetLedger(Path ledgerFile) {
+        this.ledgerFile = ledgerFile;
+        if (Files.exists(ledgerFile)) {
+            try {
+                List<String> lines = Files.readAllLines(ledgerFile, StandardCharsets.UTF_8);
+                for (String line : lines) {
+                    int tab = line.indexOf('\t');
+                    String checksum = tab < 0 ? line.strip() : line.substring(0, tab);
+                    if (!checksum.isEmpty()) {
+                        checksums.add(checksum);
+                    }
+                }
+            } catch (IOException ex) {
+                LOG.error("Unable to read changeset ledger: {}", ledgerFile, ex);
+            }
+        }
+    }
+
+    /**
+     * @param changeSetFolder the changesets folder of a data store
+     * @return the ledger of the data store
+     */
+    public static LoadedChangesetLedger forChangeSetFolder(Path changeSetFolder) {
+        return new LoadedChangesetLedger(changeSetFolder.toAbsolutePath().resolveSibling(LEDGER_FILENAME));
+    }
+
+    /**
+     * @param checksum the checksum of a changeset file
+     * @return true if a file with this checksum has been loaded
+     */
+    public synchronized boolean contains(String checksum) {
+        return checksums.contains(checksum);
+    }
+
+    /**
+     * Records that a changeset file has been loaded.
+     *
+     * @param checksum the checksum of the file
+     * @param fileName the name of the file, recorded for troubleshooting only
+     */
+    public synchronized void record(String checksum, String fileName) {
+        if (checksums.add(checksum)) {
+            try {
+                Files.writeString(ledgerFile, checksum + '\t' + fileName + System.lineSeparator(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException ex) {
+                LOG.error("Unable to update changeset ledger: {}", ledgerFile, ex);
+            }
+        }
+    }
+
+    /**
+     * Computes the checksum of a file by streaming it, which also brings it into the operating system's file cache
+     * ahead of loading.
+     *
+     * @param file the file
+     * @return the SHA-256 checksum of the file, in hexadecimal
+     * @throws IOException if the file cannot be read
+     */
+    public static String checksum(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.kview.mvvm.view.changeset.exchange;
+
+import dev.ikm.komet.framework.cache.EntityWrites;
+import dev.ikm.tinkar.entity.SemanticEntity;
+import dev.ikm.tinkar.terms.TinkarTerm;
+import org.eclipse.collections.api.set.primitive.ImmutableIntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+
+/**
+ * Collects the nids of the entities written to the data store while changesets load, so the work that
+ * follows a load, such as classification and cache invalidation, can be limited to what the changesets touched.
+ * <p>
+ * A single listener is registered for entity writes for the life of the application, and only
+ * records nids between {@link #start()} and {@link #stop()}. Outside a load, it notes whether any stated
+ * axioms were written, such as by a local edit, so a reasoner that classified the data store before the
+ * edit is not used to classify later loads incrementally.
+ */
+final class WrittenNidCollector {
+
+    private static final WrittenNidCollector INSTANCE = new WrittenNidCollector();
+
+    private final EntityWrites.Listener listener = this::written;
+    private MutableIntSet collecting;
+    private boolean statedAxiomsWrittenOutsideLoad = false;
+
+    private WrittenNidCollector() {
+    }
+
+    static WrittenNidCollector get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts recording written nids, discarding any recorded by an earlier load.
+     */
+    synchronized void start() {
+        EntityWrites.addListener(listener);
+        collecting = IntSets.mutable.empty();
+    }
+
+    /**
+     * Stops recording written nids.
+     *
+     * @return the nids written since {@link #start()}
+     */
+    synchronized ImmutableIntSet stop() {
+        ImmutableIntSet written = collecting == null ? IntSets.immutable.empty() : collecting.toImmutable();
+        collecting = null;
+        return written;
+    }
+
+    /**
+     * Reports, and then forgets, whether stated axioms were written since the last call other than by a load.
+     * Writes made before the first {@link #start()} are not seen.
+     *
+     * @return true if stated axioms were written outside a load
+     */
+    synchronized boolean takeStatedAxiomsWrittenOutsideLoad() {
+        boolean written = statedAxiomsWrittenOutsideLoad;
+        statedAxiomsWrittenOutsideLoad = false;
+        return written;
+    }
+
+    private synchronized void written(EntityWrites.Write write) {
+        if (collecting != null) {
+            collecting.add(write.nid());
+        } else if (!statedAxiomsWrittenOutsideLoad
+                && write.entity() instanceof SemanticEntity<?> semantic
+                && semantic.patternNid() == TinkarTerm.EL_PLUS_PLUS_STATED_AXIOMS_PATTERN.nid()) {
+            statedAxiomsWrittenOutsideLoad = true;
+        }
+    }
+}
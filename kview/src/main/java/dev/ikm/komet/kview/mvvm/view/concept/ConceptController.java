@@ -476,7 +476,11 @@ public void initialize() {
 
         // TODO: When event bus is more universally used the database can emit events. For now we listen for a refresh calculator events
         // Refresh Concept window
-        refreshCalculatorEventSubscriber = _ -> {
+        refreshCalculatorEventSubscriber = evt -> {
+            EntityFacade currentEntity = conceptViewModel.getPropertyValue(CURRENT_ENTITY);
+            if (currentEntity != null && !evt.affects(currentEntity.nid())) {
+                return;
+            }
             LOG.info("Refresh concept window details");
             Runnable code = () -> {
                 clearView();
@@ -47,6 +47,7 @@
 import dev.ikm.komet.kview.fxutils.SlideOutTrayHelper;
 import dev.ikm.komet.kview.klwindows.AbstractEntityChapterKlWindow;
 import dev.ikm.komet.kview.klwindows.ChapterKlWindow;
+import dev.ikm.komet.kview.klwindows.EntityKlWindowState;
 import dev.ikm.komet.kview.klwindows.EntityKlWindowTypes;
 import dev.ikm.komet.kview.klwindows.KlWindowPreferencesUtils;
 import dev.ikm.komet.kview.klwindows.concept.ConceptKlWindow;
@@ -94,6 +95,7 @@
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.geometry.Side;
@@ -174,6 +176,8 @@
 import static dev.ikm.komet.kview.mvvm.viewmodel.JournalViewModel.WINDOW_SETTINGS;
 import static dev.ikm.komet.kview.mvvm.viewmodel.ProgressViewModel.CANCEL_BUTTON_TEXT_PROP;
 import static dev.ikm.komet.kview.mvvm.viewmodel.ProgressViewModel.TASK_PROPERTY;
+import static dev.ikm.komet.preferences.JournalWindowPreferences.DEFAULT_JOURNAL_HEIGHT;
+import static dev.ikm.komet.preferences.JournalWindowPreferences.DEFAULT_JOURNAL_WIDTH;
 import static dev.ikm.komet.preferences.JournalWindowSettings.JOURNAL_AUTHOR;
 import static dev.ikm.komet.preferences.JournalWindowSettings.JOURNAL_DIR_NAME;
 import static dev.ikm.komet.preferences.JournalWindowSettings.JOURNAL_HEIGHT;
@@ -315,6 +319,10 @@ public class JournalController {
 
     private GraphNavigatorNode navigatorNode;
     private ObservableList<ChapterKlWindow<Pane>> journalWindows;
+    /**
+     * Restores the saved windows in the background; null until {@link #restoreWindows} finds saved windows.
+     */
+    private volatile JournalWindowRestorer windowRestorer;
 
     private static final String NEXT_GEN_SEARCH_FXML_URL = "next-gen-search.fxml";
 
@@ -907,6 +915,12 @@ public void shutdown() {
         navigatorNode = null;
         activityStreams.forEach(ActivityStreams::delete);
 
+        // stop restoring windows into a journal that is closing
+        final JournalWindowRestorer restorer = windowRestorer;
+        if (restorer != null) {
+            restorer.cancel();
+        }
+
         journalEventBus.unsubscribe(journalTopic, ShowNavigationalPanelEvent.class, showNavigationalPanelEventSubscriber);
         journalEventBus.unsubscribe(journalTopic, MakeConceptWindowEvent.class, makeComponentWindowEventSubscriber);
         journalEventBus.unsubscribe(journalTopic, MakePatternWindowEvent.class, makePatternWindowEventSubscriber);
@@ -1241,6 +1255,18 @@ private void createLidrWindow(ObservableViewNoOverride windowView,
      * @param chapterKlWindow the window to be configured and added to the workspace
      */
     private void setupWorkspaceWindow(ChapterKlWindow<Pane> chapterKlWindow) {
+        setupWorkspaceWindow(chapterKlWindow, null);
+    }
+
+    /**
+     * Configures a window and adds it to the workspace directly below another window in the stacking order.
+     *
+     * @param chapterKlWindow the window to be configured and added to the workspace
+     * @param windowAbove     the window to add it below, or {@code null} (or a window no longer in the
+     *                        workspace) to add it on top
+     * @see #setupWorkspaceWindow(ChapterKlWindow)
+     */
+    private void setupWorkspaceWindow(ChapterKlWindow<Pane> chapterKlWindow, ChapterKlWindow<Pane> windowAbove) {
         // Calls the remove method to remove the windows that were closed by the user.
         chapterKlWindow.setOnClose(() -> {
             chapterKlWindow.delete();
@@ -1255,7 +1281,12 @@ private void setupWorkspaceWindow(ChapterKlWindow<Pane> chapterKlWindow) {
         });
 
         // Adding the concept window panel as a child to the workspace.
-        workspace.getWindows().add(chapterKlWindow);
+        final int aboveIndex = windowAbove != null ? workspace.getWindows().indexOf(windowAbove) : -1;
+        if (aboveIndex >= 0) {
+            workspace.getWindows().add(aboveIndex, chapterKlWindow);
+        } else {
+            workspace.getWindows().add(chapterKlWindow);
+        }
         chapterKlWindow.onShown();
 
         if (chapterKlWindow instanceof ConceptKlWindow conceptKlWindow) {
@@ -1468,12 +1499,17 @@ public UUID getJournalTopic() {
     public void saveWindows(KometPreferences journalWindowPreferences) {
         Objects.requireNonNull(journalWindowPreferences, "journalWindowPreferences cannot be null");
 
-        final ImmutableList<String> windowNames = Lists.immutable.fromStream(workspace.getWindows()
+        ImmutableList<String> windowNames = Lists.immutable.fromStream(workspace.getWindows()
                 .stream().map(window -> {
                     final UUID windowTopic = window.getWindowTopic();
                     final String prefix = window.getWindowType().getPrefix();
                     return prefix + shortenUUID(windowTopic);
                 }));
+        // Windows still waiting to be restored keep their saved state
+        final JournalWindowRestorer restorer = windowRestorer;
+        if (restorer != null) {
+            windowNames = restorer.withPendingWindowIds(windowNames);
+        }
 
         // Put journal metadata in our preferences.
         final Stage stage = (Stage) journalBorderPane.getScene().getWindow();
@@ -1502,8 +1538,10 @@ public void saveWindows(KometPreferences journalWindowPreferences) {
      * Restores previously saved windows for this journal from the provided settings.
      * <p>
      * This method retrieves the list of saved window IDs from the journal preferences,
-     * then attempts to recreate each window with its saved state and content.
-     * Window restoration statistics are logged for diagnostic purposes.
+     * then recreates each window with its saved state and content, one window per pulse,
+     * starting with the windows within the journal's initial viewport. The data each window
+     * shows is loaded on background threads beforehand, so the journal is usable while the
+     * windows appear. Window restoration statistics are logged for diagnostic purposes.
      *
      * @param journalWindowSettings The settings object containing journal metadata
      * @throws NullPointerException if journalWindowSettings is null
@@ -1522,7 +1560,8 @@ public void restoreWindows(WindowSettings windowSettings, PrefX journalWindowSet
             // Looping through each window in each journal
             final List<String> windowsList = journalPreferences.getList(WINDOW_NAMES);
 
-            // Restore windows
+            // Read the saved state of each window
+            final List<JournalWindowRestorer.PendingWindow> pendingWindows = new ArrayList<>();
             for (String windowId : windowsList) {
                 if (!journalPreferences.nodeExists(windowId)) {
                     LOG.warn("Window preferences not found for window: {}", windowId);
@@ -1531,11 +1570,26 @@ public void restoreWindows(WindowSettings windowSettings, PrefX journalWindowSet
                 final KometPreferences windowPreferences = journalPreferences.node(windowId);
                 windowPreferences.putUuid(JOURNAL_TOPIC, getJournalTopic());
                 try {
-                    setupWorkspaceWindow(restoreWindow(windowSettings, windowPreferences));
+                    pendingWindows.add(new JournalWindowRestorer.PendingWindow(windowId, windowPreferences,
+                            EntityKlWindowState.fromPreferences(windowPreferences)));
                 } catch (Exception e) {
                     LOG.error("Error restoring window: {}", windowId, e);
                 }
             }
+            if (pendingWindows.isEmpty()) {
+                return;
+            }
+
+            // Restore windows, those visible when the journal opens first
+            final Double width = journalWindowSettings.getValue(JOURNAL_WIDTH);
+            final Double height = journalWindowSettings.getValue(JOURNAL_HEIGHT);
+            final Bounds visibleBounds = workspace.getVisibleBounds();
+            final Bounds viewport = visibleBounds != null ? visibleBounds : new BoundingBox(0, 0,
+                    width != null ? width : DEFAULT_JOURNAL_WIDTH, height != null ? height : DEFAULT_JOURNAL_HEIGHT);
+            windowRestorer = new JournalWindowRestorer(journalName, windowSettings.getView().calculator(),
+                    windowPreferences -> restoreWindow(windowSettings, windowPreferences),
+                    this::setupWorkspaceWindow);
+            windowRestorer.start(pendingWindows, viewport);
         } catch (Exception e) {
             LOG.error("Error recreating concept windows for journal '{}'", journalName, e);
         }
@@ -0,0 +1,311 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.kview.mvvm.view.journal;
+
+import dev.ikm.komet.framework.observable.ObservableEntity;
+import dev.ikm.komet.kview.klwindows.ChapterKlWindow;
+import dev.ikm.komet.kview.klwindows.EntityKlWindowState;
+import dev.ikm.komet.preferences.KometPreferences;
+import dev.ikm.tinkar.common.service.TinkExecutor;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.entity.EntityService;
+import javafx.application.Platform;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.layout.Pane;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static dev.ikm.komet.kview.controls.KLWorkspace.DEFAULT_WINDOW_HEIGHT;
+
+/**
+ * Restores the saved windows of a journal a window at a time, so the journal is usable while they appear.
+ * <p>
+ * The windows that fall within the journal's initial viewport are restored first, in their saved order, and
+ * the others follow nearest first. Each window still takes its saved place in the stacking order, whatever order
+ * it is restored in. The entity and view data of every window is read in parallel on background threads as soon
+ * as restoration starts, and each window is created on the JavaFX thread in a pulse of its own once its data is
+ * loaded. Windows not yet restored are kept in their saved place by {@link #withPendingWindowIds(ImmutableList)},
+ * so saving the journal meanwhile keeps them.
+ */
+public final class JournalWindowRestorer {
+    private static final Logger LOG = LoggerFactory.getLogger(JournalWindowRestorer.class);
+
+    /**
+     * A saved window that has not been restored yet.
+     *
+     * @param windowId    the name of the window's preferences node
+     * @param preferences the window's preferences
+     * @param state       the window's saved state
+     */
+    public record PendingWindow(String windowId, KometPreferences preferences, EntityKlWindowState state) {
+    }
+
+    /**
+     * Restore timings for one type of window.
+     */
+    private static final class TypeMetrics {
+        int count;
+        long prefetchNanos;
+        long restoreNanos;
+        long maxRestoreNanos;
+    }
+
+    private final String journalName;
+    private final ViewCalculator viewCalculator;
+    private final Function<KometPreferences, ? extends ChapterKlWindow<Pane>> restorer;
+    private final BiConsumer<ChapterKlWindow<Pane>, ChapterKlWindow<Pane>> windowSetup;
+
+    private final ConcurrentLinkedDeque<PendingWindow> pending = new ConcurrentLinkedDeque<>();
+    private volatile ImmutableList<PendingWindow> saved = Lists.immutable.empty();
+    private final Map<PendingWindow, ChapterKlWindow<Pane>> restored = new HashMap<>();
+    private final Map<String, TypeMetrics> metrics = new TreeMap<>();
+    private volatile boolean cancelled = false;
+    private long startNanos;
+    private long firstWindowNanos = -1;
+
+    /**
+     * @param journalName    the name of the journal, for logging
+     * @param viewCalculator the calculator of the journal's view, used to read each window's view data
+     * @param restorer       creates a window from its preferences
+     * @param windowSetup    adds a restored window to the journal's workspace, below the given restored window
+     *                       saved above it, or on top if there is none
+     */
+    JournalWindowRestorer(String journalName, ViewCalculator viewCalculator,
+                          Function<KometPreferences, ? extends ChapterKlWindow<Pane>> restorer,
+                          BiConsumer<ChapterKlWindow<Pane>, ChapterKlWindow<Pane>> windowSetup) {
+        this.journalName = journalName;
+        this.viewCalculator = viewCalculator;
+        this.restorer = restorer;
+        this.windowSetup = windowSetup;
+    }
+
+    /**
+     * Starts restoring the windows. Must be called on the JavaFX thread.
+     *
+     * @param windows  the saved windows, in their saved order
+     * @param viewport the region of the workspace that is visible when the journal opens
+     */
+    void start(List<PendingWindow> windows, Bounds viewport) {
+        startNanos = System.nanoTime();
+        saved = Lists.immutable.ofAll(windows);
+        ImmutableList<PendingWindow> ordered = restorationOrder(windows, viewport);
+        pending.addAll(ordered.castToList());
+        // Read the data of every window in parallel, in restoration order so the first windows are ready first
+        ImmutableList<CompletableFuture<Long>> prefetches = ordered.collect(window ->
+                CompletableFuture.supplyAsync(() -> prefetch(window.state()), TinkExecutor.threadPool()));
+        restoreNext(prefetches, 0);
+    }
+
+    /**
+     * Stops restoring windows; the windows not yet restored stay pending.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Adds the windows not yet restored to the names of the windows in the workspace, each in its saved place.
+     * May be called on any thread.
+     *
+     * @param windowIds the names of the preferences nodes of the windows in the workspace, in stacking order
+     * @return the names of the preferences nodes of the windows to save, in stacking order
+     * @see #withPendingWindowIds(ImmutableList, ImmutableList, ImmutableList)
+     */
+    ImmutableList<String> withPendingWindowIds(ImmutableList<String> windowIds) {
+        ImmutableList<String> savedIds = saved.collect(PendingWindow::windowId);
+        ImmutableList<String> pendingIds = Lists.immutable.fromStream(pending.stream().map(PendingWindow::windowId));
+        return withPendingWindowIds(windowIds, savedIds, pendingIds);
+    }
+
+    /**
+     * Inserts each pending window name into a list of window names directly after the nearest window saved
+     * before it that is in the list, or, if there is none, directly before the nearest window saved after it,
+     * or, if there is none of those either, at the end.
+     *
+     * @param windowIds  the names of the windows in the workspace, in stacking order
+     * @param savedIds   the names of all saved windows, in their saved stacking order
+     * @param pendingIds the names of the saved windows not yet restored
+     * @return the window names with the pending ones inserted
+     */
+    public static ImmutableList<String> withPendingWindowIds(ImmutableList<String> windowIds,
+                                                             ImmutableList<String> savedIds,
+                                                             ImmutableList<String> pendingIds) {
+        MutableList<String> result = windowIds.toList();
+        for (int i = 0; i < savedIds.size(); i++) {
+            String windowId = savedIds.get(i);
+            if (pendingIds.contains(windowId) && !result.contains(windowId)) {
+                result.add(savedPlace(result, savedIds, i), windowId);
+            }
+        }
+        return result.toImmutable();
+    }
+
+    private static int savedPlace(MutableList<String> windowIds, ImmutableList<String> savedIds, int savedIndex) {
+        for (int i = savedIndex - 1; i >= 0; i--) {
+            int below = windowIds.indexOf(savedIds.get(i));
+            if (below >= 0) {
+                return below + 1;
+            }
+        }
+        for (int i = savedIndex + 1; i < savedIds.size(); i++) {
+            int above = windowIds.indexOf(savedIds.get(i));
+            if (above >= 0) {
+                return above;
+            }
+        }
+        return windowIds.size();
+    }
+
+    /**
+     * Orders the windows to restore those within the viewport first, in their saved order, followed by the
+     * others, nearest to the viewport first.
+     *
+     * @param windows  the saved windows, in their saved order
+     * @param viewport the region of the workspace that is visible, in workspace coordinates
+     * @return the windows in the order to restore them
+     */
+    public static ImmutableList<PendingWindow> restorationOrder(List<PendingWindow> windows, Bounds viewport) {
+        MutableList<PendingWindow> visible = Lists.mutable.empty();
+        MutableList<PendingWindow> deferred = Lists.mutable.empty();
+        for (PendingWindow window : windows) {
+            if (savedBounds(window.state()).intersects(viewport)) {
+                visible.add(window);
+            } else {
+                deferred.add(window);
+            }
+        }
+        deferred.sort(Comparator.comparingDouble(window -> distance(savedBounds(window.state()), viewport)));
+        return visible.withAll(deferred).toImmutable();
+    }
+
+    private static Bounds savedBounds(EntityKlWindowState state) {
+        double height = state.getHeight() > 0 ? state.getHeight() : DEFAULT_WINDOW_HEIGHT;
+        return new BoundingBox(state.getXPos(), state.getYPos(), Math.max(0, state.getWidth()), height);
+    }
+
+    private static double distance(Bounds bounds, Bounds viewport) {
+        double dx = Math.max(0, Math.max(viewport.getMinX() - bounds.getMaxX(), bounds.getMinX() - viewport.getMaxX()));
+        double dy = Math.max(0, Math.max(viewport.getMinY() - bounds.getMaxY(), bounds.getMinY() - viewport.getMaxY()));
+        return Math.hypot(dx, dy);
+    }
+
+    /**
+     * Reads the entity a window shows, its observable and its latest version and description in the journal's
+     * view, so creating the window on the JavaFX thread finds them loaded.
+     *
+     * @return the time taken, in nanoseconds
+     */
+    private long prefetch(EntityKlWindowState state) {
+        long start = System.nanoTime();
+        int nid = state.getEntityNid();
+        if (nid != 0 && !cancelled) {
+            try {
+                if (EntityService.get().getEntity(nid).isPresent()) {
+                    ObservableEntity.get(nid);
+                    viewCalculator.latest(nid);
+                    viewCalculator.getPreferredDescriptionTextWithFallbackOrNid(nid);
+                }
+            } catch (RuntimeException ex) {
+                // The window reports the problem itself when it is restored
+                LOG.debug("Unable to prefetch data for window: {}", state.getWindowId(), ex);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Restores the window at {@code index} once its data is loaded, then schedules the next, so each window is
+     * created in its own pulse and the journal can repaint and respond between them.
+     */
+    private void restoreNext(ImmutableList<CompletableFuture<Long>> prefetches, int index) {
+        if (cancelled || index >= prefetches.size()) {
+            logMetrics(index);
+            return;
+        }
+        prefetches.get(index).whenComplete((prefetchNanos, _) -> Platform.runLater(() -> {
+            PendingWindow window = pending.peekFirst();
+            if (!cancelled && window != null) {
+                restore(window, prefetchNanos == null ? 0 : prefetchNanos);
+                pending.pollFirst();
+            }
+            restoreNext(prefetches, index + 1);
+        }));
+    }
+
+    private void restore(PendingWindow window, long prefetchNanos) {
+        long start = System.nanoTime();
+        try {
+            ChapterKlWindow<Pane> chapterKlWindow = restorer.apply(window.preferences());
+            windowSetup.accept(chapterKlWindow, restoredAbove(window));
+            restored.put(window, chapterKlWindow);
+        } catch (Exception e) {
+            LOG.error("Error restoring window: {}", window.windowId(), e);
+        }
+        long end = System.nanoTime();
+        if (firstWindowNanos < 0) {
+            firstWindowNanos = end - startNanos;
+        }
+        TypeMetrics typeMetrics = metrics.computeIfAbsent(String.valueOf(window.state().getWindowType()),
+                _ -> new TypeMetrics());
+        typeMetrics.count++;
+        typeMetrics.prefetchNanos += prefetchNanos;
+        typeMetrics.restoreNanos += end - start;
+        typeMetrics.maxRestoreNanos = Math.max(typeMetrics.maxRestoreNanos, end - start);
+    }
+
+    /**
+     * @return the nearest window saved above the given one that has been restored, or {@code null} if none has
+     */
+    private ChapterKlWindow<Pane> restoredAbove(PendingWindow window) {
+        ImmutableList<PendingWindow> savedWindows = saved;
+        for (int i = savedWindows.indexOf(window) + 1; i < savedWindows.size(); i++) {
+            ChapterKlWindow<Pane> above = restored.get(savedWindows.get(i));
+            if (above != null) {
+                return above;
+            }
+        }
+        return null;
+    }
+
+    private void logMetrics(int restoredCount) {
+        if (restoredCount == 0) {
+            return;
+        }
+        LOG.info("Restored {} window(s) for journal '{}' in {} ms, first window after {} ms{}",
+                restoredCount, journalName, (System.nanoTime() - startNanos) / 1_000_000,
+                Math.max(0, firstWindowNanos) / 1_000_000, cancelled ? " (cancelled)" : "");
+        metrics.forEach((windowType, typeMetrics) -> LOG.info(
+                "  {}: {} window(s), mean prefetch {} ms, mean restore {} ms, max restore {} ms",
+                windowType, typeMetrics.count,
+                typeMetrics.prefetchNanos / typeMetrics.count / 1_000_000,
+                typeMetrics.restoreNanos / typeMetrics.count / 1_000_000,
+                typeMetrics.maxRestoreNanos / 1_000_000));
+    }
+}
@@ -18,7 +18,6 @@
 import dev.ikm.komet.kview.mvvm.viewmodel.PatternNavViewModel;
 import dev.ikm.komet.navigator.graph.Navigator;
 import dev.ikm.komet.navigator.graph.ViewNavigator;
-import dev.ikm.tinkar.common.service.PrimitiveData;
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.coordinate.stamp.calculator.LatestVersionSearchResult;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
@@ -46,14 +45,12 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import static dev.ikm.komet.kview.events.EventTopics.SAVE_PATTERN_TOPIC;
 import static dev.ikm.komet.kview.mvvm.model.DragAndDropType.PATTERN;
@@ -67,8 +64,6 @@ public class ConceptPatternNavController {
 
     public static final String PATTERN_NAV_ENTRY_FXML = "pattern-nav-entry.fxml";
 
-    private static final int maxChildrenInPatternViewer = 150;
-
     @FXML
     private ToggleGroup conPatToggleGroup;
 
@@ -163,25 +158,10 @@ public void initialize() {
 
         ViewProperties viewProperties = patternNavViewModel.getPropertyValue(VIEW_PROPERTIES);
 
-        // callback when all patterns are loaded. For each build up children instances.
+        // callback when all patterns are loaded. Each entry reads its instances a page at a time when expanded.
         patternNavViewModel.setOnReload(stream -> {
             stream.forEach(patternItem -> {
-                int patternNid = patternItem.nid();
-                // load the pattern instances into an observable list
                 ObservableList<Object> patternChildren = FXCollections.observableArrayList();
-                AtomicInteger childCount = new AtomicInteger();
-                // populate the collection of instance for each pattern
-                PrimitiveData.get().forEachSemanticNidOfPattern(patternNid, semanticNid -> {
-                    if (childCount.incrementAndGet() < maxChildrenInPatternViewer) {
-                        patternChildren.add(semanticNid);
-                    }
-                });
-
-                if (childCount.get() >= maxChildrenInPatternViewer) {
-                    NumberFormat numberFormat = NumberFormat.getInstance();
-                    patternChildren.add(numberFormat.format(childCount.get() - maxChildrenInPatternViewer) + " additional semantics suppressed...");
-                }
-
                 Platform.runLater(() -> {
                     // load the pattern entry FXML and controller
                     Config patternInstanceConfig = new Config()
@@ -1,10 +1,13 @@
 package dev.ikm.komet.kview.mvvm.view.navigation;
 
 import dev.ikm.komet.framework.Identicon;
+import dev.ikm.komet.framework.cache.InstancePage;
+import dev.ikm.komet.framework.cache.PatternInstanceIndex;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.kview.controls.KometIcon;
 import dev.ikm.komet.kview.events.genediting.MakeGenEditingWindowEvent;
 import dev.ikm.komet.kview.events.pattern.MakePatternWindowEvent;
+import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
 import dev.ikm.tinkar.entity.EntityService;
 import dev.ikm.tinkar.entity.SemanticEntity;
@@ -12,6 +15,8 @@
 import dev.ikm.tinkar.terms.EntityFacade;
 import dev.ikm.tinkar.terms.PatternFacade;
 import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -40,6 +45,7 @@ public class PatternNavEntryController {
     private static final Logger LOG = LoggerFactory.getLogger(PatternNavEntryController.class);
 
     private static final int LIST_VIEW_CELL_SIZE = 40;
+    private static final int INSTANCES_PAGE_SIZE = 150;
     public enum PatternNavEntry{
         PATTERN_FACADE,
         INSTANCES,
@@ -164,6 +170,12 @@ private void setupListView() {
         patternInstancesListView.setFixedCellSize(LIST_VIEW_CELL_SIZE);
         patternInstancesListView.itemsProperty().addListener(observable -> updateListViewPrefHeight());
         patternInstancesListView.setOnMouseClicked(mouseEvent -> {
+            // a click on the item after the last page loads the next page
+            if (mouseEvent.getButton().equals(MouseButton.PRIMARY)
+                    && patternInstancesListView.getSelectionModel().getSelectedItem() instanceof InstancePage page) {
+                loadNextPage(page);
+                return;
+            }
             // double click creates the concept window
             if (mouseEvent.getButton().equals(MouseButton.PRIMARY)) {
                 if (mouseEvent.getClickCount() == 2) {
@@ -198,11 +210,64 @@ private void setupListView() {
             // make items the same as the list by the caller.
             ObservableList<Object> items = instancesViewModel.getObservableList(INSTANCES);
             patternInstancesListView.setItems(items);
-            if (items.isEmpty()) {
-                instancesTitledPane.setVisible(false);
-                instancesTitledPane.setManaged(false);
+            EntityFacade patternFacade = instancesViewModel.getPropertyValue(PATTERN_FACADE);
+            if (items.isEmpty() && PatternInstanceIndex.countIfIndexed(patternFacade.nid()).orElse(-1) == 0) {
+                hideInstances();
             }
         });
+
+        // the instances are read a page at a time, starting when the pane is first expanded
+        instancesTitledPane.expandedProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Boolean> observable, Boolean wasExpanded, Boolean expanded) {
+                if (expanded) {
+                    instancesTitledPane.expandedProperty().removeListener(this);
+                    EntityFacade patternFacade = instancesViewModel.getPropertyValue(PATTERN_FACADE);
+                    if (PatternInstanceIndex.countIfIndexed(patternFacade.nid()).orElse(-1) == 0) {
+                        hideInstances();
+                        return;
+                    }
+                    TinkExecutor.threadPool().execute(() -> {
+                        InstancePage page = PatternInstanceIndex.firstPage(patternFacade.nid(), INSTANCES_PAGE_SIZE);
+                        Platform.runLater(() -> {
+                            if (page.nids().isEmpty()) {
+                                hideInstances();
+                            } else {
+                                addPage(page);
+                            }
+                        });
+                    });
+                }
+            }
+        });
+    }
+
+    private void hideInstances() {
+        instancesTitledPane.setVisible(false);
+        instancesTitledPane.setManaged(false);
+    }
+
+    /**
+     * Adds the semantics of a page to the list, followed by the page itself, which stands for the semantics
+     * after it, if there are any.
+     */
+    private void addPage(InstancePage page) {
+        ObservableList<Object> items = instancesViewModel.getObservableList(INSTANCES);
+        page.nids().forEach(items::add);
+        if (page.hasMore()) {
+            items.add(page);
+        }
+    }
+
+    private void loadNextPage(InstancePage page) {
+        ObservableList<Object> items = instancesViewModel.getObservableList(INSTANCES);
+        if (!items.remove(page)) {
+            return;
+        }
+        TinkExecutor.threadPool().execute(() -> {
+            InstancePage nextPage = page.next();
+            Platform.runLater(() -> addPage(nextPage));
+        });
     }
 
     private void updateListViewPrefHeight() {
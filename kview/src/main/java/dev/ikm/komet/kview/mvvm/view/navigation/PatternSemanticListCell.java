@@ -1,6 +1,7 @@
 package dev.ikm.komet.kview.mvvm.view.navigation;
 
 import dev.ikm.komet.framework.Identicon;
+import dev.ikm.komet.framework.cache.InstancePage;
 import dev.ikm.komet.framework.dnd.DragImageMaker;
 import dev.ikm.komet.framework.dnd.KometClipboard;
 import dev.ikm.komet.framework.view.ViewProperties;
@@ -27,6 +28,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.text.NumberFormat;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.function.Function;
@@ -87,6 +89,9 @@ protected void updateItem(Object item, boolean empty) {
             if (item instanceof String stringItem) {
                 setContentDisplay(ContentDisplay.TEXT_ONLY);
                 setText(stringItem);
+            } else if (item instanceof InstancePage page) {
+                setContentDisplay(ContentDisplay.TEXT_ONLY);
+                setText(NumberFormat.getInstance().format(page.remaining()) + " more semantics, click to show...");
             } else if (item instanceof Integer nid) {
                 String entityDescriptionText = fetchDescriptionByNid.apply(nid);
                 EntityFacade entity = Entity.getFast(nid);
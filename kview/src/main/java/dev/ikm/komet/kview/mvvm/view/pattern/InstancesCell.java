@@ -10,6 +10,7 @@
 import static dev.ikm.komet.kview.mvvm.view.common.PatternConstants.US_DIALECT_PATTERN_PROXY;
 import static dev.ikm.komet.kview.mvvm.view.common.PatternConstants.VERSION_CONTROL_PATH_ORIGIN_PATTERN_PROXY;
 import dev.ikm.komet.framework.Identicon;
+import dev.ikm.komet.framework.cache.InstancePage;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.kview.mvvm.viewmodel.PatternViewModel;
 import dev.ikm.tinkar.common.util.time.DateTimeUtil;
@@ -31,6 +32,7 @@
 import javafx.scene.layout.VBox;
 import org.eclipse.collections.api.list.ImmutableList;
 
+import java.text.NumberFormat;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -93,6 +95,9 @@ protected void updateItem(T item, boolean empty) {
             if (item instanceof String stringItem) {
                 setGraphic(null);
                 setText(stringItem);
+            } else if (item instanceof InstancePage page) {
+                setGraphic(null);
+                setText(NumberFormat.getInstance().format(page.remaining()) + " more semantics, click to show...");
             } else if (item instanceof Integer nid) {
                 StampCalculator stampCalculator = viewProperties.calculator().stampCalculator();
 
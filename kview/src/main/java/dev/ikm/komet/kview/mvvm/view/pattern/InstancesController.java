@@ -1,9 +1,12 @@
 package dev.ikm.komet.kview.mvvm.view.pattern;
 
+import dev.ikm.komet.framework.cache.InstancePage;
+import dev.ikm.komet.framework.cache.PatternInstanceIndex;
 import dev.ikm.komet.kview.mvvm.viewmodel.PatternViewModel;
-import dev.ikm.tinkar.common.service.PrimitiveData;
+import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.entity.Entity;
 import dev.ikm.tinkar.terms.EntityFacade;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -11,8 +14,7 @@
 import javafx.scene.control.ListView;
 import org.carlfx.cognitive.loader.InjectViewModel;
 
-import java.text.NumberFormat;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static dev.ikm.komet.kview.mvvm.viewmodel.PatternViewModel.PATTERN;
 
@@ -45,31 +47,41 @@ private void initialize() {
     }
 
     private void loadInstances() {
-        // load the pattern instances into an observable list
+        // load the pattern instances into an observable list, a page at a time
         ObservableList<Object> patternChildren = FXCollections.observableArrayList();
         EntityFacade patternItem = patternViewModel.getPropertyValue(PATTERN);
         setMetaTitle(patternItem.description());
         int patternNid = patternItem.nid();
-        AtomicInteger childCount = new AtomicInteger();
 
-        // populate the collection of instance for each pattern
-        PrimitiveData.get().forEachSemanticNidOfPattern(patternNid, semanticNid -> {
-            if (childCount.incrementAndGet() < MAX_INSTANCES) {
-                patternChildren.add(semanticNid);
+        // set the cell factory for each pattern's instances list
+        instancesListView.setCellFactory(p -> new InstancesCell<>(patternViewModel));
+        instancesListView.setItems(patternChildren);
+
+        // a click on the item after the last page loads the next page
+        instancesListView.setOnMouseClicked(mouseEvent -> {
+            if (instancesListView.getSelectionModel().getSelectedItem() instanceof InstancePage page
+                    && patternChildren.remove(page)) {
+                loadPage(patternChildren, page::next);
             }
         });
-        if (childCount.get() >= MAX_INSTANCES) {
-            NumberFormat numberFormat = NumberFormat.getInstance();
-            patternChildren.add(numberFormat.format(childCount.get() - MAX_INSTANCES) + " additional semantics suppressed...");
-        }
-        boolean hasChildren = patternChildren.size() > 0;
 
-        // set the cell factory for each pattern's instances list
-        instancesListView.setCellFactory(p -> new InstancesCell<>(patternViewModel));
+        loadPage(patternChildren, () -> PatternInstanceIndex.firstPage(patternNid, MAX_INSTANCES));
+    }
 
-        if (hasChildren) {
-            instancesListView.setItems(patternChildren);
-        }
+    /**
+     * Reads a page off the JavaFX thread, then adds its semantics to the list, followed by the page itself,
+     * which stands for the semantics after it, if there are any.
+     */
+    private void loadPage(ObservableList<Object> patternChildren, Supplier<InstancePage> pageReader) {
+        TinkExecutor.threadPool().execute(() -> {
+            InstancePage page = pageReader.get();
+            Platform.runLater(() -> {
+                page.nids().forEach(patternChildren::add);
+                if (page.hasMore()) {
+                    patternChildren.add(page);
+                }
+            });
+        });
     }
 
     private void setMetaTitle(String description) {
@@ -29,6 +29,9 @@
 import dev.ikm.komet.framework.dnd.DragImageMaker;
 import dev.ikm.komet.framework.dnd.KometClipboard;
 import dev.ikm.komet.framework.search.SearchPanelController;
+import dev.ikm.komet.framework.search.SearchPipeline;
+import dev.ikm.komet.framework.search.SearchResultCache;
+import dev.ikm.komet.framework.sort.NaturalOrderSort;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.kview.controls.AutoCompleteTextField;
 import dev.ikm.komet.kview.controls.FilterOptionsPopup;
@@ -40,7 +43,6 @@
 import dev.ikm.komet.navigator.graph.ViewNavigator;
 import dev.ikm.tinkar.common.id.PublicIds;
 import dev.ikm.tinkar.common.service.PrimitiveData;
-import dev.ikm.tinkar.common.util.text.NaturalOrder;
 import dev.ikm.tinkar.common.util.uuid.UuidUtil;
 import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
 import dev.ikm.tinkar.coordinate.stamp.calculator.LatestVersionSearchResult;
@@ -91,7 +93,6 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.OptionalInt;
-import java.util.TreeMap;
 import java.util.UUID;
 
 
@@ -137,6 +138,8 @@ public class NextGenSearchController {
 
     private SearchResultType currentSearchResultType;
 
+    private final SearchPipeline<Object> searchPipeline = new SearchPipeline<>(page -> searchResultsListView.getItems().addAll(page));
+
     @InjectViewModel
     private NextGenSearchViewModel nextGenSearchViewModel;
 
@@ -144,6 +147,7 @@ public void initialize() {
         eventBus = EvtBusFactory.getDefaultEvtBus();
 
         clearView();
+        searchPipeline.installPaging(searchResultsListView);
         setUpTypeAhead();
         setUpSearchOptionsPopOver();
 
@@ -165,6 +169,10 @@ public void initialize() {
             }
 
             sortOptions.hide();
+            // Re-rank the cached results of the current query in the new order
+            if (!searchField.getText().isBlank()) {
+                doSearch(null);
+            }
         });
         eventBus.subscribe(SEARCH_SORT_TOPIC, SearchSortOptionEvent.class, searchSortOptionListener);
 
@@ -295,6 +303,7 @@ private void showSearchOptions(ActionEvent event) {
 
     @FXML
     private void doSearch(ActionEvent actionEvent) {
+        searchPipeline.cancel();
         clearView();
         String queryText = searchField.getText().strip();
         try {
@@ -311,79 +320,75 @@ private void doSearch(ActionEvent actionEvent) {
                     addComponentFromNid(PrimitiveData.nid(PublicIds.of(uuid)));
                 });
             } else {
-                List<LatestVersionSearchResult> results = getViewProperties().calculator().search(queryText, MAX_RESULT_SIZE).toList();
-                LOG.info("{} search results returned", results.size());
-
-                List processedResults;
-                switch (sortByButton.getText()) {
-                    case BUTTON_TEXT_TOP_COMPONENT -> {
-                        setCurrentSearchResultType(SearchResultType.TOP_COMPONENT);
-
-                        // used a linked hash map to maintain insertion order
-                        LinkedHashMap<SearchPanelController.NidTextRecord, List<LatestVersionSearchResult>> topItems = new LinkedHashMap<>();
-
-                        // sort by top component score order
-                        results.sort((o1, o2) -> Float.compare(o2.score(), o1.score()));
-
-                        createMapOfEntries(topItems, results);
-
-                        // sort children inside each by score
-                        topItems.forEach((k, v) -> Collections.sort(v, (o1, o2) ->
-                                Float.compare(o1.score(), o2.score())));
-
-                        List<Map.Entry<SearchPanelController.NidTextRecord, List<LatestVersionSearchResult>>> myList = new ArrayList<>(topItems.entrySet());
-
-                        Collections.sort(myList, (m1, m2) ->
-                                Float.compare(m2.getValue().get(0).score(), m1.getValue().get(0).score()));
-
-                        processedResults = myList;
-                    }
-                    case BUTTON_TEXT_TOP_COMPONENT_ALPHA -> {
-                        setCurrentSearchResultType(SearchResultType.TOP_COMPONENT);
+                final String sortText = sortByButton.getText();
+                setCurrentSearchResultType(switch (sortText) {
+                    case BUTTON_TEXT_TOP_COMPONENT, BUTTON_TEXT_TOP_COMPONENT_ALPHA -> SearchResultType.TOP_COMPONENT;
+                    case BUTTON_TEXT_DESCRIPTION_SEMANTIC, BUTTON_TEXT_DESCRIPTION_SEMANTIC_ALPHA -> SearchResultType.DESCRIPTION_SEMANTICS;
+                    default -> throw new RuntimeException("Sort by button text is Invalid and doesn't correspond to any supported search type");
+                });
+                searchPipeline.search(queryText,
+                        text -> SearchResultCache.get().search(getViewProperties().calculator(), text, MAX_RESULT_SIZE),
+                        results -> processResults(sortText, results.toList()));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-                        // sort by natural order
-                        results.sort((o1, o2) -> NaturalOrder.compareStrings(o1.latestVersion().get().fieldValues().get(o1.fieldIndex()).toString(),
-                                o2.latestVersion().get().fieldValues().get(o2.fieldIndex()).toString()));
+    /**
+     * Sorts and groups the search results according to the selected sort option. Runs on a background thread.
+     */
+    private List processResults(String sortText, List<LatestVersionSearchResult> results) {
+        LOG.info("{} search results returned", results.size());
 
-                        Map<SearchPanelController.NidTextRecord, List<LatestVersionSearchResult>> topItems = new HashMap<>();
-                        // create the sort order for the topItems map collection
-                        topItems = new TreeMap<>((o1, o2) -> NaturalOrder.compareStrings(o1.text(), o2.text()));
+        List processedResults;
+        switch (sortText) {
+            case BUTTON_TEXT_TOP_COMPONENT -> {
+                // used a linked hash map to maintain insertion order
+                LinkedHashMap<SearchPanelController.NidTextRecord, List<LatestVersionSearchResult>> topItems = new LinkedHashMap<>();
 
-                        createMapOfEntries(topItems, results);
+                // sort by top component score order
+                results.sort((o1, o2) -> Float.compare(o2.score(), o1.score()));
 
-                        List<Map.Entry<SearchPanelController.NidTextRecord, List<LatestVersionSearchResult>>> myList = new ArrayList<>(topItems.entrySet());
+                createMapOfEntries(topItems, results);
 
-                        // sort the children
-                        myList.forEach(m -> Collections.sort(m.getValue(), (e1, e2) ->
-                                NaturalOrder.compareStrings(formatHighlightedString(e1.highlightedString()), formatHighlightedString(e2.highlightedString()))
-                        ));
+                // sort children inside each by score
+                topItems.forEach((k, v) -> Collections.sort(v, (o1, o2) ->
+                        Float.compare(o1.score(), o2.score())));
 
-                        processedResults = myList;
-                    }
-                    case BUTTON_TEXT_DESCRIPTION_SEMANTIC -> {
-                        setCurrentSearchResultType(SearchResultType.DESCRIPTION_SEMANTICS);
+                List<Map.Entry<SearchPanelController.NidTextRecord, List<LatestVersionSearchResult>>> myList = new ArrayList<>(topItems.entrySet());
 
-                        results.sort((o1, o2) -> Float.compare(o2.score(), o1.score()));
+                Collections.sort(myList, (m1, m2) ->
+                        Float.compare(m2.getValue().get(0).score(), m1.getValue().get(0).score()));
 
-                        processedResults = results;
-                    }
-                    case BUTTON_TEXT_DESCRIPTION_SEMANTIC_ALPHA -> {
-                        setCurrentSearchResultType(SearchResultType.DESCRIPTION_SEMANTICS);
+                processedResults = myList;
+            }
+            case BUTTON_TEXT_TOP_COMPONENT_ALPHA -> {
+                Map<SearchPanelController.NidTextRecord, List<LatestVersionSearchResult>> topItems = new HashMap<>();
+                createMapOfEntries(topItems, results);
 
-                        results.sort((o1, o2) -> NaturalOrder.compareStrings(formatHighlightedString(o1.highlightedString()),
-                                formatHighlightedString(o2.highlightedString())));
+                // sort the top components by natural order, keeping distinct components that share a description
+                List<Map.Entry<SearchPanelController.NidTextRecord, List<LatestVersionSearchResult>>> myList =
+                        NaturalOrderSort.sorted(topItems.entrySet(), entry -> entry.getKey().text());
 
-                        processedResults = results;
-                    }
-                    default -> throw new RuntimeException("Sort by button text is Invalid and doesn't correspond to any supported search type");
+                // sort the children
+                myList.forEach(m -> NaturalOrderSort.sortInPlace(m.getValue(),
+                        result -> formatHighlightedString(result.highlightedString())));
 
-                }
+                processedResults = myList;
+            }
+            case BUTTON_TEXT_DESCRIPTION_SEMANTIC -> {
+                results.sort((o1, o2) -> Float.compare(o2.score(), o1.score()));
 
-                searchResultsListView.getItems().setAll(processedResults);
+                processedResults = results;
             }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            case BUTTON_TEXT_DESCRIPTION_SEMANTIC_ALPHA -> {
+                processedResults = NaturalOrderSort.sorted(results,
+                        result -> formatHighlightedString(result.highlightedString()));
+            }
+            default -> throw new RuntimeException("Sort by button text is Invalid and doesn't correspond to any supported search type");
         }
+        return processedResults;
     }
 
     private void addComponentFromNid(String queryText) {
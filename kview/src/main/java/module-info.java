@@ -165,6 +165,9 @@
 
     provides dev.ikm.komet.framework.KometNodeFactory with dev.ikm.komet.kview.mvvm.view.concept.ConceptNodeFactory;
 
+    provides dev.ikm.tinkar.common.service.CachingService
+            with dev.ikm.komet.kview.mvvm.view.changeset.exchange.GitTask.CacheProvider;
+
     provides EntityKlWindowFactory with
             dev.ikm.komet.kview.klwindows.concept.ConceptKlWindowFactory,
             dev.ikm.komet.kview.klwindows.pattern.PatternKlWindowFactory,
@@ -0,0 +1,100 @@
+package dev.ikm.komet.kview.controls.skin.test;
+
+import dev.ikm.komet.kview.controls.skin.WorkspaceSpatialIndex;
+import javafx.geometry.BoundingBox;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import org.eclipse.collections.api.factory.Lists;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkspaceSpatialIndexTest {
+
+    private static final double CELL_SIZE = 100;
+
+    @Test
+    public void findsWindowsIntersectingARegion() {
+        WorkspaceSpatialIndex index = new WorkspaceSpatialIndex(CELL_SIZE);
+        Node first = new Rectangle();
+        Node second = new Rectangle();
+        Node far = new Rectangle();
+        index.put(first, new BoundingBox(0, 0, 150, 150));
+        index.put(second, new BoundingBox(200, 0, 150, 150));
+        index.put(far, new BoundingBox(5_000, 5_000, 150, 150));
+
+        assertEquals(Lists.immutable.of(first), index.query(10, 10, 20, 20));
+        assertEquals(Lists.immutable.of(first, second), index.query(0, 0, 400, 100));
+        // edges are included
+        assertEquals(Lists.immutable.of(first, second), index.query(150, 50, 200, 60));
+        assertTrue(index.query(1_000, 1_000, 2_000, 2_000).isEmpty());
+    }
+
+    @Test
+    public void viewportQueryReturnsWindowsInIndexedOrder() {
+        WorkspaceSpatialIndex index = new WorkspaceSpatialIndex(CELL_SIZE);
+        Node lower = new Rectangle();
+        Node upper = new Rectangle();
+        Node offscreen = new Rectangle();
+        index.put(upper, new BoundingBox(600, 400, 300, 300));
+        index.put(lower, new BoundingBox(-50, -50, 300, 300));
+        index.put(offscreen, new BoundingBox(3_000, 0, 300, 300));
+
+        // a viewport far larger than the windows only visits the cells the windows cover
+        assertEquals(Lists.immutable.of(upper, lower, offscreen),
+                index.query(-1_000_000, -1_000_000, 1_000_000, 1_000_000));
+        assertEquals(Lists.immutable.of(upper, lower), index.query(0, 0, 1_024, 768));
+    }
+
+    @Test
+    public void followsMovedWindows() {
+        WorkspaceSpatialIndex index = new WorkspaceSpatialIndex(CELL_SIZE);
+        Node first = new Rectangle();
+        Node second = new Rectangle();
+        index.put(first, new BoundingBox(0, 0, 100, 100));
+        index.put(second, new BoundingBox(300, 0, 100, 100));
+
+        index.updateIfPresent(first, new BoundingBox(1_000, 1_000, 100, 100));
+
+        assertTrue(index.query(0, 0, 50, 50).isEmpty());
+        assertEquals(Lists.immutable.of(first), index.query(1_050, 1_050, 1_060, 1_060));
+        // moving a window keeps its place in the order
+        assertEquals(Lists.immutable.of(first, second), index.query(0, 0, 2_000, 2_000));
+    }
+
+    @Test
+    public void updateIgnoresWindowsNotIndexed() {
+        WorkspaceSpatialIndex index = new WorkspaceSpatialIndex(CELL_SIZE);
+        Node window = new Rectangle();
+
+        index.updateIfPresent(window, new BoundingBox(0, 0, 100, 100));
+
+        assertFalse(index.contains(window));
+        assertTrue(index.query(0, 0, 100, 100).isEmpty());
+    }
+
+    @Test
+    public void forgetsRemovedWindows() {
+        WorkspaceSpatialIndex index = new WorkspaceSpatialIndex(CELL_SIZE);
+        Node kept = new Rectangle();
+        Node removed = new Rectangle();
+        index.put(kept, new BoundingBox(0, 0, 250, 250));
+        index.put(removed, new BoundingBox(100, 100, 250, 250));
+
+        index.remove(removed);
+
+        assertFalse(index.contains(removed));
+        assertEquals(1, index.nodes().size());
+        assertEquals(Lists.immutable.of(kept), index.query(0, 0, 400, 400));
+        assertTrue(index.query(300, 300, 400, 400).isEmpty());
+    }
+
+    @Test
+    public void rejectsNonPositiveCellSize() {
+        assertThrows(IllegalArgumentException.class, () -> new WorkspaceSpatialIndex(0));
+        assertThrows(IllegalArgumentException.class, () -> new WorkspaceSpatialIndex(Double.NaN));
+    }
+}
@@ -0,0 +1,93 @@
+package dev.ikm.komet.kview.data.persistence.test;
+
+import dev.ikm.komet.kview.data.persistence.ConceptWriter;
+import dev.ikm.komet.kview.data.persistence.STAMPWriter;
+import dev.ikm.komet.kview.data.persistence.WriteBatch;
+import dev.ikm.komet.kview.data.schema.STAMPDetail;
+import dev.ikm.tinkar.common.id.PublicId;
+import dev.ikm.tinkar.common.id.PublicIds;
+import dev.ikm.tinkar.entity.ConceptEntity;
+import dev.ikm.tinkar.entity.EntityService;
+import dev.ikm.tinkar.entity.StampEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.MockedStatic;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WriteBatchTest {
+
+    private MockedStatic<EntityService> mockedEntityService;
+    private EntityService entityService;
+
+    @BeforeEach
+    public void setUp() {
+        entityService = mock(EntityService.class);
+        AtomicInteger nextNid = new AtomicInteger(1);
+        when(entityService.nidForPublicId(any(PublicId.class))).thenAnswer(_ -> nextNid.getAndIncrement());
+        mockedEntityService = mockStatic(EntityService.class);
+        mockedEntityService.when(EntityService::get).thenReturn(entityService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mockedEntityService.close();
+    }
+
+    private static STAMPDetail stampDetail(PublicId concept) {
+        return new STAMPDetail(concept, System.currentTimeMillis(), concept, concept, concept);
+    }
+
+    @Test
+    public void resolvesEachPublicIdOnce() {
+        WriteBatch batch = new WriteBatch();
+        PublicId publicId = PublicIds.newRandom();
+
+        int nid = batch.nid(publicId);
+        assertEquals(nid, batch.nid(PublicIds.of(publicId.asUuidArray())));
+        verify(entityService, times(1)).nidForPublicId(any(PublicId.class));
+    }
+
+    @Test
+    public void putsNothingUntilCommittedThenStampsFirst() {
+        WriteBatch batch = new WriteBatch();
+        PublicId stamp = PublicIds.newRandom();
+        PublicId concept = PublicIds.newRandom();
+        new ConceptWriter(stamp, batch).write(concept);
+        new STAMPWriter(stamp, batch).write(stampDetail(concept));
+
+        assertEquals(2, batch.size());
+        verify(entityService, never()).putEntity(any());
+        // the stamp and the concept, which is also the status, author, module and path of the stamp
+        verify(entityService, times(2)).nidForPublicId(any(PublicId.class));
+
+        batch.commit();
+        InOrder order = inOrder(entityService);
+        order.verify(entityService).putEntity(isA(StampEntity.class));
+        order.verify(entityService).putEntity(isA(ConceptEntity.class));
+        assertEquals(0, batch.size());
+
+        batch.commit();
+        verify(entityService, times(2)).putEntity(any());
+    }
+
+    @Test
+    public void writersOutsideABatchPutEachRecordImmediately() {
+        PublicId stamp = PublicIds.newRandom();
+        new ConceptWriter(stamp).write(PublicIds.newRandom());
+        verify(entityService, times(1)).putEntity(isA(ConceptEntity.class));
+    }
+}
@@ -0,0 +1,112 @@
+package dev.ikm.komet.kview.mvvm.view.changeset.exchange.test;
+
+import dev.ikm.komet.kview.mvvm.view.changeset.exchange.ChangesetCatalog;
+import dev.ikm.komet.kview.mvvm.view.changeset.exchange.LoadedChangesetLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChangesetCatalogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path changeSets() {
+        return tempDir.resolve("changeSets");
+    }
+
+    private ChangesetCatalog catalog() {
+        return new ChangesetCatalog(changeSets(), tempDir.resolve(ChangesetCatalog.CATALOG_FILENAME));
+    }
+
+    private void writeZip(String name, String manifest, String content) throws Exception {
+        Path file = changeSets().resolve(name);
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            if (manifest != null) {
+                zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+                zip.write(manifest.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("entities.pb"));
+            zip.write(content.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+    }
+
+    @Test
+    public void catalogsCompleteChangesetsAndPersistsThem() throws Exception {
+        writeZip("User 20250828T094448EDT hDM ike-cs.zip", "Manifest-Version: 1.0\r\nCreated-By: test\r\n\r\n", "a");
+        writeZip("unfinished ike-cs.zip", null, "b");
+        writeZip("sub/renamed ike-cs.zip",
+                "Manifest-Version: 1.0\r\nPackage-Date: 2025-08-22T10:15:30Z\r\n\r\n", "c");
+
+        ChangesetCatalog catalog = catalog();
+        List<ChangesetCatalog.Entry> entries = catalog.update(List.of(
+                "User 20250828T094448EDT hDM ike-cs.zip",
+                "unfinished ike-cs.zip",
+                "sub\\renamed ike-cs.zip",
+                "README.md")).castToList();
+
+        assertEquals(2, entries.size());
+        ChangesetCatalog.Entry dated = entries.get(0);
+        assertEquals("test", dated.manifest().get("Created-By"));
+        assertEquals(LoadedChangesetLedger.checksum(changeSets().resolve(dated.path())), dated.checksum());
+        ChangesetCatalog.Entry renamed = entries.get(1);
+        assertEquals("sub/renamed ike-cs.zip", renamed.path());
+        assertEquals(Instant.parse("2025-08-22T10:15:30Z"), renamed.packageDate());
+
+        // a new catalog reads what the previous one recorded
+        ChangesetCatalog reread = catalog();
+        assertEquals(2, reread.size());
+        assertEquals(renamed, reread.get("sub/renamed ike-cs.zip").orElseThrow());
+        assertTrue(reread.get("unfinished ike-cs.zip").isEmpty());
+    }
+
+    @Test
+    public void readsEntriesWrittenWithTheLoadedFlagOfEarlierCatalogs() throws Exception {
+        Files.createDirectories(changeSets());
+        Files.writeString(tempDir.resolve(ChangesetCatalog.CATALOG_FILENAME),
+                "old ike-cs.zip\t12\t34\tabcd\t\ttrue\tManifest-Version=1.0\n", StandardCharsets.UTF_8);
+
+        ChangesetCatalog.Entry entry = catalog().get("old ike-cs.zip").orElseThrow();
+        assertEquals("abcd", entry.checksum());
+        assertNull(entry.packageDate());
+        assertEquals(1, entry.manifest().size());
+        assertEquals("1.0", entry.manifest().get("Manifest-Version"));
+    }
+
+    @Test
+    public void leavesLoadStatusToTheLedgerAndForgetsRemovedFiles() throws Exception {
+        writeZip("first ike-cs.zip", "Manifest-Version: 1.0\r\n\r\n", "a");
+        writeZip("second ike-cs.zip", "Manifest-Version: 1.0\r\n\r\n", "b");
+        ChangesetCatalog catalog = catalog();
+        List<String> paths = List.of("first ike-cs.zip", "second ike-cs.zip");
+        catalog.update(paths);
+
+        LoadedChangesetLedger ledger = LoadedChangesetLedger.forChangeSetFolder(changeSets());
+        ledger.record(catalog.get("first ike-cs.zip").orElseThrow().checksum(), "first ike-cs.zip");
+        assertTrue(ledger.contains(catalog.get("first ike-cs.zip").orElseThrow().checksum()));
+        assertFalse(ledger.contains(catalog.get("second ike-cs.zip").orElseThrow().checksum()));
+
+        Files.delete(changeSets().resolve("second ike-cs.zip"));
+        assertEquals(1, catalog.update(paths).size());
+
+        ChangesetCatalog reread = catalog();
+        assertEquals(catalog.get("first ike-cs.zip"), reread.get("first ike-cs.zip"));
+        assertNull(reread.get("second ike-cs.zip").orElse(null));
+    }
+}
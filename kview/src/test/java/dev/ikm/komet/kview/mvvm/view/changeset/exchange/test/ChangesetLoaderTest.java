@@ -0,0 +1,100 @@
+package dev.ikm.komet.kview.mvvm.view.changeset.exchange.test;
+
+import dev.ikm.komet.kview.mvvm.view.changeset.exchange.ChangesetLoader;
+import dev.ikm.komet.kview.mvvm.view.changeset.exchange.LoadedChangesetLedger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ChangesetLoaderTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<File> writeFiles(String... contents) throws Exception {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < contents.length; i++) {
+            Path file = tempDir.resolve("changeSets").resolve("file" + i + " ike-cs.zip");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, contents[i]);
+            files.add(file.toFile());
+        }
+        return files;
+    }
+
+    @Test
+    public void appliesFilesInOrderAndSkipsLoadedChecksums() throws Exception {
+        // the third file has the same content as the first, as if pulled again under another name
+        List<File> files = writeFiles("a", "b", "a", "c", "d", "e");
+        LoadedChangesetLedger ledger = LoadedChangesetLedger.forChangeSetFolder(tempDir.resolve("changeSets"));
+        List<String> applied = new ArrayList<>();
+
+        ChangesetLoader.Result result = new ChangesetLoader(ledger, executor, file -> {
+            applied.add(file.getName());
+            return 10;
+        }, 2).load(files, () -> false, (index, total, file) -> {});
+
+        assertEquals(List.of("file0 ike-cs.zip", "file1 ike-cs.zip", "file3 ike-cs.zip",
+                "file4 ike-cs.zip", "file5 ike-cs.zip"), applied);
+        assertEquals(5, result.loaded());
+        assertEquals(1, result.skipped());
+        assertEquals(50, result.entityCount());
+
+        // a new ledger reads what the previous load recorded
+        LoadedChangesetLedger reloaded = LoadedChangesetLedger.forChangeSetFolder(tempDir.resolve("changeSets"));
+        ChangesetLoader.Result second = new ChangesetLoader(reloaded, executor, file -> 10)
+                .load(files, () -> false, (index, total, file) -> {});
+        assertEquals(0, second.loaded());
+        assertEquals(6, second.skipped());
+    }
+
+    @Test
+    public void usesKnownChecksumsWithoutComputingThemAgain() throws Exception {
+        List<File> files = writeFiles("a", "b");
+        LoadedChangesetLedger ledger = LoadedChangesetLedger.forChangeSetFolder(tempDir.resolve("changeSets"));
+        ledger.record("known", "elsewhere ike-cs.zip");
+        List<String> applied = new ArrayList<>();
+
+        // the second file is taken to be the one already loaded, as its known checksum says
+        ChangesetLoader.Result result = new ChangesetLoader(ledger, executor, file -> {
+            applied.add(file.getName());
+            return 1;
+        }).load(files, Map.of(files.get(1), "known"), () -> false, (index, total, file) -> {});
+
+        assertEquals(List.of("file0 ike-cs.zip"), applied);
+        assertEquals(1, result.loaded());
+        assertEquals(1, result.skipped());
+    }
+
+    @Test
+    public void failedFilesAreNotRecorded() throws Exception {
+        List<File> files = writeFiles("a");
+        LoadedChangesetLedger ledger = LoadedChangesetLedger.forChangeSetFolder(tempDir.resolve("changeSets"));
+
+        ChangesetLoader.Result result = new ChangesetLoader(ledger, executor, file -> {
+            throw new IllegalStateException("corrupt");
+        }).load(files, () -> false, (index, total, file) -> {});
+
+        assertEquals(1, result.failed());
+        assertEquals(1, new ChangesetLoader(ledger, executor, file -> 1)
+                .load(files, () -> false, (index, total, file) -> {}).loaded());
+    }
+}
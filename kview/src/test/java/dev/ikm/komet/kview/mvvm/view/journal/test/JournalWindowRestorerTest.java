@@ -0,0 +1,70 @@
+package dev.ikm.komet.kview.mvvm.view.journal.test;
+
+import dev.ikm.komet.kview.klwindows.EntityKlWindowState;
+import dev.ikm.komet.kview.mvvm.view.journal.JournalWindowRestorer;
+import dev.ikm.komet.kview.mvvm.view.journal.JournalWindowRestorer.PendingWindow;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JournalWindowRestorerTest {
+
+    private static PendingWindow window(String windowId, double x, double y) {
+        EntityKlWindowState state = EntityKlWindowState.builder()
+                .position(x, y)
+                .size(400, 300)
+                .build();
+        return new PendingWindow(windowId, null, state);
+    }
+
+    private static ImmutableList<String> ids(ImmutableList<PendingWindow> windows) {
+        return windows.collect(PendingWindow::windowId);
+    }
+
+    @Test
+    public void visibleWindowsComeFirstInSavedOrder() {
+        Bounds viewport = new BoundingBox(0, 0, 1000, 800);
+        List<PendingWindow> windows = List.of(
+                window("far", 5000, 0),
+                window("visibleA", 100, 100),
+                window("near", 1200, 0),
+                window("visibleB", 500, 400));
+
+        assertEquals(Lists.immutable.of("visibleA", "visibleB", "near", "far"),
+                ids(JournalWindowRestorer.restorationOrder(windows, viewport)));
+    }
+
+    @Test
+    public void scrolledViewportRestoresWindowsAroundIt() {
+        Bounds viewport = new BoundingBox(3000, 2000, 1000, 800);
+        List<PendingWindow> windows = List.of(
+                window("origin", 0, 0),
+                window("visible", 3200, 2200),
+                window("near", 4200, 2200));
+
+        assertEquals(Lists.immutable.of("visible", "near", "origin"),
+                ids(JournalWindowRestorer.restorationOrder(windows, viewport)));
+    }
+
+    @Test
+    public void noWindows() {
+        assertEquals(Lists.immutable.empty(),
+                JournalWindowRestorer.restorationOrder(List.of(), new BoundingBox(0, 0, 1000, 800)));
+    }
+
+    @Test
+    public void pendingWindowsKeepTheirSavedPlace() {
+        ImmutableList<String> saved = Lists.immutable.of("a", "b", "c", "d");
+
+        assertEquals(saved, JournalWindowRestorer.withPendingWindowIds(
+                Lists.immutable.of("b", "d"), saved, Lists.immutable.of("a", "c")));
+        assertEquals(Lists.immutable.of("a", "b", "c", "d", "new"), JournalWindowRestorer.withPendingWindowIds(
+                Lists.immutable.of("a", "c", "new"), saved, Lists.immutable.of("b", "d")));
+    }
+}
@@ -50,5 +50,14 @@
     exports dev.ikm.komet.kview.mvvm.view.changeset.exchange.test;
     opens dev.ikm.komet.kview.mvvm.view.changeset.exchange.test;
 
+    exports dev.ikm.komet.kview.controls.skin.test;
+    opens dev.ikm.komet.kview.controls.skin.test;
+
+    exports dev.ikm.komet.kview.data.persistence.test;
+    opens dev.ikm.komet.kview.data.persistence.test;
+
+    exports dev.ikm.komet.kview.mvvm.view.journal.test;
+    opens dev.ikm.komet.kview.mvvm.view.journal.test;
+
     uses dev.ikm.tinkar.events.EvtBus;
 }
@@ -0,0 +1,489 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.table;
+
+import dev.ikm.komet.framework.cache.PatternInstanceIndex;
+import dev.ikm.komet.framework.progress.ProgressHelper;
+import dev.ikm.komet.framework.rulebase.BulkRuleEvaluationTask;
+import dev.ikm.komet.framework.rulebase.RuleEvaluationReport;
+import dev.ikm.komet.framework.sort.NaturalOrderKey;
+import dev.ikm.komet.framework.view.ViewProperties;
+import dev.ikm.tinkar.common.alert.AlertStreams;
+import dev.ikm.tinkar.common.service.TinkExecutor;
+import dev.ikm.tinkar.common.util.time.DateTimeUtil;
+import dev.ikm.tinkar.coordinate.stamp.calculator.Latest;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import dev.ikm.tinkar.entity.FieldDefinitionForEntity;
+import dev.ikm.tinkar.entity.PatternEntity;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import dev.ikm.tinkar.terms.EntityFacade;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.ObservableListBase;
+import javafx.scene.Node;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.stage.FileChooser;
+import javafx.util.StringConverter;
+import org.eclipse.collections.api.list.ImmutableList;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.NumberFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A table of every semantic of a pattern, one row for the latest version of each semantic.
+ * <p>
+ * The rows are the pattern's semantic nids and nothing else; a row reads its semantic's latest version, once
+ * for all of its cells, and a cell formats its field only when the table shows it, so a pattern with millions
+ * of semantics opens as fast as its nids can be read. Sorting and filtering run off the JavaFX thread over the
+ * nids, reading only the fields of the columns sorted or filtered on, and replace the rows once, when done.
+ * Sorting builds a natural-order key for each sorted field of each row once, and compares the keys. A change
+ * to the sort or filter while one is running abandons the running one.
+ * <p>
+ * The rules can also be evaluated for every semantic of the pattern with a {@link BulkRuleEvaluationTask}, and
+ * the suggestions they generate saved as tab separated values.
+ */
+final class PatternTable {
+    private static final String ALL_VISIBLE_COLUMNS = "All visible columns";
+    /**
+     * The number of rows whose latest versions are kept for the cells being shown, a power of two larger than
+     * the rows a table shows at once.
+     */
+    private static final int LATEST_VERSION_CACHE_SIZE = 256;
+
+    /**
+     * The rows of the table: an unmodifiable list of semantic nids, boxed one at a time as the table asks for
+     * them.
+     */
+    static final class NidRows extends ObservableListBase<Integer> {
+        private final int[] nids;
+
+        NidRows(int[] nids) {
+            this.nids = nids;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return nids[index];
+        }
+
+        @Override
+        public int size() {
+            return nids.length;
+        }
+    }
+
+    record SortKey(Function<SemanticEntityVersion, String> text, boolean descending) {
+    }
+
+    /**
+     * A row being sorted, with the keys of its sorted fields in sort order.
+     */
+    private record SortedRow(int nid, NaturalOrderKey[] keys) {
+    }
+
+    private final ViewProperties viewProperties;
+    private final BorderPane pane = new BorderPane();
+    private final TableView<Integer> tableView = new TableView<>();
+    private final TextField filterField = new TextField();
+    private final ChoiceBox<TableColumn<Integer, ?>> filterColumnChoice = new ChoiceBox<>();
+    /**
+     * The filter choice for every visible column; never added to the table.
+     */
+    private final TableColumn<Integer, String> allVisibleColumns = new TableColumn<>(ALL_VISIBLE_COLUMNS);
+    private final Label countLabel = new Label();
+    private final Button checkRulesButton = new Button("Check rules");
+    /**
+     * Incremented for each sort and filter, so the results of an abandoned one are dropped.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    /**
+     * The latest versions of the rows last shown, indexed by the low bits of the nid, so the cells of a row
+     * read its version once. Used on the JavaFX thread only, and cleared when the rows are replaced.
+     */
+    private final int[] cachedNids = new int[LATEST_VERSION_CACHE_SIZE];
+    private final SemanticEntityVersion[] cachedVersions = new SemanticEntityVersion[LATEST_VERSION_CACHE_SIZE];
+    private ViewCalculator cachedCalculator;
+    private PatternEntity<?> pattern;
+    private int[] patternNids = new int[0];
+    /**
+     * True while the rows are replaced, during which the table's request to sort them is ignored.
+     */
+    private boolean replacingRows = false;
+
+    PatternTable(ViewProperties viewProperties) {
+        this.viewProperties = viewProperties;
+        this.tableView.setTableMenuButtonVisible(true);
+        this.tableView.setSortPolicy(_ -> {
+            if (!replacingRows) {
+                refresh();
+            }
+            return true;
+        });
+        this.filterField.setPromptText("Filter");
+        this.filterField.textProperty().addListener((_, _, _) -> refresh());
+        this.filterColumnChoice.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(TableColumn<Integer, ?> column) {
+                return column == null ? "" : column.getText();
+            }
+
+            @Override
+            public TableColumn<Integer, ?> fromString(String string) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        this.filterColumnChoice.getSelectionModel().selectedItemProperty().addListener((_, _, _) -> refresh());
+        this.checkRulesButton.setTooltip(new Tooltip("Evaluate the rules for every semantic of the pattern"));
+        this.checkRulesButton.setOnAction(_ -> checkRules());
+        HBox filterBar = new HBox(4, filterField, filterColumnChoice, countLabel, checkRulesButton);
+        HBox.setHgrow(filterField, Priority.ALWAYS);
+        this.pane.setTop(filterBar);
+        this.pane.setCenter(tableView);
+    }
+
+    Node getNode() {
+        return pane;
+    }
+
+    /**
+     * Shows the semantics of a pattern, reading its nids in the background.
+     */
+    void setPattern(PatternEntity<?> patternEntity) {
+        this.pattern = patternEntity;
+        this.patternNids = new int[0];
+        replaceRows(patternNids, 0);
+        setupColumns(patternEntity);
+        countLabel.setText("Reading semantics...");
+        TinkExecutor.threadPool().execute(() -> {
+            int[] nids = PatternInstanceIndex.nids(patternEntity.nid());
+            Platform.runLater(() -> {
+                if (this.pattern == patternEntity) {
+                    this.patternNids = nids;
+                    refresh();
+                }
+            });
+        });
+    }
+
+    /**
+     * Evaluates the rules for every semantic of the pattern in the background, and offers to save the
+     * suggestions the rules generate.
+     */
+    private void checkRules() {
+        PatternEntity<?> patternEntity = this.pattern;
+        if (patternEntity == null) {
+            return;
+        }
+        checkRulesButton.setDisable(true);
+        ProgressHelper.progress(BulkRuleEvaluationTask.forPattern(patternEntity.nid(), viewProperties), "Cancel")
+                .whenComplete((report, throwable) -> Platform.runLater(() -> {
+                    checkRulesButton.setDisable(false);
+                    if (throwable != null) {
+                        if (!(throwable instanceof CancellationException)
+                                && !(throwable.getCause() instanceof CancellationException)) {
+                            AlertStreams.dispatchToRoot(throwable);
+                        }
+                    } else if (report.suggestions().isEmpty()) {
+                        new Alert(Alert.AlertType.INFORMATION, "The rules suggest no changes to the " +
+                                report.componentsEvaluated() + " semantics evaluated.").show();
+                    } else {
+                        saveRuleReport(patternEntity, report);
+                    }
+                }));
+    }
+
+    private void saveRuleReport(PatternEntity<?> patternEntity, RuleEvaluationReport report) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save " + report.suggestions().size() + " rule suggestions");
+        fileChooser.setInitialFileName(viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(patternEntity.nid())
+                + " rule suggestions.tsv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Tab separated values", "*.tsv"));
+        File file = fileChooser.showSaveDialog(pane.getScene().getWindow());
+        if (file != null) {
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                report.writeTsv(writer, viewCalculator());
+            } catch (IOException e) {
+                AlertStreams.dispatchToRoot(e);
+            }
+        }
+    }
+
+    private void setupColumns(PatternEntity<?> patternEntity) {
+        tableView.getSortOrder().clear();
+        tableView.getColumns().clear();
+        viewCalculator().latestPatternEntityVersion(patternEntity).ifPresent(patternEntityVersion -> {
+            String meaningText = viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(patternEntityVersion.semanticMeaningNid());
+            String purposeText = viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(patternEntityVersion.semanticPurposeNid());
+            addColumn(meaningText + " of ", purposeText,
+                    version -> viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(version.referencedComponentNid()));
+            ImmutableList<? extends FieldDefinitionForEntity> fieldDefinitions = patternEntityVersion.fieldDefinitions();
+            for (int i = 0; i < fieldDefinitions.size(); i++) {
+                FieldDefinitionForEntity fieldDef = fieldDefinitions.get(i);
+                int fieldIndex = i;
+                addColumn(viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(fieldDef.meaningNid()),
+                        viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(fieldDef.purposeNid()),
+                        version -> fieldText(version, fieldIndex));
+            }
+        });
+        addColumn("Status", "Define the status of this version",
+                version -> viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(version.stamp().stateNid()));
+        addColumn("Time", "Represents the time this version was committed",
+                version -> DateTimeUtil.format(version.time()));
+        addColumn("Author", "Represents the author of this version",
+                version -> viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(version.stamp().authorNid()));
+        addColumn("Module", "Represents the module this version is part of",
+                version -> viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(version.stamp().moduleNid()));
+        addColumn("Path", "Define path that this version is created on",
+                version -> viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(version.stamp().pathNid()));
+
+        List<TableColumn<Integer, ?>> choices = new ArrayList<>();
+        choices.add(allVisibleColumns);
+        choices.addAll(tableView.getColumns());
+        filterColumnChoice.getItems().setAll(choices);
+        filterColumnChoice.getSelectionModel().selectFirst();
+    }
+
+    /**
+     * Adds a column showing a text for each semantic version. The column keeps its text function as its user
+     * data, so sorting and filtering find it however the columns have been reordered.
+     */
+    private void addColumn(String meaningText, String purposeText, Function<SemanticEntityVersion, String> columnText) {
+        TableColumn<Integer, String> column = new TableColumn<>(meaningText);
+        column.setUserData(columnText);
+        column.setMinWidth(50);
+        column.setPrefWidth(150);
+        column.setMaxWidth(1000);
+        Label fieldLabelWithTooltip = new Label();
+        fieldLabelWithTooltip.setTooltip(new Tooltip(purposeText));
+        column.setGraphic(fieldLabelWithTooltip);
+        column.setCellValueFactory(param -> new ReadOnlyStringWrapper(text(shownVersion(param.getValue()), columnText)));
+        column.visibleProperty().addListener((_, _, _) -> {
+            if (!filterField.getText().isBlank()) {
+                refresh();
+            }
+        });
+        tableView.getColumns().add(column);
+    }
+
+    /**
+     * @return the text function a column was added with
+     */
+    @SuppressWarnings("unchecked")
+    static Function<SemanticEntityVersion, String> columnText(TableColumn<?, ?> column) {
+        return (Function<SemanticEntityVersion, String>) column.getUserData();
+    }
+
+    /**
+     * @param columns      the columns of the table
+     * @param filterColumn the column chosen to filter on, or any column not in the table for every visible one
+     * @return the text functions of the columns to filter on
+     */
+    static List<Function<SemanticEntityVersion, String>> filterTexts(List<? extends TableColumn<?, ?>> columns,
+                                                                     TableColumn<?, ?> filterColumn) {
+        List<Function<SemanticEntityVersion, String>> filterTexts = new ArrayList<>();
+        if (columns.contains(filterColumn)) {
+            filterTexts.add(columnText(filterColumn));
+        } else {
+            for (TableColumn<?, ?> column : columns) {
+                if (column.isVisible()) {
+                    filterTexts.add(columnText(column));
+                }
+            }
+        }
+        return filterTexts;
+    }
+
+    /**
+     * @param sortOrder the columns sorted on, in sort order
+     * @return the sort keys of the columns
+     */
+    static List<SortKey> sortKeys(List<? extends TableColumn<?, ?>> sortOrder) {
+        List<SortKey> sortKeys = new ArrayList<>();
+        for (TableColumn<?, ?> column : sortOrder) {
+            sortKeys.add(new SortKey(columnText(column), column.getSortType() == TableColumn.SortType.DESCENDING));
+        }
+        return sortKeys;
+    }
+
+    private String fieldText(SemanticEntityVersion version, int fieldIndex) {
+        Object obj = version.fieldValues().get(fieldIndex);
+        if (obj instanceof EntityFacade entityFacade) {
+            return viewCalculator().getPreferredDescriptionTextWithFallbackOrNid(entityFacade);
+        } else if (obj instanceof Instant instant) {
+            return DateTimeUtil.format(instant);
+        }
+        return String.valueOf(obj);
+    }
+
+    private ViewCalculator viewCalculator() {
+        return viewProperties.calculator();
+    }
+
+    /**
+     * @return the latest version of the semantic under the view, or null if it has none
+     */
+    private SemanticEntityVersion latestVersion(int semanticNid) {
+        Latest<SemanticEntityVersion> latest = viewCalculator().latest(semanticNid);
+        return latest.isPresent() ? latest.get() : null;
+    }
+
+    /**
+     * The latest version of a row being shown, read once for all the cells of the row while it stays shown.
+     *
+     * @return the latest version of the semantic under the view, or null if it has none
+     */
+    private SemanticEntityVersion shownVersion(int semanticNid) {
+        ViewCalculator calculator = viewCalculator();
+        if (calculator != cachedCalculator) {
+            clearShownVersions();
+            cachedCalculator = calculator;
+        }
+        int slot = semanticNid & (LATEST_VERSION_CACHE_SIZE - 1);
+        SemanticEntityVersion version = cachedVersions[slot];
+        if (version == null || cachedNids[slot] != semanticNid) {
+            version = latestVersion(semanticNid);
+            if (version != null) {
+                cachedNids[slot] = semanticNid;
+                cachedVersions[slot] = version;
+            }
+        }
+        return version;
+    }
+
+    private void clearShownVersions() {
+        Arrays.fill(cachedVersions, null);
+    }
+
+    private static String text(SemanticEntityVersion version, Function<SemanticEntityVersion, String> text) {
+        return version == null ? "" : text.apply(version);
+    }
+
+    /**
+     * Filters and sorts the pattern's semantics in the background, then shows the result.
+     */
+    private void refresh() {
+        long refreshGeneration = generation.incrementAndGet();
+        int[] nids = this.patternNids;
+        String filterText = filterField.getText().strip().toLowerCase(Locale.ROOT);
+        List<Function<SemanticEntityVersion, String>> filterTexts =
+                filterTexts(tableView.getColumns(), filterColumnChoice.getValue());
+        List<SortKey> sortKeys = sortKeys(tableView.getSortOrder());
+        if (filterText.isEmpty() && sortKeys.isEmpty()) {
+            replaceRows(nids, nids.length);
+            return;
+        }
+        countLabel.setText(filterText.isEmpty() ? "Sorting..." : "Filtering...");
+        TinkExecutor.threadPool().execute(() -> {
+            int[] rows = new int[nids.length];
+            NaturalOrderKey[][] keys = new NaturalOrderKey[sortKeys.isEmpty() ? 0 : nids.length][];
+            int rowCount = 0;
+            for (int nid : nids) {
+                if (generation.get() != refreshGeneration) {
+                    return;
+                }
+                SemanticEntityVersion version = latestVersion(nid);
+                if (!filterText.isEmpty() && filterTexts.stream().noneMatch(filterColumnText ->
+                        text(version, filterColumnText).toLowerCase(Locale.ROOT).contains(filterText))) {
+                    continue;
+                }
+                if (!sortKeys.isEmpty()) {
+                    NaturalOrderKey[] rowKeys = new NaturalOrderKey[sortKeys.size()];
+                    for (int k = 0; k < rowKeys.length; k++) {
+                        rowKeys[k] = NaturalOrderKey.of(text(version, sortKeys.get(k).text()));
+                    }
+                    keys[rowCount] = rowKeys;
+                }
+                rows[rowCount++] = nid;
+            }
+            boolean[] descending = new boolean[sortKeys.size()];
+            for (int k = 0; k < descending.length; k++) {
+                descending[k] = sortKeys.get(k).descending();
+            }
+            int[] result = sortKeys.isEmpty() ? Arrays.copyOf(rows, rowCount) : sort(rows, keys, rowCount, descending);
+            Platform.runLater(() -> {
+                if (generation.get() == refreshGeneration) {
+                    replaceRows(result, nids.length);
+                }
+            });
+        });
+    }
+
+    /**
+     * Sorts rows on their precomputed keys; rows whose keys are all equal keep their order.
+     *
+     * @param rows       the nids of the rows
+     * @param keys       the sort keys of each row, in sort order
+     * @param rowCount   the number of leading rows to sort
+     * @param descending whether each key sorts descending
+     * @return the first {@code rowCount} rows, sorted
+     */
+    static int[] sort(int[] rows, NaturalOrderKey[][] keys, int rowCount, boolean[] descending) {
+        SortedRow[] sortedRows = new SortedRow[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            sortedRows[i] = new SortedRow(rows[i], keys[i]);
+        }
+        Arrays.sort(sortedRows, (row1, row2) -> {
+            for (int k = 0; k < descending.length; k++) {
+                int comparison = row1.keys()[k].compareTo(row2.keys()[k]);
+                if (comparison != 0) {
+                    return descending[k] ? -comparison : comparison;
+                }
+            }
+            return 0;
+        });
+        int[] sorted = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            sorted[i] = sortedRows[i].nid();
+        }
+        return sorted;
+    }
+
+    private void replaceRows(int[] rows, int total) {
+        clearShownVersions();
+        replacingRows = true;
+        try {
+            tableView.setItems(new NidRows(rows));
+        } finally {
+            replacingRows = false;
+        }
+        NumberFormat numberFormat = NumberFormat.getInstance();
+        countLabel.setText(rows.length == total
+                ? numberFormat.format(total) + " semantics"
+                : numberFormat.format(rows.length) + " of " + numberFormat.format(total) + " semantics");
+    }
+}
@@ -27,8 +27,6 @@
 import dev.ikm.komet.framework.TopPanelFactory;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.preferences.KometPreferences;
-import dev.ikm.tinkar.common.service.TinkExecutor;
-import dev.ikm.tinkar.common.service.PrimitiveData;
 import dev.ikm.tinkar.common.util.time.DateTimeUtil;
 import dev.ikm.tinkar.component.Component;
 import dev.ikm.tinkar.coordinate.stamp.StampFields;
@@ -37,7 +35,6 @@
 
 import java.time.Instant;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class TableNode extends ExplorationNodeAbstract {
     protected static final String STYLE_ID = "table-node";
@@ -46,6 +43,10 @@ public class TableNode extends ExplorationNodeAbstract {
     private final TreeItem<Component> root;
     private final BorderPane contentPane = new BorderPane();
     private final TreeTableView<Component> treeTableView;
+    /**
+     * Shows every semantic of a focused pattern; the tree table shows the versions of a focused semantic.
+     */
+    private final PatternTable patternTable;
 
     public TableNode(ViewProperties viewProperties, KometPreferences nodePreferences) {
         super(viewProperties, nodePreferences);
@@ -55,6 +56,7 @@ public TableNode(ViewProperties viewProperties, KometPreferences nodePreferences
         this.treeTableView = new TreeTableView<>(root);
         this.treeTableView.setTableMenuButtonVisible(true);
         this.treeTableView.setShowRoot(false);
+        this.patternTable = new PatternTable(viewProperties);
 
         entityFocusProperty.addListener(this::focusChanged);
         Platform.runLater(() -> {
@@ -71,8 +73,10 @@ private void focusChanged(ObservableValue<? extends EntityFacade> observable, En
             if (newEntity instanceof ConceptEntity conceptEntity) {
                 // Don't know what to do...
             } else if (newEntity instanceof PatternEntity patternEntity) {
-                setupPattern(patternEntity, true);
+                this.contentPane.setCenter(this.patternTable.getNode());
+                this.patternTable.setPattern(patternEntity);
             } else if (newEntity instanceof SemanticEntity semanticEntity) {
+                this.contentPane.setCenter(this.treeTableView);
                 setupSemantic(semanticEntity);
             }
         });
@@ -85,7 +89,7 @@ private void setupTopPanel(ViewProperties viewProperties) {
         this.contentPane.setTop(topPanel);
     }
 
-    private void setupPattern(PatternEntity patternEntity, boolean populate) {
+    private void setupPattern(PatternEntity patternEntity) {
         this.treeTableView.getColumns().clear();
         this.root.getChildren().clear();
         this.viewProperties.calculator().latestPatternEntityVersion(patternEntity).ifPresent(patternEntityVersion -> {
@@ -129,28 +133,11 @@ public TreeTableCell<Component, Object> call(TreeTableColumn<Component, Object>
             this.treeTableView.getColumns().add(makeColumn("Author", "Represents the author of this version", StampFields.AUTHOR));
             this.treeTableView.getColumns().add(makeColumn("Module", "Represents the module this version is part of", StampFields.MODULE));
             this.treeTableView.getColumns().add(makeColumn("Path", "Define path that this version is created on", StampFields.PATH));
-            if (populate) {
-                TinkExecutor.threadPool().execute(() -> {
-                    AtomicInteger count = new AtomicInteger();
-                    PrimitiveData.get().forEachSemanticNidOfPattern(patternEntity.nid(), semanticNid -> {
-                        if (count.getAndIncrement() < 5000) {
-                            SemanticEntity semanticEntity = Entity.getFast(semanticNid);
-                            TreeItem semanticParent = new TreeItem(Entity.getFast(semanticEntity.referencedComponentNid()));
-                            semanticParent.setExpanded(true);
-                            Platform.runLater(() -> this.root.getChildren().add(semanticParent));
-                            semanticEntity.versions().forEach(semanticEntityVersion -> {
-                                TreeItem semanticVersionItem = new TreeItem(semanticEntityVersion);
-                                Platform.runLater(() -> semanticParent.getChildren().add(semanticVersionItem));
-                            });
-                        }
-                    });
-                });
-            }
         });
     }
 
     private void setupSemantic(SemanticEntity semanticEntity) {
-        setupPattern(Entity.getFast(semanticEntity.patternNid()), false);
+        setupPattern(Entity.getFast(semanticEntity.patternNid()));
         TreeItem semanticParent = new TreeItem(Entity.getFast(semanticEntity.referencedComponentNid()));
         semanticParent.setExpanded(true);
         Platform.runLater(() -> this.root.getChildren().add(semanticParent));
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.table;
+
+import dev.ikm.komet.framework.sort.NaturalOrderKey;
+import dev.ikm.tinkar.entity.SemanticEntityVersion;
+import javafx.scene.control.TableColumn;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PatternTableTest {
+
+    private static NaturalOrderKey[] keys(String... texts) {
+        NaturalOrderKey[] keys = new NaturalOrderKey[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            keys[i] = NaturalOrderKey.of(texts[i]);
+        }
+        return keys;
+    }
+
+    private static TableColumn<Integer, String> column(String name, Function<SemanticEntityVersion, String> text) {
+        TableColumn<Integer, String> column = new TableColumn<>(name);
+        column.setUserData(text);
+        return column;
+    }
+
+    @Test
+    public void rowsAreServedByIndexFromTheNidArray() {
+        PatternTable.NidRows rows = new PatternTable.NidRows(new int[]{-7, 3, 12, 5, 40});
+
+        assertEquals(5, rows.size());
+        assertEquals(12, rows.get(2));
+        assertEquals(List.of(12, 5), rows.subList(2, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> rows.get(5));
+        assertThrows(UnsupportedOperationException.class, () -> rows.add(1));
+    }
+
+    @Test
+    public void sortsRowsInNaturalOrderOfTheirKeys() {
+        int[] rows = {1, 2, 3, 4};
+        NaturalOrderKey[][] keys = {keys("Item 10"), keys("item 2"), keys("Item 1"), keys("Alpha")};
+
+        assertArrayEquals(new int[]{4, 3, 2, 1}, PatternTable.sort(rows, keys, 4, new boolean[]{false}));
+        assertArrayEquals(new int[]{1, 2, 3, 4}, PatternTable.sort(rows, keys, 4, new boolean[]{true}));
+    }
+
+    @Test
+    public void breaksTiesOnLaterKeysAndKeepsTheOrderOfEqualRows() {
+        int[] rows = {1, 2, 3, 4, 5, 99};
+        NaturalOrderKey[][] keys = {
+                keys("b", "2"), keys("a", "1"), keys("b", "10"), keys("a", "1"), keys("b", "2"), null};
+
+        // only the first five rows, such as those left after filtering, are sorted
+        assertArrayEquals(new int[]{2, 4, 3, 1, 5}, PatternTable.sort(rows, keys, 5, new boolean[]{false, true}));
+    }
+
+    @Test
+    public void sortsAndFiltersOnTheColumnsChosenAfterTheyAreReordered() {
+        Function<SemanticEntityVersion, String> statusText = _ -> "Active";
+        Function<SemanticEntityVersion, String> authorText = _ -> "Author";
+        Function<SemanticEntityVersion, String> moduleText = _ -> "Module";
+        TableColumn<Integer, String> status = column("Status", statusText);
+        TableColumn<Integer, String> author = column("Author", authorText);
+        TableColumn<Integer, String> module = column("Module", moduleText);
+        TableColumn<Integer, String> allVisibleColumns = new TableColumn<>("All visible columns");
+        List<TableColumn<Integer, ?>> columns = new ArrayList<>(List.of(status, author, module));
+
+        // drag the module column to the front, as the table does when a user reorders its columns
+        columns.remove(module);
+        columns.addFirst(module);
+        module.setSortType(TableColumn.SortType.DESCENDING);
+        List<PatternTable.SortKey> sortKeys = PatternTable.sortKeys(List.of(status, module));
+
+        assertEquals(2, sortKeys.size());
+        assertSame(statusText, sortKeys.get(0).text());
+        assertFalse(sortKeys.get(0).descending());
+        assertSame(moduleText, sortKeys.get(1).text());
+        assertTrue(sortKeys.get(1).descending());
+
+        assertEquals(List.of(authorText), PatternTable.filterTexts(columns, author));
+        author.setVisible(false);
+        assertEquals(List.of(moduleText, statusText), PatternTable.filterTexts(columns, allVisibleColumns));
+        assertEquals(List.of(moduleText, statusText), PatternTable.filterTexts(columns, null));
+    }
+}
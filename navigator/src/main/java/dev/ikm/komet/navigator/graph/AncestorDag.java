@@ -0,0 +1,281 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import dev.ikm.komet.framework.cache.EntityWrites;
+import dev.ikm.komet.framework.events.appevents.RefreshCalculatorCacheEvent;
+import dev.ikm.tinkar.common.service.CachingService;
+import dev.ikm.tinkar.coordinate.navigation.NavigationCoordinateRecord;
+import dev.ikm.tinkar.coordinate.stamp.StampCoordinateRecord;
+import dev.ikm.tinkar.coordinate.view.ViewCoordinateRecord;
+import dev.ikm.tinkar.events.EvtBusFactory;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.ikm.tinkar.events.FrameworkTopics.CALCULATOR_CACHE_TOPIC;
+
+/**
+ * Memoized view of the ancestors of concepts under a navigation coordinate.
+ * <p>
+ * The parents of each concept are fetched from the {@link Navigator} once, and the depth and shortest-lineage
+ * results of each concept are computed from those of its parents. Depth and shortest-lineage queries therefore
+ * take time linear in the number of ancestors, however many distinct paths a multi-parent taxonomy has
+ * between a concept and the root.
+ * <p>
+ * Instances are shared through {@link #of(Navigator)}, keyed by the navigation and stamp coordinates of the
+ * navigator, so a change of navigation coordinate uses a different instance. All instances are discarded
+ * whenever an entity is written, and on a {@link RefreshCalculatorCacheEvent}.
+ */
+public class AncestorDag {
+    private static final Logger LOG = LoggerFactory.getLogger(AncestorDag.class);
+
+    /**
+     * The number of coordinates whose ancestor DAGs are kept.
+     */
+    private static final int MAX_DAGS = 4;
+
+    public static class CacheProvider implements CachingService {
+        @Override
+        public void reset() {
+            invalidateAll();
+        }
+    }
+
+    private record Key(NavigationCoordinateRecord navigationCoordinate, StampCoordinateRecord stampCoordinate) {
+    }
+
+    private static final Map<Key, AncestorDag> DAGS = new LinkedHashMap<>(MAX_DAGS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, AncestorDag> eldest) {
+            return size() > MAX_DAGS;
+        }
+    };
+
+    private static final EntityWrites.Listener WRITE_LISTENER = _ -> invalidateAll();
+    private static final dev.ikm.tinkar.events.Subscriber<RefreshCalculatorCacheEvent> REFRESH_SUBSCRIBER =
+            evt -> invalidateAll();
+    private static boolean subscribed = false;
+
+    /**
+     * @param navigator the navigator whose coordinates define the parents of each concept
+     * @return the shared ancestor DAG for the navigator's navigation and stamp coordinates
+     */
+    public static AncestorDag of(Navigator navigator) {
+        ViewCoordinateRecord viewCoordinate = navigator.getViewCalculator().viewCoordinateRecord();
+        Key key = new Key(viewCoordinate.navigationCoordinate(), viewCoordinate.stampCoordinate());
+        synchronized (DAGS) {
+            if (!subscribed) {
+                EntityWrites.addListener(WRITE_LISTENER);
+                EvtBusFactory.getDefaultEvtBus().subscribe(CALCULATOR_CACHE_TOPIC, RefreshCalculatorCacheEvent.class, REFRESH_SUBSCRIBER);
+                subscribed = true;
+            }
+            return DAGS.computeIfAbsent(key, _ -> new AncestorDag(navigator));
+        }
+    }
+
+    /**
+     * Discards all shared ancestor DAGs.
+     */
+    public static void invalidateAll() {
+        synchronized (DAGS) {
+            DAGS.clear();
+        }
+    }
+
+    /**
+     * The memoized ancestry of a concept.
+     *
+     * @param parentNids        the parents of the concept
+     * @param shortestDepth     the number of edges on the shortest path to a root
+     * @param longestDepth      the number of edges on the longest path to a root
+     * @param shortestParentNid the first parent on a shortest path to a root, or -1 for a root
+     * @param lineageCount      the number of distinct paths to a root, saturated at {@link Long#MAX_VALUE}
+     */
+    private record Vertex(int[] parentNids, int shortestDepth, int longestDepth,
+                          int shortestParentNid, long lineageCount) {
+    }
+
+    private final Navigator navigator;
+    private final ConcurrentHashMap<Integer, Vertex> vertices = new ConcurrentHashMap<>();
+
+    AncestorDag(Navigator navigator) {
+        this.navigator = navigator;
+    }
+
+    /**
+     * @param nid the nid of a concept
+     * @return the parents of the concept
+     */
+    public int[] parentNids(int nid) {
+        return vertex(nid).parentNids().clone();
+    }
+
+    /**
+     * @param nid the nid of a concept
+     * @return the number of edges on the longest path from the concept to a root, 0 for a root
+     */
+    public int longestDepth(int nid) {
+        return vertex(nid).longestDepth();
+    }
+
+    /**
+     * @param nid the nid of a concept
+     * @return the number of edges on the shortest path from the concept to a root, 0 for a root
+     */
+    public int shortestDepth(int nid) {
+        return vertex(nid).shortestDepth();
+    }
+
+    /**
+     * @param nid the nid of a concept
+     * @return the number of distinct paths from the concept to a root, saturated at {@link Long#MAX_VALUE}
+     */
+    public long lineageCount(int nid) {
+        return vertex(nid).lineageCount();
+    }
+
+    /**
+     * Where several lineages are equally short, the one through the earliest parent, in navigator order,
+     * at each step is returned.
+     *
+     * @param nid the nid of a concept
+     * @return the nids of a shortest lineage, from a root down to and including the concept
+     */
+    public int[] shortestLineage(int nid) {
+        MutableIntList lineage = IntLists.mutable.with(nid);
+        Vertex vertex = vertex(nid);
+        while (vertex.shortestParentNid() != -1 && !lineage.contains(vertex.shortestParentNid())) {
+            lineage.add(vertex.shortestParentNid());
+            vertex = vertex(vertex.shortestParentNid());
+        }
+        return lineage.reverseThis().toArray();
+    }
+
+    /**
+     * Enumerates every lineage of a concept. The number of lineages can grow exponentially with the depth of a
+     * multi-parent taxonomy, so callers should check {@link #lineageCount(int)} first.
+     *
+     * @param nid the nid of a concept
+     * @return the nids of each lineage, from a root down to and including the concept, shortest first
+     */
+    public List<int[]> allLineages(int nid) {
+        List<int[]> lineages = new ArrayList<>();
+        collectLineages(nid, new int[vertex(nid).longestDepth() + 1], 0, lineages);
+        lineages.sort(Comparator.comparingInt(lineage -> lineage.length));
+        return lineages;
+    }
+
+    private void collectLineages(int nid, int[] path, int length, List<int[]> lineages) {
+        if (length == path.length) {
+            path = Arrays.copyOf(path, length * 2);
+        }
+        path[length++] = nid;
+        Vertex vertex = vertex(nid);
+        if (vertex.shortestParentNid() == -1) {
+            int[] lineage = new int[length];
+            for (int i = 0; i < length; i++) {
+                lineage[i] = path[length - 1 - i];
+            }
+            lineages.add(lineage);
+            return;
+        }
+        for (int parentNid : vertex.parentNids()) {
+            if (!contains(path, length, parentNid)) {
+                collectLineages(parentNid, path, length, lineages);
+            }
+        }
+    }
+
+    private static boolean contains(int[] path, int length, int nid) {
+        for (int i = 0; i < length; i++) {
+            if (path[i] == nid) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Vertex vertex(int nid) {
+        Vertex vertex = vertices.get(nid);
+        if (vertex != null) {
+            return vertex;
+        }
+        return computeVertex(nid, IntSets.mutable.empty());
+    }
+
+    /**
+     * Computes the vertex of a concept from the vertices of its parents. Parents that are already being computed
+     * further down the call stack would form a cycle, and are ignored.
+     */
+    private Vertex computeVertex(int nid, MutableIntSet inProgress) {
+        Vertex cached = vertices.get(nid);
+        if (cached != null) {
+            return cached;
+        }
+        inProgress.add(nid);
+        int[] parentNids = fetchParentNids(nid);
+        int shortestDepth = Integer.MAX_VALUE;
+        int longestDepth = 0;
+        int shortestParentNid = -1;
+        long lineageCount = 0;
+        for (int parentNid : parentNids) {
+            if (inProgress.contains(parentNid)) {
+                continue;
+            }
+            Vertex parent = computeVertex(parentNid, inProgress);
+            if (parent.shortestDepth() + 1 < shortestDepth) {
+                shortestDepth = parent.shortestDepth() + 1;
+                shortestParentNid = parentNid;
+            }
+            longestDepth = Math.max(longestDepth, parent.longestDepth() + 1);
+            lineageCount = saturatedAdd(lineageCount, parent.lineageCount());
+        }
+        if (shortestParentNid == -1) {
+            shortestDepth = 0;
+            lineageCount = 1;
+        }
+        inProgress.remove(nid);
+        Vertex vertex = new Vertex(parentNids, shortestDepth, longestDepth, shortestParentNid, lineageCount);
+        Vertex previous = vertices.putIfAbsent(nid, vertex);
+        return previous != null ? previous : vertex;
+    }
+
+    private int[] fetchParentNids(int nid) {
+        try {
+            return navigator.getParentNids(nid);
+        } catch (Exception e) {
+            LOG.error("Exception occurred", e);
+            return new int[0];
+        }
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
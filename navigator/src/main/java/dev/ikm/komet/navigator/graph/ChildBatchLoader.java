@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Resolves the display state of an ordered set of children a page at a time, and publishes each page in order.
+ * <p>
+ * The first page is resolved on the calling thread, so it can be published without waiting for a pool thread.
+ * Later pages are resolved by at most {@code maxPagesInFlight} pool tasks at once, rather than one task per child,
+ * so expanding a concept with thousands of children does not flood the shared pool.
+ *
+ * @param <T> the type of child
+ */
+class ChildBatchLoader<T> {
+    static final int DEFAULT_PAGE_SIZE = 64;
+    static final int DEFAULT_MAX_PAGES_IN_FLIGHT = 4;
+
+    private final ExecutorService executor;
+    private final int pageSize;
+    private final int maxPagesInFlight;
+
+    ChildBatchLoader(ExecutorService executor) {
+        this(executor, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES_IN_FLIGHT);
+    }
+
+    ChildBatchLoader(ExecutorService executor, int pageSize, int maxPagesInFlight) {
+        if (pageSize < 1 || maxPagesInFlight < 1) {
+            throw new IllegalArgumentException("Page size and pages in flight must be positive: "
+                    + pageSize + ", " + maxPagesInFlight);
+        }
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.maxPagesInFlight = maxPagesInFlight;
+    }
+
+    /**
+     * @param children  the children, in display order
+     * @param resolver  resolves the display state of a child; runs on the calling thread or a pool thread
+     * @param filter    selects the resolved children to publish
+     * @param publisher receives each page of resolved, selected children, in display order, on the calling thread
+     * @param cancelled checked between pages; once true, no further pages are resolved or published
+     * @return the number of children published
+     */
+    int load(List<T> children, Consumer<T> resolver, Predicate<T> filter,
+             Consumer<List<T>> publisher, BooleanSupplier cancelled) throws InterruptedException, ExecutionException {
+        int pageCount = (children.size() + pageSize - 1) / pageSize;
+        if (pageCount == 0) {
+            return 0;
+        }
+        Deque<Future<List<T>>> inFlight = new ArrayDeque<>(maxPagesInFlight);
+        int nextPage = 1;
+        try {
+            for (; nextPage < pageCount && nextPage <= maxPagesInFlight; nextPage++) {
+                inFlight.add(submitPage(children, nextPage, resolver, filter));
+            }
+            int published = publish(resolvePage(children, 0, resolver, filter), publisher);
+            while (!inFlight.isEmpty()) {
+                if (cancelled.getAsBoolean()) {
+                    return published;
+                }
+                List<T> page = inFlight.removeFirst().get();
+                if (nextPage < pageCount) {
+                    inFlight.add(submitPage(children, nextPage++, resolver, filter));
+                }
+                published += publish(page, publisher);
+            }
+            return published;
+        } finally {
+            // Interrupts are bad for code that uses NIO.
+            inFlight.forEach(future -> future.cancel(false));
+        }
+    }
+
+    private int publish(List<T> page, Consumer<List<T>> publisher) {
+        if (!page.isEmpty()) {
+            publisher.accept(page);
+        }
+        return page.size();
+    }
+
+    private Future<List<T>> submitPage(List<T> children, int page, Consumer<T> resolver, Predicate<T> filter) {
+        return executor.submit(TaskPriority.INTERACTIVE.wrap(() -> resolvePage(children, page, resolver, filter)));
+    }
+
+    private List<T> resolvePage(List<T> children, int page, Consumer<T> resolver, Predicate<T> filter) {
+        int start = page * pageSize;
+        int end = Math.min(start + pageSize, children.size());
+        List<T> resolved = new ArrayList<>(end - start);
+        for (T child : children.subList(start, end)) {
+            resolver.accept(child);
+            if (filter.test(child)) {
+                resolved.add(child);
+            }
+        }
+        return resolved;
+    }
+}
@@ -16,11 +16,12 @@
 package dev.ikm.komet.navigator.graph;
 
 
-import dev.ikm.komet.framework.view.ObservableView;
+import dev.ikm.komet.framework.concurrent.PrioritizedTask;
+import dev.ikm.komet.framework.concurrent.TaskPriority;
+import dev.ikm.komet.framework.sort.NaturalOrderSort;
 import dev.ikm.tinkar.common.alert.AlertStreams;
 import dev.ikm.tinkar.common.service.TinkExecutor;
 import dev.ikm.tinkar.common.service.TrackingCallable;
-import dev.ikm.tinkar.common.util.thread.TaskCountManager;
 import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
 import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
 import dev.ikm.tinkar.entity.ConceptEntity;
@@ -28,18 +29,31 @@
 import dev.ikm.tinkar.terms.ConceptFacade;
 import javafx.application.Platform;
 import org.eclipse.collections.api.collection.ImmutableCollection;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- *
+ * Fetches the children of a navigator vertex. Runs in the {@link TaskPriority#INTERACTIVE} lane,
+ * since a user is waiting on the expansion.
+ * <p>
+ * The display state of the children is resolved and published to the tree a page at a time by a
+ * {@link ChildBatchLoader}. When there is more than one page, the pages are published in edge order while
+ * the children are sorted on their descriptions on another thread, and the children are put in display
+ * order once every page has been published.
  */
-public class FetchChildren extends TrackingCallable<Void> {
+public class FetchChildren extends TrackingCallable<Void> implements PrioritizedTask {
     private static final Logger LOG = LoggerFactory.getLogger(FetchChildren.class);
     private static final AtomicInteger FETCHER_SEQUENCE = new AtomicInteger(1);
     private static final ConcurrentHashMap<Integer, FetchChildren> FETCHER_MAP = new ConcurrentHashMap<>();
@@ -50,6 +64,15 @@ public class FetchChildren extends TrackingCallable<Void> {
     private final String parentName;
     private final ViewCalculator viewCalculator;
     private int childrenFound = 0;
+    /**
+     * The children resolved so far, counted from the pool threads that resolve them, and the number of them
+     * reported as completed work, which only the thread running the fetch reports, as the progress counter is
+     * not thread-safe.
+     */
+    private final AtomicInteger childrenResolved = new AtomicInteger();
+    private int childrenReported = 0;
+    private final Set<MultiParentVertexImpl> publishedChildren = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean pagePublished = false;
 
     public FetchChildren(CountDownLatch childrenLoadedLatch,
                          MultiParentVertexImpl parentGraphItem) {
@@ -71,6 +94,11 @@ public FetchChildren(CountDownLatch childrenLoadedLatch,
         }
     }
 
+    @Override
+    public TaskPriority taskPriority() {
+        return TaskPriority.INTERACTIVE;
+    }
+
     @Override
     public Void compute() throws Exception {
         try {
@@ -79,66 +107,68 @@ public Void compute() throws Exception {
             if (conceptFacade == null) {
                 LOG.debug("addChildren(): ConceptEntity={}", conceptFacade);
             } else {  // if (ConceptEntity != null)
-                // Gather the children
-                ConcurrentSkipListSet<MultiParentVertexImpl> childrenToAdd = new ConcurrentSkipListSet<>();
                 Navigator navigator = parentGraphItem.getGraphController().getNavigator();
-                ObservableView observableView = parentGraphItem.getGraphController().getObservableView();
                 ImmutableCollection<Edge> children = navigator.getChildEdges(conceptFacade.nid());
 
                 addToTotalWork(children.size() + 1);
 
-                TaskCountManager taskCountManager = TaskCountManager.get();
+                // Gather the children, showing repeated links to the same child once
+                MutableIntSet childNids = IntSets.mutable.withInitialCapacity(children.size());
+                List<MultiParentVertexImpl> childItems = new ArrayList<>(children.size());
                 for (Edge childLink : children) {
-                    taskCountManager.acquire();
-                    TinkExecutor.threadPool().execute(() -> {
-                        try {
-                            ConceptEntity childChronology = Entity.getFast(childLink.destinationNid());
-                            MultiParentVertexImpl childItem = new MultiParentVertexImpl(childChronology, parentGraphItem.getGraphController(), childLink.typeNids(), null);
-                            try {
-                                childItem.setDefined(this.viewCalculator.hasSufficientSet(childChronology));
-                            } catch (Throwable e) {
-                                // TODO remove when better handling for: More than one set of axioms for concept: ConceptRecord{SNOMED CT July 2002 Release: 20020731 [R] <-2142333838>
-                                // dev.ikm.tinkar.coordinate.logic.calculator.LogicCalculatorWithCache.hasSufficientSet(LogicCalculatorWithCache.java:101)
-                                AlertStreams.dispatchToRoot(e);
+                    if (childNids.add(childLink.destinationNid())) {
+                        ConceptEntity childChronology = Entity.getFast(childLink.destinationNid());
+                        childItems.add(new MultiParentVertexImpl(childChronology, parentGraphItem.getGraphController(), childLink.typeNids(), null));
+                    }
+                }
+                if (isCancelled()) return null;
+
+                Future<List<MultiParentVertexImpl>> sortedChildren = null;
+                if (childItems.size() <= ChildBatchLoader.DEFAULT_PAGE_SIZE) {
+                    // A single page is sorted before it is shown.
+                    childItems = NaturalOrderSort.sorted(childItems, MultiParentVertexImpl::toString);
+                } else {
+                    // Sorting looks up the description of every child, so the pages are shown in edge order
+                    // while another thread sorts them, and are put in display order once all are shown.
+                    List<MultiParentVertexImpl> unsortedChildren = childItems;
+                    sortedChildren = TinkExecutor.threadPool().submit(TaskPriority.INTERACTIVE.wrap(
+                            () -> NaturalOrderSort.sorted(unsortedChildren, MultiParentVertexImpl::toString)));
+                }
+                try {
+                    ChildBatchLoader<MultiParentVertexImpl> loader = new ChildBatchLoader<>(TinkExecutor.threadPool());
+                    childrenFound = loader.load(childItems,
+                            childItem -> resolveDisplayState(navigator, childItem),
+                            this::shouldDisplay,
+                            this::publishPage,
+                            this::isCancelled);
+                    reportResolvedChildren();
+                    if (isCancelled()) return null;
+                    final List<MultiParentVertexImpl> displayOrder;
+                    if (sortedChildren == null) {
+                        displayOrder = null;
+                    } else {
+                        displayOrder = new ArrayList<>(childrenFound);
+                        for (MultiParentVertexImpl childItem : sortedChildren.get()) {
+                            if (publishedChildren.contains(childItem)) {
+                                displayOrder.add(childItem);
                             }
-                            childItem.toString();
-                            childItem.setMultiParent(navigator.getParentNids(childLink.destinationNid()).length > 1);
-                            childItem.isLeaf();
-
-                            if (childItem.shouldDisplay()) {
-                                childrenToAdd.add(childItem);
-                            } else {
-                                LOG.debug(
-                                        "item.shouldDisplay() == false: not adding " + childItem.getConceptPublicId() + " as child of "
-                                                + parentGraphItem.getConceptPublicId());
+                        }
+                    }
+                    Platform.runLater(() -> {
+                        if (!FetchChildren.this.isCancelled()) {
+                            if (childrenFound == 0) {
+                                parentGraphItem.getChildren().clear();
+                            } else if (displayOrder != null) {
+                                parentGraphItem.getChildren().setAll(displayOrder);
                             }
-                        } finally {
-                            taskCountManager.release();
                         }
                     });
-
                     completedUnitOfWork();
-                    if (isCancelled()) return null;
+                } finally {
+                    if (sortedChildren != null) {
+                        sortedChildren.cancel(false);
+                    }
                 }
-                taskCountManager.waitForCompletion();
-                if (isCancelled()) return null;
-                Platform.runLater(
-                        () -> {
-                            if (!FetchChildren.this.isCancelled()) {
-                                LOG.trace("Adding children for: " + parentGraphItem.getValue().nid()
-                                        + " from: " + fetcherId);
-                                parentGraphItem.getChildren().setAll(childrenToAdd);
-                                try {
-                                    parentGraphItem.setExpanded(true);
-                                } catch (IllegalStateException e) {
-                                    LOG.error("IllegalStateException checking leaf", e);
-                                }
-                                completedUnitOfWork();
-                            }
-
-                        });
-
-                childrenFound = childrenToAdd.size();
             }
             updateTitle("Fetched " + childrenFound + " children for " + this.parentName);
             updateMessage("In " + durationString());
@@ -155,4 +185,65 @@ public Void compute() throws Exception {
             }
         }
     }
+
+    /**
+     * Resolves the definition, multi-parent and leaf status of a child, so none of them are computed on the FX thread.
+     */
+    private void resolveDisplayState(Navigator navigator, MultiParentVertexImpl childItem) {
+        try {
+            childItem.setDefined(this.viewCalculator.hasSufficientSet(childItem.getConceptNid()));
+        } catch (Throwable e) {
+            // TODO remove when better handling for: More than one set of axioms for concept: ConceptRecord{SNOMED CT July 2002 Release: 20020731 [R] <-2142333838>
+            // dev.ikm.tinkar.coordinate.logic.calculator.LogicCalculatorWithCache.hasSufficientSet(LogicCalculatorWithCache.java:101)
+            AlertStreams.dispatchToRoot(e);
+        }
+        childItem.setMultiParent(navigator.getParentNids(childItem.getConceptNid()).length > 1);
+        childItem.isLeaf();
+        childrenResolved.incrementAndGet();
+    }
+
+    /**
+     * Reports the children resolved since the last report as completed work, on the thread running the fetch.
+     */
+    private void reportResolvedChildren() {
+        for (int resolved = childrenResolved.get(); childrenReported < resolved; childrenReported++) {
+            completedUnitOfWork();
+        }
+    }
+
+    private boolean shouldDisplay(MultiParentVertexImpl childItem) {
+        if (childItem.shouldDisplay()) {
+            return true;
+        }
+        LOG.debug("item.shouldDisplay() == false: not adding " + childItem.getConceptPublicId() + " as child of "
+                + parentGraphItem.getConceptPublicId());
+        return false;
+    }
+
+    /**
+     * Publishes a page of children. The first page replaces any existing children and expands the parent,
+     * so the first screenful appears while later pages are still being resolved.
+     */
+    private void publishPage(List<MultiParentVertexImpl> page) {
+        reportResolvedChildren();
+        final boolean firstPage = !pagePublished;
+        pagePublished = true;
+        publishedChildren.addAll(page);
+        Platform.runLater(() -> {
+            if (!FetchChildren.this.isCancelled()) {
+                if (firstPage) {
+                    LOG.trace("Adding children for: " + parentGraphItem.getValue().nid()
+                            + " from: " + fetcherId);
+                    parentGraphItem.getChildren().setAll(page);
+                    try {
+                        parentGraphItem.setExpanded(true);
+                    } catch (IllegalStateException e) {
+                        LOG.error("IllegalStateException checking leaf", e);
+                    }
+                } else {
+                    parentGraphItem.getChildren().addAll(page);
+                }
+            }
+        });
+    }
 }
@@ -22,6 +22,7 @@
 import dev.ikm.komet.framework.activity.ActivityStream;
 import dev.ikm.komet.framework.activity.ActivityStreams;
 import dev.ikm.komet.framework.alerts.AlertPanel;
+import dev.ikm.komet.framework.cache.SessionCacheOverlay;
 import dev.ikm.komet.framework.concurrent.TaskWrapper;
 import dev.ikm.komet.framework.dnd.ClipboardHelper;
 import dev.ikm.komet.framework.dnd.KometClipboard;
@@ -109,6 +110,11 @@ public class MultiParentGraphViewController implements RefreshListener {
     private final LayoutAnimator alertsAnimator = new LayoutAnimator();
     private final SimpleObjectProperty<Navigator> navigatorProperty = new SimpleObjectProperty<>();
     private final UUID uuid = UUID.randomUUID();
+    /**
+     * Description text of concepts this navigator's session has uncommitted changes to, which the shared
+     * tier does not hold.
+     */
+    private final SessionCacheOverlay cacheOverlay = new SessionCacheOverlay("navigator " + uuid);
 
     /** Maintains a mapping between tree items and their corresponding visual cell components. */
     private final Map<TreeItem<ConceptFacade>, TreeCell<ConceptFacade>> cellMap = new WeakHashMap<>();
@@ -176,6 +182,11 @@ public void shutdownInstance() {
         if (rootTreeItem != null) {
             rootTreeItem.clearChildren();  // This recursively cancels any active lookups
         }
+        cacheOverlay.close();
+    }
+
+    public SessionCacheOverlay getCacheOverlay() {
+        return this.cacheOverlay;
     }
 
     public ObservableView getObservableView() {
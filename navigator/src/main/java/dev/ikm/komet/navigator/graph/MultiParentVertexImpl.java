@@ -17,6 +17,7 @@
 
 //~--- JDK imports ------------------------------------------------------------
 
+import dev.ikm.komet.framework.cache.SharedLookups;
 import dev.ikm.tinkar.common.alert.AlertStreams;
 import javafx.application.Platform;
 import javafx.scene.Node;
@@ -149,7 +150,8 @@ public int compareTo(MultiParentVertexImpl o) {
 
     public void updateDescription() {
         if (this.nid != Integer.MAX_VALUE) {
-            this.conceptDescriptionText = graphController.getObservableView().getDescriptionTextOrNid(nid);
+            this.conceptDescriptionText = SharedLookups.descriptionTextOrNid(graphController.getCacheOverlay(),
+                    graphController.getObservableView().calculator(), nid);
         } else {
             this.conceptDescriptionText = "hidden root";
         }
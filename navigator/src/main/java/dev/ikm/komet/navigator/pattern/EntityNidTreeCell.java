@@ -34,6 +34,7 @@
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.TilePane;
 import javafx.scene.transform.NonInvertibleTransformException;
+import dev.ikm.komet.framework.cache.InstancePage;
 import dev.ikm.komet.framework.dnd.DragDetectedCellEventHandler;
 import dev.ikm.komet.framework.dnd.DragDoneEventHandler;
 import dev.ikm.komet.framework.dnd.DraggableWithImage;
@@ -43,6 +44,7 @@
 import dev.ikm.tinkar.entity.PatternEntity;
 import org.eclipse.collections.api.list.ImmutableList;
 
+import java.text.NumberFormat;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -100,6 +102,9 @@ protected void updateItem(Object item, boolean empty) {
             if (item instanceof String stringItem) {
                 setContentDisplay(ContentDisplay.TEXT_ONLY);
                 setText(stringItem);
+            } else if (item instanceof InstancePage page) {
+                setContentDisplay(ContentDisplay.TEXT_ONLY);
+                setText(NumberFormat.getInstance().format(page.remaining()) + " more semantics, select to show...");
             } else if (item instanceof Integer nid) {
                 String entityDescriptionText = viewProperties.calculator().getPreferredDescriptionTextWithFallbackOrNid(nid);
                 Entity entity = Entity.getFast(nid);
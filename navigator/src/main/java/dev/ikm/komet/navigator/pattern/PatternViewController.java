@@ -17,6 +17,8 @@
 
 import dev.ikm.komet.framework.KometNode;
 import dev.ikm.komet.framework.activity.ActivityStream;
+import dev.ikm.komet.framework.cache.InstancePage;
+import dev.ikm.komet.framework.cache.PatternInstanceIndex;
 import dev.ikm.komet.framework.graphics.Icon;
 import dev.ikm.komet.framework.temp.FxGet;
 import dev.ikm.komet.framework.view.ObservableView;
@@ -51,11 +53,9 @@
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
-import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.OptionalInt;
 import java.util.ResourceBundle;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class PatternViewController {
     private static final Logger LOG = LoggerFactory.getLogger(PatternViewController.class);
@@ -169,25 +169,65 @@ private void refreshTaxonomy() {
                     return NaturalOrder.compareStrings(o1.toString(), o2.toString());
                 }
             });
+            patternItems.forEach(this::loadInstancesOnExpansion);
             Platform.runLater(() -> this.rootTreeItem.getChildren().setAll(patternItems));
-            for (TreeItem<Object> patternItem : patternItems) {
-                ArrayList<TreeItem<Object>> patternChildren = new ArrayList<>();
-                int patternNid = (Integer) patternItem.getValue();
-                AtomicInteger childCount = new AtomicInteger();
-                PrimitiveData.get().forEachSemanticNidOfPattern(patternNid, semanticNid -> {
-                    if (childCount.incrementAndGet() < maxChildrenInPatternViewer) {
-                        patternChildren.add(new TreeItem<>(semanticNid));
-                    }
-                });
-                if (childCount.get() >= maxChildrenInPatternViewer) {
-                    NumberFormat numberFormat = NumberFormat.getInstance();
-                    patternChildren.add(new TreeItem<>(numberFormat.format(childCount.get() - maxChildrenInPatternViewer) + " additional semantics suppressed..."));
+        });
+    }
+
+    /**
+     * Gives a pattern item a placeholder child, replaced by the first page of the pattern's semantics when the
+     * item is first expanded, so the navigator opens without reading any pattern's semantics. A pattern already
+     * indexed with no semantics is left a leaf.
+     */
+    private void loadInstancesOnExpansion(TreeItem<Object> patternItem) {
+        int patternNid = (Integer) patternItem.getValue();
+        if (PatternInstanceIndex.countIfIndexed(patternNid).orElse(-1) == 0) {
+            return;
+        }
+        patternItem.getChildren().setAll(new TreeItem<>("Loading semantics..."));
+        patternItem.expandedProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Boolean> observable, Boolean wasExpanded, Boolean expanded) {
+                if (expanded) {
+                    patternItem.expandedProperty().removeListener(this);
+                    TinkExecutor.threadPool().execute(() -> {
+                        InstancePage page = PatternInstanceIndex.firstPage(patternNid, maxChildrenInPatternViewer);
+                        Platform.runLater(() -> patternItem.getChildren().setAll(pageItems(page)));
+                    });
                 }
-                Platform.runLater(() -> patternItem.getChildren().setAll(patternChildren));
             }
         });
     }
 
+    /**
+     * Replaces the item that stands for the semantics after a page with the next page.
+     */
+    private void loadNextPage(TreeItem<Object> moreItem) {
+        if (moreItem.getValue() instanceof InstancePage page && moreItem.getParent() != null) {
+            TreeItem<Object> patternItem = moreItem.getParent();
+            moreItem.setValue("Loading semantics...");
+            TinkExecutor.threadPool().execute(() -> {
+                InstancePage nextPage = page.next();
+                Platform.runLater(() -> {
+                    patternItem.getChildren().remove(moreItem);
+                    patternItem.getChildren().addAll(pageItems(nextPage));
+                });
+            });
+        }
+    }
+
+    /**
+     * @return an item for each semantic of the page, followed by an item that loads the next page when
+     * selected, if there is one
+     */
+    private static ArrayList<TreeItem<Object>> pageItems(InstancePage page) {
+        ArrayList<TreeItem<Object>> items = new ArrayList<>(page.nids().size() + 1);
+        page.nids().forEach(semanticNid -> items.add(new TreeItem<>(semanticNid)));
+        if (page.hasMore()) {
+            items.add(new TreeItem<>(page));
+        }
+        return items;
+    }
 
     private void savePreferences() {
         // TODO selected graphConfigurationKey should be saved in preferences.
@@ -215,6 +255,11 @@ public void setProperties(PatternNavigatorNode patternNavigatorNode, ViewPropert
                 this.activityStreamKeyProperty.set((PublicIdStringKey<ActivityStream>) activityStreamKey));
 
         this.treeView.getSelectionModel().getSelectedItems().addListener(this::onSelectionChanged);
+        this.treeView.getSelectionModel().selectedItemProperty().addListener((observable, oldItem, newItem) -> {
+            if (newItem != null) {
+                loadNextPage(newItem);
+            }
+        });
 
         this.topBorderPane.setTop(topGridPane);
 
@@ -14,8 +14,10 @@
  * limitations under the License.
  */
 import dev.ikm.komet.framework.KometNodeFactory;
+import dev.ikm.komet.navigator.graph.AncestorDag;
 import dev.ikm.komet.navigator.graph.GraphNavigatorNodeFactory;
 import dev.ikm.komet.navigator.pattern.PatternNavigatorFactory;
+import dev.ikm.tinkar.common.service.CachingService;
 
 module dev.ikm.komet.navigator {
 
@@ -30,4 +32,7 @@
             with GraphNavigatorNodeFactory,
                     PatternNavigatorFactory;
 
+    provides CachingService
+            with AncestorDag.CacheProvider;
+
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import dev.ikm.tinkar.coordinate.navigation.calculator.Edge;
+import dev.ikm.tinkar.coordinate.view.calculator.ViewCalculator;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AncestorDagTest {
+
+    /**
+     * A diamond ladder: every level has two concepts, each a child of both concepts of the level above,
+     * so the number of lineages doubles with each level.
+     */
+    private static final int LEVELS = 40;
+
+    private static class ParentNavigator implements Navigator {
+        final Map<Integer, int[]> parents = new HashMap<>();
+        int lookups = 0;
+
+        @Override
+        public int[] getParentNids(int childNid) {
+            lookups++;
+            return parents.getOrDefault(childNid, new int[0]);
+        }
+
+        @Override
+        public int[] getChildNids(int parentNid) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ImmutableList<Edge> getParentEdges(int childNid) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ImmutableList<Edge> getChildEdges(int parentNid) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isLeaf(int conceptNid) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isChildOf(int childNid, int parentNid) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isDescendentOf(int descendantNid, int ancestorNid) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int[] getRootNids() {
+            return new int[]{0};
+        }
+
+        @Override
+        public ViewCalculator getViewCalculator() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static ParentNavigator diamondLadder() {
+        ParentNavigator navigator = new ParentNavigator();
+        navigator.parents.put(1, new int[]{0});
+        navigator.parents.put(2, new int[]{0});
+        for (int level = 1; level < LEVELS; level++) {
+            int[] above = {level * 2 - 1, level * 2};
+            navigator.parents.put(level * 2 + 1, above);
+            navigator.parents.put(level * 2 + 2, above);
+        }
+        return navigator;
+    }
+
+    @Test
+    public void depthQueriesVisitEachAncestorOnce() {
+        ParentNavigator navigator = diamondLadder();
+        AncestorDag dag = new AncestorDag(navigator);
+        int deepest = LEVELS * 2;
+
+        assertEquals(LEVELS, dag.longestDepth(deepest));
+        assertEquals(LEVELS, dag.shortestDepth(deepest));
+        assertEquals(1L << (LEVELS - 1), dag.lineageCount(deepest));
+        assertEquals(deepest + 1, navigator.lookups);
+    }
+
+    @Test
+    public void shortestLineageTakesEarliestParent() {
+        ParentNavigator navigator = new ParentNavigator();
+        navigator.parents.put(1, new int[]{0});
+        navigator.parents.put(2, new int[]{1});
+        navigator.parents.put(3, new int[]{2, 0, 1});
+        AncestorDag dag = new AncestorDag(navigator);
+
+        assertArrayEquals(new int[]{0, 3}, dag.shortestLineage(3));
+        assertEquals(2, dag.longestDepth(3));
+        List<int[]> lineages = dag.allLineages(3);
+        assertEquals(3, lineages.size());
+        assertArrayEquals(new int[]{0, 3}, lineages.get(0));
+        assertArrayEquals(new int[]{0, 1, 3}, lineages.get(1));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, lineages.get(2));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.navigator.graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ChildBatchLoaderTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void publishesFilteredPagesInOrder() throws Exception {
+        List<Integer> children = IntStream.range(0, 1000).boxed().toList();
+        List<Integer> published = new ArrayList<>();
+        AtomicInteger resolved = new AtomicInteger();
+        AtomicInteger pages = new AtomicInteger();
+
+        int count = new ChildBatchLoader<Integer>(executor, 64, 3).load(children,
+                child -> resolved.incrementAndGet(),
+                child -> child % 2 == 0,
+                page -> {
+                    pages.incrementAndGet();
+                    published.addAll(page);
+                },
+                () -> false);
+
+        assertEquals(500, count);
+        assertEquals(1000, resolved.get());
+        assertEquals(16, pages.get());
+        assertEquals(IntStream.range(0, 500).map(i -> i * 2).boxed().toList(), published);
+    }
+
+    @Test
+    public void stopsPublishingWhenCancelled() throws Exception {
+        List<Integer> children = IntStream.range(0, 1000).boxed().toList();
+        List<Integer> published = new ArrayList<>();
+
+        int count = new ChildBatchLoader<Integer>(executor, 100, 2).load(children,
+                child -> {},
+                child -> true,
+                published::addAll,
+                () -> !published.isEmpty());
+
+        assertEquals(100, count);
+        assertEquals(children.subList(0, 100), published);
+    }
+}
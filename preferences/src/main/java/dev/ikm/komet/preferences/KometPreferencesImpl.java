@@ -23,14 +23,19 @@
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.prefs.AbstractPreferences;
 import java.util.prefs.BackingStoreException;
+import java.util.stream.Stream;
 
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
@@ -44,6 +49,18 @@
     private static final Logger LOG = LoggerFactory.getLogger(KometPreferencesImpl.class);
 
     public static final String DB_PREFERENCES_FOLDER = "preferences";
+    private static final String PREFERENCES_FILENAME = "preferences.xml";
+    private static final PreferencesWriteBehind WRITE_BEHIND =
+            new PreferencesWriteBehind(PreferencesWriteBehind.DEFAULT_MAX_DELAY_MILLIS);
+    /**
+     * The most node files read ahead of their nodes being created.
+     */
+    static final int MAX_PRELOADED_NODES = 1024;
+    /**
+     * The contents of node files read ahead of their nodes being created, keyed by absolute file. Each is
+     * removed when its node is created.
+     */
+    private static final ConcurrentHashMap<File, Map<String, String>> PRELOADED = new ConcurrentHashMap<>();
     public static final KometPreferencesImpl preferencesImpl = new KometPreferencesImpl();
     public static final KometPreferencesWrapper preferencesWrapper = new KometPreferencesWrapper(preferencesImpl);
     //~--- fieldValues --------------------------------------------------------------
@@ -51,6 +68,10 @@
     private final File directory;
     private final File preferencesFile;
     private final File temporaryFile;
+    /**
+     * True if the contents differ from the node file, or the node has never been written.
+     */
+    private volatile boolean changed;
 
     //~--- constructors --------------------------------------------------------
 
@@ -59,20 +80,65 @@ private KometPreferencesImpl() {
         File configuredRoot = ServiceProperties.get(ServiceKeys.DATA_STORE_ROOT, new File("target/IsaacPreferencesDefault"));
         this.directory = new File(configuredRoot, DB_PREFERENCES_FOLDER);
         LOG.info("Opening configuration preferences from location: " + this.directory.getAbsolutePath());
-        this.preferencesFile = new File(this.directory, "preferences.xml");
+        this.preferencesFile = new File(this.directory, PREFERENCES_FILENAME);
         this.temporaryFile = new File(this.directory, "preferences-tmp.xml");
+        preload(this.directory);
         init();
     }
 
     private void init() {
-        preferencesTree.clear();
-        if (preferencesFile.exists()) {
-            try (FileInputStream fis = new FileInputStream(preferencesFile)) {
-                importMap(fis, preferencesTree);
+        Map<String, String> contents = PRELOADED.remove(preferencesFile.getAbsoluteFile());
+        boolean exists = contents != null || preferencesFile.exists();
+        if (contents == null) {
+            contents = new TreeMap<>();
+            if (exists) {
+                try (FileInputStream fis = new FileInputStream(preferencesFile)) {
+                    importMap(fis, contents);
+                } catch (Exception ex) {
+                    LOG.error(ex.getLocalizedMessage(), ex);
+                }
+            }
+        }
+        synchronized (lock) {
+            preferencesTree.clear();
+            preferencesTree.putAll(contents);
+            changed = !exists;
+        }
+    }
+
+    /**
+     * Reads the node files under a directory in parallel, so the nodes created as the tree is traversed
+     * at startup find their contents already read, rather than each reading its own file in turn. Only the
+     * {@link #MAX_PRELOADED_NODES} files nearest the root are read, as nodes deeper in a large tree may
+     * never be created; those read their own file when they are.
+     *
+     * @param directory the directory of the root node
+     */
+    private static void preload(File directory) {
+        if (!directory.isDirectory()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            files = paths.filter(path -> path.getFileName().toString().equals(PREFERENCES_FILENAME))
+                    .sorted(Comparator.comparingInt(Path::getNameCount))
+                    .limit(MAX_PRELOADED_NODES)
+                    .toList();
+        } catch (IOException | UncheckedIOException ex) {
+            LOG.error("Unable to list preference nodes in: " + directory, ex);
+            return;
+        }
+        files.parallelStream().forEach(path -> {
+            Map<String, String> contents = new TreeMap<>();
+            try (InputStream in = Files.newInputStream(path)) {
+                importMap(in, contents);
+                PRELOADED.put(path.toFile().getAbsoluteFile(), contents);
             } catch (Exception ex) {
                 LOG.error(ex.getLocalizedMessage(), ex);
             }
-        }
+        });
+        LOG.info("Read {} preference nodes in {} ms", files.size(), (System.nanoTime() - start) / 1_000_000);
     }
     /**
      * Initializes the current instance with the preference data of a nodeToCopy {@code KometPreferencesImpl}.
@@ -85,6 +151,8 @@ private void init() {
     private void init(KometPreferencesImpl nodeToCopy) {
         init();
         this.preferencesTree.putAll(nodeToCopy.preferencesTree);
+        this.changed = true;
+        WRITE_BEHIND.markDirty(this);
     }
 
     static void importMap(InputStream is, Map<String, String> map)
@@ -102,7 +170,7 @@ private KometPreferencesImpl(KometPreferencesImpl parent, String name) {
         }
 
         this.directory = new File(parent.directory, name);
-        this.preferencesFile = new File(this.directory, "preferences.xml");
+        this.preferencesFile = new File(this.directory, PREFERENCES_FILENAME);
         this.temporaryFile = new File(this.directory, "preferences-tmp.xml");
         init();
     }
@@ -127,14 +195,24 @@ public static KometPreferences getConfigurationRootPreferences() {
     //~--- methods -------------------------------------------------------------
 
     public static void reloadConfigurationPreferences() {
+        PRELOADED.clear();
         recursiveInit(preferencesImpl);
     }
 
     private static void recursiveInit(KometPreferencesImpl preferences) {
         preferences.init();
-        for (AbstractPreferences childPreferences : preferences.cachedChildren()) {
-            recursiveInit((KometPreferencesImpl) childPreferences);
-        }
+        Arrays.stream(preferences.cachedChildren()).parallel()
+                .forEach(childPreferences -> recursiveInit((KometPreferencesImpl) childPreferences));
+    }
+
+    /**
+     * Writes every node that has been changed, but not yet written to disk. Changed nodes are written in
+     * the background shortly after they change, flushed and synced nodes are written right away, and pending
+     * writes are completed when the JVM shuts down, so this is only needed before the node files are read by
+     * other means.
+     */
+    public static void flushPendingWrites() {
+        WRITE_BEHIND.flush();
     }
 
     public Object getLock() {
@@ -143,7 +221,10 @@ public Object getLock() {
 
     @Override
     protected void putSpi(String key, String value) {
-        preferencesTree.put(key, value);
+        if (!value.equals(preferencesTree.put(key, value))) {
+            changed = true;
+            WRITE_BEHIND.markDirty(this);
+        }
     }
 
     @Override
@@ -153,12 +234,16 @@ protected String getSpi(String key) {
 
     @Override
     protected void removeSpi(String key) {
-        preferencesTree.remove(key);
+        if (preferencesTree.remove(key) != null) {
+            changed = true;
+            WRITE_BEHIND.markDirty(this);
+        }
     }
 
     @Override
     protected void removeNodeSpi()
             throws BackingStoreException {
+        WRITE_BEHIND.discard(this);
         if (this.preferencesFile.exists()) {
             this.preferencesFile.delete();
         }
@@ -219,25 +304,49 @@ public String toString() {
     @Override
     protected void syncSpi()
             throws BackingStoreException {
-        writeToDisk();
+        writeIfChanged();
     }
 
-    private void writeToDisk() throws BackingStoreException {
-        try {
-            if (!directory.exists() && !directory.mkdirs()) {
-                throw new BackingStoreException(directory + " create failed.");
+    /**
+     * Writes this node now, rather than leaving it to the {@link PreferencesWriteBehind}, if it has changed
+     * since it was last written.
+     */
+    private void writeIfChanged() throws BackingStoreException {
+        synchronized (lock) {
+            WRITE_BEHIND.discard(this);
+            if (changed) {
+                writeToDisk();
             }
+        }
+    }
 
-            try (FileOutputStream fos = new FileOutputStream(temporaryFile)) {
-                exportMap(fos, preferencesTree);
-            }
-            Files.move(temporaryFile.toPath(), preferencesFile.toPath(), REPLACE_EXISTING);
-        } catch (Exception e) {
-            if (e instanceof BackingStoreException) {
-                throw (BackingStoreException) e;
+    /**
+     * Writes this node, and forces the written file to the storage device before it replaces the node file.
+     */
+    void writeToDisk() throws BackingStoreException {
+        synchronized (lock) {
+            if (isRemoved()) {
+                return;
             }
+            try {
+                if (!directory.exists() && !directory.mkdirs()) {
+                    throw new BackingStoreException(directory + " create failed.");
+                }
 
-            throw new BackingStoreException(e);
+                changed = false;
+                try (FileOutputStream fos = new FileOutputStream(temporaryFile)) {
+                    exportMap(fos, preferencesTree);
+                    fos.getFD().sync();
+                }
+                Files.move(temporaryFile.toPath(), preferencesFile.toPath(), REPLACE_EXISTING);
+            } catch (Exception e) {
+                changed = true;
+                if (e instanceof BackingStoreException) {
+                    throw (BackingStoreException) e;
+                }
+
+                throw new BackingStoreException(e);
+            }
         }
     }
 
@@ -251,7 +360,7 @@ static void exportMap(OutputStream os, Map<String, String> map)
     @Override
     protected void flushSpi()
             throws BackingStoreException {
-        writeToDisk();
+        writeIfChanged();
     }
 
     @Override
@@ -62,6 +62,7 @@ public void stop() {
         TinkExecutor.threadPool().submit(progressTask);
         try {
             KometPreferencesImpl.getConfigurationRootPreferences().sync();
+            KometPreferencesImpl.flushPendingWrites();
         } catch (Throwable ex) {
             LOG.error(ex.getLocalizedMessage(), ex);
         } finally {
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.prefs.BackingStoreException;
+
+/**
+ * Writes preference nodes to disk in the background.
+ * <p>
+ * Saving window and journal state changes many nodes in bursts, often the same node several times.
+ * Changed nodes are marked dirty rather than written, and a single background thread writes every dirty
+ * node at most {@code maxDelayMillis} after the first of them was marked, so each node is written once
+ * per burst, with the contents it has when written. Nodes that are flushed or synced are written by the
+ * calling thread instead, and their pending writes discarded.
+ * <p>
+ * Pending writes are completed by {@link #flush()}, which is also run when the JVM shuts down.
+ */
+final class PreferencesWriteBehind {
+    private static final Logger LOG = LoggerFactory.getLogger(PreferencesWriteBehind.class);
+
+    static final long DEFAULT_MAX_DELAY_MILLIS = 500;
+
+    private final Set<KometPreferencesImpl> dirtyNodes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+    private final long maxDelayMillis;
+
+    PreferencesWriteBehind(long maxDelayMillis) {
+        this.maxDelayMillis = maxDelayMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "komet-preferences-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "komet-preferences-shutdown"));
+    }
+
+    /**
+     * Schedules a node to be written.
+     *
+     * @param node the node whose contents have changed
+     */
+    void markDirty(KometPreferencesImpl node) {
+        dirtyNodes.add(node);
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                flushScheduled.set(false);
+                flush();
+            }, maxDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cancels a pending write, for a node that has been removed.
+     *
+     * @param node the node not to write
+     */
+    void discard(KometPreferencesImpl node) {
+        dirtyNodes.remove(node);
+    }
+
+    /**
+     * @return true if nodes are waiting to be written
+     */
+    boolean hasPendingWrites() {
+        return !dirtyNodes.isEmpty();
+    }
+
+    /**
+     * Writes every dirty node now, on the calling thread.
+     */
+    synchronized void flush() {
+        for (Iterator<KometPreferencesImpl> iterator = dirtyNodes.iterator(); iterator.hasNext(); ) {
+            KometPreferencesImpl node = iterator.next();
+            iterator.remove();
+            try {
+                node.writeToDisk();
+            } catch (BackingStoreException | RuntimeException ex) {
+                LOG.error("Unable to write preferences: {}", node.absolutePath(), ex);
+            }
+        }
+    }
+}
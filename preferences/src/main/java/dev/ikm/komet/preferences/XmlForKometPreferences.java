@@ -21,8 +21,9 @@
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.prefs.BackingStoreException;
@@ -352,24 +353,59 @@ private static void ImportPrefs(Preferences prefsNode, Element map) {
      * Export the specified Map<String,String> to a map document on
      * the specified OutputStream as per the prefs DTD.  This is used
      * as the internal (undocumented) format for FileSystemPrefs.
+     * <p>
+     * The document is streamed to the output rather than built as a DOM
+     * and transformed, since nodes are written far more often than the
+     * whole tree is exported. The output is the same document the
+     * transformer would produce.
      *
      * @throws IOException if writing to the specified output stream
      *         results in an <tt>IOException</tt>.
      */
     static void exportMap(OutputStream os, Map<String, String> map) throws IOException {
-        Document doc = createPrefsDoc("map");
-        Element xmlMap = doc.getDocumentElement( ) ;
-        xmlMap.setAttribute("MAP_XML_VERSION", MAP_XML_VERSION);
-
-        for (Iterator<Map.Entry<String, String>> i = map.entrySet().iterator(); i.hasNext(); ) {
-            Map.Entry<String, String> e = i.next();
-            Element xe = (Element)
-                    xmlMap.appendChild(doc.createElement("entry"));
-            xe.setAttribute("key",   e.getKey());
-            xe.setAttribute("value", e.getValue());
+        Writer out = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+        out.write("<!DOCTYPE map SYSTEM \"" + PREFS_DTD_URI + "\">\n");
+        if (map.isEmpty()) {
+            out.write("<map MAP_XML_VERSION=\"" + MAP_XML_VERSION + "\"/>\n");
+        } else {
+            out.write("<map MAP_XML_VERSION=\"" + MAP_XML_VERSION + "\">\n");
+            for (Map.Entry<String, String> e : map.entrySet()) {
+                out.write("  <entry key=\"");
+                writeAttributeValue(out, e.getKey());
+                out.write("\" value=\"");
+                writeAttributeValue(out, e.getValue());
+                out.write("\"/>\n");
+            }
+            out.write("</map>\n");
         }
+        out.flush();
+    }
 
-        writeDoc(doc, os);
+    /**
+     * Write an attribute value, escaping the characters that would
+     * otherwise end the value or be normalized to spaces when read.
+     */
+    private static void writeAttributeValue(Writer out, String value) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String escape = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\t' -> "&#9;";
+                case '\n' -> "&#10;";
+                case '\r' -> "&#13;";
+                default -> null;
+            };
+            if (escape != null) {
+                out.write(value, start, i - start);
+                out.write(escape);
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
     }
 
     /**
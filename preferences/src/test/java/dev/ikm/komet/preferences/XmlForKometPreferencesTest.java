@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.preferences;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class XmlForKometPreferencesTest {
+
+    private static Map<String, String> roundTrip(Map<String, String> map) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XmlForKometPreferences.exportMap(out, map);
+        Map<String, String> read = new TreeMap<>();
+        XmlForKometPreferences.importMap(new ByteArrayInputStream(out.toByteArray()), read);
+        return read;
+    }
+
+    @Test
+    public void streamedMapReadsBack() throws Exception {
+        Map<String, String> map = new TreeMap<>();
+        map.put("plain", "value");
+        map.put("a&b", "x < y > \"z\" 'q'");
+        map.put("multi-line", "first\n\tsecond\r\nthird");
+        map.put("non-ascii", "café 𝄞");
+        map.put("empty", "");
+
+        assertEquals(map, roundTrip(map));
+    }
+
+    @Test
+    public void emptyMapReadsBack() throws Exception {
+        assertEquals(Map.of(), roundTrip(new TreeMap<>()));
+    }
+}
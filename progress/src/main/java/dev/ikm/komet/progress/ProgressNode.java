@@ -17,30 +17,68 @@
 
 import javafx.animation.Animation;
 import javafx.animation.Interpolator;
+import javafx.animation.KeyFrame;
 import javafx.animation.RotateTransition;
+import javafx.animation.Timeline;
 import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
 import javafx.concurrent.Task;
 import javafx.scene.Node;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.RadioMenuItem;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.VBox;
 import javafx.scene.transform.Rotate;
+import javafx.stage.FileChooser;
 import javafx.util.Duration;
 import org.controlsfx.control.TaskProgressView;
 import org.eclipse.collections.api.list.ImmutableList;
 import dev.ikm.komet.framework.ExplorationNodeAbstract;
+import dev.ikm.komet.framework.cache.CacheTierStatistics;
+import dev.ikm.komet.framework.cache.SessionCacheOverlay;
+import dev.ikm.komet.framework.cache.SharedCache;
+import dev.ikm.komet.framework.concurrent.LaneLatency;
+import dev.ikm.komet.framework.concurrent.SessionUsage;
 import dev.ikm.komet.framework.concurrent.TaskListsService;
+import dev.ikm.komet.framework.concurrent.TaskRegistry;
+import dev.ikm.komet.framework.concurrent.TaskTypeStatistics;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.preferences.KometPreferences;
+import dev.ikm.tinkar.common.alert.AlertStreams;
 import dev.ikm.tinkar.terms.EntityFacade;
 import org.kordamp.ikonli.javafx.FontIcon;
 
+import java.io.File;
+import java.io.IOException;
+
 public class ProgressNode extends ExplorationNodeAbstract {
     protected static final String STYLE_ID = "activity-node";
     protected static final String TITLE = "Activity";
+    /**
+     * The number of task types, heaviest first, whose totals are shown.
+     */
+    protected static final int TASK_TYPES_SHOWN = 5;
+    /**
+     * The scheduling weights a session can be given from the lane latency menu, and their names.
+     */
+    protected static final double[] SESSION_WEIGHTS = {2, 1, 0.5, 0.25};
+    protected static final String[] SESSION_WEIGHT_NAMES = {"High", "Normal", "Low", "Lowest"};
 
     final Node activityGraphic = getTitleGraphic();
     final RotateTransition rotation = new RotateTransition(Duration.seconds(1.5), activityGraphic);
     TaskProgressView<Task<?>> progressView = new TaskProgressView<>();
     TaskListsService taskLists = TaskListsService.get();
+    final Label laneLatencyLabel = new Label();
+    final Label cacheStatisticsLabel = new Label();
+    final BorderPane progressPane = new BorderPane(progressView);
+    final Timeline laneLatencyRefresh = new Timeline(new KeyFrame(Duration.seconds(2), event -> {
+        updateLaneLatencies();
+        updateCacheStatistics();
+    }));
 
     {
         rotation.setCycleCount(Animation.INDEFINITE);
@@ -61,6 +99,17 @@ public class ProgressNode extends ExplorationNodeAbstract {
         } else {
             rotation.play();
         }
+        laneLatencyLabel.setId("lane-latency-label");
+        MenuItem exportHistory = new MenuItem("Export task history...");
+        exportHistory.setOnAction(_ -> exportTaskHistory());
+        Menu sessionPriority = new Menu("Session priority");
+        ContextMenu laneLatencyMenu = new ContextMenu(exportHistory, sessionPriority);
+        laneLatencyMenu.setOnShowing(_ -> updateSessionPriorityMenu(sessionPriority));
+        laneLatencyLabel.setContextMenu(laneLatencyMenu);
+        cacheStatisticsLabel.setId("cache-statistics-label");
+        progressPane.setBottom(new VBox(laneLatencyLabel, cacheStatisticsLabel));
+        laneLatencyRefresh.setCycleCount(Animation.INDEFINITE);
+        laneLatencyRefresh.play();
     }
 
     public ProgressNode(ViewProperties viewProperties, KometPreferences nodePreferences) {
@@ -86,6 +135,89 @@ private void listInvalidated(Observable list) {
         }
     }
 
+    private void updateLaneLatencies() {
+        StringBuilder sb = new StringBuilder();
+        for (LaneLatency laneLatency : taskLists.laneLatencies()) {
+            if (!sb.isEmpty()) {
+                sb.append('\n');
+            }
+            sb.append(laneLatency);
+        }
+        for (SessionUsage sessionUsage : taskLists.sessionUsage()) {
+            if (!sb.isEmpty()) {
+                sb.append('\n');
+            }
+            sb.append(sessionUsage);
+        }
+        for (TaskTypeStatistics typeStatistics : TaskRegistry.get().typeStatistics().take(TASK_TYPES_SHOWN)) {
+            if (!sb.isEmpty()) {
+                sb.append('\n');
+            }
+            sb.append(typeStatistics);
+        }
+        laneLatencyLabel.setText(sb.toString());
+    }
+
+    private void updateCacheStatistics() {
+        StringBuilder sb = new StringBuilder();
+        for (CacheTierStatistics tierStatistics : SharedCache.statistics()) {
+            if (!sb.isEmpty()) {
+                sb.append('\n');
+            }
+            sb.append(tierStatistics);
+        }
+        ImmutableList<CacheTierStatistics> overlays = SessionCacheOverlay.openStatistics();
+        if (overlays.notEmpty()) {
+            if (!sb.isEmpty()) {
+                sb.append('\n');
+            }
+            // Reported together, as each session opens its own overlays
+            sb.append(new CacheTierStatistics("session overlays (" + overlays.size() + ")",
+                    (int) overlays.sumOfInt(CacheTierStatistics::entries),
+                    overlays.sumOfLong(CacheTierStatistics::estimatedBytes),
+                    overlays.sumOfLong(CacheTierStatistics::hits),
+                    overlays.sumOfLong(CacheTierStatistics::misses),
+                    overlays.sumOfLong(CacheTierStatistics::evictions)));
+        }
+        cacheStatisticsLabel.setText(sb.toString());
+    }
+
+    /**
+     * Lists the sessions with work in the pools, each with a choice of scheduling weight.
+     */
+    private void updateSessionPriorityMenu(Menu sessionPriority) {
+        sessionPriority.getItems().clear();
+        for (SessionUsage sessionUsage : taskLists.sessionUsage()) {
+            Menu sessionMenu = new Menu(sessionUsage.userName());
+            ToggleGroup weights = new ToggleGroup();
+            for (int i = 0; i < SESSION_WEIGHTS.length; i++) {
+                double weight = SESSION_WEIGHTS[i];
+                RadioMenuItem weightItem = new RadioMenuItem(SESSION_WEIGHT_NAMES[i]);
+                weightItem.setToggleGroup(weights);
+                weightItem.setSelected(sessionUsage.weight() == weight);
+                weightItem.setOnAction(_ -> taskLists.setSessionWeight(sessionUsage.sessionId(), weight));
+                sessionMenu.getItems().add(weightItem);
+            }
+            sessionPriority.getItems().add(sessionMenu);
+        }
+        sessionPriority.setDisable(sessionPriority.getItems().isEmpty());
+    }
+
+    private void exportTaskHistory() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export task history");
+        fileChooser.setInitialFileName("task-history.csv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File file = fileChooser.showSaveDialog(progressPane.getScene().getWindow());
+        if (file != null) {
+            try {
+                TaskRegistry.get().exportHistory(file.toPath());
+            } catch (IOException e) {
+                AlertStreams.dispatchToRoot(e);
+            }
+        }
+    }
+
     @Override
     public String getDefaultTitle() {
         return TITLE;
@@ -118,11 +250,12 @@ protected void saveAdditionalPreferences() {
 
     @Override
     public Node getNode() {
-        return progressView;
+        return progressPane;
     }
 
     @Override
     public void close() {
+        laneLatencyRefresh.stop();
 
     }
 
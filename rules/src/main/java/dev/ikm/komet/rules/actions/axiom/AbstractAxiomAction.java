@@ -68,7 +68,7 @@ protected void putUpdatedLogicalExpression(EditCoordinateRecord editCoordinate,
     }
     protected void putUpdatedDiTree(AxiomSubjectRecord axiomSubjectRecord, EditCoordinateRecord editCoordinate, DiTreeEntity newTree) {
         SemanticRecord semanticContainingAxiom = Entity.getFast(axiomSubjectRecord.semanticContainingAxiom().nid());
-        Optional<Transaction> optionalTransaction = Transaction.forVersion(axiomSubjectRecord.semanticContainingAxiom().version());
+        Optional<Transaction> optionalTransaction = Transaction.forVersion(axiomSubjectRecord.semanticContainingAxiom());
         Transaction transaction;
         if (optionalTransaction.isPresent()) {
             transaction = optionalTransaction.get();
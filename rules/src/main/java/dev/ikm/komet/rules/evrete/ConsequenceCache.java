@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2015 Integrated Knowledge Management (support@ikm.dev)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.ikm.komet.rules.evrete;
+
+import dev.ikm.komet.framework.panel.axiom.AxiomSubjectRecord;
+import dev.ikm.komet.framework.performance.Observation;
+import dev.ikm.komet.framework.performance.Statement;
+import dev.ikm.komet.framework.rulebase.Consequence;
+import dev.ikm.komet.framework.rulebase.ConsequenceMenu;
+import dev.ikm.komet.framework.view.ViewProperties;
+import dev.ikm.tinkar.coordinate.edit.EditCoordinateRecord;
+import dev.ikm.tinkar.coordinate.view.ViewCoordinateRecord;
+import dev.ikm.tinkar.entity.EntityVersion;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.primitive.ImmutableIntList;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The consequences of recent rule executions, so that focusing the same component again, as every right click
+ * or redisplay of a version panel does, does not evaluate the rules again.
+ * <p>
+ * Only executions of observations are cached: requests ask for something new each time. Consequences that
+ * hold menus are not cached either, since a menu can only be shown in one parent at a time.
+ * <p>
+ * Each rules service has its own cache, as the consequences depend on its rules. The cached consequences
+ * are dropped whenever a shared invalidation count changes, such as when any entity is written.
+ */
+public final class ConsequenceCache {
+
+    /**
+     * Consequences hold actions that apply to the view they were generated for, so the view properties are
+     * part of the key as well as the coordinates they had at the time.
+     */
+    public record Key(String knowledgeBaseName,
+               ImmutableList<Statement> statements,
+               ImmutableIntList stampNids,
+               ViewProperties viewProperties,
+               ViewCoordinateRecord viewCoordinate,
+               EditCoordinateRecord editCoordinate) {
+    }
+
+    private final Map<Key, ImmutableList<Consequence<?>>> consequences;
+    private final LongSupplier invalidations;
+    private long generation;
+
+    /**
+     * @param capacity      the most executions whose consequences are kept, least recently used first out
+     * @param invalidations a count that changes whenever the cached consequences may no longer hold
+     */
+    public ConsequenceCache(int capacity, LongSupplier invalidations) {
+        this.invalidations = invalidations;
+        this.generation = invalidations.getAsLong();
+        this.consequences = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ImmutableList<Consequence<?>>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return true if the consequences of the statements may be cached
+     */
+    public static boolean cacheable(ImmutableList<Statement> statements) {
+        return statements.allSatisfy(statement -> statement instanceof Observation);
+    }
+
+    /**
+     * @return the stamp of the version each statement is about, or 0 for statements not about a version, so
+     * a new version of the subject is not answered with the consequences of the old one
+     */
+    public static ImmutableIntList stampNids(ImmutableList<Statement> statements) {
+        return statements.collectInt(statement -> switch (statement.subject()) {
+            case EntityVersion version -> version.stampNid();
+            case AxiomSubjectRecord axiomSubject -> axiomSubject.semanticContainingAxiom().stampNid();
+            case null, default -> 0;
+        });
+    }
+
+    /**
+     * @return the invalidation count to pass to {@link #put} for consequences computed from now on
+     */
+    public long generation() {
+        return invalidations.getAsLong();
+    }
+
+    public synchronized ImmutableList<Consequence<?>> get(Key key) {
+        dropIfInvalidated();
+        return consequences.get(key);
+    }
+
+    /**
+     * Caches consequences, unless the cache has been invalidated since they began to be computed.
+     *
+     * @param key        the execution
+     * @param value      its consequences
+     * @param generation the {@link #generation()} before the consequences began to be computed
+     */
+    public synchronized void put(Key key, ImmutableList<Consequence<?>> value, long generation) {
+        dropIfInvalidated();
+        if (generation == this.generation
+                && value.noneSatisfy(consequence -> consequence instanceof ConsequenceMenu)) {
+            consequences.put(key, value);
+        }
+    }
+
+    public synchronized int size() {
+        dropIfInvalidated();
+        return consequences.size();
+    }
+
+    private void dropIfInvalidated() {
+        long current = invalidations.getAsLong();
+        if (current != generation) {
+            consequences.clear();
+            generation = current;
+        }
+    }
+}
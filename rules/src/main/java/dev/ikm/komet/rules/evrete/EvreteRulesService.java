@@ -15,14 +15,18 @@
  */
 package dev.ikm.komet.rules.evrete;
 
+import dev.ikm.komet.framework.cache.EntityWrites;
+import dev.ikm.komet.framework.performance.Observation;
 import dev.ikm.komet.framework.performance.Statement;
 import dev.ikm.komet.framework.rulebase.Consequence;
 import dev.ikm.komet.framework.rulebase.RuleService;
+import dev.ikm.komet.framework.rulebase.RuleServiceMetrics;
 import dev.ikm.komet.framework.view.ViewProperties;
 import dev.ikm.komet.rules.annotated.AxiomFocusedRules;
 import dev.ikm.komet.rules.annotated.ComponentFocusRules;
 import dev.ikm.komet.rules.annotated.NewConceptRules;
 import dev.ikm.komet.rules.annotated.NewPatternRules;
+import dev.ikm.tinkar.common.service.CachingService;
 import dev.ikm.tinkar.common.sets.ConcurrentHashSet;
 import dev.ikm.tinkar.coordinate.edit.EditCoordinate;
 import org.eclipse.collections.api.factory.Lists;
@@ -32,7 +36,7 @@
 import org.evrete.KnowledgeService;
 import org.evrete.api.ActivationMode;
 import org.evrete.api.Knowledge;
-import org.evrete.api.StatelessSession;
+import org.evrete.api.StatefulSession;
 import org.evrete.dsl.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +46,9 @@
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class EvreteRulesService implements RuleService {
     public static final String ENV_CONSEQUENCES = "ENV_CONSEQUENCES";
@@ -50,7 +57,41 @@ public class EvreteRulesService implements RuleService {
 
     private static final Logger LOG = LoggerFactory.getLogger(EvreteRulesService.class);
 
+    private static final int CONSEQUENCE_CACHE_SIZE = 256;
+    private static final int MAX_IDLE_SESSIONS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Counts cache resets and entity writes, which invalidate the consequences cached by every instance.
+     */
+    private static final AtomicLong CACHE_INVALIDATIONS = new AtomicLong();
+
+    static {
+        // Any write invalidates the cached consequences, since rules may consult entities other than the
+        // subject of a statement
+        EntityWrites.addListener(_ -> CACHE_INVALIDATIONS.incrementAndGet());
+    }
+
+    public static class CacheProvider implements CachingService {
+        @Override
+        public void reset() {
+            CACHE_INVALIDATIONS.incrementAndGet();
+        }
+    }
+
     private final Knowledge knowledge;
+    /**
+     * The consequences of executions with this instance's rules.
+     */
+    private final ConsequenceCache consequenceCache =
+            new ConsequenceCache(CONSEQUENCE_CACHE_SIZE, CACHE_INVALIDATIONS::get);
+    /**
+     * Sessions whose memory has been cleared after an execution, so the next execution does not pay to build
+     * the rule networks again. A session is used by one execution at a time.
+     */
+    private final ConcurrentLinkedDeque<StatefulSession> idleSessions = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleSessionCount = new AtomicInteger();
+
+    private final RuleServiceMetrics metrics = new RuleServiceMetrics();
 
     public EvreteRulesService() throws IOException {
         Instant t0 = Instant.now();
@@ -87,29 +128,101 @@ public EvreteRulesService() throws IOException {
     public ImmutableList<Consequence<?>> execute(String knowledgeBaseName,
                                                  ImmutableList<Statement> statements,
                                                  ViewProperties viewProperties, EditCoordinate editCoordinate) {
+        ConsequenceCache.Key key = null;
+        long generation = consequenceCache.generation();
+        if (ConsequenceCache.cacheable(statements)) {
+            key = new ConsequenceCache.Key(knowledgeBaseName, statements,
+                    ConsequenceCache.stampNids(statements), viewProperties,
+                    viewProperties.calculator().viewCoordinateRecord(), editCoordinate.toEditCoordinateRecord());
+            ImmutableList<Consequence<?>> cached = consequenceCache.get(key);
+            if (cached != null) {
+                metrics.executed(true);
+                return cached;
+            }
+        }
+        metrics.executed(false);
+
+        ImmutableList<Consequence<?>> consequences = timedEvaluate(statements, viewProperties, editCoordinate);
 
-        StatelessSession session = this.knowledge.newStatelessSession(ActivationMode.CONTINUOUS);
+        if (key != null) {
+            // Not cached if an entity was written while the rules were evaluated
+            consequenceCache.put(key, consequences, generation);
+        }
+        return consequences;
+    }
 
-        // Create a collector for resulting consequences
-        ConcurrentHashSet<Consequence<?>> globalActionSet = new ConcurrentHashSet<>();
+    @Override
+    public ImmutableList<Consequence<?>> executeUncached(String knowledgeBaseName,
+                                                         ImmutableList<Statement> statements,
+                                                         ViewProperties viewProperties,
+                                                         EditCoordinate editCoordinate) {
+        return timedEvaluate(statements, viewProperties, editCoordinate);
+    }
 
-        // Set the collector and other necessary objects as session's environment variables
-        session.set(ENV_CONSEQUENCES, globalActionSet);
-        session.set(ENV_VIEW_PROPERTIES, viewProperties);
-        session.set(ENV_EDIT_COORDINATE, editCoordinate);
+    private ImmutableList<Consequence<?>> timedEvaluate(ImmutableList<Statement> statements,
+                                                        ViewProperties viewProperties, EditCoordinate editCoordinate) {
+        long start = System.nanoTime();
+        ImmutableList<Consequence<?>> consequences = evaluate(statements, viewProperties, editCoordinate);
+        metrics.evaluated(System.nanoTime() - start);
+        return consequences;
+    }
 
-        // Insert the statements
-        session.insert(statements.castToList());
+    private ImmutableList<Consequence<?>> evaluate(ImmutableList<Statement> statements,
+                                                   ViewProperties viewProperties, EditCoordinate editCoordinate) {
+        StatefulSession session = borrowSession();
+        boolean reusable = false;
+        try {
+            // Create a collector for resulting consequences
+            ConcurrentHashSet<Consequence<?>> globalActionSet = new ConcurrentHashSet<>();
+
+            // Set the collector and other necessary objects as session's environment variables
+            session.set(ENV_CONSEQUENCES, globalActionSet);
+            session.set(ENV_VIEW_PROPERTIES, viewProperties);
+            session.set(ENV_EDIT_COORDINATE, editCoordinate);
+
+            // Insert the statements
+            session.insert(statements.castToList());
+            session.fire();
+
+            LOG.atDebug().log("Set items: " + globalActionSet.stream().toList());
+
+            MutableList<Consequence<?>> globalActionList = Lists.mutable.ofAll(globalActionSet);
+            globalActionList.sort(Comparable::compareTo);
+
+            session.clear();
+            reusable = true;
+            return globalActionList.toImmutableList();
+        } finally {
+            returnSession(session, reusable);
+        }
+    }
 
-        session.fire((handle, object) -> {
-            // Inspect memory objects
-            LOG.atDebug().log("handle: " + handle + " object: " + object);
-        });
+    private StatefulSession borrowSession() {
+        StatefulSession session = idleSessions.pollFirst();
+        if (session == null) {
+            return this.knowledge.newStatefulSession(ActivationMode.CONTINUOUS);
+        }
+        idleSessionCount.decrementAndGet();
+        return session;
+    }
 
-        LOG.atDebug().log("Set items: " + globalActionSet.stream().toList());
+    /**
+     * Keeps a session for reuse, unless an execution failed part way and may have left facts in its memory,
+     * or enough sessions are already idle.
+     */
+    private void returnSession(StatefulSession session, boolean reusable) {
+        if (reusable && idleSessionCount.incrementAndGet() <= MAX_IDLE_SESSIONS) {
+            idleSessions.offerFirst(session);
+            return;
+        }
+        if (reusable) {
+            idleSessionCount.decrementAndGet();
+        }
+        session.close();
+    }
 
-        MutableList<Consequence<?>> globalActionList = Lists.mutable.ofAll(globalActionSet);
-        globalActionList.sort(Comparable::compareTo);
-        return globalActionList.toImmutableList();
+    @Override
+    public ImmutableList<Observation> performance() {
+        return metrics.observations();
     }
-}
\ No newline at end of file
+}
@@ -15,6 +15,7 @@
  */
 import dev.ikm.komet.rules.evrete.EvreteRulesService;
 import dev.ikm.komet.framework.rulebase.RuleService;
+import dev.ikm.tinkar.common.service.CachingService;
 
 open module dev.ikm.komet.rules {
     requires transitive dev.ikm.komet.framework;
@@ -30,6 +31,7 @@
     exports dev.ikm.komet.rules.annotated to dev.ikm.komet.rules.test;
 
     provides RuleService with EvreteRulesService;
+    provides CachingService with EvreteRulesService.CacheProvider;
 
     uses dev.ikm.tinkar.events.EvtBus;
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package dev.ikm.komet.rules.test;
+
+import dev.ikm.komet.framework.performance.Measures;
+import dev.ikm.komet.framework.performance.Statement;
+import dev.ikm.komet.framework.performance.Topic;
+import dev.ikm.komet.framework.performance.impl.ObservationRecord;
+import dev.ikm.komet.framework.performance.impl.RequestRecord;
+import dev.ikm.komet.framework.rulebase.Consequence;
+import dev.ikm.komet.rules.evrete.ConsequenceCache;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsequenceCacheTest {
+
+    private static ConsequenceCache.Key key(Object subject) {
+        ImmutableList<Statement> statements =
+                Lists.immutable.of(new ObservationRecord(Topic.COMPONENT_FOCUSED, subject, Measures.present()));
+        return new ConsequenceCache.Key("test", statements, ConsequenceCache.stampNids(statements),
+                null, null, null);
+    }
+
+    @Test
+    public void answersRepeatedExecutions() {
+        ConsequenceCache cache = new ConsequenceCache(4, () -> 0);
+        ImmutableList<Consequence<?>> consequences = Lists.immutable.empty();
+
+        assertNull(cache.get(key("a")));
+        cache.put(key("a"), consequences, cache.generation());
+
+        assertSame(consequences, cache.get(key("a")));
+        assertNull(cache.get(key("b")));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        ConsequenceCache cache = new ConsequenceCache(2, () -> 0);
+        ImmutableList<Consequence<?>> consequences = Lists.immutable.empty();
+        cache.put(key("a"), consequences, cache.generation());
+        cache.put(key("b"), consequences, cache.generation());
+        // reading a makes b the least recently used
+        cache.get(key("a"));
+        cache.put(key("c"), consequences, cache.generation());
+
+        assertEquals(2, cache.size());
+        assertSame(consequences, cache.get(key("a")));
+        assertNull(cache.get(key("b")));
+        assertSame(consequences, cache.get(key("c")));
+    }
+
+    @Test
+    public void dropsConsequencesWhenInvalidated() {
+        AtomicLong invalidations = new AtomicLong();
+        ConsequenceCache cache = new ConsequenceCache(4, invalidations::get);
+        cache.put(key("a"), Lists.immutable.empty(), cache.generation());
+
+        invalidations.incrementAndGet();
+
+        assertNull(cache.get(key("a")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void skipsConsequencesComputedBeforeAnInvalidation() {
+        AtomicLong invalidations = new AtomicLong();
+        ConsequenceCache cache = new ConsequenceCache(4, invalidations::get);
+        long generation = cache.generation();
+
+        // an entity is written while the rules are evaluated
+        invalidations.incrementAndGet();
+        cache.put(key("a"), Lists.immutable.empty(), generation);
+
+        assertNull(cache.get(key("a")));
+    }
+
+    @Test
+    public void cachesOnlyObservations() {
+        assertTrue(ConsequenceCache.cacheable(key("a").statements()));
+        assertFalse(ConsequenceCache.cacheable(Lists.immutable.<Statement>of(
+                RequestRecord.make(Topic.NEW_CONCEPT_REQUEST, "a"))));
+        assertEquals(0, ConsequenceCache.stampNids(key("a").statements()).get(0));
+    }
+}
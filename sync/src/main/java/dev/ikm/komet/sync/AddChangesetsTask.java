@@ -11,20 +11,18 @@
 import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.CommitCommand;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.dircache.DirCache;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipFile;
 
 /**
  * {@link AddChangesetsTask} is a class that adds changesets for synchronization.
@@ -62,7 +60,7 @@ protected Void compute() {
         try {
             Git git = Git.open(changeSetFolder.toFile());
 
-            ImmutableList<String> filesToAdd = filesToAdd(changeSetFolder, "ike-cs.zip");
+            ImmutableList<String> filesToAdd = filesToAdd(git, "ike-cs.zip");
             AddCommand addCommand = git.add();
             addCommand.setUpdate(false);
             filesToAdd.forEach(s -> {
@@ -85,40 +83,38 @@ protected Void compute() {
     }
 
     /**
-     * Computes the list of files to add for synchronization. Searches the provided directory and all subdirectories.
+     * Computes the list of files to add for synchronization: the files that are untracked or modified in the
+     * working tree, so only the changesets written since the last commit are opened.
      *
-     * @param directory The directory to search for files.
-     * @param pattern   The file pattern to use for searching.
+     * @param git     The repository of the changeset folder.
+     * @param pattern The file pattern to use for searching.
      * @return An immutable list of file paths to add for synchronization.
+     * @throws GitAPIException if the status of the working tree cannot be read.
      */
-    ImmutableList<String> filesToAdd(Path directory, String pattern){
-        return filesToAdd(directory, pattern, Lists.mutable.empty()).toImmutable();
+    ImmutableList<String> filesToAdd(Git git, String pattern) throws GitAPIException {
+        Status status = git.status().call();
+        MutableList<String> filesToAdd = Lists.mutable.empty();
+        for (Set<String> paths : List.of(status.getUntracked(), status.getModified())) {
+            paths.stream()
+                    .filter(path -> path.endsWith(pattern))
+                    // Filter out unfinished exports and non-export zips
+                    .filter(path -> hasManifest(changeSetFolder.resolve(path)))
+                    .forEach(filesToAdd::add);
+        }
+        return filesToAdd.toImmutable();
     }
+
     /**
-     * Computes the list of files to add for synchronization using a recursive call to ensure
-     * all subdirectories are processed. .
+     * Reads the zip's central directory, rather than opening it as a file system, to check for a manifest.
      *
-     * @param directory The directory to search for files.
-     * @param pattern   The file pattern to use for searching.
-     * @param filesToAdd The list of files to add for synchronization.
-     * @return A mutable list of file paths to add for synchronization.
+     * @param file The zip file.
+     * @return true if the zip has a manifest.
      */
-    MutableList<String> filesToAdd(Path directory, String pattern, MutableList<String> filesToAdd){
-        File[] matchingFiles = directory.toFile().listFiles((dir, name) -> name.endsWith(pattern));
-        if (matchingFiles != null) {
-            Arrays.stream(matchingFiles)
-                    .filter(file -> {
-                        try (FileSystem fs = FileSystems.newFileSystem(file.toPath())) {
-                            // Filter out unfinished exports and non-export zips
-                            return Files.exists(fs.getPath("META-INF", "MANIFEST.MF"));
-                        } catch (IOException e) {
-                            return false;
-                        }
-                    })
-                    .forEach(f -> filesToAdd.add(changeSetFolder.relativize(f.toPath()).toString()));
+    private static boolean hasManifest(Path file) {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            return zip.getEntry("META-INF/MANIFEST.MF") != null;
+        } catch (IOException e) {
+            return false;
         }
-        List<File> directories = Arrays.stream(directory.toFile().listFiles()).filter(file -> file.isDirectory() &! file.isHidden()).toList();
-        directories.forEach(dir -> filesToAdd(dir.toPath(), pattern, filesToAdd));
-        return filesToAdd;
     }
-}
\ No newline at end of file
+}